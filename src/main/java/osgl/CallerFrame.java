@@ -0,0 +1,133 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Describes a frame of the current thread's stack, as returned by
+ * {@link Lang#callerFrame(int)} and {@link Lang#cachedCallerFrame(int)}.
+ *
+ * Two frames are equal if they have the same class name, method name
+ * and line number, i.e. they refer to the same call site.
+ */
+public final class CallerFrame {
+
+    private final String className;
+    private final String methodName;
+    private final int lineNumber;
+    private Class<?> declaringClass;
+    private String info;
+
+    CallerFrame(Class<?> declaringClass, String className, String methodName, int lineNumber) {
+        this.declaringClass = declaringClass;
+        this.className = className;
+        this.methodName = methodName;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Returns the name of the class declaring the method of this frame.
+     *
+     * @return the class name
+     */
+    public String className() {
+        return className;
+    }
+
+    /**
+     * Returns the name of the method of this frame.
+     *
+     * @return the method name
+     */
+    public String methodName() {
+        return methodName;
+    }
+
+    /**
+     * Returns the line number of the source line of this frame, or
+     * a negative number if it is not available.
+     *
+     * @return the line number
+     */
+    public int lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the class declaring the method of this frame.
+     *
+     * On runtimes without `StackWalker` the class is loaded by name on the
+     * first call, with the context class loader of the current thread.
+     *
+     * @return the declaring class, or `null` if the class cannot be loaded
+     */
+    public Class<?> declaringClass() {
+        Class<?> c = declaringClass;
+        if (null == c) {
+            c = _StackWalk.loadClass(className);
+            declaringClass = c;
+        }
+        return c;
+    }
+
+    /**
+     * Returns `className.methodName(...)`, which is the format of
+     * {@link Lang#callerInfo()}.
+     *
+     * @return the caller info of this frame
+     */
+    public String info() {
+        String s = info;
+        if (null == s) {
+            s = className + "." + methodName + "(...)";
+            info = s;
+        }
+        return s;
+    }
+
+    /**
+     * Returns the class of this frame if it is known without loading it.
+     */
+    Class<?> knownClass() {
+        return declaringClass;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof CallerFrame) {
+            CallerFrame that = (CallerFrame) obj;
+            return lineNumber == that.lineNumber && methodName.equals(that.methodName) && className.equals(that.className);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Lang.hc(className, methodName, lineNumber);
+    }
+
+    @Override
+    public String toString() {
+        return className + "." + methodName + ":" + lineNumber;
+    }
+}
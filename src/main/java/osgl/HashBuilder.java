@@ -0,0 +1,308 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * A builder that calculates the same hash code as {@link Lang#hc(Object, Object)}
+ * and the other multi-value `hc` methods, one value at a time:
+ *
+ * ```java
+ * {@literal @}Override
+ * public int hashCode() {
+ *     return $.hasher().add(id).add(score).add(name).toHashCode();
+ * }
+ * ```
+ *
+ * gives the same result as `$.hc(id, score, name)`, but primitive values are
+ * not boxed, no varargs array is created, and object arrays are hashed
+ * without reflection. The builder itself is a single `int` field and does
+ * not escape, thus it is usually eliminated by the JIT compiler.
+ *
+ * Obtain an instance with {@link Lang#hasher()}.
+ */
+public final class HashBuilder {
+
+    private int hash = Lang.HC_INIT;
+
+    HashBuilder() {
+    }
+
+    /**
+     * Add a `boolean` value.
+     *
+     * @param v
+     *      the value
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(boolean v) {
+        hash = Lang.HC_FACT * hash + Boolean.hashCode(v);
+        return this;
+    }
+
+    /**
+     * Add a `boolean` array, hashed as {@link Lang#hc(boolean[])} does.
+     *
+     * @param a
+     *      the array
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(boolean[] a) {
+        hash = Lang.HC_FACT * hash + (null == a ? 0 : Lang.hc(a));
+        return this;
+    }
+
+    /**
+     * Add a `byte` value.
+     *
+     * @param v
+     *      the value
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(byte v) {
+        hash = Lang.HC_FACT * hash + v;
+        return this;
+    }
+
+    /**
+     * Add a `byte` array, hashed as {@link Lang#hc(byte[])} does.
+     *
+     * @param a
+     *      the array
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(byte[] a) {
+        hash = Lang.HC_FACT * hash + (null == a ? 0 : Lang.hc(a));
+        return this;
+    }
+
+    /**
+     * Add a `char` value.
+     *
+     * @param v
+     *      the value
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(char v) {
+        hash = Lang.HC_FACT * hash + v;
+        return this;
+    }
+
+    /**
+     * Add a `char` array, hashed as {@link Lang#hc(char[])} does.
+     *
+     * @param a
+     *      the array
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(char[] a) {
+        hash = Lang.HC_FACT * hash + (null == a ? 0 : Lang.hc(a));
+        return this;
+    }
+
+    /**
+     * Add a `short` value.
+     *
+     * @param v
+     *      the value
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(short v) {
+        hash = Lang.HC_FACT * hash + v;
+        return this;
+    }
+
+    /**
+     * Add a `short` array, hashed as {@link Lang#hc(short[])} does.
+     *
+     * @param a
+     *      the array
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(short[] a) {
+        hash = Lang.HC_FACT * hash + (null == a ? 0 : Lang.hc(a));
+        return this;
+    }
+
+    /**
+     * Add a `int` value.
+     *
+     * @param v
+     *      the value
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(int v) {
+        hash = Lang.HC_FACT * hash + v;
+        return this;
+    }
+
+    /**
+     * Add a `int` array, hashed as {@link Lang#hc(int[])} does.
+     *
+     * @param a
+     *      the array
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(int[] a) {
+        hash = Lang.HC_FACT * hash + (null == a ? 0 : Lang.hc(a));
+        return this;
+    }
+
+    /**
+     * Add a `long` value.
+     *
+     * @param v
+     *      the value
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(long v) {
+        hash = Lang.HC_FACT * hash + Long.hashCode(v);
+        return this;
+    }
+
+    /**
+     * Add a `long` array, hashed as {@link Lang#hc(long[])} does.
+     *
+     * @param a
+     *      the array
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(long[] a) {
+        hash = Lang.HC_FACT * hash + (null == a ? 0 : Lang.hc(a));
+        return this;
+    }
+
+    /**
+     * Add a `float` value.
+     *
+     * @param v
+     *      the value
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(float v) {
+        hash = Lang.HC_FACT * hash + Float.hashCode(v);
+        return this;
+    }
+
+    /**
+     * Add a `float` array, hashed as {@link Lang#hc(float[])} does.
+     *
+     * @param a
+     *      the array
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(float[] a) {
+        hash = Lang.HC_FACT * hash + (null == a ? 0 : Lang.hc(a));
+        return this;
+    }
+
+    /**
+     * Add a `double` value.
+     *
+     * @param v
+     *      the value
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(double v) {
+        hash = Lang.HC_FACT * hash + Double.hashCode(v);
+        return this;
+    }
+
+    /**
+     * Add a `double` array, hashed as {@link Lang#hc(double[])} does.
+     *
+     * @param a
+     *      the array
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(double[] a) {
+        hash = Lang.HC_FACT * hash + (null == a ? 0 : Lang.hc(a));
+        return this;
+    }
+
+    /**
+     * Add an object, hashed as {@link Lang#hc(Object)} does.
+     *
+     * @param v
+     *      the object, could be `null` or an array
+     * @return
+     *      this builder
+     */
+    public HashBuilder add(Object v) {
+        hash = Lang.HC_FACT * hash + Lang.hc(v);
+        return this;
+    }
+
+    /**
+     * Add all elements of an `Object` array, each hashed as
+     * {@link Lang#hc(Object)} does. This is the same as adding the elements
+     * one by one, which differs from {@link #add(Object)} on the array.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      this builder
+     */
+    public HashBuilder addAll(Object[] values) {
+        int h = hash;
+        for (Object v : values) {
+            h = Lang.HC_FACT * h + Lang.hc(v);
+        }
+        hash = h;
+        return this;
+    }
+
+    /**
+     * Returns the hash code of the values added.
+     *
+     * @return
+     *      the hash code
+     */
+    public int toHashCode() {
+        return hash;
+    }
+
+    /**
+     * Returns {@link #toHashCode()}.
+     *
+     * @return
+     *      the hash code of the values added
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -29,25 +29,112 @@ import osgl.collection.Triple;
 import osgl.exception.E;
 import osgl.exception.NotAppliedException;
 import osgl.exception.UnexpectedClassNotFoundException;
+import osgl.stage.ArrayPredicate;
+import osgl.stage.ArrayRequire;
+import osgl.stage.CollectionPredicate;
+import osgl.stage.CollectionRequire;
+import osgl.stage.DoubleRequire;
+import osgl.stage.IntRequire;
+import osgl.stage.LongRequire;
 import osgl.stage.ObjectPredicate;
 import osgl.stage.ObjectRequire;
+import osgl.stage.StringRequire;
 
 import java.io.File;
-import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.*;
 
 public class Lang {
 
+    /**
+     * The configuration of {@link Lang}, see {@link #conf}.
+     *
+     * The state is kept in an immutable {@link Snapshot} published through an
+     * `AtomicReference`: readers such as {@link Lang#bool(Object)} load the
+     * current snapshot without locking, and every registration replaces it
+     * with an updated copy. Thus testers can be registered at runtime while
+     * other threads are evaluating values.
+     */
     public static final class Conf {
-        Predicate<String> stringTester = S::notEmpty;
-        final List<Predicate<Object>> boolTesters = new ArrayList<>();
+
+        /**
+         * An immutable state of the configuration.
+         */
+        static final class Snapshot {
+            static final Snapshot DEFAULT = new Snapshot(
+                    S::notEmpty,
+                    Collections.<Predicate<Object>>emptyList(),
+                    Collections.<T2<Class<?>, Predicate<Object>>>emptyList(),
+                    Collections.<Function<Class<?>, Option<Predicate<Object>>>>emptyList(),
+                    Collections.<_Converters.Converter>emptyList());
+
+            final Predicate<String> stringTester;
+            final List<Predicate<Object>> boolTesters;
+            final List<T2<Class<?>, Predicate<Object>>> typedBoolTesters;
+            final List<Function<Class<?>, Option<Predicate<Object>>>> boolTesterProviders;
+            final _BoolDispatch boolDispatch;
+            final List<_Converters.Converter> converters;
+            final _Converters conversion;
+
+            Snapshot(
+                    Predicate<String> stringTester,
+                    List<Predicate<Object>> boolTesters,
+                    List<T2<Class<?>, Predicate<Object>>> typedBoolTesters,
+                    List<Function<Class<?>, Option<Predicate<Object>>>> boolTesterProviders,
+                    List<_Converters.Converter> converters
+            ) {
+                this.stringTester = stringTester;
+                this.boolTesters = boolTesters;
+                this.typedBoolTesters = typedBoolTesters;
+                this.boolTesterProviders = boolTesterProviders;
+                this.boolDispatch = new _BoolDispatch(stringTester, typedBoolTesters, boolTesterProviders, boolTesters);
+                this.converters = converters;
+                this.conversion = new _Converters(converters);
+            }
+
+            /**
+             * Returns an unmodifiable copy of `list` with `element` appended.
+             */
+            static <T> List<T> append(List<T> list, T element) {
+                List<T> copy = new ArrayList<>(list.size() + 1);
+                copy.addAll(list);
+                copy.add(element);
+                return Collections.unmodifiableList(copy);
+            }
+        }
+
+        private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.DEFAULT);
+
+        /**
+         * Returns the current state of the configuration.
+         */
+        Snapshot snapshot() {
+            return snapshot.get();
+        }
+
+        /**
+         * Returns the testers registered with {@link #registerBoolTester(Predicate)}.
+         */
+        List<Predicate<Object>> boolTesters() {
+            return snapshot.get().boolTesters;
+        }
+
+        private Conf update(UnaryOperator<Snapshot> updater) {
+            snapshot.updateAndGet(updater);
+            return this;
+        }
+
         /**
          * Register a boolean tester. A boolean tester is a {@link Function Function&lt;Object, Boolean&gt;} type function
          * that applied to `Object` type parameter and returns a boolean value of the Object been tested. It
@@ -72,10 +159,56 @@ public class Lang {
          * @param tester
          *      the tester function takes an object as parameter and returns boolean
          * @return the `$.conf` instance
+         * @deprecated the tester is called on every evaluation of a value that
+         *      no other tester applies to, and the exception it throws is expensive.
+         *      Use {@link #registerBoolTester(Class, Predicate)} or
+         *      {@link #registerBoolTesterProvider(Function)} instead
          */
+        @Deprecated
         public Conf registerBoolTester(Predicate<Object> tester) {
-            boolTesters.add(requireNotNull(tester));
-            return this;
+            requireNotNull(tester);
+            return update(c -> new Snapshot(c.stringTester, Snapshot.append(c.boolTesters, tester), c.typedBoolTesters, c.boolTesterProviders, c.converters));
+        }
+
+        /**
+         * Register a boolean tester for values of a type, including its sub types.
+         *
+         * The tester of a class is resolved once on the first evaluation of a
+         * value of that class, see {@link Lang#bool(Object)}. Testers for
+         * types not built in are tried in the order they are registered.
+         *
+         * ```java
+         * $.conf.registerBoolTester(Score.class, (score) -> score.intValue() > 60);
+         * ```
+         *
+         * @param type
+         *      the type of values the tester applies to
+         * @param tester
+         *      the tester, it is never called with `null`
+         * @param <T>
+         *      the type of values
+         * @return the `$.conf` instance
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Conf registerBoolTester(Class<T> type, Predicate<? super T> tester) {
+            T2<Class<?>, Predicate<Object>> typed = new T2<Class<?>, Predicate<Object>>(requireNotNull(type), (Predicate<Object>) requireNotNull(tester));
+            return update(c -> new Snapshot(c.stringTester, c.boolTesters, Snapshot.append(c.typedBoolTesters, typed), c.boolTesterProviders, c.converters));
+        }
+
+        /**
+         * Register a boolean tester provider, which returns the tester for a
+         * class, or {@link Option#none()} if it does not recognize the class.
+         *
+         * A provider is called at most once per class, after the testers
+         * registered with {@link #registerBoolTester(Class, Predicate)}.
+         *
+         * @param provider
+         *      the provider
+         * @return the `$.conf` instance
+         */
+        public Conf registerBoolTesterProvider(Function<Class<?>, Option<Predicate<Object>>> provider) {
+            requireNotNull(provider);
+            return update(c -> new Snapshot(c.stringTester, c.boolTesters, c.typedBoolTesters, Snapshot.append(c.boolTesterProviders, provider), c.converters));
         }
 
         /**
@@ -95,14 +228,55 @@ public class Lang {
          * @return the `$.conf` instance
          */
         public Conf overwriteStringBoolTester(Predicate<String> tester) {
-            stringTester = requireNotNull(tester);
-            return this;
+            requireNotNull(tester);
+            return update(c -> new Snapshot(tester, c.boolTesters, c.typedBoolTesters, c.boolTesterProviders, c.converters));
+        }
+
+        /**
+         * Register a converter used by {@link Lang#convert(Object, Class)}.
+         *
+         * The converter applies to values of `sourceType` and its sub types,
+         * and it is also used as a step of multi-hop conversions. A converter
+         * takes precedence over the built-in converters and the converters
+         * registered before it.
+         *
+         * ```java
+         * $.conf.registerConverter(String.class, Money.class, Money::parse);
+         * ```
+         *
+         * @param sourceType
+         *      the type of values the converter applies to
+         * @param targetType
+         *      the type the converter converts to
+         * @param converter
+         *      the converter, it is never called with `null`
+         * @param <S>
+         *      the source type
+         * @param <T>
+         *      the target type
+         * @return the `$.conf` instance
+         */
+        public <S, T> Conf registerConverter(Class<S> sourceType, Class<T> targetType, Function<? super S, ? extends T> converter) {
+            _Converters.Converter registered = new _Converters.Converter(
+                    _Converters.wrap(requireNotNull(sourceType)),
+                    _Converters.wrap(requireNotNull(targetType)),
+                    requireNotNull(converter));
+            return update(c -> new Snapshot(c.stringTester, c.boolTesters, c.typedBoolTesters, c.boolTesterProviders, Snapshot.append(c.converters, registered)));
+        }
+
+        /**
+         * Remove all converters registered with
+         * {@link #registerConverter(Class, Class, Function)}.
+         *
+         * @return the `$.conf` instance
+         */
+        public Conf clearConverters() {
+            return update(c -> new Snapshot(c.stringTester, c.boolTesters, c.typedBoolTesters, c.boolTesterProviders, Snapshot.DEFAULT.converters));
         }
 
         public Conf clearBoolTesters() {
-            stringTester = S::notEmpty;
-            boolTesters.clear();
-            return this;
+            Snapshot d = Snapshot.DEFAULT;
+            return update(c -> new Snapshot(d.stringTester, d.boolTesters, d.typedBoolTesters, d.boolTesterProviders, c.converters));
         }
     }
 
@@ -115,7 +289,8 @@ public class Lang {
     public static final $ $ = Lang.INSTANCE;
 
     Lang() {
-        if (!"osgl.$.<init>(...)".equals(callerInfo())) {
+        CallerFrame caller = _StackWalk.frame(1);
+        if (null == caller || !"osgl.$".equals(caller.className()) || !"<init>".equals(caller.methodName())) {
             throw new IllegalStateException("Cannot construct osgl.Lang instance");
         }
     }
@@ -148,6 +323,12 @@ public class Lang {
      * </tbody>
      * </table>
      *
+     * Types not listed above before {@link Supplier} are evaluated with the
+     * testers registered in {@link #conf}: first the ones registered with
+     * {@link Conf#registerBoolTester(Class, Predicate)}, then the ones
+     * returned by {@link Conf#registerBoolTesterProvider(Function) providers}.
+     * The tester of a class is resolved once and cached.
+     *
      * @param v the value to be evaluated
      * @return `true` if v evaluate to true, `false` otherwise
      */
@@ -155,62 +336,7 @@ public class Lang {
         if (null == v || NONE == v) {
             return false;
         }
-        if (v instanceof Boolean) {
-            return (Boolean) v;
-        }
-        if (v instanceof String) {
-            return conf.stringTester.test((String) v);
-        }
-        if (v instanceof Collection) {
-            return !((Collection) v).isEmpty();
-        }
-        if (v.getClass().isArray()) {
-            return 0 < Array.getLength(v);
-        }
-        if (v instanceof Number) {
-            if (v instanceof Float) {
-                return bool((float) (Float) v);
-            }
-            if (v instanceof Double) {
-                return bool((double) (Double) v);
-            }
-            if (v instanceof BigInteger) {
-                return bool((BigInteger) v);
-            }
-            if (v instanceof BigDecimal) {
-                return bool((BigDecimal) v);
-            }
-            return bool(((Number) v).intValue());
-        }
-        if (v instanceof File) {
-            return bool((File) v);
-        }
-        if (v instanceof Path) {
-            return bool((Path) v);
-        }
-        for (Predicate<Object> tester : conf.boolTesters) {
-            try {
-                return (tester.test(v));
-            } catch (RuntimeException e) {
-                // ignore
-            }
-        }
-        if (v instanceof Supplier) {
-            return bool(((Supplier) v).get());
-        }
-        if (v instanceof BooleanSupplier) {
-            return bool(((BooleanSupplier) v).getAsBoolean());
-        }
-        if (v instanceof IntSupplier) {
-            return bool(((IntSupplier) v).getAsInt());
-        }
-        if (v instanceof LongSupplier) {
-            return bool(((LongSupplier) v).getAsLong());
-        }
-        if (v instanceof DoubleSupplier) {
-            return bool(((DoubleSupplier) v).getAsDouble());
-        }
-        return false;
+        return conf.snapshot().boolDispatch.get(v.getClass()).test(v);
     }
 
     public static boolean bool(boolean v) {
@@ -232,7 +358,7 @@ public class Lang {
      * @see S#empty(String)
      */
     public static boolean bool(String s) {
-        return conf.stringTester.test(s);
+        return conf.snapshot().stringTester.test(s);
     }
 
     /**
@@ -390,10 +516,201 @@ public class Lang {
         return bool(v.get());
     }
 
+    /**
+     * Returns a stage to check `target`, e.g. `$.require(handler).notNull()`.
+     *
+     * The stage is a small object with final fields only; when the check is
+     * inlined it does not escape and the JIT can eliminate the allocation.
+     *
+     * @param target
+     *      the object to be checked
+     * @param <T>
+     *      the type of the object
+     * @return an {@link ObjectRequire} of `target`
+     */
     public static <T> ObjectRequire<T> require(T target) {
         return new ObjectRequire<>(target);
     }
 
+    /**
+     * Returns a stage to check `target`, whose error messages refer to
+     * `target` by `name`.
+     *
+     * @param target
+     *      the object to be checked
+     * @param name
+     *      the name of the object
+     * @param <T>
+     *      the type of the object
+     * @return an {@link ObjectRequire} of `target`
+     */
+    public static <T> ObjectRequire<T> require(T target, String name) {
+        return new ObjectRequire<>(target, name);
+    }
+
+    /**
+     * Returns a stage to check a `String`, e.g. `$.require(name, "name").notBlank()`.
+     *
+     * @param target
+     *      the string to be checked
+     * @return a {@link StringRequire} of `target`
+     */
+    public static StringRequire require(String target) {
+        return new StringRequire(target);
+    }
+
+    /**
+     * Returns a stage to check a `String`, whose error messages refer to
+     * `target` by `name`.
+     *
+     * @param target
+     *      the string to be checked
+     * @param name
+     *      the name of the string
+     * @return a {@link StringRequire} of `target`
+     */
+    public static StringRequire require(String target, String name) {
+        return new StringRequire(target, name);
+    }
+
+    /**
+     * Returns a stage to check an `int` value, e.g. `$.require(port, "port").between(1, 65535)`.
+     *
+     * @param value
+     *      the value to be checked
+     * @return an {@link IntRequire} of `value`
+     */
+    public static IntRequire require(int value) {
+        return new IntRequire(value);
+    }
+
+    /**
+     * Returns a stage to check an `int` value, whose error messages refer
+     * to the value by `name`.
+     *
+     * @param value
+     *      the value to be checked
+     * @param name
+     *      the name of the value
+     * @return an {@link IntRequire} of `value`
+     */
+    public static IntRequire require(int value, String name) {
+        return new IntRequire(value, name);
+    }
+
+    /**
+     * Returns a stage to check a `long` value.
+     *
+     * @param value
+     *      the value to be checked
+     * @return a {@link LongRequire} of `value`
+     */
+    public static LongRequire require(long value) {
+        return new LongRequire(value);
+    }
+
+    /**
+     * Returns a stage to check a `long` value, whose error messages refer
+     * to the value by `name`.
+     *
+     * @param value
+     *      the value to be checked
+     * @param name
+     *      the name of the value
+     * @return a {@link LongRequire} of `value`
+     */
+    public static LongRequire require(long value, String name) {
+        return new LongRequire(value, name);
+    }
+
+    /**
+     * Returns a stage to check a `double` value.
+     *
+     * @param value
+     *      the value to be checked
+     * @return a {@link DoubleRequire} of `value`
+     */
+    public static DoubleRequire require(double value) {
+        return new DoubleRequire(value);
+    }
+
+    /**
+     * Returns a stage to check a `double` value, whose error messages refer
+     * to the value by `name`.
+     *
+     * @param value
+     *      the value to be checked
+     * @param name
+     *      the name of the value
+     * @return a {@link DoubleRequire} of `value`
+     */
+    public static DoubleRequire require(double value, String name) {
+        return new DoubleRequire(value, name);
+    }
+
+    /**
+     * Returns a stage to check an array and its elements,
+     * e.g. `$.require(rows).allNotNull()`.
+     *
+     * @param target
+     *      the array to be checked
+     * @param <E>
+     *      the element type
+     * @return an {@link ArrayRequire} of `target`
+     */
+    public static <E> ArrayRequire<E> require(E[] target) {
+        return new ArrayRequire<>(target);
+    }
+
+    /**
+     * Returns a stage to check an array and its elements, whose error
+     * messages refer to the array by `name`.
+     *
+     * @param target
+     *      the array to be checked
+     * @param name
+     *      the name of the array
+     * @param <E>
+     *      the element type
+     * @return an {@link ArrayRequire} of `target`
+     */
+    public static <E> ArrayRequire<E> require(E[] target, String name) {
+        return new ArrayRequire<>(target, name);
+    }
+
+    /**
+     * Returns a stage to check a collection and its elements.
+     *
+     * @param target
+     *      the collection to be checked
+     * @param <E>
+     *      the element type
+     * @param <C>
+     *      the collection type
+     * @return a {@link CollectionRequire} of `target`
+     */
+    public static <E, C extends Collection<E>> CollectionRequire<E, C> require(C target) {
+        return new CollectionRequire<>(target);
+    }
+
+    /**
+     * Returns a stage to check a collection and its elements, whose error
+     * messages refer to the collection by `name`.
+     *
+     * @param target
+     *      the collection to be checked
+     * @param name
+     *      the name of the collection
+     * @param <E>
+     *      the element type
+     * @param <C>
+     *      the collection type
+     * @return a {@link CollectionRequire} of `target`
+     */
+    public static <E, C extends Collection<E>> CollectionRequire<E, C> require(C target, String name) {
+        return new CollectionRequire<>(target, name);
+    }
+
     /**
      * Returns the `target` object if it is not `null` or
      * raise a {@link NullPointerException} if the `target`
@@ -426,43 +743,66 @@ public class Lang {
      *         `true` if the first object equals to the second object
      */
     public static boolean deq(Object a, Object b) {
-        if (a == b) {
-            return true;
-        }
-        if (null == a || null == b) {
-            return false;
-        }
-        Class<?> ca = a.getClass();
-        if (!ca.isArray()) {
-            return a.equals(b);
-        }
-        Class<?> cb = b.getClass();
-        if (ca != cb) return false;
-        if (ca == boolean[].class) {
-            return Arrays.equals((boolean[]) a, (boolean[]) b);
-        } else if (ca == byte[].class) {
-            return Arrays.equals((byte[]) a, (byte[]) b);
-        } else if (ca == int[].class) {
-            return Arrays.equals((int[]) a, (int[]) b);
-        } else if (ca == char[].class) {
-            return Arrays.equals((char[]) a, (char[]) b);
-        } else if (ca == long[].class) {
-            return Arrays.equals((long[]) a, (long[]) b);
-        } else if (ca == float[].class) {
-            return Arrays.equals((float[]) a, (float[]) b);
-        } else if (ca == double[].class) {
-            return Arrays.equals((double[]) a, (double[]) b);
-        } else if (ca == short[].class) {
-            return Arrays.equals((short[]) a, (short[]) b);
-        } else {
-            return Arrays.deepEquals((Object[]) a, (Object[]) b);
-        }
+        return _DeepEquals.deq(a, b, false);
+    }
+
+    /**
+     * Check if two objects are equal to each other as {@link #deq(Object, Object)}
+     * does, except that primitive arrays of 1MB or more are compared in
+     * parallel in the common `ForkJoinPool`.
+     *
+     * @param a
+     *         the first object
+     * @param b
+     *         the second object
+     * @return
+     *         `true` if the first object equals to the second object
+     */
+    public static boolean deqParallel(Object a, Object b) {
+        return _DeepEquals.deq(a, b, true);
+    }
+
+    /**
+     * Returns a deep copy of `o`.
+     *
+     * Immutable values like `String`, boxed primitives, enums and
+     * {@link Option} are shared, arrays, tuples, collections, maps and
+     * other objects are copied recursively. An object referenced more than
+     * once is copied once, thus the copy has the same shape as the
+     * original, including cycles.
+     *
+     * How a class is copied is resolved once and cached. The fields of an
+     * object are copied with the accessors of {@link PropertyAccessor},
+     * without calling its getters and setters.
+     *
+     * @param o
+     *      the object to be copied
+     * @param <T>
+     *      the type of the object
+     * @return a deep copy of `o`, or `null` if `o` is `null`
+     * @throws UnsupportedOperationException
+     *      if an object cannot be copied, e.g. a JDK class whose fields are
+     *      not accessible and which cannot be cloned, or a cycle through a
+     *      tuple
+     */
+    public static <T> T deepCopy(T o) {
+        return _DeepCopy.deepCopy(o);
     }
 
     /**
      * Check if two objects are equals to each other. The comparison will do
      * array deep equal matching if needed.
      *
+     * * arrays are equal if they are of the same type, and their elements are
+     *   deeply equal, nested object arrays may be of different types as in
+     *   `Arrays.deepEquals`
+     * * lists are equal if their elements are deeply equal
+     * * other objects are compared with `equals`
+     *
+     * Nested arrays and lists are walked without recursion, and a pair of
+     * containers is not compared again once visited, thus cyclic structures
+     * are supported.
+     *
      * @param a
      *         the first object
      * @param b
@@ -1099,75 +1439,740 @@ public class Lang {
     }
 
     /**
-     * Calculate hashcode of objects specified.
+     * Returns a new {@link HashBuilder}, which calculates the same hash code as
+     * the multi-value `hc` methods without boxing primitive values or
+     * allocating a varargs array.
      *
-     * @param o1   object 1
-     * @param o2   object 2
-     * @param o3   object 3
-     * @param o4   object 4
-     * @param o5   object 5
-     * @param others other objects
-     * @return the calculated hash code
+     * @return a new `HashBuilder`
      */
-    public static int hashCode(Object o1, Object o2, Object o3, Object o4, Object o5, Object... others) {
-        return hc(o1, o2, o3, o4, o5, others);
+    public static HashBuilder hasher() {
+        return new HashBuilder();
     }
 
-    private static int hc_(Object v) {
-        if (null == v) {
-            return 0;
-        }
-        Class c = v.getClass();
-        if (c.isArray()) {
-            if (c == int[].class) {
-                return hc((int[]) v);
-            } else if (c == long[].class) {
-                return hc((long[]) v);
-            } else if (c == char[].class) {
-                return hc((char[]) v);
-            } else if (c == byte[].class) {
-                return hc((byte[]) v);
-            } else if (c == double[].class) {
-                return hc((double[]) v);
-            } else if (c == float[].class) {
-                return hc((float[]) v);
-            } else if (c == short[].class) {
-                return hc((short[]) v);
-            } else if (c == boolean[].class) {
-                return hc((boolean[]) v);
-            }
-            int len = Array.getLength(v);
-            int hc = HC_INIT;
-            for (int i = 0; i < len; ++i) {
-                hc = HC_FACT * hc + hc_(Array.get(v, i));
-            }
-            return hc;
-        } else {
-            return v.hashCode();
-        }
+    /**
+     * Returns the 64 bit [xxHash64](https://github.com/Cyan4973/xxHash) hash
+     * code of a `boolean` value.
+     *
+     * Unlike {@link #hc(Object)} the `hc64` family of methods returns
+     * a well distributed 64 bit hash code, which is suitable for large hash
+     * tables, bloom filters and sketches. A value is hashed as its little
+     * endian byte representation, so `hc64(v)` equals to `hc64` of an
+     * array containing only `v`.
+     *
+     * @param v
+     *      the value
+     * @return the 64 bit hash code
+     */
+    public static long hc64(boolean v) {
+        return hc64(v, 0L);
     }
 
+    /**
+     * Returns the 64 bit hash code of the `boolean` value, hashed as a single byte, calculated with `seed`.
+     *
+     * @param v
+     *      the value
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(boolean v, long seed) {
+        return _XxHash64.hashSmall(v ? 1 : 0, 1, seed);
+    }
 
-    public static <T> ObjectPredicate<T> is(T target) {
-        return new ObjectPredicate<>(target);
+    /**
+     * Returns the 64 bit hash code of the `byte` value.
+     *
+     * @param v
+     *      the value
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(byte v) {
+        return hc64(v, 0L);
     }
 
     /**
-     * Alias of {@link Option#none()}.
+     * Returns the 64 bit hash code of the `byte` value, calculated with `seed`.
      *
-     * @param <T>
-     *      The option value type.
-     * @return
-     *      {@link Option#NONE}.
-     * @see #any(Object)
-     * @see #some(Object)
+     * @param v
+     *      the value
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
      */
-    public static <T> Option<T> none() {
-        return Option.none();
+    public static long hc64(byte v, long seed) {
+        return _XxHash64.hashSmall(v & 0xFF, 1, seed);
     }
 
     /**
-     * Test if the `target` object is `null`
+     * Returns the 64 bit hash code of the `short` value, hashed as 2 little endian bytes.
+     *
+     * @param v
+     *      the value
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(short v) {
+        return hc64(v, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `short` value, hashed as 2 little endian bytes, calculated with `seed`.
+     *
+     * @param v
+     *      the value
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(short v, long seed) {
+        return _XxHash64.hashSmall(v & 0xFFFF, 2, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `char` value, hashed as 2 little endian bytes.
+     *
+     * @param v
+     *      the value
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(char v) {
+        return hc64(v, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `char` value, hashed as 2 little endian bytes, calculated with `seed`.
+     *
+     * @param v
+     *      the value
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(char v, long seed) {
+        return _XxHash64.hashSmall(v, 2, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `int` value, hashed as 4 little endian bytes.
+     *
+     * @param v
+     *      the value
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(int v) {
+        return hc64(v, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `int` value, hashed as 4 little endian bytes, calculated with `seed`.
+     *
+     * @param v
+     *      the value
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(int v, long seed) {
+        return _XxHash64.hash(v, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `float` value, hashed as the bits returned by `Float.floatToIntBits`.
+     *
+     * @param v
+     *      the value
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(float v) {
+        return hc64(v, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `float` value, hashed as the bits returned by `Float.floatToIntBits`, calculated with `seed`.
+     *
+     * @param v
+     *      the value
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(float v, long seed) {
+        return _XxHash64.hash(Float.floatToIntBits(v), seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `long` value, hashed as 8 little endian bytes.
+     *
+     * @param v
+     *      the value
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(long v) {
+        return hc64(v, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `long` value, hashed as 8 little endian bytes, calculated with `seed`.
+     *
+     * @param v
+     *      the value
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(long v, long seed) {
+        return _XxHash64.hash(v, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `double` value, hashed as the bits returned by `Double.doubleToLongBits`.
+     *
+     * @param v
+     *      the value
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(double v) {
+        return hc64(v, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the `double` value, hashed as the bits returned by `Double.doubleToLongBits`, calculated with `seed`.
+     *
+     * @param v
+     *      the value
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(double v, long seed) {
+        return _XxHash64.hash(Double.doubleToLongBits(v), seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `boolean` array.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(boolean[] a) {
+        return hc64(a, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `boolean` array, calculated with `seed`.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(boolean[] a, long seed) {
+        return null == a ? _XxHash64.empty(seed) : _XxHash64.hash(a, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `byte` array.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(byte[] a) {
+        return hc64(a, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `byte` array, calculated with `seed`.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(byte[] a, long seed) {
+        return null == a ? _XxHash64.empty(seed) : _XxHash64.hash(a, 0, a.length, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `short` array.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(short[] a) {
+        return hc64(a, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `short` array, calculated with `seed`.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(short[] a, long seed) {
+        return null == a ? _XxHash64.empty(seed) : _XxHash64.hash(a, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `char` array.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(char[] a) {
+        return hc64(a, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `char` array, calculated with `seed`.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(char[] a, long seed) {
+        return null == a ? _XxHash64.empty(seed) : _XxHash64.hash(a, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `int` array.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(int[] a) {
+        return hc64(a, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `int` array, calculated with `seed`.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(int[] a, long seed) {
+        return null == a ? _XxHash64.empty(seed) : _XxHash64.hash(a, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `float` array.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(float[] a) {
+        return hc64(a, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `float` array, calculated with `seed`.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(float[] a, long seed) {
+        return null == a ? _XxHash64.empty(seed) : _XxHash64.hash(a, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `long` array.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(long[] a) {
+        return hc64(a, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `long` array, calculated with `seed`.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(long[] a, long seed) {
+        return null == a ? _XxHash64.empty(seed) : _XxHash64.hash(a, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `double` array.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @return the 64 bit hash code
+     * @see #hc64(boolean)
+     */
+    public static long hc64(double[] a) {
+        return hc64(a, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `double` array, calculated with `seed`.
+     *
+     * @param a
+     *      the array, `null` is hashed as an empty array
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(double[] a, long seed) {
+        return null == a ? _XxHash64.empty(seed) : _XxHash64.hash(a, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the bytes of `a` from index `from`
+     * (inclusive) to index `to` (exclusive).
+     *
+     * @param a
+     *      the byte array
+     * @param from
+     *      the start index, inclusive
+     * @param to
+     *      the end index, exclusive
+     * @return the 64 bit hash code
+     */
+    public static long hc64(byte[] a, int from, int to) {
+        return hc64(a, from, to, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the bytes of `a` from index `from`
+     * (inclusive) to index `to` (exclusive), calculated with `seed`.
+     *
+     * @param a
+     *      the byte array
+     * @param from
+     *      the start index, inclusive
+     * @param to
+     *      the end index, exclusive
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     * @throws IndexOutOfBoundsException
+     *      if `from` or `to` is out of the bounds of `a`, or `from` is greater than `to`
+     */
+    public static long hc64(byte[] a, int from, int to, long seed) {
+        if (from < 0 || to > a.length || from > to) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + a.length);
+        }
+        return _XxHash64.hash(a, from, to - from, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the remaining bytes of a `ByteBuffer`.
+     *
+     * The position, limit and byte order of the buffer are not changed.
+     *
+     * @param buffer
+     *      the buffer
+     * @return the 64 bit hash code
+     */
+    public static long hc64(ByteBuffer buffer) {
+        return hc64(buffer, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of the remaining bytes of a `ByteBuffer`,
+     * calculated with `seed`.
+     *
+     * The position, limit and byte order of the buffer are not changed.
+     *
+     * @param buffer
+     *      the buffer
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(ByteBuffer buffer, long seed) {
+        return _XxHash64.hash(requireNotNull(buffer), seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `CharSequence`.
+     *
+     * The chars are read with `charAt` and hashed as 2 little endian bytes
+     * each, thus the hash code of a `String`, a `StringBuilder` and a
+     * `char[]` with the same content are the same.
+     *
+     * @param s
+     *      the char sequence, `null` is hashed as an empty sequence
+     * @return the 64 bit hash code
+     */
+    public static long hc64(CharSequence s) {
+        return hc64(s, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of a `CharSequence`, calculated with `seed`.
+     *
+     * @param s
+     *      the char sequence, `null` is hashed as an empty sequence
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     * @see #hc64(CharSequence)
+     */
+    public static long hc64(CharSequence s, long seed) {
+        return null == s ? _XxHash64.empty(seed) : _XxHash64.hash(s, seed);
+    }
+
+    /**
+     * Returns the 64 bit hash code of an object.
+     *
+     * @param o
+     *      the object
+     * @return the 64 bit hash code
+     * @see #hc64(Object, long)
+     */
+    public static long hc64(Object o) {
+        return hc64(o, 0L);
+    }
+
+    /**
+     * Returns the 64 bit hash code of an object, calculated with `seed`.
+     *
+     * * `null` is hashed as empty input
+     * * boxed primitive values, primitive arrays, `CharSequence` and
+     *   `ByteBuffer` are hashed with the specific `hc64` method
+     * * {@link T2} and {@link T3} are hashed with their `hash64()` value
+     * * the elements of an `Object[]`, a `List` or any other `Iterable`
+     *   except a `Set` are chained, each element hashed with the hash code
+     *   of the previous elements as seed
+     * * the elements of a `Set` and the entries of a `Map` are hashed
+     *   separately and summed up, so that equal sets and maps have the
+     *   same hash code whatever their iteration order is
+     * * any other object is hashed with its `hashCode()`
+     *
+     * @param o
+     *      the object
+     * @param seed
+     *      the seed
+     * @return the 64 bit hash code
+     */
+    public static long hc64(Object o, long seed) {
+        if (null == o) {
+            return _XxHash64.empty(seed);
+        }
+        if (o instanceof CharSequence) {
+            return _XxHash64.hash((CharSequence) o, seed);
+        }
+        Class<?> c = o.getClass();
+        if (c.isArray()) {
+            if (o instanceof Object[]) {
+                long h = seed + ((Object[]) o).length;
+                for (Object e : (Object[]) o) {
+                    h = hc64(e, h);
+                }
+                return h;
+            } else if (c == byte[].class) {
+                return hc64((byte[]) o, seed);
+            } else if (c == int[].class) {
+                return hc64((int[]) o, seed);
+            } else if (c == long[].class) {
+                return hc64((long[]) o, seed);
+            } else if (c == char[].class) {
+                return hc64((char[]) o, seed);
+            } else if (c == double[].class) {
+                return hc64((double[]) o, seed);
+            } else if (c == float[].class) {
+                return hc64((float[]) o, seed);
+            } else if (c == short[].class) {
+                return hc64((short[]) o, seed);
+            } else {
+                return hc64((boolean[]) o, seed);
+            }
+        }
+        if (o instanceof Number) {
+            if (c == Integer.class) {
+                return hc64(((Integer) o).intValue(), seed);
+            } else if (c == Long.class) {
+                return hc64(((Long) o).longValue(), seed);
+            } else if (c == Double.class) {
+                return hc64(((Double) o).doubleValue(), seed);
+            } else if (c == Float.class) {
+                return hc64(((Float) o).floatValue(), seed);
+            } else if (c == Short.class) {
+                return hc64(((Short) o).shortValue(), seed);
+            } else if (c == Byte.class) {
+                return hc64(((Byte) o).byteValue(), seed);
+            }
+        } else if (c == Boolean.class) {
+            return hc64(((Boolean) o).booleanValue(), seed);
+        } else if (c == Character.class) {
+            return hc64(((Character) o).charValue(), seed);
+        } else if (o instanceof T2) {
+            return _XxHash64.hash(((T2) o).hash64(), seed);
+        } else if (o instanceof T3) {
+            return _XxHash64.hash(((T3) o).hash64(), seed);
+        } else if (o instanceof ByteBuffer) {
+            return _XxHash64.hash((ByteBuffer) o, seed);
+        } else if (o instanceof Set) {
+            Set<?> set = (Set<?>) o;
+            long sum = 0L;
+            for (Object e : set) {
+                sum += hc64(e, seed);
+            }
+            return _XxHash64.hash(sum, seed + set.size());
+        } else if (o instanceof Collection) {
+            long h = seed + ((Collection<?>) o).size();
+            for (Object e : (Collection<?>) o) {
+                h = hc64(e, h);
+            }
+            return h;
+        } else if (o instanceof Iterable) {
+            long h = seed;
+            long n = 0L;
+            for (Object e : (Iterable<?>) o) {
+                h = hc64(e, h);
+                n++;
+            }
+            return _XxHash64.hash(n, h);
+        } else if (o instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) o;
+            long sum = 0L;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                sum += hc64(entry.getValue(), hc64(entry.getKey(), seed));
+            }
+            return _XxHash64.hash(sum, seed + map.size());
+        }
+        return _XxHash64.hash(o.hashCode(), seed);
+    }
+
+    /**
+     * Calculate hashcode of objects specified.
+     *
+     * @param o1   object 1
+     * @param o2   object 2
+     * @param o3   object 3
+     * @param o4   object 4
+     * @param o5   object 5
+     * @param others other objects
+     * @return the calculated hash code
+     */
+    public static int hashCode(Object o1, Object o2, Object o3, Object o4, Object o5, Object... others) {
+        return hc(o1, o2, o3, o4, o5, others);
+    }
+
+    private static int hc_(Object v) {
+        if (null == v) {
+            return 0;
+        }
+        Class c = v.getClass();
+        if (c.isArray()) {
+            if (c == int[].class) {
+                return hc((int[]) v);
+            } else if (c == long[].class) {
+                return hc((long[]) v);
+            } else if (c == char[].class) {
+                return hc((char[]) v);
+            } else if (c == byte[].class) {
+                return hc((byte[]) v);
+            } else if (c == double[].class) {
+                return hc((double[]) v);
+            } else if (c == float[].class) {
+                return hc((float[]) v);
+            } else if (c == short[].class) {
+                return hc((short[]) v);
+            } else if (c == boolean[].class) {
+                return hc((boolean[]) v);
+            }
+            // any other array is an Object[]
+            int hc = HC_INIT;
+            for (Object e : (Object[]) v) {
+                hc = HC_FACT * hc + hc_(e);
+            }
+            return hc;
+        } else {
+            return v.hashCode();
+        }
+    }
+
+
+    public static <T> ObjectPredicate<T> is(T target) {
+        return new ObjectPredicate<>(target);
+    }
+
+    /**
+     * Returns a stage to test an array and its elements,
+     * e.g. `$.is(rows).noDuplicates()`.
+     *
+     * @param target
+     *      the array to be tested
+     * @param <E>
+     *      the element type
+     * @return an {@link ArrayPredicate} of `target`
+     */
+    public static <E> ArrayPredicate<E> is(E[] target) {
+        return new ArrayPredicate<>(target);
+    }
+
+    /**
+     * Returns a stage to test a collection and its elements.
+     *
+     * @param target
+     *      the collection to be tested
+     * @param <E>
+     *      the element type
+     * @param <C>
+     *      the collection type
+     * @return a {@link CollectionPredicate} of `target`
+     */
+    public static <E, C extends Collection<E>> CollectionPredicate<E, C> is(C target) {
+        return new CollectionPredicate<>(target);
+    }
+
+    /**
+     * Alias of {@link Option#none()}.
+     *
+     * @param <T>
+     *      The option value type.
+     * @return
+     *      {@link Option#NONE}.
+     * @see #any(Object)
+     * @see #some(Object)
+     */
+    public static <T> Option<T> none() {
+        return Option.none();
+    }
+
+    /**
+     * Test if the `target` object is `null`
      *
      * @param target
      *      the object to be tested
@@ -1257,21 +2262,15 @@ public class Lang {
 
     // -------------------- Reflection/Class/new instance Utils ---------------------
 
-    private static class WhoCalls extends SecurityManager {
-        Class<?> whoCalls() {
-            return super.getClassContext()[2];
-        }
-    }
-
-    private static final WhoCalls WHO_CALLS = new WhoCalls();
-
     /**
      * Returns the class of the caller to the method that invoke this method.
      *
+     * Only the frames up to the caller are walked, see {@link #callerFrame(int)}.
+     *
      * @return the caller class to the method invoke `callerClass()` method
      */
     public static Class<?> callerClass() {
-        return WHO_CALLS.whoCalls();
+        return _StackWalk.callerClass(1);
     }
 
     /**
@@ -1280,35 +2279,385 @@ public class Lang {
      * of the method that calls the method that invokes the `callerInfo()`
      * method.
      *
+     * The returned string is cached per call site, see
+     * {@link #cachedCallerFrame(int)}.
+     *
      * @return a caller string representation as described above
      */
     public static String callerInfo() {
-        StackTraceElement[] sa = new RuntimeException().getStackTrace();
-        E.unexpectedIf(sa.length < 3, "Whoops!");
-        StackTraceElement ste = sa[2];
-        String className = ste.getClassName();
-        String methodName = ste.getMethodName();
-        // TODO: replace with S.concat
-        return className + "." + methodName + "(...)";
+        CallerFrame frame = _StackWalk.cachedFrame(2);
+        E.unexpectedIf(null == frame, "Whoops!");
+        return frame.info();
     }
 
     /**
+     * Returns a frame of the current thread's stack.
      *
-     * @param className
+     * Depth `0` is the method that invokes `callerFrame`, depth `1` is
+     * the caller of that method and so on. On Java 9 and later the frames
+     * are walked with `StackWalker` and the walk stops at the requested
+     * frame; on Java 8 the frames are read one at a time without
+     * materializing the stack trace array.
+     *
+     * @param depth
+     *      the depth of the frame, starts from `0`
+     * @return
+     *      the frame at `depth`, or `null` if the stack is not that deep
+     */
+    public static CallerFrame callerFrame(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth must not be negative: " + depth);
+        }
+        return _StackWalk.frame(depth + 1);
+    }
+
+    /**
+     * Returns a frame of the current thread's stack like
+     * {@link #callerFrame(int)} does, but returns the same instance for
+     * all calls from the same call site, i.e. the same class, method and
+     * line. Thus the string returned by {@link CallerFrame#info()} is
+     * built only once per call site, which suits logging facades that
+     * look up the caller on every call.
+     *
+     * @param depth
+     *      the depth of the frame, starts from `0`
      * @return
+     *      the frame at `depth`, or `null` if the stack is not that deep
+     */
+    public static CallerFrame cachedCallerFrame(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth must not be negative: " + depth);
+        }
+        return _StackWalk.cachedFrame(depth + 1);
+    }
+
+    /**
+     * Returns the class of `className`, loaded with the context class loader
+     * of the current thread.
+     *
+     * @param className
+     *      the class name
+     * @return the class
+     * @throws UnexpectedClassNotFoundException
+     *      if the class cannot be found
+     * @see #classForName(String, boolean, ClassLoader)
      */
     public static Class<?> classForName(String className) {
         return classForName(className, Thread.currentThread().getContextClassLoader());
     }
 
+    /**
+     * Returns the initialized class of `className`, loaded with `classLoader`.
+     *
+     * @param className
+     *      the class name
+     * @param classLoader
+     *      the class loader
+     * @return the class
+     * @throws UnexpectedClassNotFoundException
+     *      if the class cannot be found
+     * @see #classForName(String, boolean, ClassLoader)
+     */
     public static Class<?> classForName(String className, ClassLoader classLoader) {
-        Class c = _LangSupport.primitiveTypeLookup.get(className);
-        if (null != c) return c;
-        try {
-            return Class.forName(className, true, classLoader);
-        } catch (ClassNotFoundException e) {
-            throw new UnexpectedClassNotFoundException(e);
+        return classForName(className, true, classLoader);
+    }
+
+    /**
+     * Returns the class of `className`, loaded with `classLoader`.
+     *
+     * Besides the names accepted by {@link Class#forName(String, boolean, ClassLoader)},
+     * primitive type names like `int` and array names in source form
+     * like `int[][]` or `java.lang.String[]` are accepted.
+     *
+     * The result is cached per class loader, including up to 1024 recently
+     * looked up names that cannot be found. A class loader that can resolve
+     * more classes later, e.g. after a jar is added, shall be dropped from
+     * the cache with {@link #clearClassCache(ClassLoader)}. The cache does
+     * not prevent a class loader from being unloaded.
+     *
+     * @param className
+     *      the class name
+     * @param initialize
+     *      whether the class shall be initialized
+     * @param classLoader
+     *      the class loader, `null` for the bootstrap class loader
+     * @return the class
+     * @throws UnexpectedClassNotFoundException
+     *      if the class cannot be found
+     */
+    public static Class<?> classForName(String className, boolean initialize, ClassLoader classLoader) {
+        Class<?> c = _ClassCache.lookup(className, initialize, classLoader);
+        if (null == c) {
+            throw new UnexpectedClassNotFoundException(new ClassNotFoundException(className));
+        }
+        return c;
+    }
+
+    /**
+     * Returns the class of `className` like {@link #classForName(String)} does,
+     * but returns {@link #none()} instead of throwing an exception if the
+     * class cannot be found.
+     *
+     * @param className
+     *      the class name
+     * @return an `Option` of the class
+     */
+    public static Option<Class<?>> findClass(String className) {
+        return findClass(className, true, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Returns the class of `className` like
+     * {@link #classForName(String, boolean, ClassLoader)} does, but returns
+     * {@link #none()} instead of throwing an exception if the class cannot be found.
+     *
+     * @param className
+     *      the class name
+     * @param initialize
+     *      whether the class shall be initialized
+     * @param classLoader
+     *      the class loader, `null` for the bootstrap class loader
+     * @return an `Option` of the class
+     */
+    public static Option<Class<?>> findClass(String className, boolean initialize, ClassLoader classLoader) {
+        return Option.any(_ClassCache.lookup(className, initialize, classLoader));
+    }
+
+    /**
+     * Drops the classes and missing class names cached by
+     * {@link #classForName(String, boolean, ClassLoader)} for `classLoader`.
+     *
+     * @param classLoader
+     *      the class loader, `null` for the bootstrap class loader
+     */
+    public static void clearClassCache(ClassLoader classLoader) {
+        _ClassCache.clear(classLoader);
+    }
+
+    /**
+     * Drops the classes and missing class names cached by
+     * {@link #classForName(String, boolean, ClassLoader)} for all class loaders.
+     */
+    public static void clearClassCache() {
+        _ClassCache.clear();
+    }
+
+    // -------------------- Type conversion ---------------------
+
+    /**
+     * Converts a value to `targetType`.
+     *
+     * Built-in conversions cover `String`, the primitive wrappers,
+     * `BigInteger`, `BigDecimal` and enums (by name); any value can be
+     * converted to `String`. Other conversions can be registered with
+     * {@link Conf#registerConverter(Class, Class, Function)}. If there is
+     * no direct converter, a chain of converters is searched, e.g. a
+     * `Character` is converted to `long` through `Integer`. The conversion path
+     * between two classes is searched once and cached.
+     *
+     * ```java
+     * int port = $.convert("8080", int.class);
+     * TimeUnit unit = $.convert("SECONDS", TimeUnit.class);
+     * BigDecimal price = $.convert(12.5d, BigDecimal.class);
+     * ```
+     *
+     * @param value
+     *      the value to be converted
+     * @param targetType
+     *      the target type, can be a primitive type
+     * @param <T>
+     *      the target type
+     * @return the converted value. If `value` is `null` it returns `null`,
+     *      or the default value if `targetType` is a primitive type
+     * @throws IllegalArgumentException
+     *      if there is no conversion from the type of `value` to `targetType`,
+     *      or `value` cannot be converted, e.g. a `String` which is not a number
+     *      is converted to `int`, or a number is converted to an integral
+     *      type which cannot hold it exactly, like `3.9d` or `3_000_000_000L`
+     *      to `int`
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T convert(Object value, Class<T> targetType) {
+        Class<?> type = _Converters.wrap(requireNotNull(targetType));
+        if (null == value) {
+            return (T) _Converters.defaultValue(targetType);
+        }
+        return (T) conf.snapshot().conversion.convert(value, type);
+    }
+
+    /**
+     * Converts a value to `int` like `convert(value, int.class)` does,
+     * without boxing the result if `value` is a `Number` or a `String`
+     * and no converter is registered.
+     *
+     * @param value
+     *      the value
+     * @return the `int` value, `0` if `value` is `null`
+     * @see #convert(Object, Class)
+     */
+    public static int convertToInt(Object value) {
+        if (conf.snapshot().converters.isEmpty()) {
+            if (value instanceof Number) {
+                return _Converters.toInt((Number) value);
+            } else if (value instanceof String) {
+                return Integer.parseInt(((String) value).trim());
+            }
+        }
+        return convert(value, int.class);
+    }
+
+    /**
+     * Converts a value to `long` like `convert(value, long.class)` does,
+     * without boxing the result if `value` is a `Number` or a `String`
+     * and no converter is registered.
+     *
+     * @param value
+     *      the value
+     * @return the `long` value, `0` if `value` is `null`
+     * @see #convert(Object, Class)
+     */
+    public static long convertToLong(Object value) {
+        if (conf.snapshot().converters.isEmpty()) {
+            if (value instanceof Number) {
+                return _Converters.toLong((Number) value);
+            } else if (value instanceof String) {
+                return Long.parseLong(((String) value).trim());
+            }
+        }
+        return convert(value, long.class);
+    }
+
+    /**
+     * Converts a value to `double` like `convert(value, double.class)` does,
+     * without boxing the result if `value` is a `Number` or a `String`
+     * and no converter is registered.
+     *
+     * @param value
+     *      the value
+     * @return the `double` value, `0` if `value` is `null`
+     * @see #convert(Object, Class)
+     */
+    public static double convertToDouble(Object value) {
+        if (conf.snapshot().converters.isEmpty()) {
+            if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            } else if (value instanceof String) {
+                return Double.parseDouble(((String) value).trim());
+            }
+        }
+        return convert(value, double.class);
+    }
+
+    /**
+     * Converts a value to `boolean` like `convert(value, boolean.class)` does,
+     * without boxing the result if `value` is a `Boolean` or a `String`
+     * and no converter is registered.
+     *
+     * Note this is a conversion, not the {@link #bool(Object) bool evaluation}:
+     * only `"true"` and `"false"` (ignoring case) are accepted from a `String`.
+     *
+     * @param value
+     *      the value
+     * @return the `boolean` value, `false` if `value` is `null`
+     * @see #convert(Object, Class)
+     */
+    public static boolean convertToBoolean(Object value) {
+        if (conf.snapshot().converters.isEmpty()) {
+            if (value instanceof Boolean) {
+                return (Boolean) value;
+            } else if (value instanceof String) {
+                return _Converters.parseBoolean((String) value);
+            }
+        }
+        return convert(value, boolean.class);
+    }
+
+    // -------------------- Property access ---------------------
+
+    /**
+     * Returns the value of a property of `bean`.
+     *
+     * The `path` can be a dotted path like `address.city.name`, where each
+     * segment is resolved on the value of the previous one. A segment is
+     * resolved with {@link PropertyAccessor}, or as the key if the value
+     * is a `Map`.
+     *
+     * @param bean
+     *      the bean
+     * @param path
+     *      the property path
+     * @return the property value, or `null` if `bean` or any value
+     *      on the path is `null`
+     * @throws IllegalArgumentException
+     *      if a segment of the path is not a property of the value
+     */
+    public static Object getProperty(Object bean, String path) {
+        requireNotNull(path);
+        Object value = bean;
+        int start = 0;
+        while (null != value) {
+            int dot = path.indexOf('.', start);
+            value = property(value, dot < 0 ? path.substring(start) : path.substring(start, dot));
+            if (dot < 0) {
+                return value;
+            }
+            start = dot + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Sets the value of a property of `bean`.
+     *
+     * The `path` is resolved as described in {@link #getProperty(Object, String)}
+     * and the last segment is set. If `value` is not an instance of the
+     * property type it is converted with {@link #convert(Object, Class)}.
+     *
+     * @param bean
+     *      the bean
+     * @param path
+     *      the property path
+     * @param value
+     *      the value to be set
+     * @throws IllegalArgumentException
+     *      if a segment of the path is not a property of the value
+     * @throws IllegalStateException
+     *      if a value on the path is `null`
+     */
+    @SuppressWarnings("unchecked")
+    public static void setProperty(Object bean, String path, Object value) {
+        requireNotNull(bean);
+        int dot = path.lastIndexOf('.');
+        Object target = dot < 0 ? bean : getProperty(bean, path.substring(0, dot));
+        if (null == target) {
+            throw new IllegalStateException("Cannot set property " + path + ": " + path.substring(0, dot) + " is null");
+        }
+        String name = path.substring(dot + 1);
+        if (target instanceof Map) {
+            ((Map) target).put(name, value);
+            return;
+        }
+        PropertyAccessor accessor = accessor(target, name);
+        Class<?> type = accessor.type();
+        if (null == value ? type.isPrimitive() : !_Converters.wrap(type).isInstance(value)) {
+            value = convert(value, type);
+        }
+        accessor.set(target, value);
+    }
+
+    private static Object property(Object value, String name) {
+        if (value instanceof Map) {
+            return ((Map) value).get(name);
+        }
+        return accessor(value, name).get(value);
+    }
+
+    private static PropertyAccessor accessor(Object bean, String name) {
+        PropertyAccessor accessor = PropertyAccessor.forType(bean.getClass()).get(name);
+        if (null == accessor) {
+            throw new IllegalArgumentException("No property " + name + " in " + bean.getClass().getName());
         }
+        return accessor;
     }
 
 }
@@ -0,0 +1,445 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.exception.UnexpectedException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reads and writes a property of a class.
+ *
+ * The properties of a class are resolved once and cached: a property is
+ * read with its public getter (`getX()`, or `isX()` for `boolean`) and
+ * written with its public setter (`setX(v)`). A property with a getter but
+ * no setter is read only. Public fields are properties as well, read only
+ * if they are `final`. Non-public members are never accessed, thus binding
+ * untrusted property paths cannot change the private state of a bean.
+ *
+ * Public getters and setters are turned into `Function` and `BiConsumer`
+ * implementations with `LambdaMetafactory`, which run at the speed of a
+ * direct call; other members are accessed through method handles.
+ *
+ * ```java
+ * PropertyAccessor name = PropertyAccessor.of(Person.class, "name").get();
+ * name.set(person, "Tom");
+ * String s = (String) name.get(person);
+ * ```
+ *
+ * @see Lang#getProperty(Object, String)
+ * @see Lang#setProperty(Object, String, Object)
+ */
+public final class PropertyAccessor {
+
+    private static final ClassValue<Map<String, PropertyAccessor>> PROPERTIES = new ClassValue<Map<String, PropertyAccessor>>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+            return resolveProperties(type);
+        }
+    };
+
+    private static final ClassValue<List<PropertyAccessor>> FIELDS = new ClassValue<List<PropertyAccessor>>() {
+        @Override
+        protected List<PropertyAccessor> computeValue(Class<?> type) {
+            return resolveFields(type);
+        }
+    };
+
+    private final Class<?> beanType;
+    private final String name;
+    private final Class<?> type;
+    private final Function<Object, Object> getter;
+    private final BiConsumer<Object, Object> setter;
+
+    private PropertyAccessor(Class<?> beanType, String name, Class<?> type, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+        this.beanType = beanType;
+        this.name = name;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Returns the class this property belongs to.
+     *
+     * @return the bean type
+     */
+    public Class<?> beanType() {
+        return beanType;
+    }
+
+    /**
+     * Returns the name of this property.
+     *
+     * @return the property name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the type of this property.
+     *
+     * @return the property type
+     */
+    public Class<?> type() {
+        return type;
+    }
+
+    /**
+     * Returns whether this property can be read.
+     *
+     * @return `true` if this property has a getter or a field
+     */
+    public boolean isReadable() {
+        return null != getter;
+    }
+
+    /**
+     * Returns whether this property can be written.
+     *
+     * @return `true` if this property has a setter or a field
+     */
+    public boolean isWritable() {
+        return null != setter;
+    }
+
+    /**
+     * Returns the value of this property of `bean`.
+     *
+     * @param bean
+     *      the bean
+     * @return the property value
+     * @throws UnsupportedOperationException
+     *      if this property is not readable
+     */
+    public Object get(Object bean) {
+        if (null == getter) {
+            throw new UnsupportedOperationException("Property is not readable: " + this);
+        }
+        return getter.apply(bean);
+    }
+
+    /**
+     * Sets the value of this property of `bean`.
+     *
+     * @param bean
+     *      the bean
+     * @param value
+     *      the value, it must be an instance of the {@link #type()}
+     *      (or its wrapper type)
+     * @throws UnsupportedOperationException
+     *      if this property is not writable
+     */
+    public void set(Object bean, Object value) {
+        if (null == setter) {
+            throw new UnsupportedOperationException("Property is not writable: " + this);
+        }
+        setter.accept(bean, value);
+    }
+
+    @Override
+    public String toString() {
+        return beanType.getName() + "." + name;
+    }
+
+    /**
+     * Returns the properties of a class, in the order they are resolved.
+     *
+     * @param type
+     *      the class
+     * @return an unmodifiable map from property name to accessor
+     */
+    public static Map<String, PropertyAccessor> forType(Class<?> type) {
+        return PROPERTIES.get(type);
+    }
+
+    /**
+     * Returns the accessor of a property of a class.
+     *
+     * @param type
+     *      the class
+     * @param name
+     *      the property name
+     * @return an `Option` of the accessor, {@link Option#none()} if there is
+     *      no such property
+     */
+    public static Option<PropertyAccessor> of(Class<?> type, String name) {
+        return Option.any(PROPERTIES.get(type).get(name));
+    }
+
+    /**
+     * Returns the accessors of all instance fields of a class and its
+     * super classes, including private and `final` fields, which ignore
+     * getters and setters. It is used by {@link _DeepCopy} only and must
+     * not be exposed through the public property API.
+     */
+    static List<PropertyAccessor> fields(Class<?> type) {
+        return FIELDS.get(type);
+    }
+
+    private static Map<String, PropertyAccessor> resolveProperties(Class<?> type) {
+        Map<String, Method> getters = new LinkedHashMap<>();
+        Map<String, List<Method>> setters = new LinkedHashMap<>();
+        for (Method m : type.getMethods()) {
+            if (Modifier.isStatic(m.getModifiers()) || m.isBridge()) {
+                continue;
+            }
+            String methodName = m.getName();
+            int params = m.getParameterCount();
+            Class<?> returnType = m.getReturnType();
+            if (0 == params && void.class != returnType && Object.class != m.getDeclaringClass()) {
+                if (methodName.length() > 3 && methodName.startsWith("get")) {
+                    getters.put(propertyName(methodName, 3), m);
+                } else if (methodName.length() > 2 && methodName.startsWith("is") && boolean.class == returnType) {
+                    getters.put(propertyName(methodName, 2), m);
+                }
+            } else if (1 == params && methodName.length() > 3 && methodName.startsWith("set")) {
+                setters.computeIfAbsent(propertyName(methodName, 3), k -> new ArrayList<>()).add(m);
+            }
+        }
+        Map<String, PropertyAccessor> properties = new LinkedHashMap<>();
+        for (Map.Entry<String, Method> entry : getters.entrySet()) {
+            Method getter = entry.getValue();
+            Method setter = setterOf(setters.remove(entry.getKey()), getter.getReturnType());
+            BiConsumer<Object, Object> write = null == setter ? null : setter(setter);
+            properties.put(entry.getKey(), new PropertyAccessor(type, entry.getKey(), getter.getReturnType(), getter(getter), write));
+        }
+        for (Map.Entry<String, List<Method>> entry : setters.entrySet()) {
+            Method setter = entry.getValue().get(0);
+            Field field = publicField(type, entry.getKey());
+            Function<Object, Object> read = null == field ? null : fieldGetter(field);
+            properties.put(entry.getKey(), new PropertyAccessor(type, entry.getKey(), setter.getParameterTypes()[0], read, setter(setter)));
+        }
+        for (Field field : type.getFields()) {
+            String name = field.getName();
+            if (Modifier.isStatic(field.getModifiers()) || properties.containsKey(name)) {
+                continue;
+            }
+            Function<Object, Object> read = fieldGetter(field);
+            if (null != read) {
+                BiConsumer<Object, Object> write = Modifier.isFinal(field.getModifiers()) ? null : fieldSetter(field);
+                properties.put(name, new PropertyAccessor(type, name, field.getType(), read, write));
+            }
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+
+    private static List<PropertyAccessor> resolveFields(Class<?> type) {
+        List<PropertyAccessor> list = new ArrayList<>();
+        for (Class<?> c = type; null != c && Object.class != c; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                Function<Object, Object> getter = fieldGetter(field);
+                if (null != getter) {
+                    list.add(new PropertyAccessor(type, field.getName(), field.getType(), getter, fieldSetter(field)));
+                }
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    private static String propertyName(String methodName, int prefix) {
+        String s = methodName.substring(prefix);
+        if (s.length() > 1 && Character.isUpperCase(s.charAt(1)) && Character.isUpperCase(s.charAt(0))) {
+            return s;
+        }
+        return Character.toLowerCase(s.charAt(0)) + s.substring(1);
+    }
+
+    private static Method setterOf(List<Method> candidates, Class<?> type) {
+        if (null == candidates) {
+            return null;
+        }
+        for (Method m : candidates) {
+            if (m.getParameterTypes()[0] == type) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    private static Field publicField(Class<?> type, String name) {
+        try {
+            Field field = type.getField(name);
+            return Modifier.isStatic(field.getModifiers()) ? null : field;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method method) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            MethodHandle handle = lookup.unreflect(method);
+            if (canSpin(method.getDeclaringClass(), method.getReturnType())) {
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(
+                            lookup, "apply", MethodType.methodType(Function.class),
+                            MethodType.methodType(Object.class, Object.class), handle,
+                            MethodType.methodType(_Converters.wrap(method.getReturnType()), method.getDeclaringClass()));
+                    return (Function<Object, Object>) site.getTarget().invokeExact();
+                } catch (Throwable e) {
+                    // fall back to the method handle
+                }
+            }
+            return handleGetter(handle);
+        } catch (IllegalAccessException e) {
+            method.setAccessible(true);
+            return handleGetter(unreflect(method));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Class<?> paramType = method.getParameterTypes()[0];
+        try {
+            MethodHandle handle = lookup.unreflect(method);
+            if (void.class == method.getReturnType() && canSpin(method.getDeclaringClass(), paramType)) {
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(
+                            lookup, "accept", MethodType.methodType(BiConsumer.class),
+                            MethodType.methodType(void.class, Object.class, Object.class), handle,
+                            MethodType.methodType(void.class, method.getDeclaringClass(), _Converters.wrap(paramType)));
+                    return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+                } catch (Throwable e) {
+                    // fall back to the method handle
+                }
+            }
+            return handleSetter(handle);
+        } catch (IllegalAccessException e) {
+            method.setAccessible(true);
+            return handleSetter(unreflect(method));
+        }
+    }
+
+    private static Function<Object, Object> fieldGetter(Field field) {
+        try {
+            field.setAccessible(true);
+            return handleGetter(MethodHandles.lookup().unreflectGetter(field));
+        } catch (RuntimeException | IllegalAccessException e) {
+            // e.g. the field is in a module which is not open
+            return null;
+        }
+    }
+
+    private static BiConsumer<Object, Object> fieldSetter(Field field) {
+        try {
+            field.setAccessible(true);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        try {
+            return handleSetter(MethodHandles.lookup().unreflectSetter(field));
+        } catch (IllegalAccessException e) {
+            // final field
+            return (bean, value) -> {
+                try {
+                    field.set(bean, value);
+                } catch (IllegalAccessException e1) {
+                    throw new UnexpectedException(e1);
+                }
+            };
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new UnexpectedException(e);
+        }
+    }
+
+    private static Function<Object, Object> handleGetter(MethodHandle handle) {
+        MethodHandle h = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return bean -> {
+            try {
+                return h.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UnexpectedException(e);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> handleSetter(MethodHandle handle) {
+        MethodHandle h = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (bean, value) -> {
+            try {
+                h.invokeExact(bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UnexpectedException(e);
+            }
+        };
+    }
+
+    /**
+     * Returns whether a lambda can be spun for a member of `declaringClass`:
+     * the class must be public, and both the class and the `valueType` must
+     * be visible to the class loader of this class, which defines the
+     * generated class.
+     */
+    private static boolean canSpin(Class<?> declaringClass, Class<?> valueType) {
+        for (Class<?> c = declaringClass; null != c; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return isVisible(declaringClass) && isVisible(valueType);
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        ClassLoader loader = PropertyAccessor.class.getClassLoader();
+        try {
+            return type == Class.forName(type.getName(), false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
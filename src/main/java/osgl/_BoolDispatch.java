@@ -0,0 +1,182 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.collection.T2;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the bool tester of {@link Lang#bool(Object)} once per class.
+ *
+ * Each {@link Lang.Conf.Snapshot} has its own instance, which captures the
+ * testers of that snapshot.
+ */
+final class _BoolDispatch extends ClassValue<Predicate<Object>> {
+
+    private static final Predicate<Object> FALSE = v -> false;
+    private static final Predicate<Object> BOOLEAN = v -> (Boolean) v;
+    private static final Predicate<Object> COLLECTION = v -> !((Collection) v).isEmpty();
+    private static final Predicate<Object> OBJECT_ARRAY = v -> 0 < ((Object[]) v).length;
+    private static final Predicate<Object> PRIMITIVE_ARRAY = v -> 0 < Array.getLength(v);
+    private static final Predicate<Object> FLOAT = v -> Lang.bool((float) (Float) v);
+    private static final Predicate<Object> DOUBLE = v -> Lang.bool((double) (Double) v);
+    private static final Predicate<Object> BIG_INTEGER = v -> Lang.bool((BigInteger) v);
+    private static final Predicate<Object> BIG_DECIMAL = v -> Lang.bool((BigDecimal) v);
+    private static final Predicate<Object> NUMBER = v -> Lang.bool(((Number) v).intValue());
+    private static final Predicate<Object> FILE = v -> Lang.bool((File) v);
+    private static final Predicate<Object> PATH = v -> Lang.bool((Path) v);
+    private static final Predicate<Object> SUPPLIER = v -> Lang.bool(((Supplier) v).get());
+    private static final Predicate<Object> BOOLEAN_SUPPLIER = v -> ((BooleanSupplier) v).getAsBoolean();
+    private static final Predicate<Object> INT_SUPPLIER = v -> Lang.bool(((IntSupplier) v).getAsInt());
+    private static final Predicate<Object> LONG_SUPPLIER = v -> Lang.bool(((LongSupplier) v).getAsLong());
+    private static final Predicate<Object> DOUBLE_SUPPLIER = v -> Lang.bool(((DoubleSupplier) v).getAsDouble());
+
+    private final Predicate<Object> stringTester;
+    private final List<T2<Class<?>, Predicate<Object>>> typedTesters;
+    private final List<Function<Class<?>, Option<Predicate<Object>>>> providers;
+    private final Predicate<Object>[] legacyTesters;
+
+    @SuppressWarnings("unchecked")
+    _BoolDispatch(
+            Predicate<String> stringTester,
+            List<T2<Class<?>, Predicate<Object>>> typedTesters,
+            List<Function<Class<?>, Option<Predicate<Object>>>> providers,
+            List<Predicate<Object>> legacyTesters
+    ) {
+        this.stringTester = v -> stringTester.test((String) v);
+        this.typedTesters = typedTesters;
+        this.providers = providers;
+        this.legacyTesters = legacyTesters.toArray(new Predicate[legacyTesters.size()]);
+    }
+
+    @Override
+    protected Predicate<Object> computeValue(Class<?> type) {
+        Predicate<Object> tester = builtIn(type);
+        if (null != tester) {
+            return tester;
+        }
+        for (T2<Class<?>, Predicate<Object>> typed : typedTesters) {
+            if (typed.a.isAssignableFrom(type)) {
+                return typed.b;
+            }
+        }
+        for (Function<Class<?>, Option<Predicate<Object>>> provider : providers) {
+            Option<Predicate<Object>> provided = provider.apply(type);
+            if (null != provided && provided.isDefined()) {
+                return provided.get();
+            }
+        }
+        Predicate<Object> fallback = supplier(type);
+        if (0 == legacyTesters.length) {
+            return fallback;
+        }
+        return legacy(fallback);
+    }
+
+    private Predicate<Object> builtIn(Class<?> type) {
+        if (Boolean.class == type) {
+            return BOOLEAN;
+        }
+        if (String.class == type) {
+            return stringTester;
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return COLLECTION;
+        }
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? PRIMITIVE_ARRAY : OBJECT_ARRAY;
+        }
+        if (Number.class.isAssignableFrom(type)) {
+            if (Float.class == type) {
+                return FLOAT;
+            }
+            if (Double.class == type) {
+                return DOUBLE;
+            }
+            if (BigInteger.class.isAssignableFrom(type)) {
+                return BIG_INTEGER;
+            }
+            if (BigDecimal.class.isAssignableFrom(type)) {
+                return BIG_DECIMAL;
+            }
+            return NUMBER;
+        }
+        if (File.class.isAssignableFrom(type)) {
+            return FILE;
+        }
+        if (Path.class.isAssignableFrom(type)) {
+            return PATH;
+        }
+        return null;
+    }
+
+    private static Predicate<Object> supplier(Class<?> type) {
+        if (Supplier.class.isAssignableFrom(type)) {
+            return SUPPLIER;
+        }
+        if (BooleanSupplier.class.isAssignableFrom(type)) {
+            return BOOLEAN_SUPPLIER;
+        }
+        if (IntSupplier.class.isAssignableFrom(type)) {
+            return INT_SUPPLIER;
+        }
+        if (LongSupplier.class.isAssignableFrom(type)) {
+            return LONG_SUPPLIER;
+        }
+        if (DoubleSupplier.class.isAssignableFrom(type)) {
+            return DOUBLE_SUPPLIER;
+        }
+        return FALSE;
+    }
+
+    /**
+     * Apply the legacy testers registered with
+     * {@link Lang.Conf#registerBoolTester(Predicate)}, which signal an
+     * unsupported value with an exception, before `fallback`.
+     */
+    private Predicate<Object> legacy(final Predicate<Object> fallback) {
+        final Predicate<Object>[] testers = legacyTesters;
+        return v -> {
+            for (Predicate<Object> tester : testers) {
+                try {
+                    return tester.test(v);
+                } catch (RuntimeException e) {
+                    // not applied
+                }
+            }
+            return fallback.test(v);
+        };
+    }
+}
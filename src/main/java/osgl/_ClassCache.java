@@ -0,0 +1,288 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the classes resolved by {@link Lang#classForName(String, boolean, ClassLoader)}.
+ *
+ * There is a cache for each `ClassLoader`, held in a `ConcurrentHashMap`
+ * under a weak key so the class loader can be unloaded; the entries of
+ * collected class loaders are expunged through a reference queue. The
+ * cache of a class loader is found without locking, thus lookups with
+ * different class loaders do not contend. The cached classes are
+ * referenced weakly as well, otherwise a class would keep its class
+ * loader reachable. Names
+ * that cannot be resolved are cached as misses, thus a repeated lookup of
+ * a missing class does not ask the class loader again. The misses are kept
+ * in an LRU map of at most {@link #MAX_MISSES} names per class loader, so
+ * that looking up arbitrary names does not grow the cache without bound,
+ * and can be dropped with {@link #clear(ClassLoader)} when a class loader
+ * is able to resolve more classes later.
+ *
+ * Besides the binary names accepted by `Class.forName`, array names in
+ * source form like `int[][]` or `java.lang.String[]` are resolved.
+ */
+final class _ClassCache {
+
+    /**
+     * The maximum number of missing class names cached per class loader.
+     */
+    static final int MAX_MISSES = 1024;
+
+    private static final ConcurrentMap<Object, Cache> CACHES = new ConcurrentHashMap<>();
+
+    private static final ReferenceQueue<ClassLoader> COLLECTED = new ReferenceQueue<>();
+
+    private static final Cache BOOTSTRAP_CACHE = new Cache();
+
+    private _ClassCache() {
+    }
+
+    /**
+     * Returns the class of `className`, or `null` if it cannot be found.
+     */
+    static Class<?> lookup(String className, boolean initialize, ClassLoader classLoader) {
+        Class<?> c = _LangSupport.primitiveTypeLookup.get(className);
+        if (null != c) {
+            return c;
+        }
+        Cache cache = cacheOf(classLoader);
+        Entry entry = cache.classes.get(className);
+        c = null == entry ? null : entry.get();
+        if (null == c) {
+            if (cache.isMissing(className)) {
+                return null;
+            }
+            c = load(className, initialize, classLoader);
+            if (null == c) {
+                cache.miss(className);
+            } else {
+                cache.classes.put(className, new Entry(c, initialize));
+            }
+        } else if (initialize && !entry.initialized) {
+            c = load(className, true, classLoader);
+            entry.initialized = true;
+        }
+        return c;
+    }
+
+    /**
+     * Drops the cache of `classLoader`, `null` for the bootstrap class loader.
+     */
+    static void clear(ClassLoader classLoader) {
+        Cache cache = null == classLoader ? BOOTSTRAP_CACHE : CACHES.remove(new LookupKey(classLoader));
+        if (null != cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Drops the caches of all class loaders.
+     */
+    static void clear() {
+        for (Cache cache : CACHES.values()) {
+            cache.clear();
+        }
+        CACHES.clear();
+        BOOTSTRAP_CACHE.clear();
+    }
+
+    /**
+     * Returns the number of missing class names cached for `classLoader`.
+     */
+    static int missCount(ClassLoader classLoader) {
+        Cache cache = cacheOf(classLoader);
+        synchronized (cache.misses) {
+            return cache.misses.size();
+        }
+    }
+
+    private static Cache cacheOf(ClassLoader classLoader) {
+        if (null == classLoader) {
+            return BOOTSTRAP_CACHE;
+        }
+        expungeCollected();
+        Cache cache = CACHES.get(new LookupKey(classLoader));
+        if (null == cache) {
+            Cache created = new Cache();
+            cache = CACHES.putIfAbsent(new WeakKey(classLoader, COLLECTED), created);
+            if (null == cache) {
+                cache = created;
+            }
+        }
+        return cache;
+    }
+
+    private static void expungeCollected() {
+        Reference<? extends ClassLoader> ref;
+        while (null != (ref = COLLECTED.poll())) {
+            CACHES.remove(ref);
+        }
+    }
+
+    private static Class<?> load(String className, boolean initialize, ClassLoader classLoader) {
+        if (className.endsWith("[]")) {
+            int dimensions = 0;
+            int end = className.length();
+            while (end > 1 && className.startsWith("[]", end - 2)) {
+                dimensions++;
+                end -= 2;
+            }
+            String component = className.substring(0, end);
+            Class<?> c = _LangSupport.primitiveTypeLookup.get(component);
+            StringBuilder sb = new StringBuilder(dimensions + end + 2);
+            for (int i = 0; i < dimensions; ++i) {
+                sb.append('[');
+            }
+            if (null != c && c.isPrimitive()) {
+                sb.append(descriptor(c));
+            } else {
+                sb.append('L').append(component).append(';');
+            }
+            className = sb.toString();
+        }
+        try {
+            return Class.forName(className, initialize, classLoader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static char descriptor(Class<?> primitiveType) {
+        if (boolean.class == primitiveType) {
+            return 'Z';
+        } else if (long.class == primitiveType) {
+            return 'J';
+        }
+        return Character.toUpperCase(primitiveType.getName().charAt(0));
+    }
+
+    /**
+     * A resolved class, referenced weakly.
+     */
+    private static final class Entry extends WeakReference<Class<?>> {
+        volatile boolean initialized;
+
+        Entry(Class<?> c, boolean initialized) {
+            super(c);
+            this.initialized = initialized;
+        }
+    }
+
+    /**
+     * The resolved classes and the missing names of a class loader.
+     */
+    private static final class Cache {
+        final ConcurrentMap<String, Entry> classes = new ConcurrentHashMap<>();
+
+        /**
+         * Missing names in access order, guarded by itself.
+         */
+        final Map<String, Boolean> misses = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > MAX_MISSES;
+            }
+        };
+
+        boolean isMissing(String className) {
+            synchronized (misses) {
+                return null != misses.get(className);
+            }
+        }
+
+        void miss(String className) {
+            synchronized (misses) {
+                misses.put(className, Boolean.TRUE);
+            }
+        }
+
+        void clear() {
+            classes.clear();
+            synchronized (misses) {
+                misses.clear();
+            }
+        }
+    }
+
+    private static ClassLoader loaderOf(Object key) {
+        if (key instanceof WeakKey) {
+            return ((WeakKey) key).get();
+        }
+        return key instanceof LookupKey ? ((LookupKey) key).classLoader : null;
+    }
+
+    /**
+     * The key of a class loader in {@link #CACHES}, equal to the
+     * {@link LookupKey} of the same class loader.
+     */
+    private static final class WeakKey extends WeakReference<ClassLoader> {
+        private final int hash;
+
+        WeakKey(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue) {
+            super(classLoader, queue);
+            this.hash = System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            ClassLoader classLoader = get();
+            return null != classLoader && classLoader == loaderOf(obj);
+        }
+    }
+
+    /**
+     * A short lived key to look up the cache of a class loader.
+     */
+    private static final class LookupKey {
+        private final ClassLoader classLoader;
+
+        LookupKey(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return classLoader == loaderOf(obj);
+        }
+    }
+}
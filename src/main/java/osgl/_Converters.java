@@ -0,0 +1,327 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The converter registry of {@link Lang#convert(Object, Class)}.
+ *
+ * A conversion path from a source class to a target class is searched
+ * once with a breadth first search over the registered and built-in
+ * converters, and the compiled chain is cached per `(source, target)`
+ * pair in nested `ClassValue`s. A converter registered for a type also
+ * applies to its sub types.
+ *
+ * Each {@link Lang.Conf.Snapshot} has its own instance, which captures
+ * the converters of that snapshot.
+ */
+final class _Converters {
+
+    /**
+     * A single conversion step.
+     */
+    static final class Converter {
+        final Class<?> source;
+        final Class<?> target;
+        final Function<Object, Object> function;
+
+        @SuppressWarnings("unchecked")
+        Converter(Class<?> source, Class<?> target, Function<?, ?> function) {
+            this.source = source;
+            this.target = target;
+            this.function = (Function<Object, Object>) function;
+        }
+    }
+
+    private static final Function<Object, Object> IDENTITY = v -> v;
+
+    /**
+     * Marks a `(source, target)` pair without conversion path.
+     */
+    private static final Function<Object, Object> NO_PATH = v -> {
+        throw new IllegalStateException();
+    };
+
+    static final List<Converter> BUILT_IN;
+
+    private static final Map<Class<?>, Object> DEFAULTS;
+
+    static {
+        List<Converter> list = new ArrayList<>();
+        list.add(new Converter(String.class, Integer.class, (String s) -> Integer.valueOf(s.trim())));
+        list.add(new Converter(String.class, Long.class, (String s) -> Long.valueOf(s.trim())));
+        list.add(new Converter(String.class, Short.class, (String s) -> Short.valueOf(s.trim())));
+        list.add(new Converter(String.class, Byte.class, (String s) -> Byte.valueOf(s.trim())));
+        list.add(new Converter(String.class, Double.class, (String s) -> Double.valueOf(s.trim())));
+        list.add(new Converter(String.class, Float.class, (String s) -> Float.valueOf(s.trim())));
+        list.add(new Converter(String.class, BigInteger.class, (String s) -> new BigInteger(s.trim())));
+        list.add(new Converter(String.class, BigDecimal.class, (String s) -> new BigDecimal(s.trim())));
+        list.add(new Converter(String.class, Boolean.class, (String s) -> parseBoolean(s)));
+        list.add(new Converter(String.class, Character.class, (String s) -> toChar(s)));
+        list.add(new Converter(Number.class, Integer.class, (Number n) -> toInt(n)));
+        list.add(new Converter(Number.class, Long.class, (Number n) -> toLong(n)));
+        list.add(new Converter(Number.class, Short.class, (Number n) -> toShort(n)));
+        list.add(new Converter(Number.class, Byte.class, (Number n) -> toByte(n)));
+        list.add(new Converter(Number.class, Double.class, (Number n) -> n.doubleValue()));
+        list.add(new Converter(Number.class, Float.class, (Number n) -> n.floatValue()));
+        list.add(new Converter(Number.class, BigInteger.class, (Number n) -> toBigInteger(n)));
+        list.add(new Converter(Number.class, BigDecimal.class, (Number n) -> toBigDecimal(n)));
+        list.add(new Converter(Boolean.class, Integer.class, (Boolean b) -> b ? 1 : 0));
+        list.add(new Converter(Character.class, Integer.class, (Character c) -> (int) c));
+        list.add(new Converter(Enum.class, String.class, (Enum<?> e) -> e.name()));
+        list.add(new Converter(Object.class, String.class, String::valueOf));
+        BUILT_IN = Collections.unmodifiableList(list);
+
+        Map<Class<?>, Object> defaults = new HashMap<>();
+        defaults.put(boolean.class, false);
+        defaults.put(byte.class, (byte) 0);
+        defaults.put(short.class, (short) 0);
+        defaults.put(char.class, (char) 0);
+        defaults.put(int.class, 0);
+        defaults.put(long.class, 0L);
+        defaults.put(float.class, 0f);
+        defaults.put(double.class, 0d);
+        DEFAULTS = Collections.unmodifiableMap(defaults);
+    }
+
+    private final List<Converter> converters;
+
+    private final ClassValue<ClassValue<Function<Object, Object>>> chains = new ClassValue<ClassValue<Function<Object, Object>>>() {
+        @Override
+        protected ClassValue<Function<Object, Object>> computeValue(Class<?> source) {
+            return new ClassValue<Function<Object, Object>>() {
+                @Override
+                protected Function<Object, Object> computeValue(Class<?> target) {
+                    return compile(source, target);
+                }
+            };
+        }
+    };
+
+    /**
+     * @param registered
+     *      the registered converters, a later one takes precedence
+     *      over an earlier one and over the built-in converters
+     */
+    _Converters(List<Converter> registered) {
+        List<Converter> list = new ArrayList<>(registered.size() + BUILT_IN.size());
+        for (int i = registered.size() - 1; i >= 0; --i) {
+            list.add(registered.get(i));
+        }
+        list.addAll(BUILT_IN);
+        this.converters = list;
+    }
+
+    /**
+     * Converts `value` to `targetType`, which must not be a primitive type.
+     */
+    Object convert(Object value, Class<?> targetType) {
+        Function<Object, Object> chain = chains.get(value.getClass()).get(targetType);
+        if (NO_PATH == chain) {
+            throw new IllegalArgumentException("Cannot convert " + value.getClass().getName() + " to " + targetType.getName());
+        }
+        return chain.apply(value);
+    }
+
+    private Function<Object, Object> compile(Class<?> source, Class<?> target) {
+        if (target.isAssignableFrom(source)) {
+            return IDENTITY;
+        }
+        // maps each reached class to the class and the converter it is reached with
+        Map<Class<?>, Class<?>> parents = new HashMap<>();
+        Map<Class<?>, Function<Object, Object>> steps = new HashMap<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        parents.put(source, null);
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            Class<?> node = queue.poll();
+            if (String.class == node && target.isEnum()) {
+                return chain(parents, steps, node, enumParser(target));
+            }
+            for (Converter converter : converters) {
+                if (!converter.source.isAssignableFrom(node) || parents.containsKey(converter.target)) {
+                    continue;
+                }
+                if (target.isAssignableFrom(converter.target)) {
+                    return chain(parents, steps, node, converter.function);
+                }
+                // converters from `Object` are generic fallbacks, they only make the last step
+                if (Object.class != converter.source) {
+                    parents.put(converter.target, node);
+                    steps.put(converter.target, converter.function);
+                    queue.add(converter.target);
+                }
+            }
+        }
+        return NO_PATH;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> chain(
+            Map<Class<?>, Class<?>> parents,
+            Map<Class<?>, Function<Object, Object>> steps,
+            Class<?> node,
+            Function<Object, Object> last
+    ) {
+        List<Function<Object, Object>> list = new ArrayList<>();
+        list.add(last);
+        for (Class<?> c = node; null != parents.get(c); c = parents.get(c)) {
+            list.add(steps.get(c));
+        }
+        if (1 == list.size()) {
+            return last;
+        }
+        Collections.reverse(list);
+        Function<Object, Object>[] functions = list.toArray(new Function[list.size()]);
+        return v -> {
+            for (Function<Object, Object> function : functions) {
+                if (null == v) {
+                    return null;
+                }
+                v = function.apply(v);
+            }
+            return v;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> enumParser(Class<?> enumType) {
+        return s -> Enum.valueOf((Class) enumType, ((String) s).trim());
+    }
+
+    /**
+     * Returns the wrapper class of a primitive type, or `type` itself.
+     */
+    static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? _LangSupport.primitiveToWrapperLookup.get(type) : type;
+    }
+
+    /**
+     * Returns the default value of `type`, `null` if it is not a primitive type.
+     */
+    static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? DEFAULTS.get(type) : null;
+    }
+
+    static boolean parseBoolean(String s) {
+        String t = s.trim();
+        if ("true".equalsIgnoreCase(t)) {
+            return true;
+        } else if ("false".equalsIgnoreCase(t)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Cannot convert \"" + s + "\" to boolean");
+    }
+
+    private static char toChar(String s) {
+        if (s.length() != 1) {
+            throw new IllegalArgumentException("Cannot convert \"" + s + "\" to char");
+        }
+        return s.charAt(0);
+    }
+
+    /**
+     * Returns the `long` value of `n`.
+     *
+     * @throws IllegalArgumentException
+     *      if `n` has a fraction or is out of the `long` range
+     */
+    static long toLong(Number n) {
+        if (n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte) {
+            return n.longValue();
+        }
+        if (n instanceof Double || n instanceof Float) {
+            double d = n.doubleValue();
+            long l = (long) d;
+            // 0x1p63 is the first double beyond Long.MAX_VALUE
+            if (l != d || d >= 0x1p63) {
+                throw lossy(n, long.class);
+            }
+            return l;
+        }
+        try {
+            return toBigDecimal(n).longValueExact();
+        } catch (ArithmeticException e) {
+            throw lossy(n, long.class);
+        }
+    }
+
+    static int toInt(Number n) {
+        if (n instanceof Integer || n instanceof Short || n instanceof Byte) {
+            return n.intValue();
+        }
+        long l = toLong(n);
+        if ((int) l != l) {
+            throw lossy(n, int.class);
+        }
+        return (int) l;
+    }
+
+    private static short toShort(Number n) {
+        long l = toLong(n);
+        if ((short) l != l) {
+            throw lossy(n, short.class);
+        }
+        return (short) l;
+    }
+
+    private static byte toByte(Number n) {
+        long l = toLong(n);
+        if ((byte) l != l) {
+            throw lossy(n, byte.class);
+        }
+        return (byte) l;
+    }
+
+    private static IllegalArgumentException lossy(Number n, Class<?> targetType) {
+        return new IllegalArgumentException("Cannot convert " + n + " to " + targetType.getName() + " without loss");
+    }
+
+    private static BigInteger toBigInteger(Number n) {
+        if (n instanceof BigDecimal) {
+            return ((BigDecimal) n).toBigInteger();
+        } else if (n instanceof Double || n instanceof Float) {
+            return BigDecimal.valueOf(n.doubleValue()).toBigInteger();
+        }
+        return BigInteger.valueOf(n.longValue());
+    }
+
+    private static BigDecimal toBigDecimal(Number n) {
+        if (n instanceof BigDecimal) {
+            return (BigDecimal) n;
+        } else if (n instanceof BigInteger) {
+            return new BigDecimal((BigInteger) n);
+        } else if (n instanceof Double || n instanceof Float) {
+            return BigDecimal.valueOf(n.doubleValue());
+        }
+        return BigDecimal.valueOf(n.longValue());
+    }
+}
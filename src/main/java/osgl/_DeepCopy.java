@@ -0,0 +1,583 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.collection.T2;
+import osgl.collection.T3;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * The deep copy engine of {@link Lang#deepCopy(Object)}.
+ *
+ * A copy plan is resolved once per class and cached in a `ClassValue`:
+ *
+ * * immutable values (`String`, boxed primitives, `BigInteger`, `BigDecimal`,
+ *   enums, `Class`, {@link Option}, `java.time` values etc.) are shared
+ * * primitive arrays are copied with `System.arraycopy`
+ * * {@link T2} and {@link T3} are instantiated without calling a constructor
+ *   and their fields are filled with copies of their elements, their cached
+ *   hash codes are left to be computed from the copied elements
+ * * collections and maps are rebuilt, with the same class if it has a
+ *   constructor without arguments (or with a `Comparator` for sorted
+ *   collections), otherwise as an `ArrayList`, `LinkedHashSet`, `TreeSet`,
+ *   `LinkedHashMap` or `TreeMap`
+ * * other objects are instantiated with their constructor without arguments
+ *   (or without calling a constructor if there is none) and their fields are
+ *   copied with the accessors of {@link PropertyAccessor}. If the fields are
+ *   not accessible, e.g. a JDK class in a module which is not open, the
+ *   object is copied with its public `clone()` method or a copy constructor,
+ *   otherwise it cannot be copied
+ *
+ * Objects are copied iteratively with an explicit stack, and each object is
+ * copied only once, thus shared references and cycles are preserved in the
+ * copy. The elements of sets and the keys of maps are copied completely
+ * before they are added, as their hash codes depend on them, thus only a
+ * chain of objects nested in set elements or map keys is copied
+ * recursively.
+ */
+final class _DeepCopy {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new LinkedHashSet<>();
+
+    static {
+        Class<?>[] types = {
+                String.class, Boolean.class, Character.class, Byte.class, Short.class,
+                Integer.class, Long.class, Float.class, Double.class, BigInteger.class,
+                BigDecimal.class, Class.class, Object.class, UUID.class, Locale.class,
+                Currency.class, Pattern.class, File.class
+        };
+        for (Class<?> c : types) {
+            IMMUTABLE_TYPES.add(c);
+        }
+    }
+
+    private static final Object[] NO_ARGS = {};
+
+    /**
+     * Classes whose copy constructor takes a super type of the class.
+     */
+    private static final Map<Class<?>, Class<?>> COPY_CONSTRUCTOR_PARAMETERS = new HashMap<>();
+
+    static {
+        COPY_CONSTRUCTOR_PARAMETERS.put(StringBuilder.class, CharSequence.class);
+        COPY_CONSTRUCTOR_PARAMETERS.put(StringBuffer.class, CharSequence.class);
+    }
+
+    /**
+     * Copies a value, the copy of an object that is referenced by a
+     * field, an array or a list can be filled later.
+     */
+    abstract static class Plan {
+        /**
+         * Returns the copy of `src`. It can return an empty shell, which is
+         * filled by {@link #fill(Object, Object, _DeepCopy)} later.
+         */
+        abstract Object copy(Object src, _DeepCopy ctx);
+
+        /**
+         * Fills the shell returned by {@link #copy(Object, _DeepCopy)}.
+         */
+        void fill(Object src, Object copy, _DeepCopy ctx) {
+        }
+
+        boolean needsFill() {
+            return false;
+        }
+    }
+
+    private static final Plan SHARE = new Plan() {
+        @Override
+        Object copy(Object src, _DeepCopy ctx) {
+            return src;
+        }
+    };
+
+    private static final Plan PRIMITIVE_ARRAY = new Plan() {
+        @Override
+        Object copy(Object src, _DeepCopy ctx) {
+            int len = Array.getLength(src);
+            Object copy = Array.newInstance(src.getClass().getComponentType(), len);
+            System.arraycopy(src, 0, copy, 0, len);
+            return copy;
+        }
+    };
+
+    private static final Plan OBJECT_ARRAY = new Plan() {
+        @Override
+        Object copy(Object src, _DeepCopy ctx) {
+            return Array.newInstance(src.getClass().getComponentType(), ((Object[]) src).length);
+        }
+
+        @Override
+        void fill(Object src, Object copy, _DeepCopy ctx) {
+            Object[] a = (Object[]) src;
+            Object[] b = (Object[]) copy;
+            for (int i = 0; i < a.length; ++i) {
+                b[i] = ctx.copy(a[i]);
+            }
+        }
+
+        @Override
+        boolean needsFill() {
+            return true;
+        }
+    };
+
+    private static final class CollectionPlan extends Plan {
+        private final Constructor<?> constructor;
+        private final boolean withComparator;
+        private final boolean isList;
+
+        CollectionPlan(Constructor<?> constructor, boolean withComparator, boolean isList) {
+            this.constructor = constructor;
+            this.withComparator = withComparator;
+            this.isList = isList;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object copy(Object src, _DeepCopy ctx) {
+            if (src instanceof EnumSet) {
+                return ((EnumSet) src).clone();
+            }
+            Comparator<?> comparator = null;
+            if (src instanceof SortedSet) {
+                comparator = ((SortedSet<?>) src).comparator();
+            } else if (src instanceof PriorityQueue) {
+                comparator = ((PriorityQueue<?>) src).comparator();
+            }
+            if (null != constructor) {
+                return newInstance(constructor, withComparator ? new Object[]{comparator} : NO_ARGS);
+            } else if (src instanceof SortedSet) {
+                return new TreeSet<>((Comparator<Object>) comparator);
+            } else if (src instanceof Set) {
+                return new LinkedHashSet<>();
+            }
+            return new ArrayList<>(((Collection<?>) src).size());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void fill(Object src, Object copy, _DeepCopy ctx) {
+            if (src instanceof EnumSet) {
+                return;
+            }
+            Collection<Object> target = (Collection<Object>) copy;
+            for (Object e : (Collection<?>) src) {
+                target.add(isList ? ctx.copy(e) : ctx.copyComplete(e));
+            }
+        }
+
+        @Override
+        boolean needsFill() {
+            return true;
+        }
+    }
+
+    private static final class MapPlan extends Plan {
+        private final Constructor<?> constructor;
+        private final boolean withComparator;
+
+        MapPlan(Constructor<?> constructor, boolean withComparator) {
+            this.constructor = constructor;
+            this.withComparator = withComparator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object copy(Object src, _DeepCopy ctx) {
+            if (src instanceof EnumMap) {
+                EnumMap map = new EnumMap((EnumMap) src);
+                map.clear();
+                return map;
+            }
+            Comparator<?> comparator = src instanceof SortedMap ? ((SortedMap<?, ?>) src).comparator() : null;
+            if (null != constructor) {
+                return newInstance(constructor, withComparator ? new Object[]{comparator} : NO_ARGS);
+            } else if (src instanceof SortedMap) {
+                return new TreeMap<>((Comparator<Object>) comparator);
+            }
+            return new LinkedHashMap<>();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void fill(Object src, Object copy, _DeepCopy ctx) {
+            Map<Object, Object> target = (Map<Object, Object>) copy;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) src).entrySet()) {
+                target.put(ctx.copyComplete(entry.getKey()), ctx.copy(entry.getValue()));
+            }
+        }
+
+        @Override
+        boolean needsFill() {
+            return true;
+        }
+    }
+
+    private static final class BeanPlan extends Plan {
+        private final Class<?> type;
+        private final Constructor<?> constructor;
+        private final PropertyAccessor[] fields;
+
+        BeanPlan(Class<?> type, Constructor<?> constructor, List<PropertyAccessor> fields) {
+            this.type = type;
+            this.constructor = constructor;
+            this.fields = fields.toArray(new PropertyAccessor[fields.size()]);
+        }
+
+        @Override
+        Object copy(Object src, _DeepCopy ctx) {
+            return null != constructor ? newInstance(constructor, NO_ARGS) : allocate(type);
+        }
+
+        @Override
+        void fill(Object src, Object copy, _DeepCopy ctx) {
+            for (PropertyAccessor field : fields) {
+                Object v = field.get(src);
+                if (field.type().isPrimitive()) {
+                    field.set(copy, v);
+                } else {
+                    field.set(copy, ctx.copy(v));
+                }
+            }
+        }
+
+        @Override
+        boolean needsFill() {
+            return true;
+        }
+    }
+
+    /**
+     * Copies an object with its public `clone()` method, used for classes
+     * whose fields are not accessible.
+     */
+    private static final class ClonePlan extends Plan {
+        private final Method clone;
+
+        ClonePlan(Method clone) {
+            this.clone = clone;
+        }
+
+        @Override
+        Object copy(Object src, _DeepCopy ctx) {
+            try {
+                return clone.invoke(src);
+            } catch (ReflectiveOperationException e) {
+                throw new UnsupportedOperationException("Cannot clone " + src.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Copies an object with a copy constructor, used for classes whose
+     * fields are not accessible.
+     */
+    private static final class CopyConstructorPlan extends Plan {
+        private final Constructor<?> constructor;
+
+        CopyConstructorPlan(Constructor<?> constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        Object copy(Object src, _DeepCopy ctx) {
+            return newInstance(constructor, new Object[]{src});
+        }
+    }
+
+    private static final ClassValue<Plan> PLANS = new ClassValue<Plan>() {
+        @Override
+        protected Plan computeValue(Class<?> type) {
+            return plan(type);
+        }
+    };
+
+    private final IdentityHashMap<Object, Object> copies = new IdentityHashMap<>();
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+
+    private _DeepCopy() {
+    }
+
+    static <T> T deepCopy(T src) {
+        if (null == src) {
+            return null;
+        }
+        Plan plan = PLANS.get(src.getClass());
+        if (SHARE == plan) {
+            return src;
+        }
+        @SuppressWarnings("unchecked")
+        T copy = (T) new _DeepCopy().copyComplete(src);
+        return copy;
+    }
+
+    /**
+     * Returns the copy of `src`, which might not be filled yet.
+     */
+    Object copy(Object src) {
+        if (null == src) {
+            return null;
+        }
+        Plan plan = PLANS.get(src.getClass());
+        if (SHARE == plan) {
+            return src;
+        }
+        Object copy = copies.get(src);
+        if (null != copy) {
+            return copy;
+        }
+        copy = plan.copy(src, this);
+        copies.put(src, copy);
+        if (plan.needsFill()) {
+            pending.push(plan);
+            pending.push(copy);
+            pending.push(src);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the copy of `src`, filled completely unless it is part of
+     * a cycle which is still being copied.
+     */
+    Object copyComplete(Object src) {
+        int mark = pending.size();
+        Object copy = copy(src);
+        while (pending.size() > mark) {
+            Object s = pending.pop();
+            Object c = pending.pop();
+            Plan plan = (Plan) pending.pop();
+            plan.fill(s, c, this);
+        }
+        return copy;
+    }
+
+    private static Plan plan(Class<?> type) {
+        if (type.isPrimitive() || IMMUTABLE_TYPES.contains(type) || isImmutable(type)) {
+            return SHARE;
+        }
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? PRIMITIVE_ARRAY : OBJECT_ARRAY;
+        }
+        if (T2.class.isAssignableFrom(type) || T3.class.isAssignableFrom(type)) {
+            // no constructor is called, so that a tuple in a cycle can be referenced before it is filled
+            return new BeanPlan(type, null, tupleFields(type));
+        } else if (Collection.class.isAssignableFrom(type)) {
+            boolean sorted = SortedSet.class.isAssignableFrom(type) || PriorityQueue.class.isAssignableFrom(type);
+            Constructor<?> c = sorted ? constructor(type, Comparator.class) : null;
+            if (null == c) {
+                c = constructor(type);
+            }
+            boolean withComparator = null != c && 1 == c.getParameterCount();
+            return new CollectionPlan(c, withComparator, List.class.isAssignableFrom(type));
+        } else if (Map.class.isAssignableFrom(type)) {
+            boolean sorted = SortedMap.class.isAssignableFrom(type);
+            Constructor<?> c = sorted ? constructor(type, Comparator.class) : null;
+            if (null == c) {
+                c = constructor(type);
+            }
+            return new MapPlan(c, null != c && 1 == c.getParameterCount());
+        }
+        List<PropertyAccessor> fields = PropertyAccessor.fields(type);
+        boolean accessible = fields.size() == instanceFieldCount(type);
+        for (PropertyAccessor field : fields) {
+            accessible &= field.isWritable();
+        }
+        if (!accessible) {
+            // e.g. a JDK class in a module which is not open
+            Method clone = cloneMethod(type);
+            if (null != clone) {
+                return new ClonePlan(clone);
+            }
+            Constructor<?> copyConstructor = copyConstructor(type);
+            if (null != copyConstructor) {
+                return new CopyConstructorPlan(copyConstructor);
+            }
+            throw new UnsupportedOperationException("Cannot access the fields of " + type.getName());
+        }
+        return new BeanPlan(type, constructor(type), fields);
+    }
+
+    private static boolean isImmutable(Class<?> type) {
+        if (type.isEnum() || (null != type.getSuperclass() && type.getSuperclass().isEnum())) {
+            return true;
+        }
+        if (Option.class.isAssignableFrom(type) || Path.class.isAssignableFrom(type)) {
+            return true;
+        }
+        if (type.isSynthetic()) {
+            // lambdas
+            return true;
+        }
+        String name = type.getName();
+        return name.startsWith("java.time.") && !name.startsWith("java.time.format.");
+    }
+
+    private static int instanceFieldCount(Class<?> type) {
+        int n = 0;
+        for (Class<?> c = type; null != c && Object.class != c; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    private static Method cloneMethod(Class<?> type) {
+        if (!Cloneable.class.isAssignableFrom(type)) {
+            return null;
+        }
+        try {
+            Method clone = type.getMethod("clone");
+            return Modifier.isPublic(clone.getDeclaringClass().getModifiers()) ? clone : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a public copy constructor of `type`: one whose single
+     * parameter is `type` itself, or one of {@link #COPY_CONSTRUCTOR_PARAMETERS}.
+     * Other constructors taking an instance of `type`, like
+     * `Exception(Throwable)` or `Thread(Runnable)`, wrap their argument
+     * instead of copying it.
+     */
+    private static Constructor<?> copyConstructor(Class<?> type) {
+        Class<?> param = COPY_CONSTRUCTOR_PARAMETERS.get(type);
+        try {
+            return type.getConstructor(null == param ? type : param);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the fields of a tuple type except the hash codes cached by
+     * {@link T2} and {@link T3}.
+     */
+    private static List<PropertyAccessor> tupleFields(Class<?> type) {
+        Set<String> cached = new LinkedHashSet<>();
+        for (Class<?> c : new Class<?>[]{T2.class, T3.class}) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getType().isPrimitive() && !Modifier.isStatic(field.getModifiers())) {
+                    cached.add(field.getName());
+                }
+            }
+        }
+        List<PropertyAccessor> fields = new ArrayList<>();
+        for (PropertyAccessor field : PropertyAccessor.fields(type)) {
+            if (!(field.type().isPrimitive() && cached.contains(field.name()))) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static Constructor<?> constructor(Class<?> type, Class<?>... parameterTypes) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> c = type.getDeclaredConstructor(parameterTypes);
+            c.setAccessible(true);
+            return c;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Object newInstance(Constructor<?> constructor, Object[] args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Cannot instantiate " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static final Object UNSAFE;
+    private static final Method ALLOCATE_INSTANCE;
+
+    static {
+        Object unsafe = null;
+        Method allocateInstance = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            allocateInstance = unsafeClass.getMethod("allocateInstance", Class.class);
+        } catch (Exception e) {
+            // objects without a constructor without arguments cannot be copied
+        }
+        UNSAFE = unsafe;
+        ALLOCATE_INSTANCE = allocateInstance;
+    }
+
+    /**
+     * Creates an instance of a class which has no constructor without
+     * arguments, without calling any constructor.
+     */
+    private static Object allocate(Class<?> type) {
+        if (null == ALLOCATE_INSTANCE || Modifier.isAbstract(type.getModifiers())) {
+            throw new UnsupportedOperationException("Cannot instantiate " + type.getName());
+        }
+        try {
+            return ALLOCATE_INSTANCE.invoke(UNSAFE, type);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Cannot instantiate " + type.getName(), e);
+        }
+    }
+}
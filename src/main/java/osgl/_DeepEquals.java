@@ -0,0 +1,487 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implements {@link Lang#deq(Object, Object)} and
+ * {@link Lang#deqParallel(Object, Object)}.
+ *
+ * The comparison strategy of a class is resolved once and cached. Primitive
+ * arrays are compared with `Arrays.equals`, object arrays and lists are
+ * walked with an explicit stack instead of recursion, and a pair of
+ * containers already on the walk path is not compared again, thus cyclic
+ * structures terminate.
+ *
+ * Only the current path is tracked, so an acyclic structure is compared
+ * without any bookkeeping allocation: up to {@link #PATH_SCAN_DEPTH}
+ * the path is scanned, and only a deeper path is indexed in a hash set.
+ */
+final class _DeepEquals {
+
+    /**
+     * The minimum size in bytes of a primitive array to be compared in
+     * parallel by {@link Lang#deqParallel(Object, Object)}.
+     */
+    static final long PARALLEL_THRESHOLD = 1L << 20;
+
+    private static final int PARALLEL_CHUNK = 1 << 16;
+
+    /**
+     * The depth of the walk path up to which cycles are detected by
+     * scanning the path instead of looking it up in {@link #path}.
+     */
+    static final int PATH_SCAN_DEPTH = 16;
+
+    private enum Kind {
+        LEAF(0),
+        OBJECT_ARRAY(0),
+        LIST(0),
+        BOOLEAN_ARRAY(1),
+        BYTE_ARRAY(1),
+        CHAR_ARRAY(2),
+        SHORT_ARRAY(2),
+        INT_ARRAY(4),
+        LONG_ARRAY(8),
+        FLOAT_ARRAY(4),
+        DOUBLE_ARRAY(8);
+
+        /**
+         * Size of an element in bytes, `0` if not a primitive array.
+         */
+        final int elementSize;
+
+        Kind(int elementSize) {
+            this.elementSize = elementSize;
+        }
+
+        boolean isPrimitiveArray() {
+            return elementSize > 0;
+        }
+    }
+
+    private static final ClassValue<Kind> KINDS = new ClassValue<Kind>() {
+        @Override
+        protected Kind computeValue(Class<?> type) {
+            if (!type.isArray()) {
+                return List.class.isAssignableFrom(type) ? Kind.LIST : Kind.LEAF;
+            }
+            if (boolean[].class == type) {
+                return Kind.BOOLEAN_ARRAY;
+            }
+            if (byte[].class == type) {
+                return Kind.BYTE_ARRAY;
+            }
+            if (char[].class == type) {
+                return Kind.CHAR_ARRAY;
+            }
+            if (short[].class == type) {
+                return Kind.SHORT_ARRAY;
+            }
+            if (int[].class == type) {
+                return Kind.INT_ARRAY;
+            }
+            if (long[].class == type) {
+                return Kind.LONG_ARRAY;
+            }
+            if (float[].class == type) {
+                return Kind.FLOAT_ARRAY;
+            }
+            if (double[].class == type) {
+                return Kind.DOUBLE_ARRAY;
+            }
+            return Kind.OBJECT_ARRAY;
+        }
+    };
+
+    private final boolean parallel;
+
+    /**
+     * The container pairs on the walk path, created only once the path
+     * is deeper than {@link #PATH_SCAN_DEPTH}.
+     */
+    private Set<IdentityPair> path;
+
+    _DeepEquals(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    static boolean deq(Object a, Object b, boolean parallel) {
+        if (a == b) {
+            return true;
+        }
+        if (null == a || null == b) {
+            return false;
+        }
+        Class<?> type = a.getClass();
+        Kind kind = KINDS.get(type);
+        switch (kind) {
+            case LEAF:
+                return a.equals(b);
+            case LIST:
+                return b instanceof List && new _DeepEquals(parallel).walk(a, b);
+            case OBJECT_ARRAY:
+                return type == b.getClass() && new _DeepEquals(parallel).walk(a, b);
+            default:
+                return type == b.getClass() && primitiveArrayEquals(kind, a, b, parallel);
+        }
+    }
+
+    boolean walk(Object a, Object b) {
+        Frame top = Frame.of(a, b, null);
+        if (null == top) {
+            return false;
+        }
+        int depth = 1;
+        while (null != top) {
+            if (!top.hasNext()) {
+                if (null != path) {
+                    path.remove(new IdentityPair(top.a, top.b));
+                }
+                top = top.parent;
+                depth--;
+                continue;
+            }
+            Object x = top.nextA();
+            Object y = top.nextB();
+            if (x == y) {
+                continue;
+            }
+            if (null == x || null == y) {
+                return false;
+            }
+            Kind kind = KINDS.get(x.getClass());
+            switch (kind) {
+                case LEAF:
+                    if (!x.equals(y)) {
+                        return false;
+                    }
+                    continue;
+                case LIST:
+                    if (!(y instanceof List)) {
+                        if (!x.equals(y)) {
+                            return false;
+                        }
+                        continue;
+                    }
+                    break;
+                case OBJECT_ARRAY:
+                    // nested object arrays may be of different types, as in Arrays.deepEquals
+                    if (!(y instanceof Object[])) {
+                        return false;
+                    }
+                    break;
+                default:
+                    if (x.getClass() != y.getClass() || !primitiveArrayEquals(kind, x, y, parallel)) {
+                        return false;
+                    }
+                    continue;
+            }
+            if (onPath(top, depth, x, y)) {
+                continue;
+            }
+            Frame nested = Frame.of(x, y, top);
+            if (null == nested) {
+                return false;
+            }
+            if (null != path) {
+                path.add(new IdentityPair(x, y));
+            }
+            top = nested;
+            depth++;
+        }
+        return true;
+    }
+
+    /**
+     * Returns `true` if the walk path has been indexed in a hash set.
+     */
+    boolean pathIndexed() {
+        return null != path;
+    }
+
+    /**
+     * Returns `true` if the containers `x` and `y` are being compared by
+     * `top` or one of its parents.
+     */
+    private boolean onPath(Frame top, int depth, Object x, Object y) {
+        if (null == path) {
+            if (depth < PATH_SCAN_DEPTH) {
+                for (Frame f = top; null != f; f = f.parent) {
+                    if (f.a == x && f.b == y) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            path = new HashSet<>();
+            for (Frame f = top; null != f; f = f.parent) {
+                path.add(new IdentityPair(f.a, f.b));
+            }
+        }
+        return path.contains(new IdentityPair(x, y));
+    }
+
+    private static boolean primitiveArrayEquals(Kind kind, Object a, Object b, boolean parallel) {
+        if (parallel) {
+            int length = Array.getLength(a);
+            if ((long) length * kind.elementSize >= PARALLEL_THRESHOLD) {
+                if (length != Array.getLength(b)) {
+                    return false;
+                }
+                return ForkJoinPool.commonPool().invoke(new RangeCompare(kind, a, b, 0, length, new AtomicBoolean()));
+            }
+        }
+        switch (kind) {
+            case BOOLEAN_ARRAY:
+                return Arrays.equals((boolean[]) a, (boolean[]) b);
+            case BYTE_ARRAY:
+                return Arrays.equals((byte[]) a, (byte[]) b);
+            case CHAR_ARRAY:
+                return Arrays.equals((char[]) a, (char[]) b);
+            case SHORT_ARRAY:
+                return Arrays.equals((short[]) a, (short[]) b);
+            case INT_ARRAY:
+                return Arrays.equals((int[]) a, (int[]) b);
+            case LONG_ARRAY:
+                return Arrays.equals((long[]) a, (long[]) b);
+            case FLOAT_ARRAY:
+                return Arrays.equals((float[]) a, (float[]) b);
+            case DOUBLE_ARRAY:
+                return Arrays.equals((double[]) a, (double[]) b);
+            default:
+                throw new IllegalArgumentException(kind.name());
+        }
+    }
+
+    private static boolean rangeEquals(Kind kind, Object a, Object b, int from, int to) {
+        switch (kind) {
+            case BOOLEAN_ARRAY: {
+                boolean[] x = (boolean[]) a;
+                boolean[] y = (boolean[]) b;
+                for (int i = from; i < to; ++i) {
+                    if (x[i] != y[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case BYTE_ARRAY: {
+                byte[] x = (byte[]) a;
+                byte[] y = (byte[]) b;
+                for (int i = from; i < to; ++i) {
+                    if (x[i] != y[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case CHAR_ARRAY: {
+                char[] x = (char[]) a;
+                char[] y = (char[]) b;
+                for (int i = from; i < to; ++i) {
+                    if (x[i] != y[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case SHORT_ARRAY: {
+                short[] x = (short[]) a;
+                short[] y = (short[]) b;
+                for (int i = from; i < to; ++i) {
+                    if (x[i] != y[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case INT_ARRAY: {
+                int[] x = (int[]) a;
+                int[] y = (int[]) b;
+                for (int i = from; i < to; ++i) {
+                    if (x[i] != y[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case LONG_ARRAY: {
+                long[] x = (long[]) a;
+                long[] y = (long[]) b;
+                for (int i = from; i < to; ++i) {
+                    if (x[i] != y[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case FLOAT_ARRAY: {
+                float[] x = (float[]) a;
+                float[] y = (float[]) b;
+                for (int i = from; i < to; ++i) {
+                    if (Float.floatToIntBits(x[i]) != Float.floatToIntBits(y[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case DOUBLE_ARRAY: {
+                double[] x = (double[]) a;
+                double[] y = (double[]) b;
+                for (int i = from; i < to; ++i) {
+                    if (Double.doubleToLongBits(x[i]) != Double.doubleToLongBits(y[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            default:
+                throw new IllegalArgumentException(kind.name());
+        }
+    }
+
+    /**
+     * Compares a range of two primitive arrays of the same length, splitting
+     * it until it is not larger than {@link #PARALLEL_CHUNK}. Once a mismatch
+     * is found the pending tasks return without comparing.
+     */
+    private static final class RangeCompare extends RecursiveTask<Boolean> {
+        private final Kind kind;
+        private final Object a;
+        private final Object b;
+        private final int from;
+        private final int to;
+        private final AtomicBoolean mismatch;
+
+        RangeCompare(Kind kind, Object a, Object b, int from, int to, AtomicBoolean mismatch) {
+            this.kind = kind;
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.mismatch = mismatch;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (mismatch.get()) {
+                return false;
+            }
+            if (to - from <= PARALLEL_CHUNK) {
+                if (rangeEquals(kind, a, b, from, to)) {
+                    return true;
+                }
+                mismatch.set(true);
+                return false;
+            }
+            int mid = (from + to) >>> 1;
+            RangeCompare left = new RangeCompare(kind, a, b, from, mid, mismatch);
+            left.fork();
+            boolean right = new RangeCompare(kind, a, b, mid, to, mismatch).compute();
+            return left.join() && right;
+        }
+    }
+
+    /**
+     * A position in a pair of object arrays or lists being compared,
+     * linked to the frame of the containers holding them.
+     */
+    private static final class Frame {
+        private final Object a;
+        private final Object b;
+        private final Frame parent;
+        private final Object[] arrayA;
+        private final Object[] arrayB;
+        private final Iterator<?> itrA;
+        private final Iterator<?> itrB;
+        private int index;
+
+        private Frame(Object a, Object b, Frame parent, Object[] arrayA, Object[] arrayB, Iterator<?> itrA, Iterator<?> itrB) {
+            this.a = a;
+            this.b = b;
+            this.parent = parent;
+            this.arrayA = arrayA;
+            this.arrayB = arrayB;
+            this.itrA = itrA;
+            this.itrB = itrB;
+        }
+
+        /**
+         * Returns a frame of the containers, or `null` if their sizes differ.
+         */
+        static Frame of(Object a, Object b, Frame parent) {
+            if (a instanceof Object[]) {
+                Object[] x = (Object[]) a;
+                Object[] y = (Object[]) b;
+                return x.length == y.length ? new Frame(a, b, parent, x, y, null, null) : null;
+            }
+            List<?> x = (List<?>) a;
+            List<?> y = (List<?>) b;
+            return x.size() == y.size() ? new Frame(a, b, parent, null, null, x.iterator(), y.iterator()) : null;
+        }
+
+        boolean hasNext() {
+            return null != arrayA ? index < arrayA.length : itrA.hasNext() && itrB.hasNext();
+        }
+
+        Object nextA() {
+            return null != arrayA ? arrayA[index] : itrA.next();
+        }
+
+        Object nextB() {
+            return null != arrayA ? arrayB[index++] : itrB.next();
+        }
+    }
+
+    private static final class IdentityPair {
+        private final Object a;
+        private final Object b;
+
+        IdentityPair(Object a, Object b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof IdentityPair)) {
+                return false;
+            }
+            IdentityPair that = (IdentityPair) obj;
+            return a == that.a && b == that.b;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(a) + System.identityHashCode(b);
+        }
+    }
+}
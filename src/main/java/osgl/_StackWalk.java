@@ -0,0 +1,258 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Locates the frames of the current thread's stack for
+ * {@link Lang#callerClass()}, {@link Lang#callerInfo()} and
+ * {@link Lang#callerFrame(int)}.
+ *
+ * On Java 9 and later `java.lang.StackWalker` with `RETAIN_CLASS_REFERENCE`
+ * is used through method handles, so only the frames up to the requested
+ * one are walked and no stack trace is materialized. On Java 8 the frames
+ * are read one at a time from a `Throwable` with `JavaLangAccess`, and
+ * `callerClass` uses `SecurityManager.getClassContext`.
+ *
+ * Depth `0` is the first frame which does not belong to this class.
+ */
+final class _StackWalk {
+
+    private static final MethodHandle WALK;
+    private static final MethodHandle FRAME_CLASS;
+    private static final MethodHandle FRAME_METHOD;
+    private static final MethodHandle FRAME_LINE;
+
+    private static final MethodHandle TRACE_DEPTH;
+    private static final MethodHandle TRACE_ELEMENT;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle walk = null, frameClass = null, frameMethod = null, frameLine = null;
+        MethodHandle traceDepth = null, traceElement = null;
+        try {
+            Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> optionClass = Class.forName("java.lang.StackWalker$Option");
+            Class<?> frameType = Class.forName("java.lang.StackWalker$StackFrame");
+            Object retainClass = optionClass.getField("RETAIN_CLASS_REFERENCE").get(null);
+            Object walker = walkerClass.getMethod("getInstance", optionClass).invoke(null, retainClass);
+            walk = lookup.findVirtual(walkerClass, "walk", MethodType.methodType(Object.class, Function.class))
+                    .bindTo(walker);
+            frameClass = lookup.findVirtual(frameType, "getDeclaringClass", MethodType.methodType(Class.class))
+                    .asType(MethodType.methodType(Class.class, Object.class));
+            frameMethod = lookup.findVirtual(frameType, "getMethodName", MethodType.methodType(String.class))
+                    .asType(MethodType.methodType(String.class, Object.class));
+            frameLine = lookup.findVirtual(frameType, "getLineNumber", MethodType.methodType(int.class))
+                    .asType(MethodType.methodType(int.class, Object.class));
+        } catch (Exception e) {
+            walk = null;
+            try {
+                Class<?> accessClass = Class.forName("sun.misc.JavaLangAccess");
+                Object access = Class.forName("sun.misc.SharedSecrets").getMethod("getJavaLangAccess").invoke(null);
+                traceDepth = lookup.findVirtual(accessClass, "getStackTraceDepth",
+                        MethodType.methodType(int.class, Throwable.class)).bindTo(access);
+                traceElement = lookup.findVirtual(accessClass, "getStackTraceElement",
+                        MethodType.methodType(StackTraceElement.class, Throwable.class, int.class)).bindTo(access);
+            } catch (Exception e2) {
+                traceDepth = null;
+                traceElement = null;
+            }
+        }
+        WALK = walk;
+        FRAME_CLASS = frameClass;
+        FRAME_METHOD = frameMethod;
+        FRAME_LINE = frameLine;
+        TRACE_DEPTH = traceDepth;
+        TRACE_ELEMENT = traceElement;
+    }
+
+    private static final ClassValue<ConcurrentMap<CallerFrame, CallerFrame>> SITES = new ClassValue<ConcurrentMap<CallerFrame, CallerFrame>>() {
+        @Override
+        protected ConcurrentMap<CallerFrame, CallerFrame> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ConcurrentMap<CallerFrame, CallerFrame> UNRESOLVED_SITES = new ConcurrentHashMap<>();
+
+    private _StackWalk() {
+    }
+
+    /**
+     * Returns the frame at `depth`, or `null` if the stack is not that deep.
+     */
+    static CallerFrame frame(int depth) {
+        if (null != WALK) {
+            return (CallerFrame) walk(stream -> {
+                Object f = find(stream, depth);
+                if (null == f) {
+                    return null;
+                }
+                Class<?> c = frameClass(f);
+                return new CallerFrame(c, c.getName(), frameMethod(f), frameLine(f));
+            });
+        }
+        StackTraceElement e = element(depth);
+        return null == e ? null : new CallerFrame(null, e.getClassName(), e.getMethodName(), e.getLineNumber());
+    }
+
+    /**
+     * Returns the frame at `depth`, shared by all calls from the same
+     * call site, or `null` if the stack is not that deep.
+     */
+    static CallerFrame cachedFrame(int depth) {
+        CallerFrame f = frame(depth);
+        if (null == f) {
+            return null;
+        }
+        Class<?> c = f.knownClass();
+        ConcurrentMap<CallerFrame, CallerFrame> sites = null == c ? UNRESOLVED_SITES : SITES.get(c);
+        CallerFrame cached = sites.get(f);
+        if (null == cached) {
+            cached = sites.putIfAbsent(f, f);
+            if (null == cached) {
+                cached = f;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Returns the class of the frame at `depth`, or `null` if the stack
+     * is not that deep.
+     */
+    static Class<?> callerClass(int depth) {
+        if (null != WALK) {
+            return (Class<?>) walk(stream -> {
+                Object f = find(stream, depth);
+                return null == f ? null : frameClass(f);
+            });
+        }
+        Class<?>[] context = ClassContext.INSTANCE.classes();
+        int i = 0;
+        while (i < context.length && (context[i] == _StackWalk.class || context[i] == ClassContext.class)) {
+            i++;
+        }
+        i += depth;
+        return i < context.length ? context[i] : null;
+    }
+
+    static Class<?> loadClass(String className) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        try {
+            return Class.forName(className, false, null == loader ? _StackWalk.class.getClassLoader() : loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Object walk(Function<Stream<?>, Object> fn) {
+        try {
+            return (Object) WALK.invokeExact(fn);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object find(Stream<?> stream, int depth) {
+        Iterator<?> itr = stream.iterator();
+        while (itr.hasNext()) {
+            Object f = itr.next();
+            if (frameClass(f) != _StackWalk.class) {
+                if (0 == depth--) {
+                    return f;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static StackTraceElement element(int depth) {
+        Throwable t = new Throwable();
+        String self = _StackWalk.class.getName();
+        if (null != TRACE_ELEMENT) {
+            try {
+                int n = (int) TRACE_DEPTH.invokeExact(t);
+                for (int i = 0; i < n; ++i) {
+                    StackTraceElement e = (StackTraceElement) TRACE_ELEMENT.invokeExact(t, i);
+                    if (!self.equals(e.getClassName()) && 0 == depth--) {
+                        return e;
+                    }
+                }
+                return null;
+            } catch (Throwable e) {
+                // fall through to getStackTrace
+            }
+        }
+        for (StackTraceElement e : t.getStackTrace()) {
+            if (!self.equals(e.getClassName()) && 0 == depth--) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> frameClass(Object frame) {
+        try {
+            return (Class<?>) FRAME_CLASS.invokeExact(frame);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String frameMethod(Object frame) {
+        try {
+            return (String) FRAME_METHOD.invokeExact(frame);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int frameLine(Object frame) {
+        try {
+            return (int) FRAME_LINE.invokeExact(frame);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Exposes `SecurityManager.getClassContext` on Java 8, created only
+     * when `StackWalker` is not available.
+     */
+    private static final class ClassContext extends SecurityManager {
+        static final ClassContext INSTANCE = new ClassContext();
+
+        Class<?>[] classes() {
+            return getClassContext();
+        }
+    }
+}
@@ -0,0 +1,608 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The xxHash64 algorithm (Yann Collet) used by the `Lang.hc64` methods.
+ *
+ * Arrays of multi-byte primitives and `CharSequence`s are hashed as their
+ * little endian byte representation, reading the elements directly, so the
+ * hash of a value does not depend on the platform byte order and no byte
+ * copy is made. `float` and `double` values are hashed through
+ * `Float.floatToIntBits` and `Double.doubleToLongBits`, thus all `NaN`s hash
+ * the same.
+ *
+ * The byte offsets of those arrays are tracked as `long`, as an array of
+ * 2^28 `long`s or more has a byte length beyond `Integer.MAX_VALUE`.
+ */
+final class _XxHash64 {
+
+    static final long P1 = 0x9E3779B185EBCA87L;
+    static final long P2 = 0xC2B2AE3D27D4EB4FL;
+    static final long P3 = 0x165667B19E3779F9L;
+    static final long P4 = 0x85EBCA77C2B2AE63L;
+    static final long P5 = 0x27D4EB2F165667C5L;
+
+    private _XxHash64() {
+    }
+
+    /**
+     * Returns the hash of empty input.
+     */
+    static long empty(long seed) {
+        return avalanche(seed + P5);
+    }
+
+    /**
+     * Returns the hash of the 8 bytes of `v`.
+     */
+    static long hash(long v, long seed) {
+        long h = seed + P5 + 8;
+        h ^= round(0, v);
+        h = Long.rotateLeft(h, 27) * P1 + P4;
+        return avalanche(h);
+    }
+
+    /**
+     * Returns the hash of the 4 bytes of `v`.
+     */
+    static long hash(int v, long seed) {
+        long h = seed + P5 + 4;
+        h ^= (v & 0xFFFFFFFFL) * P1;
+        h = Long.rotateLeft(h, 23) * P2 + P3;
+        return avalanche(h);
+    }
+
+    /**
+     * Returns the hash of the lowest `n` bytes of `v`, `n` is less than `4`.
+     */
+    static long hashSmall(int v, int n, long seed) {
+        long h = seed + P5 + n;
+        for (int i = 0; i < n; ++i) {
+            h ^= ((v >>> (i << 3)) & 0xFFL) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(byte[] a, int off, int len, long seed) {
+        int p = off;
+        final int end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final int limit = end - 32;
+            do {
+                v1 = round(v1, getLong(a, p));
+                p += 8;
+                v2 = round(v2, getLong(a, p));
+                p += 8;
+                v3 = round(v3, getLong(a, p));
+                p += 8;
+                v4 = round(v4, getLong(a, p));
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, getLong(a, p));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        if (p + 4 <= end) {
+            h ^= (getInt(a, p) & 0xFFFFFFFFL) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            p += 4;
+        }
+        while (p < end) {
+            h ^= (a[p] & 0xFFL) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+            p++;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(ByteBuffer buffer, long seed) {
+        ByteBuffer b = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        final int len = buffer.remaining();
+        int p = buffer.position();
+        final int end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final int limit = end - 32;
+            do {
+                v1 = round(v1, b.getLong(p));
+                p += 8;
+                v2 = round(v2, b.getLong(p));
+                p += 8;
+                v3 = round(v3, b.getLong(p));
+                p += 8;
+                v4 = round(v4, b.getLong(p));
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, b.getLong(p));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        if (p + 4 <= end) {
+            h ^= (b.getInt(p) & 0xFFFFFFFFL) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            p += 4;
+        }
+        while (p < end) {
+            h ^= (b.get(p) & 0xFFL) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+            p++;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(CharSequence s, long seed) {
+        final long len = (long) s.length() << 1;
+        long p = 0;
+        final long end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final long limit = end - 32;
+            do {
+                v1 = round(v1, charLane(s, (int) (p >> 1)));
+                p += 8;
+                v2 = round(v2, charLane(s, (int) (p >> 1)));
+                p += 8;
+                v3 = round(v3, charLane(s, (int) (p >> 1)));
+                p += 8;
+                v4 = round(v4, charLane(s, (int) (p >> 1)));
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, charLane(s, (int) (p >> 1)));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        if (p + 4 <= end) {
+            h ^= ((long) s.charAt((int) (p >> 1)) | (long) s.charAt((int) (p >> 1) + 1) << 16) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            p += 4;
+        }
+        while (p < end) {
+            h ^= (s.charAt((int) (p >> 1)) >> ((p & 1) << 3) & 0xFFL) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+            p++;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(char[] a, long seed) {
+        final long len = (long) a.length << 1;
+        long p = 0;
+        final long end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final long limit = end - 32;
+            do {
+                v1 = round(v1, charLane(a, (int) (p >> 1)));
+                p += 8;
+                v2 = round(v2, charLane(a, (int) (p >> 1)));
+                p += 8;
+                v3 = round(v3, charLane(a, (int) (p >> 1)));
+                p += 8;
+                v4 = round(v4, charLane(a, (int) (p >> 1)));
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, charLane(a, (int) (p >> 1)));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        if (p + 4 <= end) {
+            h ^= ((long) a[(int) (p >> 1)] | (long) a[(int) (p >> 1) + 1] << 16) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            p += 4;
+        }
+        while (p < end) {
+            h ^= (a[(int) (p >> 1)] >> ((p & 1) << 3) & 0xFFL) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+            p++;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(short[] a, long seed) {
+        final long len = (long) a.length << 1;
+        long p = 0;
+        final long end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final long limit = end - 32;
+            do {
+                v1 = round(v1, shortLane(a, (int) (p >> 1)));
+                p += 8;
+                v2 = round(v2, shortLane(a, (int) (p >> 1)));
+                p += 8;
+                v3 = round(v3, shortLane(a, (int) (p >> 1)));
+                p += 8;
+                v4 = round(v4, shortLane(a, (int) (p >> 1)));
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, shortLane(a, (int) (p >> 1)));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        if (p + 4 <= end) {
+            h ^= ((a[(int) (p >> 1)] & 0xFFFFL) | (a[(int) (p >> 1) + 1] & 0xFFFFL) << 16) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            p += 4;
+        }
+        while (p < end) {
+            h ^= (a[(int) (p >> 1)] >> ((p & 1) << 3) & 0xFFL) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+            p++;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(int[] a, long seed) {
+        final long len = (long) a.length << 2;
+        long p = 0;
+        final long end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final long limit = end - 32;
+            do {
+                v1 = round(v1, (a[(int) (p >> 2)] & 0xFFFFFFFFL) | (long) a[(int) (p >> 2) + 1] << 32);
+                p += 8;
+                v2 = round(v2, (a[(int) (p >> 2)] & 0xFFFFFFFFL) | (long) a[(int) (p >> 2) + 1] << 32);
+                p += 8;
+                v3 = round(v3, (a[(int) (p >> 2)] & 0xFFFFFFFFL) | (long) a[(int) (p >> 2) + 1] << 32);
+                p += 8;
+                v4 = round(v4, (a[(int) (p >> 2)] & 0xFFFFFFFFL) | (long) a[(int) (p >> 2) + 1] << 32);
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, (a[(int) (p >> 2)] & 0xFFFFFFFFL) | (long) a[(int) (p >> 2) + 1] << 32);
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        if (p + 4 <= end) {
+            h ^= (a[(int) (p >> 2)] & 0xFFFFFFFFL) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            p += 4;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(float[] a, long seed) {
+        final long len = (long) a.length << 2;
+        long p = 0;
+        final long end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final long limit = end - 32;
+            do {
+                v1 = round(v1, (Float.floatToIntBits(a[(int) (p >> 2)]) & 0xFFFFFFFFL) | (long) Float.floatToIntBits(a[(int) (p >> 2) + 1]) << 32);
+                p += 8;
+                v2 = round(v2, (Float.floatToIntBits(a[(int) (p >> 2)]) & 0xFFFFFFFFL) | (long) Float.floatToIntBits(a[(int) (p >> 2) + 1]) << 32);
+                p += 8;
+                v3 = round(v3, (Float.floatToIntBits(a[(int) (p >> 2)]) & 0xFFFFFFFFL) | (long) Float.floatToIntBits(a[(int) (p >> 2) + 1]) << 32);
+                p += 8;
+                v4 = round(v4, (Float.floatToIntBits(a[(int) (p >> 2)]) & 0xFFFFFFFFL) | (long) Float.floatToIntBits(a[(int) (p >> 2) + 1]) << 32);
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, (Float.floatToIntBits(a[(int) (p >> 2)]) & 0xFFFFFFFFL) | (long) Float.floatToIntBits(a[(int) (p >> 2) + 1]) << 32);
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        if (p + 4 <= end) {
+            h ^= (Float.floatToIntBits(a[(int) (p >> 2)]) & 0xFFFFFFFFL) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            p += 4;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(long[] a, long seed) {
+        final long len = (long) a.length << 3;
+        long p = 0;
+        final long end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final long limit = end - 32;
+            do {
+                v1 = round(v1, a[(int) (p >> 3)]);
+                p += 8;
+                v2 = round(v2, a[(int) (p >> 3)]);
+                p += 8;
+                v3 = round(v3, a[(int) (p >> 3)]);
+                p += 8;
+                v4 = round(v4, a[(int) (p >> 3)]);
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, a[(int) (p >> 3)]);
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(double[] a, long seed) {
+        final long len = (long) a.length << 3;
+        long p = 0;
+        final long end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final long limit = end - 32;
+            do {
+                v1 = round(v1, Double.doubleToLongBits(a[(int) (p >> 3)]));
+                p += 8;
+                v2 = round(v2, Double.doubleToLongBits(a[(int) (p >> 3)]));
+                p += 8;
+                v3 = round(v3, Double.doubleToLongBits(a[(int) (p >> 3)]));
+                p += 8;
+                v4 = round(v4, Double.doubleToLongBits(a[(int) (p >> 3)]));
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, Double.doubleToLongBits(a[(int) (p >> 3)]));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        return avalanche(h);
+    }
+
+    static long hash(boolean[] a, long seed) {
+        final int len = a.length;
+        int p = 0;
+        final int end = p + len;
+        long h;
+        if (len >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            final int limit = end - 32;
+            do {
+                v1 = round(v1, booleanLane(a, p));
+                p += 8;
+                v2 = round(v2, booleanLane(a, p));
+                p += 8;
+                v3 = round(v3, booleanLane(a, p));
+                p += 8;
+                v4 = round(v4, booleanLane(a, p));
+                p += 8;
+            } while (p <= limit);
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += len;
+        while (p + 8 <= end) {
+            h ^= round(0, booleanLane(a, p));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            p += 8;
+        }
+        if (p + 4 <= end) {
+            h ^= booleanLane4(a, p) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            p += 4;
+        }
+        while (p < end) {
+            h ^= (a[p] ? 1L : 0L) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+            p++;
+        }
+        return avalanche(h);
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * P2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * P1;
+    }
+
+    private static long merge(long h, long v) {
+        h ^= round(0, v);
+        return h * P1 + P4;
+    }
+
+    private static long avalanche(long h) {
+        h ^= h >>> 33;
+        h *= P2;
+        h ^= h >>> 29;
+        h *= P3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private static long getLong(byte[] a, int p) {
+        return (a[p] & 0xFFL)
+                | (a[p + 1] & 0xFFL) << 8
+                | (a[p + 2] & 0xFFL) << 16
+                | (a[p + 3] & 0xFFL) << 24
+                | (a[p + 4] & 0xFFL) << 32
+                | (a[p + 5] & 0xFFL) << 40
+                | (a[p + 6] & 0xFFL) << 48
+                | (a[p + 7] & 0xFFL) << 56;
+    }
+
+    private static int getInt(byte[] a, int p) {
+        return (a[p] & 0xFF)
+                | (a[p + 1] & 0xFF) << 8
+                | (a[p + 2] & 0xFF) << 16
+                | (a[p + 3] & 0xFF) << 24;
+    }
+
+    private static long charLane(CharSequence s, int i) {
+        return (long) s.charAt(i)
+                | (long) s.charAt(i + 1) << 16
+                | (long) s.charAt(i + 2) << 32
+                | (long) s.charAt(i + 3) << 48;
+    }
+
+    private static long charLane(char[] a, int i) {
+        return (long) a[i]
+                | (long) a[i + 1] << 16
+                | (long) a[i + 2] << 32
+                | (long) a[i + 3] << 48;
+    }
+
+    private static long shortLane(short[] a, int i) {
+        return (a[i] & 0xFFFFL)
+                | (a[i + 1] & 0xFFFFL) << 16
+                | (a[i + 2] & 0xFFFFL) << 32
+                | (a[i + 3] & 0xFFFFL) << 48;
+    }
+
+    private static long booleanLane(boolean[] a, int p) {
+        return booleanLane4(a, p) | booleanLane4(a, p + 4) << 32;
+    }
+
+    private static long booleanLane4(boolean[] a, int p) {
+        return (a[p] ? 1L : 0L)
+                | (a[p + 1] ? 1L : 0L) << 8
+                | (a[p + 2] ? 1L : 0L) << 16
+                | (a[p + 3] ? 1L : 0L) << 24;
+    }
+}
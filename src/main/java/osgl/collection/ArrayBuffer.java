@@ -0,0 +1,102 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A growable array used to materialize elements into an {@link Array}.
+ *
+ * @param <T>
+ *      The type of the elements.
+ */
+final class ArrayBuffer<T> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private Object[] data;
+    private int size;
+
+    /**
+     * Construct an `ArrayBuffer` with default initial capacity.
+     */
+    ArrayBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an `ArrayBuffer` with initial capacity specified.
+     *
+     * @param capacity
+     *      the initial capacity, e.g. the exact size if it is known
+     */
+    ArrayBuffer(int capacity) {
+        data = new Object[Math.max(0, capacity)];
+    }
+
+    /**
+     * Returns the initial capacity for buffering elements of an iterable: the
+     * size of the iterable if it is a sized {@link Traversable} or the default
+     * capacity otherwise.
+     */
+    static int capacityOf(Iterable<?> iterable) {
+        if (iterable instanceof Traversable) {
+            Traversable<?> traversable = (Traversable<?>) iterable;
+            if (traversable.sized()) {
+                return traversable.size();
+            }
+        } else if (iterable instanceof Collection) {
+            return ((Collection<?>) iterable).size();
+        }
+        return DEFAULT_CAPACITY;
+    }
+
+    void add(T element) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+        }
+        data[size++] = element;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns an {@link Array} of the elements added to this buffer. This buffer
+     * shall not be used after calling this method.
+     */
+    @SuppressWarnings("unchecked")
+    Array<T> toArray() {
+        return new Array<>((T[]) toObjectArray());
+    }
+
+    /**
+     * Returns the elements added to this buffer in an array of the exact size.
+     * This buffer shall not be used after calling this method.
+     */
+    Object[] toObjectArray() {
+        Object[] a = size == data.length ? data : Arrays.copyOf(data, size);
+        data = null;
+        return a;
+    }
+}
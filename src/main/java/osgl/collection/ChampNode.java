@@ -0,0 +1,547 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * A node of the Compressed Hash-Array Mapped Prefix-tree (CHAMP) backing
+ * {@link PersistentHashMap} and {@link PersistentHashSet}.
+ *
+ * A {@link BitmapIndexedNode} consumes 5 bits of the key hash per level.
+ * Its `content` array stores the inlined key/value pairs from the start
+ * and the sub nodes from the end, with `dataMap` and `nodeMap` telling which
+ * of the 32 branches are present in each part. Keys whose 32 bit hashes are
+ * equal end up in a {@link HashCollisionNode}.
+ *
+ * Updates copy the path from the root to the changed node and share all
+ * other nodes. A node whose `owner` is the (non-null) owner passed to an
+ * update belongs to a transient builder and is modified in place.
+ *
+ * Removal keeps the trie in canonical form: a sub node left with a single
+ * key/value pair is inlined into its parent. Thus equal maps have the same
+ * shape, whatever the order of updates.
+ */
+abstract class ChampNode {
+
+    static final int BITS = 5;
+    static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Returned by {@link #find(Object, int, int)} for missing keys, as
+     * `null` values are permitted.
+     */
+    static final Object NOT_FOUND = new Object();
+
+    static final BitmapIndexedNode EMPTY = new BitmapIndexedNode(null, 0, 0, new Object[0]);
+
+    /**
+     * Collects the result of an update.
+     */
+    static final class Change {
+        boolean modified;
+        boolean sizeChanged;
+        Object oldValue;
+
+        void added() {
+            modified = true;
+            sizeChanged = true;
+        }
+
+        void replaced(Object oldValue) {
+            modified = true;
+            this.oldValue = oldValue;
+        }
+
+        void removed(Object oldValue) {
+            modified = true;
+            sizeChanged = true;
+            this.oldValue = oldValue;
+        }
+    }
+
+    static int hash(Object key) {
+        return PrimitiveHashing.mix(key);
+    }
+
+    static boolean keyEq(Object a, Object b) {
+        return a == b || a.equals(b);
+    }
+
+    abstract Object find(Object key, int hash, int shift);
+
+    abstract ChampNode update(Object owner, Object key, Object value, int hash, int shift, Change change);
+
+    abstract ChampNode remove(Object owner, Object key, int hash, int shift, Change change);
+
+    abstract int payloadArity();
+
+    abstract int nodeArity();
+
+    abstract Object keyAt(int i);
+
+    abstract Object valueAt(int i);
+
+    abstract ChampNode nodeAt(int i);
+
+    abstract void forEach(BiConsumer<Object, Object> action);
+
+    final boolean isSingleton() {
+        return 1 == payloadArity() && 0 == nodeArity();
+    }
+
+    static int mask(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    static int bitpos(int mask) {
+        return 1 << mask;
+    }
+
+    /**
+     * Build a node holding two pairs whose keys have the same hash prefix
+     * up to `shift`.
+     */
+    static ChampNode mergeTwo(Object owner, Object k0, Object v0, int h0, Object k1, Object v1, int h1, int shift) {
+        if (shift >= 32) {
+            return new HashCollisionNode(owner, h0, new Object[]{k0, v0, k1, v1});
+        }
+        int m0 = mask(h0, shift);
+        int m1 = mask(h1, shift);
+        if (m0 != m1) {
+            int dataMap = bitpos(m0) | bitpos(m1);
+            Object[] content = m0 < m1 ? new Object[]{k0, v0, k1, v1} : new Object[]{k1, v1, k0, v0};
+            return new BitmapIndexedNode(owner, dataMap, 0, content);
+        }
+        ChampNode sub = mergeTwo(owner, k0, v0, h0, k1, v1, h1, shift + BITS);
+        return new BitmapIndexedNode(owner, 0, bitpos(m0), new Object[]{sub});
+    }
+
+    static final class BitmapIndexedNode extends ChampNode {
+        private final Object owner;
+        private int dataMap;
+        private int nodeMap;
+        private Object[] content;
+
+        BitmapIndexedNode(Object owner, int dataMap, int nodeMap, Object[] content) {
+            this.owner = owner;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        private boolean isOwnedBy(Object owner) {
+            return null != owner && owner == this.owner;
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Object keyAt(int i) {
+            return content[i << 1];
+        }
+
+        @Override
+        Object valueAt(int i) {
+            return content[(i << 1) + 1];
+        }
+
+        @Override
+        ChampNode nodeAt(int i) {
+            return (ChampNode) content[content.length - 1 - i];
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = bitpos(mask(hash, shift));
+            if (0 != (dataMap & bit)) {
+                int i = dataIndex(bit);
+                return keyEq(keyAt(i), key) ? valueAt(i) : NOT_FOUND;
+            }
+            if (0 != (nodeMap & bit)) {
+                return nodeAt(nodeIndex(bit)).find(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        ChampNode update(Object owner, Object key, Object value, int hash, int shift, Change change) {
+            int bit = bitpos(mask(hash, shift));
+            if (0 != (dataMap & bit)) {
+                int i = dataIndex(bit);
+                Object k0 = keyAt(i);
+                if (keyEq(k0, key)) {
+                    Object v0 = valueAt(i);
+                    if (v0 == value) {
+                        return this;
+                    }
+                    change.replaced(v0);
+                    return copyAndSetValue(owner, i, value);
+                }
+                Object v0 = valueAt(i);
+                ChampNode sub = mergeTwo(owner, k0, v0, hash(k0), key, value, hash, shift + BITS);
+                change.added();
+                return copyAndMigrateFromInlineToNode(owner, bit, sub);
+            }
+            if (0 != (nodeMap & bit)) {
+                ChampNode sub = nodeAt(nodeIndex(bit));
+                ChampNode newSub = sub.update(owner, key, value, hash, shift + BITS, change);
+                return change.modified ? copyAndSetNode(owner, bit, newSub) : this;
+            }
+            change.added();
+            return copyAndInsertValue(owner, bit, key, value);
+        }
+
+        @Override
+        ChampNode remove(Object owner, Object key, int hash, int shift, Change change) {
+            int bit = bitpos(mask(hash, shift));
+            if (0 != (dataMap & bit)) {
+                int i = dataIndex(bit);
+                if (!keyEq(keyAt(i), key)) {
+                    return this;
+                }
+                change.removed(valueAt(i));
+                if (2 == payloadArity() && 0 == nodeArity()) {
+                    // the remaining pair forms a singleton node to be inlined by the
+                    // parent, or a root node when this is the root
+                    int newDataMap = 0 == shift ? dataMap ^ bit : bitpos(mask(hash, 0));
+                    int j = 0 == i ? 1 : 0;
+                    return new BitmapIndexedNode(owner, newDataMap, 0, new Object[]{keyAt(j), valueAt(j)});
+                }
+                return copyAndRemoveValue(owner, bit, i);
+            }
+            if (0 != (nodeMap & bit)) {
+                ChampNode sub = nodeAt(nodeIndex(bit));
+                ChampNode newSub = sub.remove(owner, key, hash, shift + BITS, change);
+                if (!change.modified) {
+                    return this;
+                }
+                if (newSub.isSingleton()) {
+                    if (0 == payloadArity() && 1 == nodeArity()) {
+                        // this node would only wrap the singleton, propagate it up
+                        return newSub;
+                    }
+                    return copyAndMigrateFromNodeToInline(owner, bit, newSub);
+                }
+                return copyAndSetNode(owner, bit, newSub);
+            }
+            return this;
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            int payload = payloadArity();
+            for (int i = 0; i < payload; ++i) {
+                action.accept(keyAt(i), valueAt(i));
+            }
+            int nodes = nodeArity();
+            for (int i = 0; i < nodes; ++i) {
+                nodeAt(i).forEach(action);
+            }
+        }
+
+        private ChampNode copyAndSetValue(Object owner, int i, Object value) {
+            int idx = (i << 1) + 1;
+            if (isOwnedBy(owner)) {
+                content[idx] = value;
+                return this;
+            }
+            Object[] a = content.clone();
+            a[idx] = value;
+            return new BitmapIndexedNode(owner, dataMap, nodeMap, a);
+        }
+
+        private ChampNode copyAndSetNode(Object owner, int bit, ChampNode node) {
+            int idx = content.length - 1 - nodeIndex(bit);
+            if (isOwnedBy(owner)) {
+                content[idx] = node;
+                return this;
+            }
+            if (content[idx] == node) {
+                return this;
+            }
+            Object[] a = content.clone();
+            a[idx] = node;
+            return new BitmapIndexedNode(owner, dataMap, nodeMap, a);
+        }
+
+        private ChampNode copyAndInsertValue(Object owner, int bit, Object key, Object value) {
+            int idx = dataIndex(bit) << 1;
+            Object[] a = new Object[content.length + 2];
+            System.arraycopy(content, 0, a, 0, idx);
+            a[idx] = key;
+            a[idx + 1] = value;
+            System.arraycopy(content, idx, a, idx + 2, content.length - idx);
+            return withContent(owner, dataMap | bit, nodeMap, a);
+        }
+
+        private ChampNode copyAndRemoveValue(Object owner, int bit, int i) {
+            int idx = i << 1;
+            Object[] a = new Object[content.length - 2];
+            System.arraycopy(content, 0, a, 0, idx);
+            System.arraycopy(content, idx + 2, a, idx, content.length - idx - 2);
+            return withContent(owner, dataMap ^ bit, nodeMap, a);
+        }
+
+        private ChampNode copyAndMigrateFromInlineToNode(Object owner, int bit, ChampNode node) {
+            int idxOld = dataIndex(bit) << 1;
+            // sub nodes are stored in reverse order from the end
+            int idxNew = content.length - 2 - nodeIndex(bit);
+            Object[] a = new Object[content.length - 1];
+            System.arraycopy(content, 0, a, 0, idxOld);
+            System.arraycopy(content, idxOld + 2, a, idxOld, idxNew - idxOld);
+            a[idxNew] = node;
+            System.arraycopy(content, idxNew + 2, a, idxNew + 1, content.length - idxNew - 2);
+            return withContent(owner, dataMap ^ bit, nodeMap | bit, a);
+        }
+
+        private ChampNode copyAndMigrateFromNodeToInline(Object owner, int bit, ChampNode node) {
+            int idxOld = content.length - 1 - nodeIndex(bit);
+            int idxNew = dataIndex(bit) << 1;
+            Object[] a = new Object[content.length + 1];
+            System.arraycopy(content, 0, a, 0, idxNew);
+            a[idxNew] = node.keyAt(0);
+            a[idxNew + 1] = node.valueAt(0);
+            System.arraycopy(content, idxNew, a, idxNew + 2, idxOld - idxNew);
+            System.arraycopy(content, idxOld + 1, a, idxOld + 2, content.length - idxOld - 1);
+            return withContent(owner, dataMap | bit, nodeMap ^ bit, a);
+        }
+
+        private ChampNode withContent(Object owner, int dataMap, int nodeMap, Object[] content) {
+            if (isOwnedBy(owner)) {
+                this.dataMap = dataMap;
+                this.nodeMap = nodeMap;
+                this.content = content;
+                return this;
+            }
+            return new BitmapIndexedNode(owner, dataMap, nodeMap, content);
+        }
+    }
+
+    /**
+     * Holds pairs of keys that share the same full 32 bit hash.
+     */
+    static final class HashCollisionNode extends ChampNode {
+        private final Object owner;
+        private final int hash;
+        private Object[] content;
+
+        HashCollisionNode(Object owner, int hash, Object[] content) {
+            this.owner = owner;
+            this.hash = hash;
+            this.content = content;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < content.length; i += 2) {
+                if (keyEq(content[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        int payloadArity() {
+            return content.length >> 1;
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        Object keyAt(int i) {
+            return content[i << 1];
+        }
+
+        @Override
+        Object valueAt(int i) {
+            return content[(i << 1) + 1];
+        }
+
+        @Override
+        ChampNode nodeAt(int i) {
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            if (hash != this.hash) {
+                return NOT_FOUND;
+            }
+            int idx = indexOf(key);
+            return idx < 0 ? NOT_FOUND : content[idx + 1];
+        }
+
+        @Override
+        ChampNode update(Object owner, Object key, Object value, int hash, int shift, Change change) {
+            int idx = indexOf(key);
+            if (idx >= 0) {
+                Object old = content[idx + 1];
+                if (old == value) {
+                    return this;
+                }
+                change.replaced(old);
+                Object[] a = null != owner && owner == this.owner ? content : content.clone();
+                a[idx + 1] = value;
+                return a == content ? this : new HashCollisionNode(owner, this.hash, a);
+            }
+            change.added();
+            Object[] a = Arrays.copyOf(content, content.length + 2);
+            a[content.length] = key;
+            a[content.length + 1] = value;
+            return withContent(owner, a);
+        }
+
+        @Override
+        ChampNode remove(Object owner, Object key, int hash, int shift, Change change) {
+            int idx = indexOf(key);
+            if (idx < 0) {
+                return this;
+            }
+            change.removed(content[idx + 1]);
+            if (4 == content.length) {
+                // a singleton node to be inlined by the parent
+                int j = 0 == idx ? 2 : 0;
+                return new BitmapIndexedNode(owner, bitpos(mask(this.hash, 0)), 0, new Object[]{content[j], content[j + 1]});
+            }
+            Object[] a = new Object[content.length - 2];
+            System.arraycopy(content, 0, a, 0, idx);
+            System.arraycopy(content, idx + 2, a, idx, content.length - idx - 2);
+            return withContent(owner, a);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < content.length; i += 2) {
+                action.accept(content[i], content[i + 1]);
+            }
+        }
+
+        private ChampNode withContent(Object owner, Object[] content) {
+            if (null != owner && owner == this.owner) {
+                this.content = content;
+                return this;
+            }
+            return new HashCollisionNode(owner, hash, content);
+        }
+    }
+
+    /**
+     * Depth first iteration over the key/value pairs of a trie.
+     */
+    static final class Cursor {
+        /**
+         * 32 bit hash consumed 5 bits per level, plus the collision level.
+         */
+        private static final int MAX_DEPTH = 8;
+
+        private final ChampNode[] nodes = new ChampNode[MAX_DEPTH];
+        private final int[] cursors = new int[MAX_DEPTH];
+        private int depth;
+
+        private ChampNode payloadNode;
+        private int payloadCursor;
+        private int payloadLength;
+
+        private Object key;
+        private Object value;
+
+        Cursor(ChampNode root) {
+            nodes[0] = root;
+            cursors[0] = 0;
+            depth = 0;
+            payloadNode = root;
+            payloadLength = root.payloadArity();
+        }
+
+        boolean hasNext() {
+            while (payloadCursor >= payloadLength) {
+                if (!descend()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Move to the next node holding pairs.
+         */
+        private boolean descend() {
+            while (depth >= 0) {
+                ChampNode node = nodes[depth];
+                int cursor = cursors[depth];
+                if (cursor < node.nodeArity()) {
+                    cursors[depth] = cursor + 1;
+                    ChampNode sub = node.nodeAt(cursor);
+                    nodes[++depth] = sub;
+                    cursors[depth] = 0;
+                    if (sub.payloadArity() > 0) {
+                        payloadNode = sub;
+                        payloadCursor = 0;
+                        payloadLength = sub.payloadArity();
+                        return true;
+                    }
+                } else {
+                    nodes[depth--] = null;
+                }
+            }
+            return false;
+        }
+
+        void moveNext() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            key = payloadNode.keyAt(payloadCursor);
+            value = payloadNode.valueAt(payloadCursor);
+            payloadCursor++;
+        }
+
+        Object key() {
+            return key;
+        }
+
+        Object value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+import osgl.exception.UnexpectedException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded lock-free multi-producer/multi-consumer channel.
+ *
+ * Producers call {@link #offer(Object)}, {@link #offer(Object, long, TimeUnit)}
+ * or {@link #put(Object)} to send elements. Consumers either
+ * {@link #poll() poll} elements, or iterate the channel as a `Sequence`:
+ * the iterator waits for elements and ends once the channel is
+ * {@link #close() closed} and all elements sent before are consumed.
+ * {@link #timed(long, TimeUnit)} returns a `Sequence` that also ends when
+ * no element arrives within the timeout.
+ *
+ * Note iterating a `Channel` consumes the elements, thus concurrent
+ * iterators on different threads share the elements between them rather
+ * than each seeing all of them.
+ *
+ * The implementation is the array based bounded queue by Dmitry Vyukov:
+ * each slot carries a sequence number telling whether it is ready to be
+ * written for the current lap or ready to be read, so producers and
+ * consumers only contend on their own index with a single CAS. Waiting
+ * for free slots or elements is done with the {@link WaitStrategy}
+ * specified at construction.
+ *
+ * `null` elements are not permitted.
+ *
+ * @param <T>
+ *      The type of the elements.
+ */
+public class Channel<T> extends ChannelIndices.Pad2<T> {
+
+    /**
+     * Defines how a thread waits for a free slot or an element.
+     */
+    public enum WaitStrategy {
+        /**
+         * Busy spin. Lowest latency, but burns a CPU core per waiting thread.
+         */
+        SPIN {
+            @Override
+            void idle(int round) {
+            }
+        },
+
+        /**
+         * Spin for a while, then yield the CPU to other threads.
+         */
+        YIELD {
+            @Override
+            void idle(int round) {
+                if (round > SPIN_ROUNDS) {
+                    Thread.yield();
+                }
+            }
+        },
+
+        /**
+         * Spin, then yield, then park with growing intervals of up to
+         * 1 millisecond. The default strategy: waiting threads do not burn
+         * CPU, with the price of higher latency after being idle.
+         */
+        PARK {
+            @Override
+            void idle(int round) {
+                if (round <= SPIN_ROUNDS) {
+                    return;
+                }
+                if (round <= SPIN_ROUNDS + YIELD_ROUNDS) {
+                    Thread.yield();
+                    return;
+                }
+                int shift = Math.min(round - SPIN_ROUNDS - YIELD_ROUNDS, MAX_PARK_SHIFT);
+                LockSupport.parkNanos(this, 1L << shift);
+            }
+        };
+
+        private static final int SPIN_ROUNDS = 100;
+        private static final int YIELD_ROUNDS = 100;
+
+        /**
+         * `1 << 20` nanoseconds is about 1 millisecond.
+         */
+        private static final int MAX_PARK_SHIFT = 20;
+
+        /**
+         * Wait a bit.
+         *
+         * @param round
+         *      how many times the thread has waited for the same condition
+         */
+        abstract void idle(int round);
+    }
+
+    // results of tryOffer
+    private static final int OFFERED = 0;
+    private static final int FULL = 1;
+    private static final int CLOSED = 2;
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * Construct a `Channel` with {@link WaitStrategy#PARK}.
+     *
+     * @param capacity
+     *      the minimum capacity, will be rounded up to the next power of 2
+     *      and at least 2.
+     */
+    public Channel(int capacity) {
+        this(capacity, WaitStrategy.PARK);
+    }
+
+    /**
+     * Construct a `Channel`.
+     *
+     * @param capacity
+     *      the minimum capacity, will be rounded up to the next power of 2
+     *      and at least 2.
+     * @param waitStrategy
+     *      the strategy to wait for free slots and elements
+     */
+    public Channel(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in range [1, 2^30]: " + capacity);
+        }
+        // a single slot can not tell "ready to read" from "ready to write in the next lap"
+        int size = Math.max(2, 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1)));
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; ++i) {
+            sequences.lazySet(i, i);
+        }
+        this.mask = size - 1;
+        this.waitStrategy = $.requireNotNull(waitStrategy);
+    }
+
+    /**
+     * Returns the number of elements this channel can hold.
+     *
+     * @return
+     *      the capacity of this channel
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Send an element if there is a free slot.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      `true` if the element is sent, or `false` if the channel is full or closed
+     */
+    public boolean offer(T element) {
+        return 0 == tryOffer($.requireNotNull(element));
+    }
+
+    /**
+     * Send an element, waiting up to the specified timeout for a free slot.
+     *
+     * @param element
+     *      the element
+     * @param timeout
+     *      how long to wait
+     * @param unit
+     *      the unit of `timeout`
+     * @return
+     *      `true` if the element is sent, or `false` if the channel is closed
+     *      or there is no free slot after the timeout
+     */
+    public boolean offer(T element, long timeout, TimeUnit unit) {
+        $.requireNotNull(element);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int round = 0;
+        while (true) {
+            int result = tryOffer(element);
+            if (OFFERED == result) {
+                return true;
+            }
+            if (CLOSED == result || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            idle(++round);
+        }
+    }
+
+    /**
+     * Send an element, waiting for a free slot if the channel is full.
+     *
+     * @param element
+     *      the element
+     * @throws IllegalStateException
+     *      if the channel is closed
+     */
+    public void put(T element) {
+        $.requireNotNull(element);
+        int round = 0;
+        while (true) {
+            int result = tryOffer(element);
+            if (OFFERED == result) {
+                return;
+            }
+            if (CLOSED == result) {
+                throw new IllegalStateException("channel closed");
+            }
+            idle(++round);
+        }
+    }
+
+    /**
+     * Receive an element if there is any.
+     *
+     * @return
+     *      the element received, or `null` if the channel is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        final Object[] buffer = this.buffer;
+        final AtomicLongArray sequences = this.sequences;
+        final int mask = this.mask;
+        while (true) {
+            long head = consumerIndex();
+            int i = (int) head & mask;
+            long diff = sequences.get(i) - (head + 1);
+            if (0 == diff) {
+                if (casConsumerIndex(head, head + 1)) {
+                    Object o = buffer[i];
+                    buffer[i] = null;
+                    sequences.lazySet(i, head + mask + 1);
+                    return (T) o;
+                }
+            } else if (diff < 0) {
+                // empty, or the producer claimed the slot has not yet written it
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Receive an element, waiting up to the specified timeout if the
+     * channel is empty.
+     *
+     * @param timeout
+     *      how long to wait
+     * @param unit
+     *      the unit of `timeout`
+     * @return
+     *      the element received, or `null` if the channel is closed and
+     *      empty or no element arrives within the timeout
+     */
+    public T poll(long timeout, TimeUnit unit) {
+        return await(System.nanoTime() + unit.toNanos(timeout), true);
+    }
+
+    /**
+     * Close the channel. Sending elements to a closed channel fails, while
+     * the elements sent before closing can still be received.
+     *
+     * Closing a closed channel has no effect.
+     */
+    public void close() {
+        while (true) {
+            long index = producerIndex();
+            if (0 != (index & 1) || casProducerIndex(index, index | 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Report whether this channel is closed.
+     *
+     * @return
+     *      `true` if {@link #close()} is called
+     */
+    public boolean isClosed() {
+        return 0 != (producerIndex() & 1);
+    }
+
+    /**
+     * Report whether this channel is closed and all elements are received.
+     *
+     * @return
+     *      `true` if no element could be received from this channel any more
+     */
+    public boolean isDrained() {
+        long index = producerIndex();
+        return 0 != (index & 1) && consumerIndex() == index >>> 1;
+    }
+
+    /**
+     * Returns an iterator that receives elements from this channel. It waits
+     * for elements and ends after the channel is closed and drained.
+     *
+     * @return
+     *      a blocking iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new ChannelIterator<>(this, 0L, false);
+    }
+
+    /**
+     * Returns a `Sequence` whose iterator receives elements from this channel,
+     * ending after the channel is closed and drained, or after no element
+     * arrives within the timeout.
+     *
+     * @param timeout
+     *      how long to wait for each element
+     * @param unit
+     *      the unit of `timeout`
+     * @return
+     *      a `Sequence` as described above
+     */
+    public Sequence<T> timed(long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        return () -> new ChannelIterator<>(this, nanos, true);
+    }
+
+    private int tryOffer(Object element) {
+        final AtomicLongArray sequences = this.sequences;
+        final int mask = this.mask;
+        while (true) {
+            long index = producerIndex();
+            if (0 != (index & 1)) {
+                return CLOSED;
+            }
+            long tail = index >>> 1;
+            int i = (int) tail & mask;
+            long diff = sequences.get(i) - tail;
+            if (0 == diff) {
+                if (casProducerIndex(index, index + 2)) {
+                    buffer[i] = element;
+                    sequences.lazySet(i, tail + 1);
+                    return OFFERED;
+                }
+            } else if (diff < 0) {
+                return FULL;
+            }
+        }
+    }
+
+    /**
+     * Wait for an element.
+     *
+     * @param deadline
+     *      the `System.nanoTime()` to give up waiting, if `timed`
+     * @param timed
+     *      whether to give up waiting at `deadline`
+     * @return
+     *      the element, or `null` if the channel is drained or the deadline is reached
+     */
+    private T await(long deadline, boolean timed) {
+        int round = 0;
+        while (true) {
+            T t = poll();
+            if (null != t) {
+                return t;
+            }
+            if (isDrained() || (timed && System.nanoTime() - deadline >= 0)) {
+                return null;
+            }
+            idle(++round);
+        }
+    }
+
+    private void idle(int round) {
+        if (Thread.interrupted()) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedException("interrupted while waiting on channel");
+        }
+        waitStrategy.idle(round);
+    }
+
+    private static final class ChannelIterator<T> implements Iterator<T> {
+        private final Channel<T> channel;
+        private final long timeoutNanos;
+        private final boolean timed;
+        private T next;
+        private boolean ended;
+
+        ChannelIterator(Channel<T> channel, long timeoutNanos, boolean timed) {
+            this.channel = channel;
+            this.timeoutNanos = timeoutNanos;
+            this.timed = timed;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != next) {
+                return true;
+            }
+            if (ended) {
+                return false;
+            }
+            long deadline = timed ? System.nanoTime() + timeoutNanos : 0L;
+            next = channel.await(deadline, timed);
+            if (null == next) {
+                ended = true;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T t = next;
+            next = null;
+            return t;
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * The producer and consumer indexes of a {@link Channel}.
+ *
+ * Each index is declared in its own class of the hierarchy, surrounded
+ * by padding fields declared in the classes before and after it. Since
+ * the JVM lays out fields of a super class before the fields of its sub
+ * classes, this keeps the two hot counters on different cache lines and
+ * avoids false sharing between producers and consumers.
+ */
+final class ChannelIndices {
+
+    private ChannelIndices() {
+    }
+
+    abstract static class Pad0<T> implements Sequence<T> {
+        long p00, p01, p02, p03, p04, p05, p06, p07;
+        long p08, p09, p0a, p0b, p0c, p0d, p0e, p0f;
+    }
+
+    abstract static class ProducerIndex<T> extends Pad0<T> {
+        private static final AtomicLongFieldUpdater<ProducerIndex> PRODUCER_INDEX =
+                AtomicLongFieldUpdater.newUpdater(ProducerIndex.class, "producerIndex");
+
+        /**
+         * The number of claimed slots shifted left by one bit. The lowest
+         * bit is set once the channel is closed, so that closing and claiming
+         * a slot are ordered by the same CAS.
+         */
+        private volatile long producerIndex;
+
+        final long producerIndex() {
+            return producerIndex;
+        }
+
+        final boolean casProducerIndex(long expect, long update) {
+            return PRODUCER_INDEX.compareAndSet(this, expect, update);
+        }
+    }
+
+    abstract static class Pad1<T> extends ProducerIndex<T> {
+        long p10, p11, p12, p13, p14, p15, p16, p17;
+        long p18, p19, p1a, p1b, p1c, p1d, p1e, p1f;
+    }
+
+    abstract static class ConsumerIndex<T> extends Pad1<T> {
+        private static final AtomicLongFieldUpdater<ConsumerIndex> CONSUMER_INDEX =
+                AtomicLongFieldUpdater.newUpdater(ConsumerIndex.class, "consumerIndex");
+
+        /**
+         * The number of consumed slots.
+         */
+        private volatile long consumerIndex;
+
+        final long consumerIndex() {
+            return consumerIndex;
+        }
+
+        final boolean casConsumerIndex(long expect, long update) {
+            return CONSUMER_INDEX.compareAndSet(this, expect, update);
+        }
+    }
+
+    abstract static class Pad2<T> extends ConsumerIndex<T> {
+        long p20, p21, p22, p23, p24, p25, p26, p27;
+        long p28, p29, p2a, p2b, p2c, p2d, p2e, p2f;
+    }
+
+}
@@ -0,0 +1,143 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * An append-only column of values, the storage of a field of
+ * {@link T2Columns} and {@link T3Columns} rows.
+ *
+ * Use {@link ObjColumn} for references, and {@link IntColumn},
+ * {@link LongColumn} or {@link DoubleColumn} to keep primitive values in a
+ * primitive array, read them with {@link #getInt(int)}, {@link #getLong(int)}
+ * or {@link #getDouble(int)} without boxing.
+ *
+ * @param <T>
+ *      the type of the values, the wrapper type for primitive columns
+ */
+public abstract class Column<T> {
+
+    static final int DEFAULT_CAPACITY = 16;
+
+    int size;
+
+    Column() {
+    }
+
+    /**
+     * Returns the number of values in this column.
+     *
+     * @return
+     *      the number of values
+     */
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value at `row`, boxed if this is a primitive column.
+     *
+     * @param row
+     *      the row index
+     * @return
+     *      the value
+     */
+    public abstract T get(int row);
+
+    /**
+     * Append a value, which must not be `null` for a primitive column.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      this column
+     */
+    public abstract Column<T> add(T value);
+
+    /**
+     * Returns the `int` value at `row`.
+     *
+     * @param row
+     *      the row index
+     * @return
+     *      the value
+     * @throws UnsupportedOperationException
+     *      if this is not an {@link IntColumn}
+     */
+    public int getInt(int row) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not hold int values");
+    }
+
+    /**
+     * Returns the `long` value at `row`.
+     *
+     * @param row
+     *      the row index
+     * @return
+     *      the value
+     * @throws UnsupportedOperationException
+     *      if this is neither an {@link IntColumn} nor a {@link LongColumn}
+     */
+    public long getLong(int row) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not hold long values");
+    }
+
+    /**
+     * Returns the `double` value at `row`.
+     *
+     * @param row
+     *      the row index
+     * @return
+     *      the value
+     * @throws UnsupportedOperationException
+     *      if this is an {@link ObjColumn}
+     */
+    public double getDouble(int row) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not hold double values");
+    }
+
+    /**
+     * Returns a new column of the values at the first `n` indices in `rows`.
+     */
+    abstract Column<T> copyRows(int[] rows, int n);
+
+    final int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row: " + row + ", size: " + size);
+        }
+        return row;
+    }
+
+    static int grow(int length) {
+        return Math.max(DEFAULT_CAPACITY, length + (length >> 1));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; ++i) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(get(i));
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,650 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of `int` values after the Roaring bitmap design
+ * (Chambi, Lemire et al. 2016).
+ *
+ * The values are partitioned by their high 16 bits, and the low 16 bits of
+ * each partition are kept in a container chosen by density: a sorted array
+ * for sparse partitions, a 8KB bitmap for dense ones, and a run-length
+ * encoding for clustered values after {@link #runOptimize()}. Thus lookups,
+ * {@link #rank(int) rank}, {@link #select(long) select} and the set algebra
+ * ({@link #and(CompressedIntSet) and}, {@link #or(CompressedIntSet) or},
+ * {@link #andNot(CompressedIntSet) andNot} and {@link #xor(CompressedIntSet) xor})
+ * work on whole containers, and the memory taken is close to the
+ * information content of the set.
+ *
+ * Values are ordered as signed `int`, i.e. negative values come first.
+ *
+ * The set can be {@link #serialize(ByteBuffer) written} to a portable
+ * little endian format, and {@link #deserialize(ByteBuffer) read} back from
+ * any `ByteBuffer`, including a memory mapped file:
+ *
+ * ```
+ * int     cookie
+ * int     number of containers
+ * per container:
+ *   char  high 16 bits (sign flipped)
+ *   byte  type: 1 = array, 2 = bitmap, 3 = run
+ *   array:  char cardinality - 1, char[cardinality] values
+ *   bitmap: long[1024] words
+ *   run:    char number of runs, char[2 * runs] (start, length - 1) pairs
+ * ```
+ *
+ * The set is mutable and not thread safe. The results of set operations are
+ * new sets that do not share updatable state with the operands.
+ */
+public final class CompressedIntSet {
+
+    private static final int COOKIE = 0x4F534201;
+
+    // high 16 bits with the sign bit flipped, so that the natural order of
+    // the keys is the signed order of the values
+    private char[] keys;
+    private RoaringContainer[] containers;
+    private int size;
+
+    /**
+     * Construct an empty set.
+     */
+    public CompressedIntSet() {
+        this(new char[4], new RoaringContainer[4], 0);
+    }
+
+    private CompressedIntSet(char[] keys, RoaringContainer[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Returns a set of `values`.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      the set
+     */
+    public static CompressedIntSet of(int... values) {
+        CompressedIntSet set = new CompressedIntSet();
+        for (int v : values) {
+            set.add(v);
+        }
+        return set;
+    }
+
+    /**
+     * Returns a set of the values of an `Iterable`, e.g. a {@link Traversable}.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      the set
+     */
+    public static CompressedIntSet from(Iterable<Integer> values) {
+        CompressedIntSet set = new CompressedIntSet();
+        if (values instanceof IntSequence) {
+            ((IntSequence) values).forEachInt(set::add);
+        } else {
+            for (Integer v : values) {
+                set.add($.requireNotNull(v));
+            }
+        }
+        return set;
+    }
+
+    private static char high(int x) {
+        return (char) ((x ^ Integer.MIN_VALUE) >>> 16);
+    }
+
+    private static int base(char key) {
+        return (key << 16) ^ Integer.MIN_VALUE;
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    /**
+     * Add a value to this set.
+     *
+     * @param x
+     *      the value
+     * @return
+     *      `true` if the value was not in this set
+     */
+    public boolean add(int x) {
+        char key = high(x);
+        int i = indexOf(key);
+        if (i >= 0) {
+            RoaringContainer c = containers[i];
+            int card = c.cardinality();
+            c = c.add((char) x);
+            containers[i] = c;
+            return c.cardinality() != card;
+        }
+        insert(-i - 1, key, RoaringContainer.ArrayContainer.of((char) x));
+        return true;
+    }
+
+    /**
+     * Remove a value from this set.
+     *
+     * @param x
+     *      the value
+     * @return
+     *      `true` if the value was in this set
+     */
+    public boolean remove(int x) {
+        int i = indexOf(high(x));
+        if (i < 0) {
+            return false;
+        }
+        RoaringContainer c = containers[i];
+        int card = c.cardinality();
+        c = c.remove((char) x);
+        if (0 == c.cardinality()) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+            containers[--size] = null;
+        } else {
+            containers[i] = c;
+        }
+        return c.cardinality() != card;
+    }
+
+    private void insert(int i, char key, RoaringContainer container) {
+        if (size == keys.length) {
+            int n = Math.max(4, size << 1);
+            keys = Arrays.copyOf(keys, n);
+            containers = Arrays.copyOf(containers, n);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    /**
+     * Check if a value is in this set.
+     *
+     * @param x
+     *      the value
+     * @return
+     *      `true` if the value is in this set
+     */
+    public boolean contains(int x) {
+        int i = indexOf(high(x));
+        return i >= 0 && containers[i].contains((char) x);
+    }
+
+    /**
+     * Returns the number of values in this set.
+     *
+     * @return
+     *      the cardinality of this set
+     */
+    public long cardinality() {
+        long n = 0L;
+        for (int i = 0; i < size; ++i) {
+            n += containers[i].cardinality();
+        }
+        return n;
+    }
+
+    /**
+     * Check if this set is empty.
+     *
+     * @return
+     *      `true` if there is no value in this set
+     */
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * Returns the number of values in this set that are less than or
+     * equal to `x`.
+     *
+     * @param x
+     *      the value
+     * @return
+     *      the rank of `x`
+     */
+    public long rank(int x) {
+        char key = high(x);
+        long r = 0L;
+        for (int i = 0; i < size; ++i) {
+            char k = keys[i];
+            if (k < key) {
+                r += containers[i].cardinality();
+            } else {
+                if (k == key) {
+                    r += containers[i].rank((char) x);
+                }
+                break;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns the `j`-th smallest value in this set, starting from `0`.
+     *
+     * @param j
+     *      the index
+     * @return
+     *      the value
+     * @throws IndexOutOfBoundsException
+     *      if `j` is negative or not less than the {@link #cardinality()}
+     */
+    public int select(long j) {
+        if (j >= 0) {
+            long left = j;
+            for (int i = 0; i < size; ++i) {
+                RoaringContainer c = containers[i];
+                int card = c.cardinality();
+                if (left < card) {
+                    return base(keys[i]) | c.select((int) left);
+                }
+                left -= card;
+            }
+        }
+        throw new IndexOutOfBoundsException(String.valueOf(j));
+    }
+
+    /**
+     * Returns the smallest value in this set.
+     *
+     * @return
+     *      the first value
+     * @throws NoSuchElementException
+     *      if this set is empty
+     */
+    public int first() {
+        if (0 == size) {
+            throw new NoSuchElementException();
+        }
+        return base(keys[0]) | containers[0].select(0);
+    }
+
+    /**
+     * Returns the largest value in this set.
+     *
+     * @return
+     *      the last value
+     * @throws NoSuchElementException
+     *      if this set is empty
+     */
+    public int last() {
+        if (0 == size) {
+            throw new NoSuchElementException();
+        }
+        RoaringContainer c = containers[size - 1];
+        return base(keys[size - 1]) | c.select(c.cardinality() - 1);
+    }
+
+    /**
+     * Returns a new set of the values in both this set and `other`.
+     *
+     * @param other
+     *      the other set
+     * @return
+     *      the intersection
+     */
+    public CompressedIntSet and(CompressedIntSet other) {
+        int n = Math.min(size, other.size);
+        CompressedIntSet r = new CompressedIntSet(new char[Math.max(n, 1)], new RoaringContainer[Math.max(n, 1)], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            char a = keys[i];
+            char b = other.keys[j];
+            if (a < b) {
+                i++;
+            } else if (a > b) {
+                j++;
+            } else {
+                r.append(a, RoaringContainer.and(containers[i++], other.containers[j++]));
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns a new set of the values in this set or `other`.
+     *
+     * @param other
+     *      the other set
+     * @return
+     *      the union
+     */
+    public CompressedIntSet or(CompressedIntSet other) {
+        return merge(other, false);
+    }
+
+    /**
+     * Returns a new set of the values in either this set or `other`
+     * but not both.
+     *
+     * @param other
+     *      the other set
+     * @return
+     *      the symmetric difference
+     */
+    public CompressedIntSet xor(CompressedIntSet other) {
+        return merge(other, true);
+    }
+
+    private CompressedIntSet merge(CompressedIntSet other, boolean xor) {
+        int n = Math.max(size + other.size, 1);
+        CompressedIntSet r = new CompressedIntSet(new char[n], new RoaringContainer[n], 0);
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            char a = keys[i];
+            char b = other.keys[j];
+            if (a < b) {
+                r.append(a, containers[i++].copy());
+            } else if (a > b) {
+                r.append(b, other.containers[j++].copy());
+            } else {
+                RoaringContainer x = containers[i++];
+                RoaringContainer y = other.containers[j++];
+                r.append(a, xor ? RoaringContainer.xor(x, y) : RoaringContainer.or(x, y));
+            }
+        }
+        while (i < size) {
+            r.append(keys[i], containers[i++].copy());
+        }
+        while (j < other.size) {
+            r.append(other.keys[j], other.containers[j++].copy());
+        }
+        return r;
+    }
+
+    /**
+     * Returns a new set of the values in this set but not in `other`.
+     *
+     * @param other
+     *      the other set
+     * @return
+     *      the difference
+     */
+    public CompressedIntSet andNot(CompressedIntSet other) {
+        CompressedIntSet r = new CompressedIntSet(new char[Math.max(size, 1)], new RoaringContainer[Math.max(size, 1)], 0);
+        int j = 0;
+        for (int i = 0; i < size; ++i) {
+            char a = keys[i];
+            while (j < other.size && other.keys[j] < a) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == a) {
+                r.append(a, RoaringContainer.andNot(containers[i], other.containers[j]));
+            } else {
+                r.append(a, containers[i].copy());
+            }
+        }
+        return r;
+    }
+
+    private void append(char key, RoaringContainer container) {
+        if (null != container) {
+            keys[size] = key;
+            containers[size++] = container;
+        }
+    }
+
+    /**
+     * Convert each container to the representation that takes the least
+     * memory, using run-length encoding where values are clustered.
+     *
+     * Call it once a set has been built, as updating a run container
+     * converts it back to an array or bitmap container.
+     *
+     * @return
+     *      this set
+     */
+    public CompressedIntSet runOptimize() {
+        for (int i = 0; i < size; ++i) {
+            containers[i] = containers[i].runOptimize();
+        }
+        return this;
+    }
+
+    /**
+     * Apply `action` to each value in ascending order.
+     *
+     * @param action
+     *      the action
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; ++i) {
+            containers[i].forEach(base(keys[i]), action);
+        }
+    }
+
+    /**
+     * Returns a live {@link IntSequence} view of the values in ascending order.
+     *
+     * @return
+     *      the values
+     */
+    public IntSequence ints() {
+        return new IntSequence() {
+            @Override
+            public PrimitiveIterator.OfInt intIterator() {
+                return new Itr();
+            }
+
+            @Override
+            public void forEachInt(IntConsumer action) {
+                CompressedIntSet.this.forEach(action);
+            }
+
+            @Override
+            public boolean sized() {
+                return cardinality() <= Integer.MAX_VALUE;
+            }
+
+            @Override
+            public int size() {
+                long n = cardinality();
+                if (n > Integer.MAX_VALUE) {
+                    throw new UnsupportedOperationException("too many values: " + n);
+                }
+                return (int) n;
+            }
+        };
+    }
+
+    private class Itr implements PrimitiveIterator.OfInt {
+        private int container;
+        private PrimitiveIterator.OfInt cur;
+
+        @Override
+        public boolean hasNext() {
+            while (null == cur || !cur.hasNext()) {
+                if (container >= size) {
+                    return false;
+                }
+                cur = containers[container].iterator(base(keys[container]));
+                container++;
+            }
+            return true;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return cur.nextInt();
+        }
+    }
+
+    /**
+     * Returns the number of bytes {@link #serialize(ByteBuffer)} writes.
+     *
+     * @return
+     *      the serialized size
+     */
+    public int serializedSizeInBytes() {
+        int n = 8;
+        for (int i = 0; i < size; ++i) {
+            n += 3 + containers[i].serializedSize();
+        }
+        return n;
+    }
+
+    /**
+     * Write this set to `out` starting at its current position.
+     *
+     * The byte order of `out` is not changed.
+     *
+     * @param out
+     *      the buffer with at least {@link #serializedSizeInBytes()} bytes remaining
+     */
+    public void serialize(ByteBuffer out) {
+        ByteOrder order = out.order();
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            out.putInt(COOKIE);
+            out.putInt(size);
+            for (int i = 0; i < size; ++i) {
+                RoaringContainer c = containers[i];
+                out.putChar(keys[i]);
+                out.put(c.type());
+                c.write(out);
+            }
+        } finally {
+            out.order(order);
+        }
+    }
+
+    /**
+     * Returns the serialized form of this set.
+     *
+     * @return
+     *      the bytes written by {@link #serialize(ByteBuffer)}
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[serializedSizeInBytes()];
+        serialize(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Read a set written by {@link #serialize(ByteBuffer)} from `in`
+     * starting at its current position. After the call the position of `in`
+     * is right after the set.
+     *
+     * The byte order of `in` is not changed.
+     *
+     * @param in
+     *      the buffer, e.g. a `MappedByteBuffer`
+     * @return
+     *      the set
+     * @throws IllegalArgumentException
+     *      if `in` does not contain a serialized set
+     */
+    public static CompressedIntSet deserialize(ByteBuffer in) {
+        ByteOrder order = in.order();
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (in.getInt() != COOKIE) {
+                throw new IllegalArgumentException("not a serialized CompressedIntSet");
+            }
+            int n = in.getInt();
+            if (n < 0 || n > 0x10000) {
+                throw new IllegalArgumentException("invalid number of containers: " + n);
+            }
+            int capacity = Math.max(n, 4);
+            CompressedIntSet set = new CompressedIntSet(new char[capacity], new RoaringContainer[capacity], 0);
+            for (int i = 0; i < n; ++i) {
+                char key = in.getChar();
+                if (i > 0 && key <= set.keys[i - 1]) {
+                    throw new IllegalArgumentException("container keys not in order");
+                }
+                set.append(key, RoaringContainer.read(in.get(), in));
+            }
+            return set;
+        } finally {
+            in.order(order);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CompressedIntSet)) {
+            return false;
+        }
+        CompressedIntSet that = (CompressedIntSet) obj;
+        if (size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; ++i) {
+            if (keys[i] != that.keys[i] || !containers[i].sameValues(that.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] h = {size};
+        forEach(v -> h[0] = 31 * h[0] + v);
+        return h[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        PrimitiveIterator.OfInt itr = new Itr();
+        for (int i = 0; itr.hasNext(); ++i) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            if (i == 100) {
+                sb.append("...");
+                break;
+            }
+            sb.append(itr.nextInt());
+        }
+        return sb.append("}").toString();
+    }
+}
@@ -0,0 +1,187 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A {@link Column} of `double` values kept in a `double[]`.
+ */
+public final class DoubleColumn extends Column<Double> {
+
+    private double[] data;
+
+    /**
+     * Construct an empty column.
+     */
+    public DoubleColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an empty column with the initial capacity specified.
+     *
+     * @param capacity
+     *      the initial capacity
+     */
+    public DoubleColumn(int capacity) {
+        data = new double[Math.max(0, capacity)];
+    }
+
+    private DoubleColumn(double[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    /**
+     * Returns a column of `values`.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      the column
+     */
+    public static DoubleColumn of(double... values) {
+        return new DoubleColumn(values.clone(), values.length);
+    }
+
+    /**
+     * Append a `double` value.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      this column
+     */
+    public DoubleColumn addDouble(double value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, grow(size));
+        }
+        data[size++] = value;
+        return this;
+    }
+
+    @Override
+    public DoubleColumn add(Double value) {
+        return addDouble($.requireNotNull(value));
+    }
+
+    @Override
+    public Double get(int row) {
+        return getDouble(row);
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return data[checkRow(row)];
+    }
+
+    /**
+     * Returns a new column of the results of applying `mapper` to each value.
+     *
+     * @param mapper
+     *      the function
+     * @return
+     *      the mapped column
+     */
+    public DoubleColumn map(DoubleUnaryOperator mapper) {
+        double[] r = new double[size];
+        for (int i = 0; i < size; ++i) {
+            r[i] = mapper.applyAsDouble(data[i]);
+        }
+        return new DoubleColumn(r, size);
+    }
+
+    /**
+     * Returns a new column of the values matching `predicate`.
+     *
+     * @param predicate
+     *      the predicate
+     * @return
+     *      the filtered column
+     */
+    public DoubleColumn filter(DoublePredicate predicate) {
+        double[] r = new double[size];
+        int n = 0;
+        for (int i = 0; i < size; ++i) {
+            double v = data[i];
+            if (predicate.test(v)) {
+                r[n++] = v;
+            }
+        }
+        return new DoubleColumn(r, n);
+    }
+
+    /**
+     * Fold the values with `accumulator` starting from `identity`.
+     *
+     * @param identity
+     *      the initial value
+     * @param accumulator
+     *      the function that combines the result so far with the next value
+     * @return
+     *      the result
+     */
+    public double reduce(double identity, DoubleBinaryOperator accumulator) {
+        double r = identity;
+        for (int i = 0; i < size; ++i) {
+            r = accumulator.applyAsDouble(r, data[i]);
+        }
+        return r;
+    }
+
+    /**
+     * Apply `action` to each value.
+     *
+     * @param action
+     *      the action
+     */
+    public void forEach(DoubleConsumer action) {
+        for (int i = 0; i < size; ++i) {
+            action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Returns a copy of the values.
+     *
+     * @return
+     *      an array of the values
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    @Override
+    DoubleColumn copyRows(int[] rows, int n) {
+        double[] r = new double[n];
+        for (int i = 0; i < n; ++i) {
+            r[i] = data[rows[i]];
+        }
+        return new DoubleColumn(r, n);
+    }
+}
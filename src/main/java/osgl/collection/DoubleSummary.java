@@ -0,0 +1,279 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * `DoubleSummary` is a state object collecting the count, sum, min, max,
+ * mean and variance of a stream of `double` values in a single pass.
+ *
+ * * the sum is calculated with Neumaier's compensated summation so that
+ *   adding many small values to a large one does not lose precision
+ * * the mean and variance are calculated with Welford's online algorithm
+ *
+ * Summaries of disjoint parts of a data set can be combined with
+ * {@link #combine(DoubleSummary)} (using the parallel formula of Chan et al)
+ * to get the summary of the whole data set, thus a data set can be split
+ * into chunks and summarized in parallel.
+ *
+ * Optionally a `DoubleSummary` can carry a {@link QuantileSketch} to
+ * answer approximate quantile queries, e.g. p50 and p99.
+ *
+ * This class is not thread safe.
+ *
+ * @see osgl.collection.Traversable#summarize(java.util.function.ToDoubleFunction)
+ */
+public class DoubleSummary implements DoubleConsumer {
+
+    private long count;
+    private double sum;
+    private double sumCompensation;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double mean;
+    private double m2;
+    private final QuantileSketch sketch;
+
+    /**
+     * Construct an empty `DoubleSummary` without quantile sketch.
+     */
+    public DoubleSummary() {
+        this(null);
+    }
+
+    /**
+     * Construct an empty `DoubleSummary` with an optional quantile sketch.
+     *
+     * @param sketch
+     *      the quantile sketch to be fed with the values, can be `null`.
+     */
+    public DoubleSummary(QuantileSketch sketch) {
+        this.sketch = sketch;
+    }
+
+    /**
+     * Returns an empty `DoubleSummary` that also tracks quantiles with
+     * a {@link QuantileSketch} of the relative accuracy specified.
+     *
+     * @param relativeAccuracy
+     *      the relative accuracy of the quantile sketch, e.g. `0.01`
+     * @return
+     *      a `DoubleSummary` as described above
+     */
+    public static DoubleSummary withQuantiles(double relativeAccuracy) {
+        return new DoubleSummary(new QuantileSketch(relativeAccuracy));
+    }
+
+    /**
+     * Add a value into this summary.
+     *
+     * @param value
+     *      the value to be added
+     */
+    @Override
+    public void accept(double value) {
+        count++;
+        addToSum(value);
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (null != sketch) {
+            sketch.accept(value);
+        }
+    }
+
+    /**
+     * Combine the state of another `DoubleSummary` into this one.
+     *
+     * After combining, this summary describes the union of the values
+     * added into both summaries.
+     *
+     * @param other
+     *      the other summary
+     * @return
+     *      this `DoubleSummary`
+     * @throws IllegalArgumentException
+     *      if only one of the two summaries carries a quantile sketch.
+     */
+    public DoubleSummary combine(DoubleSummary other) {
+        if ((null == sketch) != (null == other.sketch)) {
+            throw new IllegalArgumentException("cannot combine summary with and without quantile sketch");
+        }
+        if (0 == other.count) {
+            return this;
+        }
+        if (null != sketch) {
+            sketch.merge(other.sketch);
+        }
+        if (0 == count) {
+            count = other.count;
+            sum = other.sum;
+            sumCompensation = other.sumCompensation;
+            min = other.min;
+            max = other.max;
+            mean = other.mean;
+            m2 = other.m2;
+            return this;
+        }
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / n;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / n);
+        count = n;
+        addToSum(other.sum);
+        sumCompensation += other.sumCompensation;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    private void addToSum(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            sumCompensation += (sum - t) + value;
+        } else {
+            sumCompensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+
+    /**
+     * Returns the number of values added.
+     *
+     * @return the count of values
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the compensated sum of values added, or `0` if no values
+     * has been added.
+     *
+     * @return the sum of values
+     */
+    public double sum() {
+        double result = sum + sumCompensation;
+        if (Double.isNaN(result) && Double.isInfinite(sum)) {
+            return sum;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the minimum value added, or {@link Double#POSITIVE_INFINITY}
+     * if no values has been added.
+     *
+     * @return the minimum value
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * Returns the maximum value added, or {@link Double#NEGATIVE_INFINITY}
+     * if no values has been added.
+     *
+     * @return the maximum value
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean of values added, or `0` if no values
+     * has been added.
+     *
+     * @return the mean of values
+     */
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * Returns the population variance of values added, or `0` if no
+     * values has been added.
+     *
+     * @return the population variance
+     */
+    public double variance() {
+        return count > 0 ? m2 / count : 0.0d;
+    }
+
+    /**
+     * Returns the sample (unbiased) variance of values added, or `0`
+     * if less than two values has been added.
+     *
+     * @return the sample variance
+     */
+    public double sampleVariance() {
+        return count > 1 ? m2 / (count - 1) : 0.0d;
+    }
+
+    /**
+     * Returns the population standard deviation of values added.
+     *
+     * @return the standard deviation
+     */
+    public double stddev() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * Check if this summary carries a {@link QuantileSketch}.
+     *
+     * @return `true` if quantiles can be queried on this summary
+     */
+    public boolean hasQuantiles() {
+        return null != sketch;
+    }
+
+    /**
+     * Returns the approximate quantile of the values added.
+     *
+     * @param q
+     *      the quantile, in the range `[0, 1]`, e.g. `0.99` for p99
+     * @return
+     *      the approximate value at quantile `q`
+     * @throws IllegalStateException
+     *      if this summary does not carry a quantile sketch
+     * @see QuantileSketch#quantile(double)
+     */
+    public double quantile(double q) {
+        if (null == sketch) {
+            throw new IllegalStateException("quantile sketch not enabled");
+        }
+        return sketch.quantile(q);
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleSummary{count=" + count + ", sum=" + sum() + ", min=" + min + ", max=" + max
+                + ", mean=" + mean + ", variance=" + variance() + "}";
+    }
+}
@@ -0,0 +1,131 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Interrelated interfaces for establishing flow-controlled components in which
+ * {@link Publisher Publishers} produce items consumed by one or more
+ * {@link Subscriber Subscribers}, each managed by a {@link Subscription}.
+ *
+ * These interfaces have exactly the same shape and semantic as
+ * `java.util.concurrent.Flow` introduced in Java 9 (and the Reactive Streams
+ * specification), which is not available on Java 8 supported by OSGL. Bridging
+ * to the JDK or any reactive streams implementation is a matter of a thin
+ * adapter delegating method by method.
+ *
+ * @see Traversable#toPublisher(java.util.concurrent.Executor)
+ * @see Sequence#fromPublisher(Publisher, int)
+ */
+public final class Flow {
+
+    private Flow() {
+    }
+
+    /**
+     * A producer of items (and related control messages) received by
+     * Subscribers. Each current {@link Subscriber} receives the same items
+     * (via method `onNext`) in the same order, unless drops or errors are
+     * encountered.
+     *
+     * @param <T>
+     *      the published item type
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+        /**
+         * Adds the given Subscriber if possible.
+         *
+         * @param subscriber
+         *      the subscriber
+         * @throws NullPointerException
+         *      if subscriber is `null`
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * A receiver of messages. The methods in this interface are invoked in
+     * strict sequential order for each {@link Subscription}.
+     *
+     * @param <T>
+     *      the subscribed item type
+     */
+    public interface Subscriber<T> {
+        /**
+         * Method invoked prior to invoking any other Subscriber methods for
+         * the given Subscription.
+         *
+         * @param subscription
+         *      a new subscription
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Method invoked with a Subscription's next item.
+         *
+         * @param item
+         *      the item
+         */
+        void onNext(T item);
+
+        /**
+         * Method invoked upon an unrecoverable error encountered by a
+         * Publisher or Subscription, after which no other Subscriber
+         * methods are invoked by the Subscription.
+         *
+         * @param throwable
+         *      the exception
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Method invoked when it is known that no additional Subscriber
+         * method invocations will occur for a Subscription that is not
+         * already terminated by error.
+         */
+        void onComplete();
+    }
+
+    /**
+     * Message control linking a {@link Publisher} and {@link Subscriber}.
+     * Subscribers receive items only when requested, and may cancel at any
+     * time.
+     */
+    public interface Subscription {
+        /**
+         * Adds the given number `n` of items to the current unfulfilled
+         * demand for this subscription. If `n` is less than or equal to zero,
+         * the Subscriber will receive an `onError` signal with an
+         * {@link IllegalArgumentException} argument.
+         *
+         * @param n
+         *      the increment of demand; a value of `Long.MAX_VALUE` may be
+         *      considered as effectively unbounded
+         */
+        void request(long n);
+
+        /**
+         * Causes the Subscriber to (eventually) stop receiving messages.
+         */
+        void cancel();
+    }
+
+}
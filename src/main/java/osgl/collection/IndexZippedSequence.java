@@ -0,0 +1,68 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Iterator;
+
+/**
+ * Implements {@link Sequence#zipWithIndex()}.
+ *
+ * @param <T>
+ *      The type of the elements.
+ */
+class IndexZippedSequence<T> implements Sequence<ObjIntPair<T>> {
+
+    private final Sequence<T> seq;
+
+    IndexZippedSequence(Sequence<T> sequence) {
+        this.seq = $.requireNotNull(sequence);
+    }
+
+    @Override
+    public Iterator<ObjIntPair<T>> iterator() {
+        final Iterator<T> itr = seq.iterator();
+        return new Iterator<ObjIntPair<T>>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return itr.hasNext();
+            }
+
+            @Override
+            public ObjIntPair<T> next() {
+                return new ObjIntPair<>(itr.next(), index++);
+            }
+        };
+    }
+
+    @Override
+    public boolean sized() {
+        return seq.sized();
+    }
+
+    @Override
+    public int size() {
+        return seq.size();
+    }
+}
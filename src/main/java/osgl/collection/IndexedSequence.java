@@ -0,0 +1,81 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * A `Sequence` of the elements at indexes `[from, to)` of an indexed
+ * structure, e.g. a slice of a sorted array.
+ *
+ * @param <T>
+ *      The type of the elements.
+ */
+class IndexedSequence<T> implements Sequence<T> {
+
+    private final int from;
+    private final int to;
+    private final IntFunction<? extends T> elementAt;
+
+    IndexedSequence(int from, int to, IntFunction<? extends T> elementAt) {
+        if (from > to) {
+            throw new IllegalArgumentException("from > to: " + from + " > " + to);
+        }
+        this.from = from;
+        this.to = to;
+        this.elementAt = $.requireNotNull(elementAt);
+    }
+
+    @Override
+    public boolean sized() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            int cur = from;
+
+            @Override
+            public boolean hasNext() {
+                return cur < to;
+            }
+
+            @Override
+            public T next() {
+                if (cur >= to) {
+                    throw new NoSuchElementException();
+                }
+                return elementAt.apply(cur++);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,197 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A {@link Column} of `int` values kept in a `int[]`.
+ */
+public final class IntColumn extends Column<Integer> {
+
+    private int[] data;
+
+    /**
+     * Construct an empty column.
+     */
+    public IntColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an empty column with the initial capacity specified.
+     *
+     * @param capacity
+     *      the initial capacity
+     */
+    public IntColumn(int capacity) {
+        data = new int[Math.max(0, capacity)];
+    }
+
+    private IntColumn(int[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    /**
+     * Returns a column of `values`.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      the column
+     */
+    public static IntColumn of(int... values) {
+        return new IntColumn(values.clone(), values.length);
+    }
+
+    /**
+     * Append a `int` value.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      this column
+     */
+    public IntColumn addInt(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, grow(size));
+        }
+        data[size++] = value;
+        return this;
+    }
+
+    @Override
+    public IntColumn add(Integer value) {
+        return addInt($.requireNotNull(value));
+    }
+
+    @Override
+    public Integer get(int row) {
+        return getInt(row);
+    }
+
+    @Override
+    public int getInt(int row) {
+        return data[checkRow(row)];
+    }
+
+    @Override
+    public long getLong(int row) {
+        return data[checkRow(row)];
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return data[checkRow(row)];
+    }
+
+    /**
+     * Returns a new column of the results of applying `mapper` to each value.
+     *
+     * @param mapper
+     *      the function
+     * @return
+     *      the mapped column
+     */
+    public IntColumn map(IntUnaryOperator mapper) {
+        int[] r = new int[size];
+        for (int i = 0; i < size; ++i) {
+            r[i] = mapper.applyAsInt(data[i]);
+        }
+        return new IntColumn(r, size);
+    }
+
+    /**
+     * Returns a new column of the values matching `predicate`.
+     *
+     * @param predicate
+     *      the predicate
+     * @return
+     *      the filtered column
+     */
+    public IntColumn filter(IntPredicate predicate) {
+        int[] r = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; ++i) {
+            int v = data[i];
+            if (predicate.test(v)) {
+                r[n++] = v;
+            }
+        }
+        return new IntColumn(r, n);
+    }
+
+    /**
+     * Fold the values with `accumulator` starting from `identity`.
+     *
+     * @param identity
+     *      the initial value
+     * @param accumulator
+     *      the function that combines the result so far with the next value
+     * @return
+     *      the result
+     */
+    public int reduce(int identity, IntBinaryOperator accumulator) {
+        int r = identity;
+        for (int i = 0; i < size; ++i) {
+            r = accumulator.applyAsInt(r, data[i]);
+        }
+        return r;
+    }
+
+    /**
+     * Apply `action` to each value.
+     *
+     * @param action
+     *      the action
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; ++i) {
+            action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Returns a copy of the values.
+     *
+     * @return
+     *      an array of the values
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    @Override
+    IntColumn copyRows(int[] rows, int n) {
+        int[] r = new int[n];
+        for (int i = 0; i < n; ++i) {
+            r[i] = data[rows[i]];
+        }
+        return new IntColumn(r, n);
+    }
+}
@@ -0,0 +1,115 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+/**
+ * A pair of an `int` and an `int` that keeps primitive elements unboxed.
+ *
+ * {@link #equals(Object)} and {@link #hashCode()} do not allocate, and the
+ * hash code is the same as the {@link T2} of the boxed elements, see
+ * {@link #toT2()}.
+ */
+public final class IntIntPair {
+
+    /**
+     * The first element
+     */
+    public final int a;
+
+    /**
+     * The second element
+     */
+    public final int b;
+
+    /**
+     * Construct an `IntIntPair`.
+     *
+     * @param a
+     *      the first element
+     * @param b
+     *      the second element
+     */
+    public IntIntPair(int a, int b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Returns an `IntIntPair` of the elements specified.
+     *
+     * @param a
+     *      the first element
+     * @param b
+     *      the second element
+     * @return
+     *      the pair
+     */
+    public static IntIntPair of(int a, int b) {
+        return new IntIntPair(a, b);
+    }
+
+    /**
+     * Returns an `IntIntPair` of the elements of a {@link T2}.
+     *
+     * @param t2
+     *      the tuple
+     * @return
+     *      the pair
+     * @throws NullPointerException
+     *      if a primitive element of `t2` is `null`
+     */
+    public static IntIntPair from(T2<Integer, Integer> t2) {
+        return new IntIntPair($.requireNotNull(t2.a), $.requireNotNull(t2.b));
+    }
+
+    /**
+     * Returns a {@link Pair} of the boxed elements.
+     *
+     * @return
+     *      the pair as a `T2`
+     */
+    public Pair<Integer, Integer> toT2() {
+        return new Pair<>(a, b);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o instanceof IntIntPair) {
+            IntIntPair that = (IntIntPair) o;
+            return a == that.a && b == that.b;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        // same as $.hc(Object, Object) on the boxed elements
+        return 37 * (37 * 17 + a) + b;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + a + ", " + b + ")";
+    }
+}
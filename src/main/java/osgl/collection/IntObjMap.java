@@ -0,0 +1,493 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static osgl.collection.PrimitiveHashing.DEFAULT_EXPECTED_SIZE;
+import static osgl.collection.PrimitiveHashing.DEFAULT_LOAD_FACTOR;
+import static osgl.collection.PrimitiveHashing.arraySize;
+import static osgl.collection.PrimitiveHashing.checkLoadFactor;
+import static osgl.collection.PrimitiveHashing.maxFill;
+import static osgl.collection.PrimitiveHashing.mix;
+import static osgl.collection.PrimitiveHashing.nextArraySize;
+
+import osgl.$;
+import osgl.func.IntObjConsumer;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * A hash map from `int` keys to object values.
+ *
+ * Unlike `HashMap<Integer, V>` it stores keys in a primitive array and
+ * values in a parallel array, thus there is neither key box nor entry
+ * object per mapping. The table uses open addressing with linear probing
+ * and backward shift deletion (no tombstones). The key `0` is kept
+ * out of the table as `0` marks free slots.
+ *
+ * `null` values are permitted, use {@link #containsKey(int)} to tell a
+ * `null` value from a missing key.
+ *
+ * Iteration via {@link #forEach(IntObjConsumer)} does not allocate. The
+ * {@link #keys()}, {@link #values()} and {@link #entries()} views plug the
+ * map into the {@link Traversable} API. The map must not be modified
+ * while it is iterated.
+ *
+ * This class is not thread safe.
+ *
+ * @param <V>
+ *      the type of the values
+ */
+public class IntObjMap<V> {
+
+    private final float loadFactor;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int maxFill;
+
+    /**
+     * The number of mappings in the table, i.e. excluding the `0` key.
+     */
+    private int assigned;
+
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    /**
+     * Construct an empty map.
+     */
+    public IntObjMap() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct an empty map that holds `expectedSize` mappings without
+     * resizing.
+     *
+     * @param expectedSize
+     *      the expected number of mappings
+     */
+    public IntObjMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct an empty map.
+     *
+     * @param expectedSize
+     *      the expected number of mappings
+     * @param loadFactor
+     *      the maximum ratio of used slots in the table, in the open
+     *      interval `(0, 1)`
+     */
+    public IntObjMap(int expectedSize, float loadFactor) {
+        this.loadFactor = checkLoadFactor(loadFactor);
+        allocate(arraySize(expectedSize, loadFactor));
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return
+     *      the size of this map
+     */
+    public int size() {
+        return hasZeroKey ? assigned + 1 : assigned;
+    }
+
+    /**
+     * Report whether this map has no mapping.
+     *
+     * @return
+     *      `true` if this map is empty
+     */
+    public boolean isEmpty() {
+        return 0 == size();
+    }
+
+    /**
+     * Report whether this map contains a mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      `true` if `key` is mapped
+     */
+    public boolean containsKey(int key) {
+        return 0 == key ? hasZeroKey : slot(key) >= 0;
+    }
+
+    /**
+     * Returns the value mapped to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if `key` is not mapped
+     */
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns the value mapped to `key`, or `defVal` if `key` is not mapped.
+     *
+     * @param key
+     *      the key
+     * @param defVal
+     *      the value to return if `key` is not mapped
+     * @return
+     *      the value as described above
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defVal) {
+        if (0 == key) {
+            return hasZeroKey ? zeroValue : defVal;
+        }
+        int slot = slot(key);
+        return slot < 0 ? defVal : (V) values[slot];
+    }
+
+    /**
+     * Map `key` to `value`.
+     *
+     * @param key
+     *      the key
+     * @param value
+     *      the value
+     * @return
+     *      the value previously mapped to `key`, or `null`
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (0 == key) {
+            V prev = zeroValue;
+            zeroValue = value;
+            hasZeroKey = true;
+            return prev;
+        }
+        final int[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        int k;
+        while (0 != (k = keys[pos])) {
+            if (k == key) {
+                V prev = (V) values[pos];
+                values[pos] = value;
+                return prev;
+            }
+            pos = (pos + 1) & mask;
+        }
+        keys[pos] = key;
+        values[pos] = value;
+        if (++assigned > maxFill) {
+            rehash(nextArraySize(keys.length));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to `key`. If `key` is not mapped, map it to
+     * the value computed by `mappingFunction` and return the value.
+     *
+     * @param key
+     *      the key
+     * @param mappingFunction
+     *      the function to compute the value of a missing key
+     * @return
+     *      the current (existing or computed) value
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        $.requireNotNull(mappingFunction);
+        if (0 == key) {
+            if (!hasZeroKey) {
+                zeroValue = mappingFunction.apply(key);
+                hasZeroKey = true;
+            }
+            return zeroValue;
+        }
+        int slot = slot(key);
+        if (slot >= 0) {
+            return (V) values[slot];
+        }
+        V value = mappingFunction.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Remove the mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value previously mapped to `key`, or `null`
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (0 == key) {
+            V prev = zeroValue;
+            zeroValue = null;
+            hasZeroKey = false;
+            return prev;
+        }
+        int slot = slot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V prev = (V) values[slot];
+        assigned--;
+        shiftKeys(slot);
+        return prev;
+    }
+
+    /**
+     * Remove all mappings. The table capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        assigned = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    /**
+     * Apply `action` to each mapping in this map.
+     *
+     * @param action
+     *      the function to apply to each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjConsumer<? super V> action) {
+        $.requireNotNull(action);
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        final int[] keys = this.keys;
+        final Object[] values = this.values;
+        for (int i = 0; i < keys.length; ++i) {
+            int k = keys[i];
+            if (0 != k) {
+                action.accept(k, (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a `Traversable` view of the keys of this map.
+     *
+     * @return
+     *      the keys
+     */
+    public Traversable<Integer> keys() {
+        return new View<Integer>() {
+            @Override
+            Integer current(Cursor cursor) {
+                return cursor.key();
+            }
+        };
+    }
+
+    /**
+     * Returns a `Traversable` view of the values of this map.
+     *
+     * @return
+     *      the values
+     */
+    public Traversable<V> values() {
+        return new View<V>() {
+            @Override
+            V current(Cursor cursor) {
+                return cursor.value();
+            }
+        };
+    }
+
+    /**
+     * Returns a `Traversable` view of the mappings of this map.
+     *
+     * @return
+     *      the mappings
+     */
+    public Traversable<IntObjPair<V>> entries() {
+        return new View<IntObjPair<V>>() {
+            @Override
+            IntObjPair<V> current(Cursor cursor) {
+                return new IntObjPair<>(cursor.key(), cursor.value());
+            }
+        };
+    }
+
+    /**
+     * Returns the slot of `key` in the table, or `-1` if not found.
+     * `key` must not be `0`.
+     */
+    private int slot(int key) {
+        final int[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        int k;
+        while (0 != (k = keys[pos])) {
+            if (k == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Backward shift deletion: move the following entries of the probe
+     * chain back into the slot being emptied, so lookups never need
+     * tombstones.
+     */
+    private void shiftKeys(int pos) {
+        final int[] keys = this.keys;
+        final Object[] values = this.values;
+        final int mask = this.mask;
+        int last;
+        int k;
+        while (true) {
+            last = pos;
+            pos = (pos + 1) & mask;
+            while (true) {
+                k = keys[pos];
+                if (0 == k) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int slot = mix(k) & mask;
+                // move k to last unless its home slot lies cyclically in (last, pos]
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private void allocate(int arraySize) {
+        keys = new int[arraySize];
+        values = new Object[arraySize];
+        mask = arraySize - 1;
+        maxFill = maxFill(arraySize, loadFactor);
+    }
+
+    private void rehash(int arraySize) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(arraySize);
+        final int[] keys = this.keys;
+        final Object[] values = this.values;
+        final int mask = this.mask;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            int k = oldKeys[i];
+            if (0 != k) {
+                int pos = mix(k) & mask;
+                while (0 != keys[pos]) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = k;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Iterates the mappings: the `0` key first, then the table slots.
+     */
+    private final class Cursor {
+        private int next = hasZeroKey ? -1 : advance(0);
+        private int current;
+
+        private int advance(int from) {
+            final int[] keys = IntObjMap.this.keys;
+            int i = from;
+            while (i < keys.length && 0 == keys[i]) {
+                i++;
+            }
+            return i;
+        }
+
+        boolean hasNext() {
+            return next < keys.length;
+        }
+
+        void moveNext() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = advance(next + 1);
+        }
+
+        int key() {
+            return current < 0 ? 0 : keys[current];
+        }
+
+        @SuppressWarnings("unchecked")
+        V value() {
+            return current < 0 ? zeroValue : (V) values[current];
+        }
+    }
+
+    private abstract class View<T> implements Traversable<T> {
+
+        abstract T current(Cursor cursor);
+
+        @Override
+        public boolean sized() {
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return IntObjMap.this.size();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            final Cursor cursor = new Cursor();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return cursor.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    cursor.moveNext();
+                    return current(cursor);
+                }
+            };
+        }
+    }
+
+}
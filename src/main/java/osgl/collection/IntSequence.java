@@ -0,0 +1,121 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A {@link Sequence} of `int` values that can be iterated without boxing
+ * through {@link #intIterator()} or {@link #forEachInt(IntConsumer)}.
+ *
+ * {@link #iterator()} is backed by the primitive iterator, thus the
+ * generic `Sequence` operations are still available, boxing the values.
+ */
+public interface IntSequence extends Sequence<Integer> {
+
+    /**
+     * Returns a primitive iterator of the values.
+     *
+     * @return
+     *      the primitive iterator
+     */
+    PrimitiveIterator.OfInt intIterator();
+
+    @Override
+    default Iterator<Integer> iterator() {
+        return intIterator();
+    }
+
+    /**
+     * Apply `action` to each value without boxing.
+     *
+     * @param action
+     *      the action
+     */
+    default void forEachInt(IntConsumer action) {
+        intIterator().forEachRemaining(action);
+    }
+
+    /**
+     * Returns the values as an `int` array.
+     *
+     * @return
+     *      an array of the values
+     */
+    default int[] toIntArray() {
+        int[] a = new int[sized() ? size() : 16];
+        int n = 0;
+        PrimitiveIterator.OfInt itr = intIterator();
+        while (itr.hasNext()) {
+            if (n == a.length) {
+                a = Arrays.copyOf(a, Math.max(16, n << 1));
+            }
+            a[n++] = itr.nextInt();
+        }
+        return n == a.length ? a : Arrays.copyOf(a, n);
+    }
+
+    /**
+     * Returns an `IntSequence` of `values`. The array is not copied.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      an `IntSequence` of the values
+     */
+    static IntSequence of(final int... values) {
+        return new IntSequence() {
+            @Override
+            public PrimitiveIterator.OfInt intIterator() {
+                return new PrimitiveIterator.OfInt() {
+                    int cur;
+
+                    @Override
+                    public boolean hasNext() {
+                        return cur < values.length;
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        if (cur >= values.length) {
+                            throw new NoSuchElementException();
+                        }
+                        return values[cur++];
+                    }
+                };
+            }
+
+            @Override
+            public boolean sized() {
+                return true;
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+}
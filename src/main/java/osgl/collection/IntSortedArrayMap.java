@@ -0,0 +1,329 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+import osgl.func.IntObjConsumer;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * An immutable map from `int` keys to object values kept in a sorted key
+ * array and a parallel value array.
+ *
+ * Compared to a `TreeMap<Integer, V>` there is neither entry object nor key box
+ * per mapping, and lookups probe a contiguous array with the configured
+ * {@link SearchStrategy} rather than chasing pointers. Besides exact lookups
+ * it supports order based queries, e.g. {@link #floorValue(int)}, and
+ * {@link #range(int, int) range} views.
+ *
+ * The map is built once, e.g. with {@link #from(Iterable, ToIntFunction, Function)},
+ * and then read concurrently without synchronization.
+ *
+ * @param <V>
+ *      the type of the values
+ */
+public final class IntSortedArrayMap<V> {
+
+    private final IntSortedArraySet keys;
+    private final Object[] values;
+
+    private IntSortedArrayMap(IntSortedArraySet keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Build a map from the elements of an `Iterable`, e.g. a {@link Traversable}.
+     *
+     * @param source
+     *      the source elements
+     * @param keyFn
+     *      the function to get the key from an element
+     * @param valueFn
+     *      the function to get the value from an element
+     * @param <T>
+     *      the type of the source elements
+     * @param <V>
+     *      the type of the values
+     * @return
+     *      the map
+     * @throws IllegalArgumentException
+     *      if two elements have the same key
+     */
+    public static <T, V> IntSortedArrayMap<V> from(
+            Iterable<? extends T> source,
+            ToIntFunction<? super T> keyFn,
+            Function<? super T, ? extends V> valueFn
+    ) {
+        $.requireNotNull(keyFn);
+        $.requireNotNull(valueFn);
+        int capacity = Math.max(ArrayBuffer.capacityOf(source), 16);
+        int[] keys = new int[capacity];
+        Object[] values = new Object[capacity];
+        int n = 0;
+        for (T t : source) {
+            if (n == keys.length) {
+                keys = Arrays.copyOf(keys, n << 1);
+                values = Arrays.copyOf(values, n << 1);
+            }
+            keys[n] = keyFn.applyAsInt(t);
+            values[n] = valueFn.apply(t);
+            n++;
+        }
+        return sort(keys, values, n);
+    }
+
+    /**
+     * Build a map from parallel key and value arrays. The arrays are copied.
+     *
+     * @param keys
+     *      the keys, in any order
+     * @param values
+     *      the values, `values[i]` is mapped to `keys[i]`
+     * @param <V>
+     *      the type of the values
+     * @return
+     *      the map
+     * @throws IllegalArgumentException
+     *      if the arrays have different lengths, or there are duplicated keys
+     */
+    public static <V> IntSortedArrayMap<V> of(int[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values have different lengths");
+        }
+        return sort(keys, values, keys.length);
+    }
+
+    /**
+     * Sort the first `n` keys with their values, by sorting `(key, index)`
+     * pairs and then gathering the values.
+     */
+    private static <V> IntSortedArrayMap<V> sort(int[] keys, Object[] values, int n) {
+        int[] sortedKeys = new int[n];
+        Object[] sortedValues = new Object[n];
+        int[] order = sortedOrder(keys, n);
+        for (int i = 0; i < n; ++i) {
+            int j = order[i];
+            sortedKeys[i] = keys[j];
+            sortedValues[i] = values[j];
+            if (i > 0 && sortedKeys[i - 1] == sortedKeys[i]) {
+                throw new IllegalArgumentException("duplicated key: " + sortedKeys[i]);
+            }
+        }
+        return new IntSortedArrayMap<>(IntSortedArraySet.wrap(sortedKeys), sortedValues);
+    }
+
+    /**
+     * Returns the indexes of the first `n` keys in ascending key order. Each
+     * `(key, index)` pair is packed into a `long` with the key in the high
+     * bits, so a primitive sort does the job.
+     */
+    private static int[] sortedOrder(int[] keys, int n) {
+        long[] packed = new long[n];
+        for (int i = 0; i < n; ++i) {
+            packed[i] = ((long) keys[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; ++i) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    /**
+     * Returns a map of the same mappings that searches with `searchStrategy`.
+     * The arrays are shared, not copied.
+     *
+     * @param searchStrategy
+     *      the search strategy
+     * @return
+     *      a map as described above
+     */
+    public IntSortedArrayMap<V> withSearchStrategy(SearchStrategy searchStrategy) {
+        IntSortedArraySet newKeys = keys.withSearchStrategy(searchStrategy);
+        return newKeys == keys ? this : new IntSortedArrayMap<V>(newKeys, values);
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return
+     *      the size of this map
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Report whether this map has no mapping.
+     *
+     * @return
+     *      `true` if this map is empty
+     */
+    public boolean isEmpty() {
+        return 0 == values.length;
+    }
+
+    /**
+     * Report whether this map contains a mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      `true` if `key` is mapped
+     */
+    public boolean containsKey(int key) {
+        return keys.contains(key);
+    }
+
+    /**
+     * Returns the value mapped to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if `key` is not mapped
+     */
+    public V get(int key) {
+        return valueAt(keys.indexOf(key));
+    }
+
+    /**
+     * Returns the value mapped to the greatest key less than or equal to `key`.
+     * This is the typical lookup of a range table, e.g. from the start of
+     * an ID block to the owner of the block.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if there is no such key
+     */
+    public V floorValue(int key) {
+        return valueAt(keys.floorIndex(key));
+    }
+
+    /**
+     * Returns the value mapped to the least key greater than or equal to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if there is no such key
+     */
+    public V ceilingValue(int key) {
+        return valueAt(keys.ceilingIndex(key));
+    }
+
+    /**
+     * Returns the sorted keys of this map as a set. The set shares the key
+     * array with this map, and supports the index based queries, e.g.
+     * {@link IntSortedArraySet#floorIndex(int)}, whose results can be passed
+     * to {@link #valueAt(int)}.
+     *
+     * @return
+     *      the key set
+     */
+    public IntSortedArraySet keySet() {
+        return keys;
+    }
+
+    /**
+     * Returns the value at `index` in the ascending order of keys.
+     *
+     * @param index
+     *      the index
+     * @return
+     *      the value, or `null` if `index` is negative
+     * @throws IndexOutOfBoundsException
+     *      if `index` is not less than the size
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Returns the mappings whose keys are in `[fromInclusive, toExclusive)` as a
+     * `Sequence` backed by this map.
+     *
+     * @param fromInclusive
+     *      the low end point (inclusive)
+     * @param toExclusive
+     *      the high end point (exclusive)
+     * @return
+     *      the mappings in range, in ascending key order
+     */
+    public Sequence<IntObjPair<V>> range(int fromInclusive, int toExclusive) {
+        return entries(keys.rangeStart(fromInclusive), keys.rangeEnd(fromInclusive, toExclusive));
+    }
+
+    /**
+     * Returns the keys in ascending order as a `Sequence`.
+     *
+     * @return
+     *      the keys
+     */
+    public Sequence<Integer> keys() {
+        return keys.elements();
+    }
+
+    /**
+     * Returns the values in ascending key order as a `Sequence`.
+     *
+     * @return
+     *      the values
+     */
+    public Sequence<V> values() {
+        return new IndexedSequence<>(0, values.length, this::valueAt);
+    }
+
+    /**
+     * Returns the mappings in ascending key order as a `Sequence`.
+     *
+     * @return
+     *      the mappings
+     */
+    public Sequence<IntObjPair<V>> entries() {
+        return entries(0, values.length);
+    }
+
+    /**
+     * Apply `action` to each mapping in ascending key order.
+     *
+     * @param action
+     *      the function to apply to each key and value
+     */
+    public void forEach(IntObjConsumer<? super V> action) {
+        $.requireNotNull(action);
+        for (int i = 0; i < values.length; ++i) {
+            action.accept(keys.get(i), valueAt(i));
+        }
+    }
+
+    private Sequence<IntObjPair<V>> entries(int from, int to) {
+        return new IndexedSequence<>(from, to, i -> new IntObjPair<>(keys.get(i), valueAt(i)));
+    }
+
+}
@@ -0,0 +1,311 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable set of `int` values kept in a sorted array.
+ *
+ * It takes a single `int` per element and answers lookups with the configured
+ * {@link SearchStrategy}, besides it supports order based queries:
+ * {@link #floorIndex(int) floor}, {@link #ceilingIndex(int) ceiling},
+ * {@link #lowerIndex(int) lower} and {@link #higherIndex(int) higher}, and
+ * {@link #range(int, int) range} views.
+ *
+ * The set is built once, e.g. with {@link #of(int...)} or {@link #from(Iterable)},
+ * and then read concurrently without synchronization.
+ *
+ * @see IntSortedArrayMap
+ */
+public final class IntSortedArraySet {
+
+    private static final IntSortedArraySet EMPTY = new IntSortedArraySet(new int[0], SearchStrategy.BINARY);
+
+    private final int[] elements;
+    private final SearchStrategy searchStrategy;
+
+    private IntSortedArraySet(int[] elements, SearchStrategy searchStrategy) {
+        this.elements = elements;
+        this.searchStrategy = searchStrategy;
+    }
+
+    /**
+     * Returns a set of `values`. Duplicated values are merged.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      the set
+     */
+    public static IntSortedArraySet of(int... values) {
+        int[] a = values.clone();
+        Arrays.sort(a);
+        int n = 0;
+        for (int i = 0; i < a.length; ++i) {
+            if (0 == n || a[n - 1] != a[i]) {
+                a[n++] = a[i];
+            }
+        }
+        return 0 == n ? EMPTY : new IntSortedArraySet(n == a.length ? a : Arrays.copyOf(a, n), SearchStrategy.BINARY);
+    }
+
+    /**
+     * Returns a set of the values of an `Iterable`, e.g. a {@link Traversable}.
+     * Duplicated values are merged.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      the set
+     */
+    public static IntSortedArraySet from(Iterable<? extends Integer> values) {
+        int[] a = new int[Math.max(ArrayBuffer.capacityOf(values), 16)];
+        int n = 0;
+        for (Integer v : values) {
+            if (n == a.length) {
+                a = Arrays.copyOf(a, n << 1);
+            }
+            a[n++] = v;
+        }
+        return of(Arrays.copyOf(a, n));
+    }
+
+    /**
+     * Build the set from sorted distinct values without copying.
+     */
+    static IntSortedArraySet wrap(int[] sortedDistinct) {
+        return new IntSortedArraySet(sortedDistinct, SearchStrategy.BINARY);
+    }
+
+    /**
+     * Returns a set of the same elements that searches with `searchStrategy`.
+     * The elements are shared, not copied.
+     *
+     * @param searchStrategy
+     *      the search strategy
+     * @return
+     *      a set as described above
+     */
+    public IntSortedArraySet withSearchStrategy(SearchStrategy searchStrategy) {
+        $.requireNotNull(searchStrategy);
+        return searchStrategy == this.searchStrategy ? this : new IntSortedArraySet(elements, searchStrategy);
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return
+     *      the size of this set
+     */
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * Report whether this set has no element.
+     *
+     * @return
+     *      `true` if this set is empty
+     */
+    public boolean isEmpty() {
+        return 0 == elements.length;
+    }
+
+    /**
+     * Report whether this set contains `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      `true` if `value` is an element of this set
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns the index of `value` in the ascending order of the elements.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index of `value` if found, or `-(insertionPoint + 1)` otherwise
+     */
+    public int indexOf(int value) {
+        return searchStrategy.search(elements, 0, elements.length, value);
+    }
+
+    /**
+     * Returns the element at `index` in the ascending order.
+     *
+     * @param index
+     *      the index
+     * @return
+     *      the element
+     * @throws IndexOutOfBoundsException
+     *      if `index` is out of range
+     */
+    public int get(int index) {
+        return elements[index];
+    }
+
+    /**
+     * Returns the index of the greatest element less than or equal to `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int floorIndex(int value) {
+        int i = indexOf(value);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Returns the index of the least element greater than or equal to `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int ceilingIndex(int value) {
+        int i = indexOf(value);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return i < elements.length ? i : -1;
+    }
+
+    /**
+     * Returns the index of the greatest element strictly less than `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int lowerIndex(int value) {
+        int i = indexOf(value);
+        return i >= 0 ? i - 1 : -i - 2;
+    }
+
+    /**
+     * Returns the index of the least element strictly greater than `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int higherIndex(int value) {
+        int i = indexOf(value);
+        i = i >= 0 ? i + 1 : -i - 1;
+        return i < elements.length ? i : -1;
+    }
+
+    /**
+     * Returns the elements in `[fromInclusive, toExclusive)` as a `Sequence`
+     * backed by this set.
+     *
+     * @param fromInclusive
+     *      the low end point (inclusive)
+     * @param toExclusive
+     *      the high end point (exclusive)
+     * @return
+     *      the elements in range, in ascending order
+     */
+    public Sequence<Integer> range(int fromInclusive, int toExclusive) {
+        return indexes(rangeStart(fromInclusive), rangeEnd(fromInclusive, toExclusive));
+    }
+
+    /**
+     * Returns the elements in ascending order as a `Sequence` backed by this set.
+     *
+     * @return
+     *      the elements
+     */
+    public Sequence<Integer> elements() {
+        return indexes(0, elements.length);
+    }
+
+    /**
+     * Apply `action` to each element in ascending order.
+     *
+     * @param action
+     *      the function to apply to each element
+     */
+    public void forEach(IntConsumer action) {
+        $.requireNotNull(action);
+        for (int e : elements) {
+            action.accept(e);
+        }
+    }
+
+    /**
+     * Returns the elements in ascending order in an array.
+     *
+     * @return
+     *      a new array of the elements
+     */
+    public int[] toArray() {
+        return elements.clone();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || (obj instanceof IntSortedArraySet && Arrays.equals(elements, ((IntSortedArraySet) obj).elements));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(elements);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(elements);
+    }
+
+    int rangeStart(int fromInclusive) {
+        int i = indexOf(fromInclusive);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    int rangeEnd(int fromInclusive, int toExclusive) {
+        if (toExclusive <= fromInclusive) {
+            return rangeStart(fromInclusive);
+        }
+        int i = indexOf(toExclusive);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private Sequence<Integer> indexes(int from, int to) {
+        final int[] elements = this.elements;
+        return new IndexedSequence<>(from, to, i -> elements[i]);
+    }
+
+}
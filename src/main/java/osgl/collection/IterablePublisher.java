@@ -0,0 +1,181 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Publisher} that emits elements of an {@link Iterable}.
+ *
+ * Every subscriber gets its own iterator. Elements are emitted on the
+ * executor only as long as there is outstanding demand requested by
+ * the subscriber, thus no element is buffered in the publisher.
+ *
+ * @param <T>
+ *      The type of the elements.
+ */
+class IterablePublisher<T> implements Flow.Publisher<T> {
+
+    private final Iterable<? extends T> source;
+    private final Executor executor;
+
+    IterablePublisher(Iterable<? extends T> source, Executor executor) {
+        this.source = $.requireNotNull(source);
+        this.executor = $.requireNotNull(executor);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        $.requireNotNull(subscriber);
+        IteratorSubscription<T> subscription = new IteratorSubscription<>(source, subscriber, executor);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Emits elements to the subscriber in a serialized drain loop: calls to
+     * {@link #request(long)} add to the demand and schedule a drain on the
+     * executor if none is running.
+     */
+    private static final class IteratorSubscription<T> implements Flow.Subscription, Runnable {
+
+        private final Iterable<? extends T> source;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Executor executor;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * Created lazily in the drain loop, so that a slow `iterator()` call
+         * does not block the subscribing thread.
+         */
+        private Iterator<? extends T> iterator;
+
+        private volatile boolean cancelled;
+        private volatile Throwable badRequest;
+        private boolean done;
+
+        IteratorSubscription(Iterable<? extends T> source, Flow.Subscriber<? super T> subscriber, Executor executor) {
+            this.source = source;
+            this.subscriber = subscriber;
+            this.executor = executor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                badRequest = new IllegalArgumentException("non-positive subscription request: " + n);
+            } else {
+                long r;
+                long u;
+                do {
+                    r = requested.get();
+                    u = r + n;
+                    if (u < 0) {
+                        u = Long.MAX_VALUE;
+                    }
+                } while (!requested.compareAndSet(r, u));
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (0 == wip.getAndIncrement()) {
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (0 != missed);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                done = true;
+                return;
+            }
+            Throwable error = badRequest;
+            if (null != error) {
+                terminate(error);
+                return;
+            }
+            try {
+                if (null == iterator) {
+                    iterator = source.iterator();
+                }
+                long r = requested.get();
+                long emitted = 0;
+                while (emitted != r) {
+                    if (cancelled) {
+                        done = true;
+                        return;
+                    }
+                    if (!iterator.hasNext()) {
+                        done = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(iterator.next());
+                    emitted++;
+                    if (emitted == r && Long.MAX_VALUE != r) {
+                        r = requested.addAndGet(-emitted);
+                        emitted = 0;
+                    }
+                }
+                if (!cancelled && !iterator.hasNext()) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            } catch (Throwable e) {
+                terminate(e);
+            }
+        }
+
+        private void terminate(Throwable error) {
+            done = true;
+            cancelled = true;
+            subscriber.onError(error);
+        }
+    }
+}
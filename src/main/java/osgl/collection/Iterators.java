@@ -20,7 +20,9 @@ package osgl.collection;
  * #L%
  */
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.Random;
 import java.util.function.Function;
 import java.util.function.IntPredicate;
 import java.util.function.Predicate;
@@ -56,6 +58,32 @@ public enum Iterators {
         return new FlatMappedIterator<T, R>(itr, mapper);
     }
 
+    /**
+     * Returns an iterator that keeps each element of `itr` with probability
+     * `fraction`.
+     *
+     * @param itr
+     *      the source iterator
+     * @param fraction
+     *      the probability to keep an element, in the range `[0, 1]`
+     * @param random
+     *      the random number generator
+     * @param <T>
+     *      the element type
+     * @return
+     *      an iterator over the sampled elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Iterator<T> sample(Iterator<? extends T> itr, double fraction, Random random) {
+        if (fraction <= 0.0d) {
+            return Collections.emptyIterator();
+        }
+        if (fraction >= 1.0d) {
+            return (Iterator<T>) itr;
+        }
+        return new SampledIterator<>(itr, fraction, random);
+    }
+
     public static <T, R> Iterator<R> map(Iterator<? extends T> itr, Function<? super T, ? extends R> mapper) {
         return new MappedIterator<T, R>(itr, mapper);
     }
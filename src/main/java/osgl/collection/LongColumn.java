@@ -0,0 +1,192 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A {@link Column} of `long` values kept in a `long[]`.
+ */
+public final class LongColumn extends Column<Long> {
+
+    private long[] data;
+
+    /**
+     * Construct an empty column.
+     */
+    public LongColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an empty column with the initial capacity specified.
+     *
+     * @param capacity
+     *      the initial capacity
+     */
+    public LongColumn(int capacity) {
+        data = new long[Math.max(0, capacity)];
+    }
+
+    private LongColumn(long[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    /**
+     * Returns a column of `values`.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      the column
+     */
+    public static LongColumn of(long... values) {
+        return new LongColumn(values.clone(), values.length);
+    }
+
+    /**
+     * Append a `long` value.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      this column
+     */
+    public LongColumn addLong(long value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, grow(size));
+        }
+        data[size++] = value;
+        return this;
+    }
+
+    @Override
+    public LongColumn add(Long value) {
+        return addLong($.requireNotNull(value));
+    }
+
+    @Override
+    public Long get(int row) {
+        return getLong(row);
+    }
+
+    @Override
+    public long getLong(int row) {
+        return data[checkRow(row)];
+    }
+
+    @Override
+    public double getDouble(int row) {
+        return data[checkRow(row)];
+    }
+
+    /**
+     * Returns a new column of the results of applying `mapper` to each value.
+     *
+     * @param mapper
+     *      the function
+     * @return
+     *      the mapped column
+     */
+    public LongColumn map(LongUnaryOperator mapper) {
+        long[] r = new long[size];
+        for (int i = 0; i < size; ++i) {
+            r[i] = mapper.applyAsLong(data[i]);
+        }
+        return new LongColumn(r, size);
+    }
+
+    /**
+     * Returns a new column of the values matching `predicate`.
+     *
+     * @param predicate
+     *      the predicate
+     * @return
+     *      the filtered column
+     */
+    public LongColumn filter(LongPredicate predicate) {
+        long[] r = new long[size];
+        int n = 0;
+        for (int i = 0; i < size; ++i) {
+            long v = data[i];
+            if (predicate.test(v)) {
+                r[n++] = v;
+            }
+        }
+        return new LongColumn(r, n);
+    }
+
+    /**
+     * Fold the values with `accumulator` starting from `identity`.
+     *
+     * @param identity
+     *      the initial value
+     * @param accumulator
+     *      the function that combines the result so far with the next value
+     * @return
+     *      the result
+     */
+    public long reduce(long identity, LongBinaryOperator accumulator) {
+        long r = identity;
+        for (int i = 0; i < size; ++i) {
+            r = accumulator.applyAsLong(r, data[i]);
+        }
+        return r;
+    }
+
+    /**
+     * Apply `action` to each value.
+     *
+     * @param action
+     *      the action
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; ++i) {
+            action.accept(data[i]);
+        }
+    }
+
+    /**
+     * Returns a copy of the values.
+     *
+     * @return
+     *      an array of the values
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    @Override
+    LongColumn copyRows(int[] rows, int n) {
+        long[] r = new long[n];
+        for (int i = 0; i < n; ++i) {
+            r[i] = data[rows[i]];
+        }
+        return new LongColumn(r, n);
+    }
+}
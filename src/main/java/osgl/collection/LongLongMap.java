@@ -0,0 +1,493 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static osgl.collection.PrimitiveHashing.DEFAULT_EXPECTED_SIZE;
+import static osgl.collection.PrimitiveHashing.DEFAULT_LOAD_FACTOR;
+import static osgl.collection.PrimitiveHashing.arraySize;
+import static osgl.collection.PrimitiveHashing.checkLoadFactor;
+import static osgl.collection.PrimitiveHashing.maxFill;
+import static osgl.collection.PrimitiveHashing.mix;
+import static osgl.collection.PrimitiveHashing.nextArraySize;
+
+import osgl.$;
+import osgl.func.LongLongConsumer;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash map from `long` keys to `long` values.
+ *
+ * Unlike `HashMap<Long, Long>` it stores keys and values in parallel
+ * primitive arrays, thus there is neither box nor entry object per
+ * mapping. The table uses open addressing with linear probing and
+ * backward shift deletion (no tombstones). The key `0` is kept out of
+ * the table as `0` marks free slots.
+ *
+ * Reading a missing key returns `0`, use {@link #containsKey(long)} or
+ * {@link #getOrDefault(long, long)} to tell a `0` value from a missing key.
+ *
+ * Iteration via {@link #forEach(LongLongConsumer)} does not allocate. The
+ * {@link #keys()}, {@link #values()} and {@link #entries()} views plug the
+ * map into the {@link Traversable} API. The map must not be modified
+ * while it is iterated.
+ *
+ * This class is not thread safe.
+ */
+public class LongLongMap {
+
+    private final float loadFactor;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int maxFill;
+
+    /**
+     * The number of mappings in the table, i.e. excluding the `0` key.
+     */
+    private int assigned;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    /**
+     * Construct an empty map.
+     */
+    public LongLongMap() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct an empty map that holds `expectedSize` mappings without
+     * resizing.
+     *
+     * @param expectedSize
+     *      the expected number of mappings
+     */
+    public LongLongMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct an empty map.
+     *
+     * @param expectedSize
+     *      the expected number of mappings
+     * @param loadFactor
+     *      the maximum ratio of used slots in the table, in the open
+     *      interval `(0, 1)`
+     */
+    public LongLongMap(int expectedSize, float loadFactor) {
+        this.loadFactor = checkLoadFactor(loadFactor);
+        allocate(arraySize(expectedSize, loadFactor));
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return
+     *      the size of this map
+     */
+    public int size() {
+        return hasZeroKey ? assigned + 1 : assigned;
+    }
+
+    /**
+     * Report whether this map has no mapping.
+     *
+     * @return
+     *      `true` if this map is empty
+     */
+    public boolean isEmpty() {
+        return 0 == size();
+    }
+
+    /**
+     * Report whether this map contains a mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      `true` if `key` is mapped
+     */
+    public boolean containsKey(long key) {
+        return 0 == key ? hasZeroKey : slot(key) >= 0;
+    }
+
+    /**
+     * Returns the value mapped to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `0` if `key` is not mapped
+     */
+    public long get(long key) {
+        return getOrDefault(key, 0L);
+    }
+
+    /**
+     * Returns the value mapped to `key`, or `defVal` if `key` is not mapped.
+     *
+     * @param key
+     *      the key
+     * @param defVal
+     *      the value to return if `key` is not mapped
+     * @return
+     *      the value as described above
+     */
+    public long getOrDefault(long key, long defVal) {
+        if (0 == key) {
+            return hasZeroKey ? zeroValue : defVal;
+        }
+        int slot = slot(key);
+        return slot < 0 ? defVal : values[slot];
+    }
+
+    /**
+     * Map `key` to `value`.
+     *
+     * @param key
+     *      the key
+     * @param value
+     *      the value
+     * @return
+     *      the value previously mapped to `key`, or `0`
+     */
+    public long put(long key, long value) {
+        if (0 == key) {
+            long prev = zeroValue;
+            zeroValue = value;
+            hasZeroKey = true;
+            return prev;
+        }
+        int pos = insertionSlot(key);
+        long prev = values[pos];
+        values[pos] = value;
+        if (0 == keys[pos]) {
+            keys[pos] = key;
+            grow();
+        }
+        return prev;
+    }
+
+    /**
+     * Add `delta` to the value mapped to `key`. A missing key is treated
+     * as mapped to `0`.
+     *
+     * @param key
+     *      the key
+     * @param delta
+     *      the value to add
+     * @return
+     *      the new value mapped to `key`
+     */
+    public long addTo(long key, long delta) {
+        if (0 == key) {
+            hasZeroKey = true;
+            return zeroValue += delta;
+        }
+        int pos = insertionSlot(key);
+        long value = values[pos] += delta;
+        if (0 == keys[pos]) {
+            keys[pos] = key;
+            grow();
+        }
+        return value;
+    }
+
+    /**
+     * Remove the mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value previously mapped to `key`, or `0`
+     */
+    public long remove(long key) {
+        if (0 == key) {
+            long prev = zeroValue;
+            zeroValue = 0L;
+            hasZeroKey = false;
+            return prev;
+        }
+        int slot = slot(key);
+        if (slot < 0) {
+            return 0L;
+        }
+        long prev = values[slot];
+        assigned--;
+        shiftKeys(slot);
+        return prev;
+    }
+
+    /**
+     * Remove all mappings. The table capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, 0L);
+        assigned = 0;
+        hasZeroKey = false;
+        zeroValue = 0L;
+    }
+
+    /**
+     * Apply `action` to each mapping in this map.
+     *
+     * @param action
+     *      the function to apply to each key and value
+     */
+    public void forEach(LongLongConsumer action) {
+        $.requireNotNull(action);
+        if (hasZeroKey) {
+            action.accept(0L, zeroValue);
+        }
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        for (int i = 0; i < keys.length; ++i) {
+            long k = keys[i];
+            if (0 != k) {
+                action.accept(k, values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a `Traversable` view of the keys of this map.
+     *
+     * @return
+     *      the keys
+     */
+    public Traversable<Long> keys() {
+        return new View<Long>() {
+            @Override
+            Long current(Cursor cursor) {
+                return cursor.key();
+            }
+        };
+    }
+
+    /**
+     * Returns a `Traversable` view of the values of this map.
+     *
+     * @return
+     *      the values
+     */
+    public Traversable<Long> values() {
+        return new View<Long>() {
+            @Override
+            Long current(Cursor cursor) {
+                return cursor.value();
+            }
+        };
+    }
+
+    /**
+     * Returns a `Traversable` view of the mappings of this map.
+     *
+     * @return
+     *      the mappings
+     */
+    public Traversable<LongLongPair> entries() {
+        return new View<LongLongPair>() {
+            @Override
+            LongLongPair current(Cursor cursor) {
+                return new LongLongPair(cursor.key(), cursor.value());
+            }
+        };
+    }
+
+    /**
+     * Returns the slot of `key` in the table, or `-1` if not found.
+     * `key` must not be `0`.
+     */
+    private int slot(long key) {
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        long k;
+        while (0 != (k = keys[pos])) {
+            if (k == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot of `key` in the table, or the free slot where it
+     * shall be inserted. `key` must not be `0`.
+     */
+    private int insertionSlot(long key) {
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        long k;
+        while (0 != (k = keys[pos])) {
+            if (k == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return pos;
+    }
+
+    private void grow() {
+        if (++assigned > maxFill) {
+            rehash(nextArraySize(keys.length));
+        }
+    }
+
+    /**
+     * Backward shift deletion: move the following entries of the probe
+     * chain back into the slot being emptied, so lookups never need
+     * tombstones.
+     */
+    private void shiftKeys(int pos) {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        final int mask = this.mask;
+        int last;
+        long k;
+        while (true) {
+            last = pos;
+            pos = (pos + 1) & mask;
+            while (true) {
+                k = keys[pos];
+                if (0 == k) {
+                    keys[last] = 0L;
+                    values[last] = 0L;
+                    return;
+                }
+                int slot = mix(k) & mask;
+                // move k to last unless its home slot lies cyclically in (last, pos]
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private void allocate(int arraySize) {
+        keys = new long[arraySize];
+        values = new long[arraySize];
+        mask = arraySize - 1;
+        maxFill = maxFill(arraySize, loadFactor);
+    }
+
+    private void rehash(int arraySize) {
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        allocate(arraySize);
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        final int mask = this.mask;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            long k = oldKeys[i];
+            if (0 != k) {
+                int pos = mix(k) & mask;
+                while (0 != keys[pos]) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = k;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Iterates the mappings: the `0` key first, then the table slots.
+     */
+    private final class Cursor {
+        private int next = hasZeroKey ? -1 : advance(0);
+        private int current;
+
+        private int advance(int from) {
+            final long[] keys = LongLongMap.this.keys;
+            int i = from;
+            while (i < keys.length && 0 == keys[i]) {
+                i++;
+            }
+            return i;
+        }
+
+        boolean hasNext() {
+            return next < keys.length;
+        }
+
+        void moveNext() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = advance(next + 1);
+        }
+
+        long key() {
+            return current < 0 ? 0L : keys[current];
+        }
+
+        long value() {
+            return current < 0 ? zeroValue : values[current];
+        }
+    }
+
+    private abstract class View<T> implements Traversable<T> {
+
+        abstract T current(Cursor cursor);
+
+        @Override
+        public boolean sized() {
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return LongLongMap.this.size();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            final Cursor cursor = new Cursor();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return cursor.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    cursor.moveNext();
+                    return current(cursor);
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+/**
+ * A pair of a `long` and a reference that keeps primitive elements unboxed.
+ *
+ * {@link #equals(Object)} and {@link #hashCode()} do not allocate, and the
+ * hash code is the same as the {@link T2} of the boxed elements, see
+ * {@link #toT2()}.
+ *
+ * @param <B>
+ *      the type of the second element
+ */
+public final class LongObjPair<B> {
+
+    /**
+     * The first element
+     */
+    public final long a;
+
+    /**
+     * The second element
+     */
+    public final B b;
+
+    /**
+     * Construct a `LongObjPair`.
+     *
+     * @param a
+     *      the first element
+     * @param b
+     *      the second element
+     */
+    public LongObjPair(long a, B b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Returns a `LongObjPair` of the elements specified.
+     *
+     * @param a
+     *      the first element
+     * @param b
+     *      the second element
+     * @param <B>
+     *      the type of the second element
+     * @return
+     *      the pair
+     */
+    public static <B> LongObjPair<B> of(long a, B b) {
+        return new LongObjPair<>(a, b);
+    }
+
+    /**
+     * Returns a `LongObjPair` of the elements of a {@link T2}.
+     *
+     * @param t2
+     *      the tuple
+     * @param <B>
+     *      the type of the second element
+     * @return
+     *      the pair
+     * @throws NullPointerException
+     *      if a primitive element of `t2` is `null`
+     */
+    public static <B> LongObjPair<B> from(T2<Long, ? extends B> t2) {
+        return new LongObjPair<>($.requireNotNull(t2.a), t2.b);
+    }
+
+    /**
+     * Returns a {@link Pair} of the boxed elements.
+     *
+     * @return
+     *      the pair as a `T2`
+     */
+    public Pair<Long, B> toT2() {
+        return new Pair<>(a, b);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o instanceof LongObjPair) {
+            LongObjPair<?> that = (LongObjPair<?>) o;
+            return a == that.a && $.eq(b, that.b);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        // same as $.hc(Object, Object) on the boxed elements
+        return 37 * (37 * 17 + Long.hashCode(a)) + $.hc(b);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + a + ", " + b + ")";
+    }
+}
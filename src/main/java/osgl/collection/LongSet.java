@@ -0,0 +1,362 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static osgl.collection.PrimitiveHashing.DEFAULT_EXPECTED_SIZE;
+import static osgl.collection.PrimitiveHashing.DEFAULT_LOAD_FACTOR;
+import static osgl.collection.PrimitiveHashing.arraySize;
+import static osgl.collection.PrimitiveHashing.checkLoadFactor;
+import static osgl.collection.PrimitiveHashing.maxFill;
+import static osgl.collection.PrimitiveHashing.mix;
+import static osgl.collection.PrimitiveHashing.nextArraySize;
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+/**
+ * A hash set of `long` values.
+ *
+ * Unlike `HashSet<Long>` it stores elements in a primitive array, thus
+ * there is neither box nor entry object per element. The table uses open
+ * addressing with linear probing and backward shift deletion (no
+ * tombstones). The element `0` is kept out of the table as `0` marks free
+ * slots.
+ *
+ * Iteration via {@link #forEach(LongConsumer)} does not allocate. The
+ * {@link #elements()} view plugs the set into the {@link Traversable} API.
+ * The set must not be modified while it is iterated.
+ *
+ * This class is not thread safe.
+ */
+public class LongSet {
+
+    private final float loadFactor;
+
+    private long[] elements;
+    private int mask;
+    private int maxFill;
+
+    /**
+     * The number of elements in the table, i.e. excluding `0`.
+     */
+    private int assigned;
+
+    private boolean hasZero;
+
+    /**
+     * Construct an empty set.
+     */
+    public LongSet() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct an empty set that holds `expectedSize` elements without
+     * resizing.
+     *
+     * @param expectedSize
+     *      the expected number of elements
+     */
+    public LongSet(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct an empty set.
+     *
+     * @param expectedSize
+     *      the expected number of elements
+     * @param loadFactor
+     *      the maximum ratio of used slots in the table, in the open
+     *      interval `(0, 1)`
+     */
+    public LongSet(int expectedSize, float loadFactor) {
+        this.loadFactor = checkLoadFactor(loadFactor);
+        allocate(arraySize(expectedSize, loadFactor));
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return
+     *      the size of this set
+     */
+    public int size() {
+        return hasZero ? assigned + 1 : assigned;
+    }
+
+    /**
+     * Report whether this set has no element.
+     *
+     * @return
+     *      `true` if this set is empty
+     */
+    public boolean isEmpty() {
+        return 0 == size();
+    }
+
+    /**
+     * Report whether this set contains `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      `true` if `value` is an element of this set
+     */
+    public boolean contains(long value) {
+        if (0 == value) {
+            return hasZero;
+        }
+        final long[] elements = this.elements;
+        final int mask = this.mask;
+        int pos = mix(value) & mask;
+        long e;
+        while (0 != (e = elements[pos])) {
+            if (e == value) {
+                return true;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Add `value` to this set.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      `true` if this set did not contain `value`
+     */
+    public boolean add(long value) {
+        if (0 == value) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        final long[] elements = this.elements;
+        final int mask = this.mask;
+        int pos = mix(value) & mask;
+        long e;
+        while (0 != (e = elements[pos])) {
+            if (e == value) {
+                return false;
+            }
+            pos = (pos + 1) & mask;
+        }
+        elements[pos] = value;
+        if (++assigned > maxFill) {
+            rehash(nextArraySize(elements.length));
+        }
+        return true;
+    }
+
+    /**
+     * Remove `value` from this set.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      `true` if this set contained `value`
+     */
+    public boolean remove(long value) {
+        if (0 == value) {
+            boolean removed = hasZero;
+            hasZero = false;
+            return removed;
+        }
+        final long[] elements = this.elements;
+        final int mask = this.mask;
+        int pos = mix(value) & mask;
+        long e;
+        while (0 != (e = elements[pos])) {
+            if (e == value) {
+                assigned--;
+                shiftKeys(pos);
+                return true;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Remove all elements. The table capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(elements, 0);
+        assigned = 0;
+        hasZero = false;
+    }
+
+    /**
+     * Apply `action` to each element in this set.
+     *
+     * @param action
+     *      the function to apply to each element
+     */
+    public void forEach(LongConsumer action) {
+        $.requireNotNull(action);
+        if (hasZero) {
+            action.accept(0);
+        }
+        final long[] elements = this.elements;
+        for (int i = 0; i < elements.length; ++i) {
+            long e = elements[i];
+            if (0 != e) {
+                action.accept(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the elements of this set in an array.
+     *
+     * @return
+     *      a new array of the elements
+     */
+    public long[] toArray() {
+        long[] a = new long[size()];
+        int n = 0;
+        if (hasZero) {
+            a[n++] = 0;
+        }
+        for (long e : elements) {
+            if (0 != e) {
+                a[n++] = e;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Returns a `Traversable` view of the elements of this set.
+     *
+     * @return
+     *      the elements
+     */
+    public Traversable<Long> elements() {
+        return new Traversable<Long>() {
+            @Override
+            public boolean sized() {
+                return true;
+            }
+
+            @Override
+            public int size() {
+                return LongSet.this.size();
+            }
+
+            @Override
+            public Iterator<Long> iterator() {
+                return new ElementIterator();
+            }
+        };
+    }
+
+    /**
+     * Backward shift deletion: move the following elements of the probe
+     * chain back into the slot being emptied, so lookups never need
+     * tombstones.
+     */
+    private void shiftKeys(int pos) {
+        final long[] elements = this.elements;
+        final int mask = this.mask;
+        int last;
+        long e;
+        while (true) {
+            last = pos;
+            pos = (pos + 1) & mask;
+            while (true) {
+                e = elements[pos];
+                if (0 == e) {
+                    elements[last] = 0;
+                    return;
+                }
+                int slot = mix(e) & mask;
+                // move e to last unless its home slot lies cyclically in (last, pos]
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            elements[last] = e;
+        }
+    }
+
+    private void allocate(int arraySize) {
+        elements = new long[arraySize];
+        mask = arraySize - 1;
+        maxFill = maxFill(arraySize, loadFactor);
+    }
+
+    private void rehash(int arraySize) {
+        final long[] oldElements = elements;
+        allocate(arraySize);
+        final long[] elements = this.elements;
+        final int mask = this.mask;
+        for (long e : oldElements) {
+            if (0 != e) {
+                int pos = mix(e) & mask;
+                while (0 != elements[pos]) {
+                    pos = (pos + 1) & mask;
+                }
+                elements[pos] = e;
+            }
+        }
+    }
+
+    /**
+     * Iterates `0` first, then the table slots.
+     */
+    private final class ElementIterator implements Iterator<Long> {
+        private int next = hasZero ? -1 : advance(0);
+
+        private int advance(int from) {
+            final long[] elements = LongSet.this.elements;
+            int i = from;
+            while (i < elements.length && 0 == elements[i]) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < elements.length;
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int i = next;
+            next = advance(next + 1);
+            return i < 0 ? 0 : elements[i];
+        }
+    }
+
+}
@@ -0,0 +1,364 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+import osgl.func.LongObjConsumer;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * An immutable map from `long` keys to object values kept in a sorted key
+ * array and a parallel value array.
+ *
+ * Compared to a `TreeMap<Long, V>` there is neither entry object nor key box
+ * per mapping, and lookups probe a contiguous array with the configured
+ * {@link SearchStrategy} rather than chasing pointers. Besides exact lookups
+ * it supports order based queries, e.g. {@link #floorValue(long)}, and
+ * {@link #range(long, long) range} views.
+ *
+ * The map is built once, e.g. with {@link #from(Iterable, ToLongFunction, Function)},
+ * and then read concurrently without synchronization.
+ *
+ * @param <V>
+ *      the type of the values
+ */
+public final class LongSortedArrayMap<V> {
+
+    /**
+     * The length of the runs insertion sorted before merging in
+     * {@link #sortedOrder(long[], int)}.
+     */
+    private static final int RUN = 16;
+
+    private final LongSortedArraySet keys;
+    private final Object[] values;
+
+    private LongSortedArrayMap(LongSortedArraySet keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Build a map from the elements of an `Iterable`, e.g. a {@link Traversable}.
+     *
+     * @param source
+     *      the source elements
+     * @param keyFn
+     *      the function to get the key from an element
+     * @param valueFn
+     *      the function to get the value from an element
+     * @param <T>
+     *      the type of the source elements
+     * @param <V>
+     *      the type of the values
+     * @return
+     *      the map
+     * @throws IllegalArgumentException
+     *      if two elements have the same key
+     */
+    public static <T, V> LongSortedArrayMap<V> from(
+            Iterable<? extends T> source,
+            ToLongFunction<? super T> keyFn,
+            Function<? super T, ? extends V> valueFn
+    ) {
+        $.requireNotNull(keyFn);
+        $.requireNotNull(valueFn);
+        int capacity = Math.max(ArrayBuffer.capacityOf(source), 16);
+        long[] keys = new long[capacity];
+        Object[] values = new Object[capacity];
+        int n = 0;
+        for (T t : source) {
+            if (n == keys.length) {
+                keys = Arrays.copyOf(keys, n << 1);
+                values = Arrays.copyOf(values, n << 1);
+            }
+            keys[n] = keyFn.applyAsLong(t);
+            values[n] = valueFn.apply(t);
+            n++;
+        }
+        return sort(keys, values, n);
+    }
+
+    /**
+     * Build a map from parallel key and value arrays. The arrays are copied.
+     *
+     * @param keys
+     *      the keys, in any order
+     * @param values
+     *      the values, `values[i]` is mapped to `keys[i]`
+     * @param <V>
+     *      the type of the values
+     * @return
+     *      the map
+     * @throws IllegalArgumentException
+     *      if the arrays have different lengths, or there are duplicated keys
+     */
+    public static <V> LongSortedArrayMap<V> of(long[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values have different lengths");
+        }
+        return sort(keys, values, keys.length);
+    }
+
+    /**
+     * Sort the first `n` keys with their values, by sorting the key indexes
+     * and then gathering the keys and values.
+     */
+    private static <V> LongSortedArrayMap<V> sort(long[] keys, Object[] values, int n) {
+        long[] sortedKeys = new long[n];
+        Object[] sortedValues = new Object[n];
+        int[] order = sortedOrder(keys, n);
+        for (int i = 0; i < n; ++i) {
+            int j = order[i];
+            sortedKeys[i] = keys[j];
+            sortedValues[i] = values[j];
+            if (i > 0 && sortedKeys[i - 1] == sortedKeys[i]) {
+                throw new IllegalArgumentException("duplicated key: " + sortedKeys[i]);
+            }
+        }
+        return new LongSortedArrayMap<>(LongSortedArraySet.wrap(sortedKeys), sortedValues);
+    }
+
+    /**
+     * Returns the indexes of the first `n` keys in ascending key order. A
+     * `long` key leaves no room to pack its index as the `int` map does, so
+     * the index array is merge sorted by key instead: insertion sorted runs
+     * of {@link #RUN} indexes are merged bottom up between two arrays.
+     */
+    private static int[] sortedOrder(long[] keys, int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; ++i) {
+            order[i] = i;
+        }
+        for (int lo = 0; lo < n; lo += RUN) {
+            int hi = Math.min(lo + RUN, n);
+            for (int i = lo + 1; i < hi; ++i) {
+                int x = order[i];
+                long key = keys[x];
+                int j = i - 1;
+                while (j >= lo && keys[order[j]] > key) {
+                    order[j + 1] = order[j];
+                    --j;
+                }
+                order[j + 1] = x;
+            }
+        }
+        int[] buf = new int[n];
+        for (int width = RUN; width < n; width <<= 1) {
+            for (int lo = 0; lo < n; lo += width << 1) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(mid + width, n);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    buf[k++] = keys[order[j]] < keys[order[i]] ? order[j++] : order[i++];
+                }
+                while (i < mid) {
+                    buf[k++] = order[i++];
+                }
+                while (j < hi) {
+                    buf[k++] = order[j++];
+                }
+            }
+            int[] swap = order;
+            order = buf;
+            buf = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Returns a map of the same mappings that searches with `searchStrategy`.
+     * The arrays are shared, not copied.
+     *
+     * @param searchStrategy
+     *      the search strategy
+     * @return
+     *      a map as described above
+     */
+    public LongSortedArrayMap<V> withSearchStrategy(SearchStrategy searchStrategy) {
+        LongSortedArraySet newKeys = keys.withSearchStrategy(searchStrategy);
+        return newKeys == keys ? this : new LongSortedArrayMap<V>(newKeys, values);
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return
+     *      the size of this map
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Report whether this map has no mapping.
+     *
+     * @return
+     *      `true` if this map is empty
+     */
+    public boolean isEmpty() {
+        return 0 == values.length;
+    }
+
+    /**
+     * Report whether this map contains a mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      `true` if `key` is mapped
+     */
+    public boolean containsKey(long key) {
+        return keys.contains(key);
+    }
+
+    /**
+     * Returns the value mapped to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if `key` is not mapped
+     */
+    public V get(long key) {
+        return valueAt(keys.indexOf(key));
+    }
+
+    /**
+     * Returns the value mapped to the greatest key less than or equal to `key`.
+     * This is the typical lookup of a range table, e.g. from the start of
+     * an ID block to the owner of the block.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if there is no such key
+     */
+    public V floorValue(long key) {
+        return valueAt(keys.floorIndex(key));
+    }
+
+    /**
+     * Returns the value mapped to the least key greater than or equal to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if there is no such key
+     */
+    public V ceilingValue(long key) {
+        return valueAt(keys.ceilingIndex(key));
+    }
+
+    /**
+     * Returns the sorted keys of this map as a set. The set shares the key
+     * array with this map, and supports the index based queries, e.g.
+     * {@link LongSortedArraySet#floorIndex(long)}, whose results can be passed
+     * to {@link #valueAt(int)}.
+     *
+     * @return
+     *      the key set
+     */
+    public LongSortedArraySet keySet() {
+        return keys;
+    }
+
+    /**
+     * Returns the value at `index` in the ascending order of keys.
+     *
+     * @param index
+     *      the index
+     * @return
+     *      the value, or `null` if `index` is negative
+     * @throws IndexOutOfBoundsException
+     *      if `index` is not less than the size
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Returns the mappings whose keys are in `[fromInclusive, toExclusive)` as a
+     * `Sequence` backed by this map.
+     *
+     * @param fromInclusive
+     *      the low end point (inclusive)
+     * @param toExclusive
+     *      the high end point (exclusive)
+     * @return
+     *      the mappings in range, in ascending key order
+     */
+    public Sequence<LongObjPair<V>> range(long fromInclusive, long toExclusive) {
+        return entries(keys.rangeStart(fromInclusive), keys.rangeEnd(fromInclusive, toExclusive));
+    }
+
+    /**
+     * Returns the keys in ascending order as a `Sequence`.
+     *
+     * @return
+     *      the keys
+     */
+    public Sequence<Long> keys() {
+        return keys.elements();
+    }
+
+    /**
+     * Returns the values in ascending key order as a `Sequence`.
+     *
+     * @return
+     *      the values
+     */
+    public Sequence<V> values() {
+        return new IndexedSequence<>(0, values.length, this::valueAt);
+    }
+
+    /**
+     * Returns the mappings in ascending key order as a `Sequence`.
+     *
+     * @return
+     *      the mappings
+     */
+    public Sequence<LongObjPair<V>> entries() {
+        return entries(0, values.length);
+    }
+
+    /**
+     * Apply `action` to each mapping in ascending key order.
+     *
+     * @param action
+     *      the function to apply to each key and value
+     */
+    public void forEach(LongObjConsumer<? super V> action) {
+        $.requireNotNull(action);
+        for (int i = 0; i < values.length; ++i) {
+            action.accept(keys.get(i), valueAt(i));
+        }
+    }
+
+    private Sequence<LongObjPair<V>> entries(int from, int to) {
+        return new IndexedSequence<>(from, to, i -> new LongObjPair<>(keys.get(i), valueAt(i)));
+    }
+
+}
@@ -0,0 +1,311 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * An immutable set of `long` values kept in a sorted array.
+ *
+ * It takes a single `long` per element and answers lookups with the configured
+ * {@link SearchStrategy}, besides it supports order based queries:
+ * {@link #floorIndex(long) floor}, {@link #ceilingIndex(long) ceiling},
+ * {@link #lowerIndex(long) lower} and {@link #higherIndex(long) higher}, and
+ * {@link #range(long, long) range} views.
+ *
+ * The set is built once, e.g. with {@link #of(long...)} or {@link #from(Iterable)},
+ * and then read concurrently without synchronization.
+ *
+ * @see LongSortedArrayMap
+ */
+public final class LongSortedArraySet {
+
+    private static final LongSortedArraySet EMPTY = new LongSortedArraySet(new long[0], SearchStrategy.BINARY);
+
+    private final long[] elements;
+    private final SearchStrategy searchStrategy;
+
+    private LongSortedArraySet(long[] elements, SearchStrategy searchStrategy) {
+        this.elements = elements;
+        this.searchStrategy = searchStrategy;
+    }
+
+    /**
+     * Returns a set of `values`. Duplicated values are merged.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      the set
+     */
+    public static LongSortedArraySet of(long... values) {
+        long[] a = values.clone();
+        Arrays.sort(a);
+        int n = 0;
+        for (int i = 0; i < a.length; ++i) {
+            if (0 == n || a[n - 1] != a[i]) {
+                a[n++] = a[i];
+            }
+        }
+        return 0 == n ? EMPTY : new LongSortedArraySet(n == a.length ? a : Arrays.copyOf(a, n), SearchStrategy.BINARY);
+    }
+
+    /**
+     * Returns a set of the values of an `Iterable`, e.g. a {@link Traversable}.
+     * Duplicated values are merged.
+     *
+     * @param values
+     *      the values
+     * @return
+     *      the set
+     */
+    public static LongSortedArraySet from(Iterable<? extends Long> values) {
+        long[] a = new long[Math.max(ArrayBuffer.capacityOf(values), 16)];
+        int n = 0;
+        for (Long v : values) {
+            if (n == a.length) {
+                a = Arrays.copyOf(a, n << 1);
+            }
+            a[n++] = v;
+        }
+        return of(Arrays.copyOf(a, n));
+    }
+
+    /**
+     * Build the set from sorted distinct values without copying.
+     */
+    static LongSortedArraySet wrap(long[] sortedDistinct) {
+        return new LongSortedArraySet(sortedDistinct, SearchStrategy.BINARY);
+    }
+
+    /**
+     * Returns a set of the same elements that searches with `searchStrategy`.
+     * The elements are shared, not copied.
+     *
+     * @param searchStrategy
+     *      the search strategy
+     * @return
+     *      a set as described above
+     */
+    public LongSortedArraySet withSearchStrategy(SearchStrategy searchStrategy) {
+        $.requireNotNull(searchStrategy);
+        return searchStrategy == this.searchStrategy ? this : new LongSortedArraySet(elements, searchStrategy);
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return
+     *      the size of this set
+     */
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * Report whether this set has no element.
+     *
+     * @return
+     *      `true` if this set is empty
+     */
+    public boolean isEmpty() {
+        return 0 == elements.length;
+    }
+
+    /**
+     * Report whether this set contains `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      `true` if `value` is an element of this set
+     */
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns the index of `value` in the ascending order of the elements.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index of `value` if found, or `-(insertionPoint + 1)` otherwise
+     */
+    public int indexOf(long value) {
+        return searchStrategy.search(elements, 0, elements.length, value);
+    }
+
+    /**
+     * Returns the element at `index` in the ascending order.
+     *
+     * @param index
+     *      the index
+     * @return
+     *      the element
+     * @throws IndexOutOfBoundsException
+     *      if `index` is out of range
+     */
+    public long get(int index) {
+        return elements[index];
+    }
+
+    /**
+     * Returns the index of the greatest element less than or equal to `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int floorIndex(long value) {
+        int i = indexOf(value);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Returns the index of the least element greater than or equal to `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int ceilingIndex(long value) {
+        int i = indexOf(value);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return i < elements.length ? i : -1;
+    }
+
+    /**
+     * Returns the index of the greatest element strictly less than `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int lowerIndex(long value) {
+        int i = indexOf(value);
+        return i >= 0 ? i - 1 : -i - 2;
+    }
+
+    /**
+     * Returns the index of the least element strictly greater than `value`.
+     *
+     * @param value
+     *      the value
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int higherIndex(long value) {
+        int i = indexOf(value);
+        i = i >= 0 ? i + 1 : -i - 1;
+        return i < elements.length ? i : -1;
+    }
+
+    /**
+     * Returns the elements in `[fromInclusive, toExclusive)` as a `Sequence`
+     * backed by this set.
+     *
+     * @param fromInclusive
+     *      the low end point (inclusive)
+     * @param toExclusive
+     *      the high end point (exclusive)
+     * @return
+     *      the elements in range, in ascending order
+     */
+    public Sequence<Long> range(long fromInclusive, long toExclusive) {
+        return indexes(rangeStart(fromInclusive), rangeEnd(fromInclusive, toExclusive));
+    }
+
+    /**
+     * Returns the elements in ascending order as a `Sequence` backed by this set.
+     *
+     * @return
+     *      the elements
+     */
+    public Sequence<Long> elements() {
+        return indexes(0, elements.length);
+    }
+
+    /**
+     * Apply `action` to each element in ascending order.
+     *
+     * @param action
+     *      the function to apply to each element
+     */
+    public void forEach(LongConsumer action) {
+        $.requireNotNull(action);
+        for (long e : elements) {
+            action.accept(e);
+        }
+    }
+
+    /**
+     * Returns the elements in ascending order in an array.
+     *
+     * @return
+     *      a new array of the elements
+     */
+    public long[] toArray() {
+        return elements.clone();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || (obj instanceof LongSortedArraySet && Arrays.equals(elements, ((LongSortedArraySet) obj).elements));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(elements);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(elements);
+    }
+
+    int rangeStart(long fromInclusive) {
+        int i = indexOf(fromInclusive);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    int rangeEnd(long fromInclusive, long toExclusive) {
+        if (toExclusive <= fromInclusive) {
+            return rangeStart(fromInclusive);
+        }
+        int i = indexOf(toExclusive);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private Sequence<Long> indexes(int from, int to) {
+        final long[] elements = this.elements;
+        return new IndexedSequence<>(from, to, i -> elements[i]);
+    }
+
+}
@@ -0,0 +1,173 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Column} of references.
+ *
+ * @param <T>
+ *      the type of the values
+ */
+public final class ObjColumn<T> extends Column<T> {
+
+    private Object[] data;
+
+    /**
+     * Construct an empty column.
+     */
+    public ObjColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an empty column with the initial capacity specified.
+     *
+     * @param capacity
+     *      the initial capacity
+     */
+    public ObjColumn(int capacity) {
+        data = new Object[Math.max(0, capacity)];
+    }
+
+    private ObjColumn(Object[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    /**
+     * Returns a column of `values`.
+     *
+     * @param values
+     *      the values
+     * @param <T>
+     *      the type of the values
+     * @return
+     *      the column
+     */
+    @SafeVarargs
+    public static <T> ObjColumn<T> of(T... values) {
+        return new ObjColumn<>(Arrays.copyOf(values, values.length, Object[].class), values.length);
+    }
+
+    @Override
+    public ObjColumn<T> add(T value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, grow(size));
+        }
+        data[size++] = value;
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int row) {
+        return (T) data[checkRow(row)];
+    }
+
+    /**
+     * Returns a new column of the results of applying `mapper` to each value.
+     *
+     * @param mapper
+     *      the function
+     * @param <R>
+     *      the type of the results
+     * @return
+     *      the mapped column
+     */
+    @SuppressWarnings("unchecked")
+    public <R> ObjColumn<R> map(Function<? super T, ? extends R> mapper) {
+        Object[] r = new Object[size];
+        for (int i = 0; i < size; ++i) {
+            r[i] = mapper.apply((T) data[i]);
+        }
+        return new ObjColumn<>(r, size);
+    }
+
+    /**
+     * Returns a new column of the values matching `predicate`.
+     *
+     * @param predicate
+     *      the predicate
+     * @return
+     *      the filtered column
+     */
+    @SuppressWarnings("unchecked")
+    public ObjColumn<T> filter(Predicate<? super T> predicate) {
+        Object[] r = new Object[size];
+        int n = 0;
+        for (int i = 0; i < size; ++i) {
+            Object v = data[i];
+            if (predicate.test((T) v)) {
+                r[n++] = v;
+            }
+        }
+        return new ObjColumn<>(r, n);
+    }
+
+    /**
+     * Fold the values with `accumulator` starting from `identity`.
+     *
+     * @param identity
+     *      the initial value
+     * @param accumulator
+     *      the function that combines the result so far with the next value
+     * @param <R>
+     *      the type of the result
+     * @return
+     *      the result
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R reduce(R identity, BiFunction<R, ? super T, R> accumulator) {
+        R r = identity;
+        for (int i = 0; i < size; ++i) {
+            r = accumulator.apply(r, (T) data[i]);
+        }
+        return r;
+    }
+
+    /**
+     * Apply `action` to each value.
+     *
+     * @param action
+     *      the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < size; ++i) {
+            action.accept((T) data[i]);
+        }
+    }
+
+    @Override
+    ObjColumn<T> copyRows(int[] rows, int n) {
+        Object[] r = new Object[n];
+        for (int i = 0; i < n; ++i) {
+            r[i] = data[rows[i]];
+        }
+        return new ObjColumn<>(r, n);
+    }
+}
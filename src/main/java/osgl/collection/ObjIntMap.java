@@ -0,0 +1,445 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static osgl.collection.PrimitiveHashing.DEFAULT_EXPECTED_SIZE;
+import static osgl.collection.PrimitiveHashing.DEFAULT_LOAD_FACTOR;
+import static osgl.collection.PrimitiveHashing.arraySize;
+import static osgl.collection.PrimitiveHashing.checkLoadFactor;
+import static osgl.collection.PrimitiveHashing.maxFill;
+import static osgl.collection.PrimitiveHashing.mix;
+import static osgl.collection.PrimitiveHashing.nextArraySize;
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A hash map from object keys to `int` values.
+ *
+ * Unlike `HashMap<K, Integer>` it stores values in a primitive array
+ * parallel to the key array, thus there is neither value box nor entry
+ * object per mapping. The table uses open addressing with linear probing
+ * and backward shift deletion (no tombstones).
+ *
+ * `null` keys are not permitted. Reading a missing key returns `0`, use
+ * {@link #containsKey(Object)} or {@link #getOrDefault(Object, int)} to
+ * tell a `0` value from a missing key.
+ *
+ * Iteration via {@link #forEach(ObjIntConsumer)} does not allocate. The
+ * {@link #keys()}, {@link #values()} and {@link #entries()} views plug the
+ * map into the {@link Traversable} API. The map must not be modified
+ * while it is iterated.
+ *
+ * This class is not thread safe.
+ *
+ * @param <K>
+ *      the type of the keys
+ */
+public class ObjIntMap<K> {
+
+    private final float loadFactor;
+
+    private Object[] keys;
+    private int[] values;
+    private int mask;
+    private int maxFill;
+    private int size;
+
+    /**
+     * Construct an empty map.
+     */
+    public ObjIntMap() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct an empty map that holds `expectedSize` mappings without
+     * resizing.
+     *
+     * @param expectedSize
+     *      the expected number of mappings
+     */
+    public ObjIntMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Construct an empty map.
+     *
+     * @param expectedSize
+     *      the expected number of mappings
+     * @param loadFactor
+     *      the maximum ratio of used slots in the table, in the open
+     *      interval `(0, 1)`
+     */
+    public ObjIntMap(int expectedSize, float loadFactor) {
+        this.loadFactor = checkLoadFactor(loadFactor);
+        allocate(arraySize(expectedSize, loadFactor));
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return
+     *      the size of this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Report whether this map has no mapping.
+     *
+     * @return
+     *      `true` if this map is empty
+     */
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * Report whether this map contains a mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      `true` if `key` is mapped
+     */
+    public boolean containsKey(Object key) {
+        return slot(key) >= 0;
+    }
+
+    /**
+     * Returns the value mapped to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `0` if `key` is not mapped
+     */
+    public int get(Object key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Returns the value mapped to `key`, or `defVal` if `key` is not mapped.
+     *
+     * @param key
+     *      the key
+     * @param defVal
+     *      the value to return if `key` is not mapped
+     * @return
+     *      the value as described above
+     */
+    public int getOrDefault(Object key, int defVal) {
+        int slot = slot(key);
+        return slot < 0 ? defVal : values[slot];
+    }
+
+    /**
+     * Map `key` to `value`.
+     *
+     * @param key
+     *      the key
+     * @param value
+     *      the value
+     * @return
+     *      the value previously mapped to `key`, or `0`
+     */
+    public int put(K key, int value) {
+        int pos = insertionSlot(key);
+        int prev = values[pos];
+        values[pos] = value;
+        if (null == keys[pos]) {
+            keys[pos] = key;
+            grow();
+        }
+        return prev;
+    }
+
+    /**
+     * Add `delta` to the value mapped to `key`. A missing key is treated
+     * as mapped to `0`.
+     *
+     * @param key
+     *      the key
+     * @param delta
+     *      the value to add
+     * @return
+     *      the new value mapped to `key`
+     */
+    public int addTo(K key, int delta) {
+        int pos = insertionSlot(key);
+        int value = values[pos] += delta;
+        if (null == keys[pos]) {
+            keys[pos] = key;
+            grow();
+        }
+        return value;
+    }
+
+    /**
+     * Remove the mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value previously mapped to `key`, or `0`
+     */
+    public int remove(Object key) {
+        int slot = slot(key);
+        if (slot < 0) {
+            return 0;
+        }
+        int prev = values[slot];
+        size--;
+        shiftKeys(slot);
+        return prev;
+    }
+
+    /**
+     * Remove all mappings. The table capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    /**
+     * Apply `action` to each mapping in this map.
+     *
+     * @param action
+     *      the function to apply to each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super K> action) {
+        $.requireNotNull(action);
+        final Object[] keys = this.keys;
+        final int[] values = this.values;
+        for (int i = 0; i < keys.length; ++i) {
+            Object k = keys[i];
+            if (null != k) {
+                action.accept((K) k, values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a `Traversable` view of the keys of this map.
+     *
+     * @return
+     *      the keys
+     */
+    @SuppressWarnings("unchecked")
+    public Traversable<K> keys() {
+        return new View<K>() {
+            @Override
+            K current(int slot) {
+                return (K) keys[slot];
+            }
+        };
+    }
+
+    /**
+     * Returns a `Traversable` view of the values of this map.
+     *
+     * @return
+     *      the values
+     */
+    public Traversable<Integer> values() {
+        return new View<Integer>() {
+            @Override
+            Integer current(int slot) {
+                return values[slot];
+            }
+        };
+    }
+
+    /**
+     * Returns a `Traversable` view of the mappings of this map.
+     *
+     * @return
+     *      the mappings
+     */
+    @SuppressWarnings("unchecked")
+    public Traversable<ObjIntPair<K>> entries() {
+        return new View<ObjIntPair<K>>() {
+            @Override
+            ObjIntPair<K> current(int slot) {
+                return new ObjIntPair<>((K) keys[slot], values[slot]);
+            }
+        };
+    }
+
+    /**
+     * Returns the slot of `key` in the table, or `-1` if not found.
+     */
+    private int slot(Object key) {
+        $.requireNotNull(key);
+        final Object[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        Object k;
+        while (null != (k = keys[pos])) {
+            if (k == key || k.equals(key)) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the slot of `key` in the table, or the free slot where it
+     * shall be inserted.
+     */
+    private int insertionSlot(Object key) {
+        $.requireNotNull(key);
+        final Object[] keys = this.keys;
+        final int mask = this.mask;
+        int pos = mix(key) & mask;
+        Object k;
+        while (null != (k = keys[pos])) {
+            if (k == key || k.equals(key)) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return pos;
+    }
+
+    private void grow() {
+        if (++size > maxFill) {
+            rehash(nextArraySize(keys.length));
+        }
+    }
+
+    /**
+     * Backward shift deletion: move the following entries of the probe
+     * chain back into the slot being emptied, so lookups never need
+     * tombstones.
+     */
+    private void shiftKeys(int pos) {
+        final Object[] keys = this.keys;
+        final int[] values = this.values;
+        final int mask = this.mask;
+        int last;
+        Object k;
+        while (true) {
+            last = pos;
+            pos = (pos + 1) & mask;
+            while (true) {
+                k = keys[pos];
+                if (null == k) {
+                    keys[last] = null;
+                    values[last] = 0;
+                    return;
+                }
+                int slot = mix(k) & mask;
+                // move k to last unless its home slot lies cyclically in (last, pos]
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private void allocate(int arraySize) {
+        keys = new Object[arraySize];
+        values = new int[arraySize];
+        mask = arraySize - 1;
+        maxFill = maxFill(arraySize, loadFactor);
+    }
+
+    private void rehash(int arraySize) {
+        final Object[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(arraySize);
+        final Object[] keys = this.keys;
+        final int[] values = this.values;
+        final int mask = this.mask;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            Object k = oldKeys[i];
+            if (null != k) {
+                int pos = mix(k) & mask;
+                while (null != keys[pos]) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = k;
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    private abstract class View<T> implements Traversable<T> {
+
+        abstract T current(int slot);
+
+        @Override
+        public boolean sized() {
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int next = advance(0);
+
+                private int advance(int from) {
+                    int i = from;
+                    while (i < keys.length && null == keys[i]) {
+                        i++;
+                    }
+                    return i;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next < keys.length;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int slot = next;
+                    next = advance(next + 1);
+                    return current(slot);
+                }
+            };
+        }
+    }
+
+}
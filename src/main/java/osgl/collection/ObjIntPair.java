@@ -0,0 +1,122 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+/**
+ * A pair of a reference and an `int` that keeps primitive elements unboxed.
+ *
+ * {@link #equals(Object)} and {@link #hashCode()} do not allocate, and the
+ * hash code is the same as the {@link T2} of the boxed elements, see
+ * {@link #toT2()}.
+ *
+ * @param <A>
+ *      the type of the first element
+ */
+public final class ObjIntPair<A> {
+
+    /**
+     * The first element
+     */
+    public final A a;
+
+    /**
+     * The second element
+     */
+    public final int b;
+
+    /**
+     * Construct an `ObjIntPair`.
+     *
+     * @param a
+     *      the first element
+     * @param b
+     *      the second element
+     */
+    public ObjIntPair(A a, int b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Returns an `ObjIntPair` of the elements specified.
+     *
+     * @param a
+     *      the first element
+     * @param b
+     *      the second element
+     * @param <A>
+     *      the type of the first element
+     * @return
+     *      the pair
+     */
+    public static <A> ObjIntPair<A> of(A a, int b) {
+        return new ObjIntPair<>(a, b);
+    }
+
+    /**
+     * Returns an `ObjIntPair` of the elements of a {@link T2}.
+     *
+     * @param t2
+     *      the tuple
+     * @param <A>
+     *      the type of the first element
+     * @return
+     *      the pair
+     * @throws NullPointerException
+     *      if a primitive element of `t2` is `null`
+     */
+    public static <A> ObjIntPair<A> from(T2<? extends A, Integer> t2) {
+        return new ObjIntPair<>(t2.a, $.requireNotNull(t2.b));
+    }
+
+    /**
+     * Returns a {@link Pair} of the boxed elements.
+     *
+     * @return
+     *      the pair as a `T2`
+     */
+    public Pair<A, Integer> toT2() {
+        return new Pair<>(a, b);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o instanceof ObjIntPair) {
+            ObjIntPair<?> that = (ObjIntPair<?>) o;
+            return $.eq(a, that.a) && b == that.b;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        // same as $.hc(Object, Object) on the boxed elements
+        return 37 * (37 * 17 + $.hc(a)) + b;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + a + ", " + b + ")";
+    }
+}
@@ -0,0 +1,463 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map with structural sharing.
+ *
+ * {@link #put(Object, Object)} and {@link #remove(Object)} return a new map
+ * that shares all but `O(log32 n)` nodes with this map, so publishing a
+ * slightly changed map (e.g. via an atomic reference swap) costs a few
+ * small array copies instead of a full copy. A {@link Builder} applies a
+ * batch of updates in place on nodes it exclusively owns, then
+ * {@link Builder#build() builds} a new immutable map.
+ *
+ * The map is backed by a Compressed Hash-Array Mapped Prefix-tree (CHAMP),
+ * which keeps the trie compact and canonical, so that iteration and equality
+ * checks are fast.
+ *
+ * `null` keys are not permitted, `null` values are.
+ *
+ * {@link #keys()}, {@link #values()} and {@link #entries()} views plug the
+ * map into the {@link Traversable} API.
+ *
+ * @param <K>
+ *      the type of the keys
+ * @param <V>
+ *      the type of the values
+ */
+public final class PersistentHashMap<K, V> {
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(ChampNode.EMPTY, 0);
+
+    private final ChampNode root;
+    private final int size;
+    private int hash;
+
+    private PersistentHashMap(ChampNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <K>
+     *      the type of the keys
+     * @param <V>
+     *      the type of the values
+     * @return
+     *      an empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a map with the mappings of a `java.util.Map`.
+     *
+     * @param map
+     *      the source map
+     * @param <K>
+     *      the type of the keys
+     * @param <V>
+     *      the type of the values
+     * @return
+     *      a map of the same mappings
+     */
+    public static <K, V> PersistentHashMap<K, V> of(Map<? extends K, ? extends V> map) {
+        Builder<K, V> builder = builder();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a {@link Builder} starting from an empty map.
+     *
+     * @param <K>
+     *      the type of the keys
+     * @param <V>
+     *      the type of the values
+     * @return
+     *      a new builder
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>(ChampNode.EMPTY, 0);
+    }
+
+    /**
+     * Returns a {@link Builder} starting from this map. This map is not
+     * affected by the updates applied to the builder.
+     *
+     * @return
+     *      a new builder
+     */
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(root, size);
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return
+     *      the size of this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Report whether this map has no mapping.
+     *
+     * @return
+     *      `true` if this map is empty
+     */
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * Report whether this map contains a mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      `true` if `key` is mapped
+     */
+    public boolean containsKey(Object key) {
+        $.requireNotNull(key);
+        return ChampNode.NOT_FOUND != root.find(key, ChampNode.hash(key), 0);
+    }
+
+    /**
+     * Returns the value mapped to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if `key` is not mapped
+     */
+    public V get(Object key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns the value mapped to `key`, or `defVal` if `key` is not mapped.
+     *
+     * @param key
+     *      the key
+     * @param defVal
+     *      the value to return if `key` is not mapped
+     * @return
+     *      the value as described above
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defVal) {
+        $.requireNotNull(key);
+        Object o = root.find(key, ChampNode.hash(key), 0);
+        return ChampNode.NOT_FOUND == o ? defVal : (V) o;
+    }
+
+    /**
+     * Returns a map with `key` mapped to `value`.
+     *
+     * @param key
+     *      the key
+     * @param value
+     *      the value
+     * @return
+     *      the new map, or this map if `key` is already mapped to `value`
+     */
+    public PersistentHashMap<K, V> put(K key, V value) {
+        $.requireNotNull(key);
+        ChampNode.Change change = new ChampNode.Change();
+        ChampNode newRoot = root.update(null, key, value, ChampNode.hash(key), 0, change);
+        if (!change.modified) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, change.sizeChanged ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the new map, or this map if `key` is not mapped
+     */
+    public PersistentHashMap<K, V> remove(Object key) {
+        $.requireNotNull(key);
+        ChampNode.Change change = new ChampNode.Change();
+        ChampNode newRoot = root.remove(null, key, ChampNode.hash(key), 0, change);
+        if (!change.modified) {
+            return this;
+        }
+        return 1 == size ? PersistentHashMap.<K, V>empty() : new PersistentHashMap<K, V>(newRoot, size - 1);
+    }
+
+    /**
+     * Apply `action` to each mapping in this map.
+     *
+     * @param action
+     *      the function to apply to each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        $.requireNotNull(action);
+        root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    /**
+     * Returns a `Traversable` view of the keys of this map.
+     *
+     * @return
+     *      the keys
+     */
+    @SuppressWarnings("unchecked")
+    public Traversable<K> keys() {
+        return new View<K>() {
+            @Override
+            K current(ChampNode.Cursor cursor) {
+                return (K) cursor.key();
+            }
+        };
+    }
+
+    /**
+     * Returns a `Traversable` view of the values of this map.
+     *
+     * @return
+     *      the values
+     */
+    @SuppressWarnings("unchecked")
+    public Traversable<V> values() {
+        return new View<V>() {
+            @Override
+            V current(ChampNode.Cursor cursor) {
+                return (V) cursor.value();
+            }
+        };
+    }
+
+    /**
+     * Returns a `Traversable` view of the mappings of this map.
+     *
+     * @return
+     *      the mappings
+     */
+    @SuppressWarnings("unchecked")
+    public Traversable<T2<K, V>> entries() {
+        return new View<T2<K, V>>() {
+            @Override
+            T2<K, V> current(ChampNode.Cursor cursor) {
+                return $.T2((K) cursor.key(), (V) cursor.value());
+            }
+        };
+    }
+
+    /**
+     * Two maps are equal if they have the same mappings, like `java.util.Map`.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof PersistentHashMap)) {
+            return false;
+        }
+        PersistentHashMap<?, ?> that = (PersistentHashMap<?, ?>) obj;
+        if (size != that.size || (0 != hash && 0 != that.hash && hash != that.hash)) {
+            return false;
+        }
+        ChampNode.Cursor cursor = new ChampNode.Cursor(root);
+        while (cursor.hasNext()) {
+            cursor.moveNext();
+            Object o = that.root.find(cursor.key(), ChampNode.hash(cursor.key()), 0);
+            if (ChampNode.NOT_FOUND == o || !$.eq(cursor.value(), o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The sum of `key.hashCode() ^ value.hashCode()` of all mappings, like
+     * `java.util.Map`. The result is cached.
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (0 == h && 0 != size) {
+            ChampNode.Cursor cursor = new ChampNode.Cursor(root);
+            while (cursor.hasNext()) {
+                cursor.moveNext();
+                h += cursor.key().hashCode() ^ $.hc(cursor.value());
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        ChampNode.Cursor cursor = new ChampNode.Cursor(root);
+        boolean first = true;
+        while (cursor.hasNext()) {
+            cursor.moveNext();
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append(cursor.key()).append('=').append(cursor.value());
+        }
+        return sb.append('}').toString();
+    }
+
+    private abstract class View<T> implements Traversable<T> {
+
+        abstract T current(ChampNode.Cursor cursor);
+
+        @Override
+        public boolean sized() {
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            final ChampNode.Cursor cursor = new ChampNode.Cursor(root);
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return cursor.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    cursor.moveNext();
+                    return current(cursor);
+                }
+            };
+        }
+    }
+
+    /**
+     * Applies a batch of updates to a {@link PersistentHashMap}.
+     *
+     * Nodes created by the builder are owned by it and updated in place,
+     * nodes shared with existing maps are copied on first write. Calling
+     * {@link #build()} hands the owned nodes over to the built map, so
+     * further updates via the builder copy them again.
+     *
+     * This class is not thread safe.
+     *
+     * @param <K>
+     *      the type of the keys
+     * @param <V>
+     *      the type of the values
+     */
+    public static final class Builder<K, V> {
+        private Object owner = new Object();
+        private ChampNode root;
+        private int size;
+
+        private Builder(ChampNode root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        /**
+         * Map `key` to `value`.
+         *
+         * @param key
+         *      the key
+         * @param value
+         *      the value
+         * @return
+         *      this builder
+         */
+        public Builder<K, V> put(K key, V value) {
+            $.requireNotNull(key);
+            ChampNode.Change change = new ChampNode.Change();
+            root = root.update(owner, key, value, ChampNode.hash(key), 0, change);
+            if (change.sizeChanged) {
+                size++;
+            }
+            return this;
+        }
+
+        /**
+         * Remove the mapping of `key`.
+         *
+         * @param key
+         *      the key
+         * @return
+         *      this builder
+         */
+        public Builder<K, V> remove(Object key) {
+            $.requireNotNull(key);
+            ChampNode.Change change = new ChampNode.Change();
+            root = root.remove(owner, key, ChampNode.hash(key), 0, change);
+            if (change.sizeChanged) {
+                size--;
+            }
+            return this;
+        }
+
+        /**
+         * Returns the number of mappings in the builder.
+         *
+         * @return
+         *      the current size
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns an immutable map of the current mappings.
+         *
+         * @return
+         *      the map
+         */
+        public PersistentHashMap<K, V> build() {
+            owner = new Object();
+            return 0 == size ? PersistentHashMap.<K, V>empty() : new PersistentHashMap<K, V>(root, size);
+        }
+    }
+
+}
@@ -0,0 +1,297 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * An immutable hash set with structural sharing.
+ *
+ * {@link #add(Object)} and {@link #remove(Object)} return a new set that
+ * shares all but `O(log32 n)` nodes with this set. A {@link Builder}
+ * applies a batch of updates in place before {@link Builder#build() building}
+ * a new immutable set. See {@link PersistentHashMap} for details.
+ *
+ * `null` elements are not permitted.
+ *
+ * The {@link #elements()} view plugs the set into the {@link Traversable} API.
+ *
+ * @param <T>
+ *      the type of the elements
+ */
+public final class PersistentHashSet<T> {
+
+    private static final PersistentHashSet<?> EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+    /**
+     * The value mapped to each element in the backing map.
+     */
+    private static final Object PRESENT = Boolean.TRUE;
+
+    private final PersistentHashMap<T, Object> map;
+
+    private PersistentHashSet(PersistentHashMap<T, Object> map) {
+        this.map = map;
+    }
+
+    /**
+     * Returns the empty set.
+     *
+     * @param <T>
+     *      the type of the elements
+     * @return
+     *      an empty set
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentHashSet<T> empty() {
+        return (PersistentHashSet<T>) EMPTY;
+    }
+
+    /**
+     * Returns a set of the elements of an `Iterable`.
+     *
+     * @param elements
+     *      the elements
+     * @param <T>
+     *      the type of the elements
+     * @return
+     *      a set of the elements
+     */
+    public static <T> PersistentHashSet<T> of(Iterable<? extends T> elements) {
+        Builder<T> builder = builder();
+        for (T t : elements) {
+            builder.add(t);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a {@link Builder} starting from an empty set.
+     *
+     * @param <T>
+     *      the type of the elements
+     * @return
+     *      a new builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>(PersistentHashMap.<T, Object>builder());
+    }
+
+    /**
+     * Returns a {@link Builder} starting from this set. This set is not
+     * affected by the updates applied to the builder.
+     *
+     * @return
+     *      a new builder
+     */
+    public Builder<T> toBuilder() {
+        return new Builder<>(map.toBuilder());
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return
+     *      the size of this set
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Report whether this set has no element.
+     *
+     * @return
+     *      `true` if this set is empty
+     */
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Report whether this set contains `element`.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      `true` if `element` is in this set
+     */
+    public boolean contains(Object element) {
+        return map.containsKey(element);
+    }
+
+    /**
+     * Returns a set with `element` added.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      the new set, or this set if it contains `element` already
+     */
+    public PersistentHashSet<T> add(T element) {
+        return wrap(map.put(element, PRESENT));
+    }
+
+    /**
+     * Returns a set without `element`.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      the new set, or this set if it does not contain `element`
+     */
+    public PersistentHashSet<T> remove(Object element) {
+        return wrap(map.remove(element));
+    }
+
+    /**
+     * Apply `action` to each element in this set.
+     *
+     * @param action
+     *      the function to apply to each element
+     */
+    public void forEach(Consumer<? super T> action) {
+        $.requireNotNull(action);
+        map.forEach((k, v) -> action.accept(k));
+    }
+
+    /**
+     * Returns a `Traversable` view of the elements of this set.
+     *
+     * @return
+     *      the elements
+     */
+    public Traversable<T> elements() {
+        return map.keys();
+    }
+
+    /**
+     * Two sets are equal if they have the same elements, like `java.util.Set`.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        return obj instanceof PersistentHashSet && map.equals(((PersistentHashSet<?>) obj).map);
+    }
+
+    /**
+     * The sum of the hash codes of the elements, like `java.util.Set`.
+     */
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (T t : elements()) {
+            h += t.hashCode();
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        boolean first = true;
+        for (T t : elements()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append(t);
+        }
+        return sb.append(']').toString();
+    }
+
+    private PersistentHashSet<T> wrap(PersistentHashMap<T, Object> newMap) {
+        if (newMap == map) {
+            return this;
+        }
+        return newMap.isEmpty() ? PersistentHashSet.<T>empty() : new PersistentHashSet<>(newMap);
+    }
+
+    /**
+     * Applies a batch of updates to a {@link PersistentHashSet}.
+     *
+     * This class is not thread safe.
+     *
+     * @param <T>
+     *      the type of the elements
+     * @see PersistentHashMap.Builder
+     */
+    public static final class Builder<T> {
+        private final PersistentHashMap.Builder<T, Object> map;
+
+        private Builder(PersistentHashMap.Builder<T, Object> map) {
+            this.map = map;
+        }
+
+        /**
+         * Add `element`.
+         *
+         * @param element
+         *      the element
+         * @return
+         *      this builder
+         */
+        public Builder<T> add(T element) {
+            map.put(element, PRESENT);
+            return this;
+        }
+
+        /**
+         * Remove `element`.
+         *
+         * @param element
+         *      the element
+         * @return
+         *      this builder
+         */
+        public Builder<T> remove(Object element) {
+            map.remove(element);
+            return this;
+        }
+
+        /**
+         * Returns the number of elements in the builder.
+         *
+         * @return
+         *      the current size
+         */
+        public int size() {
+            return map.size();
+        }
+
+        /**
+         * Returns an immutable set of the current elements.
+         *
+         * @return
+         *      the set
+         */
+        public PersistentHashSet<T> build() {
+            PersistentHashMap<T, Object> built = map.build();
+            return built.isEmpty() ? PersistentHashSet.<T>empty() : new PersistentHashSet<>(built);
+        }
+    }
+
+}
@@ -0,0 +1,306 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+import osgl.exception.UnexpectedException;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A `Sequence` that reads ahead elements of the upstream `Sequence` in a
+ * background task.
+ *
+ * Each call to {@link #iterator()} submits a producer task to the executor.
+ * The producer pulls the upstream iterator and pushes elements into a bounded
+ * {@link SpscRingBuffer}, while the consumer thread takes elements from the
+ * buffer:
+ *
+ * * when the buffer is full the producer parks until the consumer takes
+ *   elements (backpressure)
+ * * when the buffer is empty the consumer parks until the producer pushes
+ *   elements or terminates
+ * * an exception raised by the upstream is re-thrown in the consumer thread
+ *   once all elements before it are consumed
+ * * the producer stops when the iterator is {@link PrefetchIterator#close() closed},
+ *   or when it is garbage collected without reaching the end
+ *
+ * @param <T>
+ *      The type of the elements.
+ */
+class PrefetchSequence<T> extends DelegateSequence<T> {
+
+    /**
+     * How long the producer parks on a full buffer before it checks
+     * whether the consumer has been abandoned.
+     */
+    private static final long ABANDON_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Stands for `null` elements in the ring buffer.
+     */
+    private static final Object NULL = new Object();
+
+    private final int capacity;
+    private final Executor executor;
+
+    PrefetchSequence(Sequence<? extends T> seq, int capacity, Executor executor) {
+        super(seq);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.executor = $.requireNotNull(executor);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Handoff<T> handoff = new Handoff<>(capacity);
+        PrefetchIterator<T> iterator = new PrefetchIterator<>(handoff);
+        executor.execute(new Producer<>(super.iterator(), handoff, iterator));
+        return iterator;
+    }
+
+    static <T> PrefetchSequence<T> of(Sequence<? extends T> seq, int capacity, Executor executor) {
+        return new PrefetchSequence<>(seq, capacity, executor);
+    }
+
+    /**
+     * The state shared by the producer and the consumer. Note the producer
+     * must not reference the {@link PrefetchIterator} strongly, otherwise
+     * an abandoned iterator can never be collected.
+     */
+    private static final class Handoff<T> {
+        final SpscRingBuffer<Object> buffer;
+        volatile boolean done;
+        volatile boolean cancelled;
+        volatile Throwable error;
+        volatile Thread waitingConsumer;
+        volatile Thread waitingProducer;
+
+        /**
+         * Written before checking the waiting thread: the volatile write orders the
+         * preceding (lazy) index update of the ring buffer before the read of the
+         * waiting thread, so a party that announced waiting and then found the
+         * buffer unchanged is guaranteed to be unparked.
+         */
+        volatile int fence;
+
+        Handoff(int capacity) {
+            buffer = new SpscRingBuffer<>(capacity);
+        }
+
+        void wakeConsumer() {
+            fence = 0;
+            Thread t = waitingConsumer;
+            if (null != t) {
+                LockSupport.unpark(t);
+            }
+        }
+
+        void wakeProducer() {
+            fence = 0;
+            Thread t = waitingProducer;
+            if (null != t) {
+                LockSupport.unpark(t);
+            }
+        }
+    }
+
+    private static final class Producer<T> implements Runnable {
+        private final Iterator<? extends T> upstream;
+        private final Handoff<T> handoff;
+        private final WeakReference<PrefetchIterator<T>> consumer;
+
+        Producer(Iterator<? extends T> upstream, Handoff<T> handoff, PrefetchIterator<T> consumer) {
+            this.upstream = upstream;
+            this.handoff = handoff;
+            this.consumer = new WeakReference<>(consumer);
+        }
+
+        @Override
+        public void run() {
+            Handoff<T> handoff = this.handoff;
+            try {
+                while (!handoff.cancelled && upstream.hasNext()) {
+                    T t = upstream.next();
+                    if (!push(null == t ? NULL : t)) {
+                        return;
+                    }
+                }
+            } catch (Throwable e) {
+                handoff.error = e;
+            } finally {
+                handoff.done = true;
+                handoff.wakeConsumer();
+            }
+        }
+
+        /**
+         * Push an element into the buffer, parking while it is full.
+         *
+         * @return `false` if the consumer is gone and producing shall stop
+         */
+        private boolean push(Object o) {
+            Handoff<T> handoff = this.handoff;
+            SpscRingBuffer<Object> buffer = handoff.buffer;
+            if (buffer.offer(o)) {
+                handoff.wakeConsumer();
+                return true;
+            }
+            Thread current = Thread.currentThread();
+            handoff.waitingProducer = current;
+            try {
+                while (!buffer.offer(o)) {
+                    if (handoff.cancelled || null == consumer.get() || current.isInterrupted()) {
+                        handoff.cancelled = true;
+                        return false;
+                    }
+                    LockSupport.parkNanos(this, ABANDON_CHECK_NANOS);
+                }
+            } finally {
+                handoff.waitingProducer = null;
+            }
+            handoff.wakeConsumer();
+            return true;
+        }
+    }
+
+    /**
+     * The consumer side iterator.
+     *
+     * Callers that stop iterating before reaching the end should call
+     * {@link #close()} to stop the producer task immediately.
+     *
+     * @param <T>
+     *      The type of the elements.
+     */
+    static final class PrefetchIterator<T> implements Iterator<T>, AutoCloseable {
+        private final Handoff<T> handoff;
+        private Object next;
+        private boolean closed;
+
+        PrefetchIterator(Handoff<T> handoff) {
+            this.handoff = handoff;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != next) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            Handoff<T> handoff = this.handoff;
+            SpscRingBuffer<Object> buffer = handoff.buffer;
+            Object o = buffer.poll();
+            if (null == o) {
+                o = await(handoff, buffer);
+                if (null == o) {
+                    return false;
+                }
+            }
+            handoff.wakeProducer();
+            next = o;
+            return true;
+        }
+
+        private Object await(Handoff<T> handoff, SpscRingBuffer<Object> buffer) {
+            Thread current = Thread.currentThread();
+            handoff.waitingConsumer = current;
+            try {
+                while (true) {
+                    Object o = buffer.poll();
+                    if (null != o) {
+                        return o;
+                    }
+                    if (handoff.done) {
+                        // the producer might have pushed elements right before it is done
+                        o = buffer.poll();
+                        if (null != o) {
+                            return o;
+                        }
+                        Throwable error = handoff.error;
+                        if (null != error) {
+                            handoff.error = null;
+                            throw rethrow(error);
+                        }
+                        return null;
+                    }
+                    if (handoff.cancelled) {
+                        return null;
+                    }
+                    LockSupport.park(this);
+                    if (Thread.interrupted()) {
+                        close();
+                        current.interrupt();
+                        throw new UnexpectedException("interrupted while waiting for prefetched elements");
+                    }
+                }
+            } finally {
+                handoff.waitingConsumer = null;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object o = next;
+            next = null;
+            return NULL == o ? null : (T) o;
+        }
+
+        /**
+         * Stop the producer task. Elements not yet consumed are discarded,
+         * thus {@link #hasNext()} returns `false` afterwards.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            next = null;
+            Handoff<T> handoff = this.handoff;
+            handoff.cancelled = true;
+            while (null != handoff.buffer.poll()) {
+                // drop the buffered elements
+            }
+            handoff.wakeProducer();
+        }
+
+        private static RuntimeException rethrow(Throwable error) {
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+            throw new UnexpectedException(error);
+        }
+    }
+}
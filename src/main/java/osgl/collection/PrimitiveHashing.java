@@ -0,0 +1,98 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Sizing and hash mixing functions shared by the open addressing hash
+ * structures, e.g. {@link IntObjMap} and {@link IntSet}.
+ *
+ * The tables are power of 2 sized, thus the hash codes are scrambled with
+ * a multiplicative (Fibonacci) hash before being masked, otherwise keys
+ * that differ only in the high bits (e.g. sequential IDs shifted left)
+ * would collide into long probe chains.
+ */
+enum PrimitiveHashing {
+    ;
+
+    static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private static final int MAX_ARRAY_SIZE = 1 << 30;
+
+    private static final int INT_PHI = 0x9E3779B9;
+
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    static float checkLoadFactor(float loadFactor) {
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f)) {
+            throw new IllegalArgumentException("load factor must be in the open interval (0, 1): " + loadFactor);
+        }
+        return loadFactor;
+    }
+
+    /**
+     * Returns the table size to hold `expectedSize` elements without
+     * exceeding `loadFactor`.
+     */
+    static int arraySize(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+        }
+        long size = (long) Math.ceil(expectedSize / (double) loadFactor);
+        if (size > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("too large: " + expectedSize);
+        }
+        return Math.max(2, 1 << (32 - Integer.numberOfLeadingZeros((int) size - 1)));
+    }
+
+    /**
+     * Returns the number of elements a table of `arraySize` holds before
+     * it needs to grow. At least one slot is always kept free so that probing
+     * terminates.
+     */
+    static int maxFill(int arraySize, float loadFactor) {
+        return Math.min((int) Math.ceil(arraySize * (double) loadFactor), arraySize - 1);
+    }
+
+    static int nextArraySize(int arraySize) {
+        if (arraySize >= MAX_ARRAY_SIZE) {
+            throw new IllegalStateException("hash table is full");
+        }
+        return arraySize << 1;
+    }
+
+    static int mix(int x) {
+        int h = x * INT_PHI;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long x) {
+        long h = x * LONG_PHI;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    static int mix(Object o) {
+        return mix(o.hashCode());
+    }
+
+}
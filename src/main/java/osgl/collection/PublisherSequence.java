@@ -0,0 +1,265 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+import osgl.exception.UnexpectedException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A `Sequence` backed by a {@link Flow.Publisher}.
+ *
+ * Each call to {@link #iterator()} subscribes to the publisher. The
+ * subscriber never requests more elements than there are free slots in
+ * its bounded {@link SpscRingBuffer}: it requests `bufferSize` elements
+ * upon subscription and then replenishes the demand in batches of
+ * `bufferSize - bufferSize / 4` as the iterating thread consumes them.
+ *
+ * * when the buffer is empty the iterating thread parks until the
+ *   publisher signals an element, completion or an error
+ * * an error signalled by the publisher is re-thrown in the iterating
+ *   thread once all elements before it are consumed
+ * * closing the iterator cancels the subscription
+ *
+ * @param <T>
+ *      The type of the elements.
+ */
+class PublisherSequence<T> implements Sequence<T> {
+
+    /**
+     * Stands for `null` elements in the ring buffer. Note publishers
+     * complying to the specification never signal `null` elements.
+     */
+    private static final Object NULL = new Object();
+
+    private final Flow.Publisher<? extends T> publisher;
+    private final int bufferSize;
+
+    PublisherSequence(Flow.Publisher<? extends T> publisher, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("buffer size must be positive: " + bufferSize);
+        }
+        this.publisher = $.requireNotNull(publisher);
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        BufferedSubscriber<T> subscriber = new BufferedSubscriber<>(bufferSize);
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    static <T> PublisherSequence<T> of(Flow.Publisher<? extends T> publisher, int bufferSize) {
+        return new PublisherSequence<>(publisher, bufferSize);
+    }
+
+    /**
+     * The subscriber receiving signals from the publisher, and at the same
+     * time the iterator consuming the buffered elements.
+     *
+     * Callers that stop iterating before reaching the end should call
+     * {@link #close()} to cancel the subscription.
+     *
+     * @param <T>
+     *      The type of the elements.
+     */
+    static final class BufferedSubscriber<T> implements Flow.Subscriber<T>, Iterator<T>, AutoCloseable {
+        private final SpscRingBuffer<Object> buffer;
+        private final int bufferSize;
+        private final int limit;
+
+        private volatile Flow.Subscription subscription;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private volatile Thread waitingConsumer;
+
+        /**
+         * See `PrefetchSequence.Handoff#fence`.
+         */
+        private volatile int fence;
+
+        // consumer side state
+        private int consumed;
+        private Object next;
+        private boolean closed;
+
+        BufferedSubscriber(int bufferSize) {
+            this.buffer = new SpscRingBuffer<>(bufferSize);
+            this.bufferSize = bufferSize;
+            this.limit = Math.max(1, bufferSize - (bufferSize >> 2));
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            $.requireNotNull(subscription);
+            if (null != this.subscription || cancelled) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            subscription.request(bufferSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (!buffer.offer(null == item ? NULL : item)) {
+                Flow.Subscription subscription = this.subscription;
+                if (null != subscription) {
+                    subscription.cancel();
+                }
+                onError(new IllegalStateException("publisher signalled more elements than requested"));
+                return;
+            }
+            wakeConsumer();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            error = $.requireNotNull(throwable);
+            done = true;
+            wakeConsumer();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            wakeConsumer();
+        }
+
+        private void wakeConsumer() {
+            fence = 0;
+            Thread t = waitingConsumer;
+            if (null != t) {
+                LockSupport.unpark(t);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != next) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            Object o = buffer.poll();
+            if (null == o) {
+                o = await();
+                if (null == o) {
+                    return false;
+                }
+            }
+            if (++consumed == limit) {
+                consumed = 0;
+                subscription.request(limit);
+            }
+            next = o;
+            return true;
+        }
+
+        private Object await() {
+            Thread current = Thread.currentThread();
+            waitingConsumer = current;
+            try {
+                while (true) {
+                    Object o = buffer.poll();
+                    if (null != o) {
+                        return o;
+                    }
+                    if (done) {
+                        // the publisher might have signalled elements right before it is done
+                        o = buffer.poll();
+                        if (null != o) {
+                            return o;
+                        }
+                        Throwable error = this.error;
+                        if (null != error) {
+                            this.error = null;
+                            throw rethrow(error);
+                        }
+                        return null;
+                    }
+                    if (cancelled) {
+                        return null;
+                    }
+                    LockSupport.park(this);
+                    if (Thread.interrupted()) {
+                        close();
+                        current.interrupt();
+                        throw new UnexpectedException("interrupted while waiting for published elements");
+                    }
+                }
+            } finally {
+                waitingConsumer = null;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object o = next;
+            next = null;
+            return NULL == o ? null : (T) o;
+        }
+
+        /**
+         * Cancel the subscription. Elements not yet consumed are discarded,
+         * thus {@link #hasNext()} returns `false` afterwards.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            next = null;
+            cancelled = true;
+            while (null != buffer.poll()) {
+                // drop the buffered elements
+            }
+            Flow.Subscription subscription = this.subscription;
+            if (null != subscription) {
+                subscription.cancel();
+            }
+        }
+
+        private static RuntimeException rethrow(Throwable error) {
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            }
+            if (error instanceof Error) {
+                throw (Error) error;
+            }
+            throw new UnexpectedException(error);
+        }
+    }
+}
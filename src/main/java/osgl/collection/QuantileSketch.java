@@ -0,0 +1,219 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * A streaming quantile sketch with relative error guarantee.
+ *
+ * Values are counted in logarithmically sized buckets (the approach
+ * of the DDSketch algorithm), so that the value returned by
+ * {@link #quantile(double)} is within `relativeAccuracy` of the
+ * real value at that rank. The memory used depends on the range of
+ * the values (`log(max/min)`), not on the number of values.
+ *
+ * Two sketches with the same relative accuracy can be merged exactly
+ * by adding up their bucket counts, thus sketches built on parallel
+ * chunks of a data set can be combined.
+ *
+ * This class is not thread safe.
+ */
+public class QuantileSketch implements DoubleConsumer {
+
+    /**
+     * Values with absolute value less than this are counted as zero.
+     */
+    private static final double MIN_INDEXABLE = Double.MIN_NORMAL;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private final Buckets positive = new Buckets();
+    private final Buckets negative = new Buckets();
+    private long zeroCount;
+    private long count;
+
+    /**
+     * Construct a `QuantileSketch` with the relative accuracy specified.
+     *
+     * @param relativeAccuracy
+     *      the relative accuracy in the open range `(0, 1)`, e.g. `0.01`
+     *      means quantiles are accurate within 1%.
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0.0d && relativeAccuracy < 1.0d)) {
+            throw new IllegalArgumentException("relative accuracy must be in the range (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Returns the relative accuracy of this sketch.
+     *
+     * @return the relative accuracy
+     */
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Returns the number of values added into this sketch.
+     *
+     * @return the count of values
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Add a value into this sketch.
+     *
+     * @param value
+     *      the value to be added
+     * @throws IllegalArgumentException
+     *      if `value` is `NaN`
+     */
+    @Override
+    public void accept(double value) {
+        if (value > MIN_INDEXABLE) {
+            positive.add(index(value), 1);
+        } else if (value < -MIN_INDEXABLE) {
+            negative.add(index(-value), 1);
+        } else if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("NaN cannot be added to quantile sketch");
+        } else {
+            zeroCount++;
+        }
+        count++;
+    }
+
+    /**
+     * Merge the counts of another sketch into this sketch.
+     *
+     * @param other
+     *      a sketch with the same relative accuracy
+     * @return
+     *      this sketch
+     * @throws IllegalArgumentException
+     *      if the relative accuracy of `other` is different
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.gamma != gamma) {
+            throw new IllegalArgumentException("cannot merge sketches with different relative accuracy");
+        }
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        return this;
+    }
+
+    /**
+     * Returns the approximate value at quantile `q`.
+     *
+     * @param q
+     *      the quantile in the range `[0, 1]`, e.g. `0.5` for the median
+     * @return
+     *      the approximate value at quantile `q`, or `NaN` if this
+     *      sketch is empty
+     */
+    public double quantile(double q) {
+        if (!(q >= 0.0d && q <= 1.0d)) {
+            throw new IllegalArgumentException("quantile must be in the range [0, 1]: " + q);
+        }
+        if (0 == count) {
+            return Double.NaN;
+        }
+        long rank = (long) (q * (count - 1));
+        long n = 0;
+        long[] counts = negative.counts;
+        for (int i = counts.length - 1; i >= 0; --i) {
+            n += counts[i];
+            if (n > rank) {
+                return -value(i + negative.offset);
+            }
+        }
+        n += zeroCount;
+        if (n > rank) {
+            return 0.0d;
+        }
+        counts = positive.counts;
+        for (int i = 0; i < counts.length; ++i) {
+            n += counts[i];
+            if (n > rank) {
+                return value(i + positive.offset);
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    /**
+     * Dense bucket counts indexed from `offset`.
+     */
+    private static final class Buckets {
+        private static final long[] EMPTY = new long[0];
+
+        long[] counts = EMPTY;
+        int offset;
+
+        void add(int index, long n) {
+            if (0 == counts.length) {
+                counts = new long[16];
+                offset = index - 8;
+            } else if (index < offset || index >= offset + counts.length) {
+                grow(index);
+            }
+            counts[index - offset] += n;
+        }
+
+        private void grow(int index) {
+            int lo = Math.min(offset, index);
+            int hi = Math.max(offset + counts.length, index + 1);
+            int len = Math.max(hi - lo, counts.length * 2);
+            int newOffset = index < offset ? hi - len : lo;
+            long[] newCounts = new long[len];
+            System.arraycopy(counts, 0, newCounts, offset - newOffset, counts.length);
+            counts = newCounts;
+            offset = newOffset;
+        }
+
+        void merge(Buckets other) {
+            long[] a = other.counts;
+            for (int i = 0; i < a.length; ++i) {
+                if (0 != a[i]) {
+                    add(i + other.offset, a[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,846 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A container of the low 16 bits of the values in a {@link CompressedIntSet}
+ * that share the same high 16 bits.
+ *
+ * * {@link ArrayContainer}: a sorted `char` array, for up to
+ *   {@link #ARRAY_MAX} values
+ * * {@link BitmapContainer}: a 65536 bit bitmap, for dense containers
+ * * {@link RunContainer}: sorted `(start, length - 1)` pairs, for values
+ *   clustered in runs, created by {@link #runOptimize()}
+ *
+ * Containers may be updated in place, thus {@link #add(char)} and
+ * {@link #remove(char)} return the container to be used afterwards, which
+ * might be of another type. Set operations return new containers, or `null`
+ * for an empty result.
+ */
+abstract class RoaringContainer {
+
+    /**
+     * The maximum cardinality of an array container: 4096 chars take the same
+     * 8KB as a bitmap container.
+     */
+    static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1024;
+
+    static final byte TYPE_ARRAY = 1;
+    static final byte TYPE_BITMAP = 2;
+    static final byte TYPE_RUN = 3;
+
+    abstract int cardinality();
+
+    abstract boolean contains(char x);
+
+    abstract RoaringContainer add(char x);
+
+    abstract RoaringContainer remove(char x);
+
+    /**
+     * Returns the number of values less than or equal to `x`.
+     */
+    abstract int rank(char x);
+
+    /**
+     * Returns the `j`-th smallest value, starting from `0`.
+     */
+    abstract char select(int j);
+
+    /**
+     * Returns the values as bitmap words. The result must not be modified.
+     */
+    abstract long[] words();
+
+    abstract RoaringContainer copy();
+
+    abstract int numberOfRuns();
+
+    /**
+     * Apply `action` to each value, i.e. `base | low` of each low value.
+     */
+    abstract void forEach(int base, IntConsumer action);
+
+    abstract PrimitiveIterator.OfInt iterator(int base);
+
+    abstract byte type();
+
+    /**
+     * Returns the size of the serialized content, excluding the type byte.
+     */
+    abstract int serializedSize();
+
+    abstract void write(ByteBuffer out);
+
+    /**
+     * Returns whether `that` holds the same values. Array and run containers
+     * are compared with their own kind directly, only mixed kinds are
+     * compared as bitmaps.
+     */
+    final boolean sameValues(RoaringContainer that) {
+        if (cardinality() != that.cardinality()) {
+            return false;
+        }
+        if (this instanceof ArrayContainer && that instanceof ArrayContainer) {
+            return ((ArrayContainer) this).sameContent((ArrayContainer) that);
+        }
+        if (this instanceof RunContainer && that instanceof RunContainer) {
+            return ((RunContainer) this).coveredBy((RunContainer) that);
+        }
+        return Arrays.equals(words(), that.words());
+    }
+
+    /**
+     * Returns the container with the same values in the representation
+     * that takes the least memory.
+     */
+    final RoaringContainer runOptimize() {
+        int card = cardinality();
+        int runs = numberOfRuns();
+        int arraySize = 2 * card;
+        int bitmapSize = 8 * BITMAP_WORDS;
+        int runSize = 4 * runs;
+        if (runSize < Math.min(arraySize, bitmapSize)) {
+            return this instanceof RunContainer ? this : RunContainer.of(this, runs);
+        }
+        if (card <= ARRAY_MAX) {
+            return this instanceof ArrayContainer ? this : ArrayContainer.of(this, card);
+        }
+        return this instanceof BitmapContainer ? this : new BitmapContainer(words().clone(), card);
+    }
+
+    static RoaringContainer read(byte type, ByteBuffer in) {
+        switch (type) {
+            case TYPE_ARRAY:
+                return ArrayContainer.read(in);
+            case TYPE_BITMAP:
+                return BitmapContainer.read(in);
+            case TYPE_RUN:
+                return RunContainer.read(in);
+            default:
+                throw new IllegalArgumentException("unknown container type: " + type);
+        }
+    }
+
+    static RoaringContainer and(RoaringContainer a, RoaringContainer b) {
+        if (a instanceof ArrayContainer) {
+            return ((ArrayContainer) a).filter(b, true);
+        }
+        if (b instanceof ArrayContainer) {
+            return ((ArrayContainer) b).filter(a, true);
+        }
+        long[] x = a.words();
+        long[] y = b.words();
+        long[] r = new long[BITMAP_WORDS];
+        for (int i = 0; i < BITMAP_WORDS; ++i) {
+            r[i] = x[i] & y[i];
+        }
+        return fromWords(r);
+    }
+
+    static RoaringContainer or(RoaringContainer a, RoaringContainer b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer && a.cardinality() + b.cardinality() <= ARRAY_MAX) {
+            return ((ArrayContainer) a).merge((ArrayContainer) b, false);
+        }
+        long[] x = a.words();
+        long[] y = b.words();
+        long[] r = new long[BITMAP_WORDS];
+        for (int i = 0; i < BITMAP_WORDS; ++i) {
+            r[i] = x[i] | y[i];
+        }
+        return fromWords(r);
+    }
+
+    static RoaringContainer andNot(RoaringContainer a, RoaringContainer b) {
+        if (a instanceof ArrayContainer) {
+            return ((ArrayContainer) a).filter(b, false);
+        }
+        long[] x = a.words();
+        long[] y = b.words();
+        long[] r = new long[BITMAP_WORDS];
+        for (int i = 0; i < BITMAP_WORDS; ++i) {
+            r[i] = x[i] & ~y[i];
+        }
+        return fromWords(r);
+    }
+
+    static RoaringContainer xor(RoaringContainer a, RoaringContainer b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer && a.cardinality() + b.cardinality() <= ARRAY_MAX) {
+            return ((ArrayContainer) a).merge((ArrayContainer) b, true);
+        }
+        long[] x = a.words();
+        long[] y = b.words();
+        long[] r = new long[BITMAP_WORDS];
+        for (int i = 0; i < BITMAP_WORDS; ++i) {
+            r[i] = x[i] ^ y[i];
+        }
+        return fromWords(r);
+    }
+
+    /**
+     * Returns an array or bitmap container of the bits in `words`, or `null`
+     * if no bit is set.
+     */
+    static RoaringContainer fromWords(long[] words) {
+        int card = 0;
+        for (long w : words) {
+            card += Long.bitCount(w);
+        }
+        if (0 == card) {
+            return null;
+        }
+        return card <= ARRAY_MAX ? ArrayContainer.of(words, card) : new BitmapContainer(words, card);
+    }
+
+    static final class ArrayContainer extends RoaringContainer {
+        private char[] content;
+        private int cardinality;
+
+        ArrayContainer(char[] content, int cardinality) {
+            this.content = content;
+            this.cardinality = cardinality;
+        }
+
+        static ArrayContainer of(char x) {
+            char[] content = new char[4];
+            content[0] = x;
+            return new ArrayContainer(content, 1);
+        }
+
+        static ArrayContainer of(RoaringContainer container, int cardinality) {
+            return of(container.words(), cardinality);
+        }
+
+        static ArrayContainer of(long[] words, int cardinality) {
+            char[] content = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < words.length; ++i) {
+                long w = words[i];
+                while (0 != w) {
+                    content[n++] = (char) ((i << 6) + Long.numberOfTrailingZeros(w));
+                    w &= w - 1;
+                }
+            }
+            return new ArrayContainer(content, cardinality);
+        }
+
+        static ArrayContainer read(ByteBuffer in) {
+            int card = in.getChar() + 1;
+            char[] content = new char[card];
+            for (int i = 0; i < card; ++i) {
+                content[i] = in.getChar();
+            }
+            return new ArrayContainer(content, card);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char x) {
+            return Arrays.binarySearch(content, 0, cardinality, x) >= 0;
+        }
+
+        @Override
+        RoaringContainer add(char x) {
+            int i = Arrays.binarySearch(content, 0, cardinality, x);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality >= ARRAY_MAX) {
+                return new BitmapContainer(words(), cardinality).add(x);
+            }
+            i = -i - 1;
+            if (cardinality == content.length) {
+                content = Arrays.copyOf(content, Math.min(ARRAY_MAX, Math.max(4, cardinality << 1)));
+            }
+            System.arraycopy(content, i, content, i + 1, cardinality - i);
+            content[i] = x;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        RoaringContainer remove(char x) {
+            int i = Arrays.binarySearch(content, 0, cardinality, x);
+            if (i >= 0) {
+                System.arraycopy(content, i + 1, content, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        int rank(char x) {
+            int i = Arrays.binarySearch(content, 0, cardinality, x);
+            return i >= 0 ? i + 1 : -i - 1;
+        }
+
+        @Override
+        char select(int j) {
+            return content[j];
+        }
+
+        @Override
+        long[] words() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; ++i) {
+                char c = content[i];
+                words[c >>> 6] |= 1L << c;
+            }
+            return words;
+        }
+
+        @Override
+        RoaringContainer copy() {
+            return new ArrayContainer(Arrays.copyOf(content, cardinality), cardinality);
+        }
+
+        @Override
+        int numberOfRuns() {
+            int runs = 0;
+            for (int i = 0; i < cardinality; ++i) {
+                if (0 == i || content[i - 1] + 1 != content[i]) {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+
+        /**
+         * Returns the values that are (`keep == true`) or are not contained
+         * in `other`.
+         */
+        RoaringContainer filter(RoaringContainer other, boolean keep) {
+            char[] r = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < cardinality; ++i) {
+                char c = content[i];
+                if (other.contains(c) == keep) {
+                    r[n++] = c;
+                }
+            }
+            return 0 == n ? null : new ArrayContainer(r, n);
+        }
+
+        /**
+         * Returns the union, or the symmetric difference if `xor` is `true`.
+         */
+        RoaringContainer merge(ArrayContainer other, boolean xor) {
+            char[] a = content;
+            char[] b = other.content;
+            int na = cardinality;
+            int nb = other.cardinality;
+            char[] r = new char[na + nb];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < na && j < nb) {
+                char x = a[i];
+                char y = b[j];
+                if (x < y) {
+                    r[n++] = x;
+                    i++;
+                } else if (x > y) {
+                    r[n++] = y;
+                    j++;
+                } else {
+                    if (!xor) {
+                        r[n++] = x;
+                    }
+                    i++;
+                    j++;
+                }
+            }
+            while (i < na) {
+                r[n++] = a[i++];
+            }
+            while (j < nb) {
+                r[n++] = b[j++];
+            }
+            return 0 == n ? null : new ArrayContainer(r, n);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; ++i) {
+                action.accept(base | content[i]);
+            }
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(final int base) {
+            return new PrimitiveIterator.OfInt() {
+                int cur;
+
+                @Override
+                public boolean hasNext() {
+                    return cur < cardinality;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (cur >= cardinality) {
+                        throw new NoSuchElementException();
+                    }
+                    return base | content[cur++];
+                }
+            };
+        }
+
+        @Override
+        byte type() {
+            return TYPE_ARRAY;
+        }
+
+        @Override
+        int serializedSize() {
+            return 2 + 2 * cardinality;
+        }
+
+        @Override
+        void write(ByteBuffer out) {
+            out.putChar((char) (cardinality - 1));
+            for (int i = 0; i < cardinality; ++i) {
+                out.putChar(content[i]);
+            }
+        }
+
+        /**
+         * Returns whether `that` of the same cardinality has the same content.
+         */
+        boolean sameContent(ArrayContainer that) {
+            for (int i = 0; i < cardinality; ++i) {
+                if (content[i] != that.content[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class BitmapContainer extends RoaringContainer {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static BitmapContainer read(ByteBuffer in) {
+            long[] words = new long[BITMAP_WORDS];
+            int card = 0;
+            for (int i = 0; i < BITMAP_WORDS; ++i) {
+                long w = in.getLong();
+                words[i] = w;
+                card += Long.bitCount(w);
+            }
+            return new BitmapContainer(words, card);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char x) {
+            return 0 != (words[x >>> 6] & (1L << x));
+        }
+
+        @Override
+        RoaringContainer add(char x) {
+            long w = words[x >>> 6];
+            long bit = 1L << x;
+            if (0 == (w & bit)) {
+                words[x >>> 6] = w | bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        RoaringContainer remove(char x) {
+            long w = words[x >>> 6];
+            long bit = 1L << x;
+            if (0 != (w & bit)) {
+                words[x >>> 6] = w & ~bit;
+                if (--cardinality <= ARRAY_MAX) {
+                    return ArrayContainer.of(words, cardinality);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        int rank(char x) {
+            int idx = x >>> 6;
+            int r = 0;
+            for (int i = 0; i < idx; ++i) {
+                r += Long.bitCount(words[i]);
+            }
+            // bits 0 .. x & 63 inclusive
+            return r + Long.bitCount(words[idx] & ((2L << x) - 1));
+        }
+
+        @Override
+        char select(int j) {
+            int left = j;
+            for (int i = 0; i < BITMAP_WORDS; ++i) {
+                long w = words[i];
+                int c = Long.bitCount(w);
+                if (left < c) {
+                    for (int k = 0; k < left; ++k) {
+                        w &= w - 1;
+                    }
+                    return (char) ((i << 6) + Long.numberOfTrailingZeros(w));
+                }
+                left -= c;
+            }
+            throw new IndexOutOfBoundsException(String.valueOf(j));
+        }
+
+        @Override
+        long[] words() {
+            return words;
+        }
+
+        @Override
+        RoaringContainer copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        int numberOfRuns() {
+            int runs = 0;
+            long prev = 0L;
+            for (long w : words) {
+                // a run starts at each set bit whose predecessor bit is clear
+                long carry = prev >>> 63;
+                runs += Long.bitCount(w & ~((w << 1) | carry));
+                prev = w;
+            }
+            return runs;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; ++i) {
+                long w = words[i];
+                while (0 != w) {
+                    action.accept(base | ((i << 6) + Long.numberOfTrailingZeros(w)));
+                    w &= w - 1;
+                }
+            }
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(final int base) {
+            return new PrimitiveIterator.OfInt() {
+                int i = -1;
+                long w;
+
+                @Override
+                public boolean hasNext() {
+                    while (0 == w) {
+                        if (++i >= BITMAP_WORDS) {
+                            i = BITMAP_WORDS;
+                            return false;
+                        }
+                        w = words[i];
+                    }
+                    return true;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int v = base | ((i << 6) + Long.numberOfTrailingZeros(w));
+                    w &= w - 1;
+                    return v;
+                }
+            };
+        }
+
+        @Override
+        byte type() {
+            return TYPE_BITMAP;
+        }
+
+        @Override
+        int serializedSize() {
+            return 8 * BITMAP_WORDS;
+        }
+
+        @Override
+        void write(ByteBuffer out) {
+            for (long w : words) {
+                out.putLong(w);
+            }
+        }
+    }
+
+    /**
+     * Runs are stored as `(start, length - 1)` pairs. Updates convert the
+     * container to an array or bitmap container, call
+     * {@link #runOptimize()} again after a batch of updates.
+     */
+    static final class RunContainer extends RoaringContainer {
+        private final char[] runs;
+        private final int numberOfRuns;
+        private final int cardinality;
+
+        RunContainer(char[] runs, int numberOfRuns) {
+            this.runs = runs;
+            this.numberOfRuns = numberOfRuns;
+            int card = 0;
+            for (int i = 0; i < numberOfRuns; ++i) {
+                card += runs[2 * i + 1] + 1;
+            }
+            this.cardinality = card;
+        }
+
+        static RunContainer of(RoaringContainer container, int numberOfRuns) {
+            char[] runs = new char[2 * numberOfRuns];
+            int n = -1;
+            int prev = -2;
+            PrimitiveIterator.OfInt itr = container.iterator(0);
+            while (itr.hasNext()) {
+                int v = itr.nextInt();
+                if (v == prev + 1) {
+                    runs[2 * n + 1]++;
+                } else {
+                    n++;
+                    runs[2 * n] = (char) v;
+                }
+                prev = v;
+            }
+            return new RunContainer(runs, numberOfRuns);
+        }
+
+        static RunContainer read(ByteBuffer in) {
+            int n = in.getChar();
+            char[] runs = new char[2 * n];
+            for (int i = 0; i < runs.length; ++i) {
+                runs[i] = in.getChar();
+            }
+            return new RunContainer(runs, n);
+        }
+
+        private int start(int i) {
+            return runs[2 * i];
+        }
+
+        private int end(int i) {
+            return runs[2 * i] + runs[2 * i + 1];
+        }
+
+        /**
+         * Returns the index of the last run starting at or before `x`, or `-1`.
+         */
+        private int floorRun(char x) {
+            int lo = 0;
+            int hi = numberOfRuns - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (start(mid) <= x) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return hi;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char x) {
+            int i = floorRun(x);
+            return i >= 0 && x <= end(i);
+        }
+
+        @Override
+        RoaringContainer add(char x) {
+            if (contains(x)) {
+                return this;
+            }
+            return toUpdatable().add(x);
+        }
+
+        @Override
+        RoaringContainer remove(char x) {
+            if (!contains(x)) {
+                return this;
+            }
+            return toUpdatable().remove(x);
+        }
+
+        private RoaringContainer toUpdatable() {
+            return cardinality <= ARRAY_MAX ? ArrayContainer.of(this, cardinality) : new BitmapContainer(words(), cardinality);
+        }
+
+        @Override
+        int rank(char x) {
+            int r = 0;
+            for (int i = 0; i < numberOfRuns; ++i) {
+                int start = start(i);
+                if (start > x) {
+                    break;
+                }
+                r += Math.min(x, end(i)) - start + 1;
+            }
+            return r;
+        }
+
+        @Override
+        char select(int j) {
+            int left = j;
+            for (int i = 0; i < numberOfRuns; ++i) {
+                int len = runs[2 * i + 1] + 1;
+                if (left < len) {
+                    return (char) (start(i) + left);
+                }
+                left -= len;
+            }
+            throw new IndexOutOfBoundsException(String.valueOf(j));
+        }
+
+        @Override
+        long[] words() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < numberOfRuns; ++i) {
+                int start = start(i);
+                int end = end(i);
+                for (int v = start; v <= end; ++v) {
+                    words[v >>> 6] |= 1L << v;
+                }
+            }
+            return words;
+        }
+
+        @Override
+        RoaringContainer copy() {
+            // runs are never updated in place
+            return this;
+        }
+
+        @Override
+        int numberOfRuns() {
+            return numberOfRuns;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < numberOfRuns; ++i) {
+                int end = end(i);
+                for (int v = start(i); v <= end; ++v) {
+                    action.accept(base | v);
+                }
+            }
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(final int base) {
+            return new PrimitiveIterator.OfInt() {
+                int run;
+                int next = numberOfRuns > 0 ? start(0) : 0;
+
+                @Override
+                public boolean hasNext() {
+                    return run < numberOfRuns;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (run >= numberOfRuns) {
+                        throw new NoSuchElementException();
+                    }
+                    int v = next;
+                    if (v == end(run)) {
+                        if (++run < numberOfRuns) {
+                            next = start(run);
+                        }
+                    } else {
+                        next = v + 1;
+                    }
+                    return base | v;
+                }
+            };
+        }
+
+        @Override
+        byte type() {
+            return TYPE_RUN;
+        }
+
+        @Override
+        int serializedSize() {
+            return 2 + 4 * numberOfRuns;
+        }
+
+        @Override
+        void write(ByteBuffer out) {
+            out.putChar((char) numberOfRuns);
+            for (int i = 0; i < 2 * numberOfRuns; ++i) {
+                out.putChar(runs[i]);
+            }
+        }
+
+        /**
+         * Returns whether each value is in `that`, i.e. the same values for
+         * containers of the same cardinality. Unlike comparing the run arrays
+         * this holds for adjacent runs read from a stream too.
+         */
+        boolean coveredBy(RunContainer that) {
+            for (int i = 0; i < numberOfRuns; ++i) {
+                int j = that.floorRun((char) start(i));
+                if (j < 0) {
+                    return false;
+                }
+                int end = that.end(j);
+                while (end < end(i) && j + 1 < that.numberOfRuns && that.start(j + 1) == end + 1) {
+                    end = that.end(++j);
+                }
+                if (end < end(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * An iterator that keeps each element of the underlying iterator with
+ * an independent probability `fraction` (Bernoulli sampling).
+ *
+ * Instead of drawing a random number for every element, the gap to the
+ * next kept element is drawn from the geometric distribution, so the
+ * random number generator is called once per kept element.
+ *
+ * @param <T>
+ *      The type of the elements in the iterator.
+ */
+class SampledIterator<T> implements Iterator<T> {
+
+    private final Iterator<? extends T> data;
+    private final Random random;
+    private final double logOneMinusFraction;
+
+    private boolean ready;
+    private boolean exhausted;
+    private T next;
+
+    SampledIterator(Iterator<? extends T> iterator, double fraction, Random random) {
+        if (!(fraction > 0.0d && fraction < 1.0d)) {
+            throw new IllegalArgumentException("fraction must be in the open interval (0, 1): " + fraction);
+        }
+        this.data = $.requireNotNull(iterator);
+        this.random = $.requireNotNull(random);
+        this.logOneMinusFraction = Math.log1p(-fraction);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (ready) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+        double u;
+        do {
+            u = random.nextDouble();
+        } while (u == 0.0d);
+        long skip = (long) Math.floor(Math.log(u) / logOneMinusFraction);
+        while (skip > 0 && data.hasNext()) {
+            data.next();
+            skip--;
+        }
+        if (!data.hasNext()) {
+            exhausted = true;
+            return false;
+        }
+        next = data.next();
+        ready = true;
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T t = next;
+        next = null;
+        ready = false;
+        return t;
+    }
+}
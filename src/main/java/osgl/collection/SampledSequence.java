@@ -0,0 +1,55 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.function.Supplier;
+
+class SampledSequence<T> extends DelegateSequence<T> {
+
+    private final double fraction;
+    private final Supplier<? extends Random> random;
+
+    SampledSequence(Sequence<? extends T> seq, double fraction, Supplier<? extends Random> random) {
+        super(seq);
+        this.fraction = checkFraction(fraction);
+        this.random = $.requireNotNull(random);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Iterators.sample(super.iterator(), fraction, random.get());
+    }
+
+    static <T> SampledSequence<T> of(Sequence<? extends T> seq, double fraction, Supplier<? extends Random> random) {
+        return new SampledSequence<>(seq, fraction, random);
+    }
+
+    static double checkFraction(double fraction) {
+        if (!(fraction >= 0.0d && fraction <= 1.0d)) {
+            throw new IllegalArgumentException("fraction must be in the range [0, 1]: " + fraction);
+        }
+        return fraction;
+    }
+}
@@ -0,0 +1,60 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Traversable} that lazily keeps each element of the source
+ * with a fixed probability.
+ *
+ * @param <T>
+ *         The type of the element in the `Traversable`.
+ */
+class SampledTraversable<T> extends DelegateTraversable<T> {
+
+    private final double fraction;
+    private final Supplier<? extends Random> random;
+
+    SampledTraversable(Iterable<? extends T> iterable, double fraction, Supplier<? extends Random> random) {
+        super(iterable);
+        this.fraction = SampledSequence.checkFraction(fraction);
+        this.random = $.requireNotNull(random);
+    }
+
+    @Override
+    public boolean sized() {
+        return false;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Iterators.sample(super.iterator(), fraction, random.get());
+    }
+
+    static <T> Traversable<T> of(Iterable<? extends T> iterable, double fraction, Supplier<? extends Random> random) {
+        return new SampledTraversable<>(iterable, fraction, random);
+    }
+}
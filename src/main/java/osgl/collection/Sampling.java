@@ -0,0 +1,226 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Implements the reservoir sampling algorithms used by
+ * {@link Traversable#sample(int, Random)},
+ * {@link Traversable#skipSample(int, Random)} and
+ * {@link Traversable#sampleBy(Function, int, Random)}.
+ *
+ * All algorithms iterate the source exactly once and keep at most
+ * `k` elements in memory (per stratum).
+ */
+enum Sampling {
+    ;
+
+    /**
+     * Sample `k` elements with Algorithm R: each element after the
+     * first `k` elements replaces a random slot in the reservoir with
+     * probability `k / n`.
+     *
+     * @param itr
+     *      the source iterator
+     * @param k
+     *      the size of the reservoir
+     * @param random
+     *      the random number generator
+     * @param <T>
+     *      the element type
+     * @return
+     *      a `Sequence` of at most `k` sampled elements
+     */
+    static <T> Sequence<T> reservoir(Iterator<? extends T> itr, int k, Random random) {
+        Object[] reservoir = new Object[checkSampleSize(k)];
+        $.requireNotNull(random);
+        int filled = fill(reservoir, itr);
+        if (filled < k) {
+            return array(reservoir, filled);
+        }
+        long seen = k;
+        while (itr.hasNext()) {
+            T t = itr.next();
+            seen++;
+            long j = seen <= Integer.MAX_VALUE ? random.nextInt((int) seen) : (long) (random.nextDouble() * seen);
+            if (j < k) {
+                reservoir[(int) j] = t;
+            }
+        }
+        return array(reservoir, k);
+    }
+
+    /**
+     * Sample `k` elements with Algorithm L (Li, 1994): instead of drawing
+     * a random number for every element it computes how many elements
+     * can be skipped before the next replacement, thus the number of
+     * calls to the random number generator is `O(k(1 + log(n/k)))`.
+     *
+     * @param itr
+     *      the source iterator
+     * @param k
+     *      the size of the reservoir
+     * @param random
+     *      the random number generator
+     * @param <T>
+     *      the element type
+     * @return
+     *      a `Sequence` of at most `k` sampled elements
+     */
+    static <T> Sequence<T> skipReservoir(Iterator<? extends T> itr, int k, Random random) {
+        Object[] reservoir = new Object[checkSampleSize(k)];
+        $.requireNotNull(random);
+        int filled = fill(reservoir, itr);
+        if (filled < k) {
+            return array(reservoir, filled);
+        }
+        double w = Math.exp(Math.log(nextOpenDouble(random)) / k);
+        while (true) {
+            long skip = (long) Math.floor(Math.log(nextOpenDouble(random)) / Math.log1p(-w));
+            while (skip > 0 && itr.hasNext()) {
+                itr.next();
+                skip--;
+            }
+            if (!itr.hasNext()) {
+                break;
+            }
+            reservoir[random.nextInt(k)] = itr.next();
+            w *= Math.exp(Math.log(nextOpenDouble(random)) / k);
+        }
+        return array(reservoir, k);
+    }
+
+    /**
+     * Stratified sampling: keep a separate Algorithm R reservoir of
+     * `k` elements for each key returned by `keyFn`.
+     *
+     * @param itr
+     *      the source iterator
+     * @param keyFn
+     *      the function that maps an element to its stratum
+     * @param k
+     *      the size of the reservoir of each stratum
+     * @param random
+     *      the random number generator
+     * @param <T>
+     *      the element type
+     * @param <K>
+     *      the stratum key type
+     * @return
+     *      a map from stratum key to the sampled elements, in the
+     *      order the keys first appear in the source
+     */
+    static <T, K> Map<K, Sequence<T>> stratified(
+            Iterator<? extends T> itr,
+            Function<? super T, ? extends K> keyFn,
+            int k,
+            Random random
+    ) {
+        checkSampleSize(k);
+        $.requireNotNull(keyFn);
+        $.requireNotNull(random);
+        Map<K, Stratum> strata = new LinkedHashMap<>();
+        while (itr.hasNext()) {
+            T t = itr.next();
+            K key = keyFn.apply(t);
+            Stratum stratum = strata.get(key);
+            if (null == stratum) {
+                stratum = new Stratum(k);
+                strata.put(key, stratum);
+            }
+            stratum.offer(t, random);
+        }
+        Map<K, Sequence<T>> result = new LinkedHashMap<>(strata.size() * 4 / 3 + 1);
+        for (Map.Entry<K, Stratum> entry : strata.entrySet()) {
+            Stratum stratum = entry.getValue();
+            result.put(entry.getKey(), array(stratum.reservoir, (int) Math.min(k, stratum.seen)));
+        }
+        return result;
+    }
+
+    /**
+     * Reservoir state of a single stratum.
+     */
+    private static final class Stratum {
+        final Object[] reservoir;
+        long seen;
+
+        Stratum(int k) {
+            reservoir = new Object[k];
+        }
+
+        void offer(Object o, Random random) {
+            int k = reservoir.length;
+            if (seen < k) {
+                reservoir[(int) seen++] = o;
+                return;
+            }
+            seen++;
+            long j = seen <= Integer.MAX_VALUE ? random.nextInt((int) seen) : (long) (random.nextDouble() * seen);
+            if (j < k) {
+                reservoir[(int) j] = o;
+            }
+        }
+    }
+
+    private static int checkSampleSize(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("sample size must not be negative: " + k);
+        }
+        return k;
+    }
+
+    private static int fill(Object[] reservoir, Iterator<?> itr) {
+        int k = reservoir.length;
+        int i = 0;
+        while (i < k && itr.hasNext()) {
+            reservoir[i++] = itr.next();
+        }
+        return i;
+    }
+
+    /**
+     * Returns a random double in the open interval `(0, 1)`, so that
+     * `Math.log` on it is always finite.
+     */
+    private static double nextOpenDouble(Random random) {
+        double d;
+        do {
+            d = random.nextDouble();
+        } while (d == 0.0d);
+        return d;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Sequence<T> array(Object[] data, int size) {
+        Object[] a = size == data.length ? data : Arrays.copyOf(data, size);
+        return new Array<>((T[]) a);
+    }
+
+}
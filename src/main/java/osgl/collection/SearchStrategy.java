@@ -0,0 +1,152 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+
+/**
+ * Strategies to search a key in a sorted primitive array.
+ *
+ * The search methods follow the contract of `Arrays.binarySearch`: they
+ * return the index of the key if found, otherwise `-(insertionPoint + 1)`.
+ *
+ * @see IntSortedArraySet
+ * @see LongSortedArraySet
+ */
+public enum SearchStrategy {
+
+    /**
+     * Binary search: `O(log n)` probes whatever the key distribution is.
+     */
+    BINARY {
+        @Override
+        public int search(int[] a, int from, int to, int key) {
+            return Arrays.binarySearch(a, from, to, key);
+        }
+
+        @Override
+        public int search(long[] a, int from, int to, long key) {
+            return Arrays.binarySearch(a, from, to, key);
+        }
+    },
+
+    /**
+     * Interpolation search: probes where the key would be if the keys were
+     * evenly distributed between the range bounds, which takes
+     * `O(log log n)` probes on uniformly distributed keys (e.g. sequential
+     * IDs with gaps). To bound the cost on skewed keys it falls back to binary
+     * search on the remaining range after `log2(n)` probes.
+     */
+    INTERPOLATION {
+        @Override
+        public int search(int[] a, int from, int to, int key) {
+            int lo = from;
+            int hi = to - 1;
+            int rounds = 32 - Integer.numberOfLeadingZeros(to - from);
+            while (lo <= hi && rounds-- > 0) {
+                int l = a[lo];
+                int h = a[hi];
+                if (key < l) {
+                    return -(lo + 1);
+                }
+                if (key > h) {
+                    return -(hi + 2);
+                }
+                if (l == h) {
+                    return lo;
+                }
+                int mid = lo + (int) (((double) key - l) / ((double) h - l) * (hi - lo));
+                int m = a[mid];
+                if (m < key) {
+                    lo = mid + 1;
+                } else if (m > key) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return Arrays.binarySearch(a, lo, hi + 1, key);
+        }
+
+        @Override
+        public int search(long[] a, int from, int to, long key) {
+            int lo = from;
+            int hi = to - 1;
+            int rounds = 32 - Integer.numberOfLeadingZeros(to - from);
+            while (lo <= hi && rounds-- > 0) {
+                long l = a[lo];
+                long h = a[hi];
+                if (key < l) {
+                    return -(lo + 1);
+                }
+                if (key > h) {
+                    return -(hi + 2);
+                }
+                if (l == h) {
+                    return lo;
+                }
+                int mid = lo + (int) (((double) key - l) / ((double) h - l) * (hi - lo));
+                long m = a[mid];
+                if (m < key) {
+                    lo = mid + 1;
+                } else if (m > key) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return Arrays.binarySearch(a, lo, hi + 1, key);
+        }
+    };
+
+    /**
+     * Search `key` in the range `[from, to)` of the sorted array `a`.
+     *
+     * @param a
+     *      the array sorted in ascending order
+     * @param from
+     *      the index of the first element (inclusive) to be searched
+     * @param to
+     *      the index of the last element (exclusive) to be searched
+     * @param key
+     *      the value to be searched for
+     * @return
+     *      the index of `key` if found, or `-(insertionPoint + 1)` otherwise
+     */
+    public abstract int search(int[] a, int from, int to, int key);
+
+    /**
+     * Search `key` in the range `[from, to)` of the sorted array `a`.
+     *
+     * @param a
+     *      the array sorted in ascending order
+     * @param from
+     *      the index of the first element (inclusive) to be searched
+     * @param to
+     *      the index of the last element (exclusive) to be searched
+     * @param key
+     *      the value to be searched for
+     * @return
+     *      the index of `key` if found, or `-(insertionPoint + 1)` otherwise
+     */
+    public abstract int search(long[] a, int from, int to, long key);
+
+}
@@ -22,11 +22,15 @@ package osgl.collection;
 
 import static osgl.func.Predicates.lt;
 
+import osgl.$;
 import osgl.exception.E;
 import osgl.func.Predicates;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -46,6 +50,9 @@ import java.util.function.Predicate;
  * * {@link #append(Sequence)}
  * * {@link #prepend(Object)}
  * * {@link #prepend(Sequence)}
+ * * {@link #span(Predicate)}
+ * * {@link #zipWithIndex()}
+ * * {@link #prefetch(int, Executor)}
  *
  * The following `Traversable` methods are overwritten so they
  * return type of `Sequence` instead of `Traversable`:
@@ -53,12 +60,15 @@ import java.util.function.Predicate;
  * * {@link #map(Function)}
  * * {@link #flatMap(Function)}
  * * {@link #filter(Predicate)}
+ * * {@link #sampleFraction(double, Random)}
  * * {@link #accept(Consumer)}
  * * {@link #each(Consumer)}
  *
  * Static methods:
  *
  * * {@link #nil()}
+ * * {@link #unzip(Iterable)}
+ * * {@link #fromPublisher(Flow.Publisher, int)}
  *
  * @param <T>
  *      The type of the sequence element
@@ -301,6 +311,58 @@ public interface Sequence<T> extends Traversable<T> {
         return new FilteredSequence<>(this, filter, FilteredIterator.Type.WHILE);
     }
 
+    /**
+     * Split this `Sequence` into two materialized `Sequence`s: the first
+     * one contains the longest prefix of elements that pass the test of
+     * `predicate`, and the second one contains the rest elements.
+     *
+     * This is equivalent to `T2(takeWhile(predicate), dropWhile(predicate))`
+     * except that this `Sequence` is iterated only once and the predicate is
+     * not applied to elements after the first failure.
+     *
+     * @param predicate
+     *      the function to test the element
+     * @return
+     *      a {@link T2} of the prefix and the rest elements
+     */
+    default T2<Sequence<T>, Sequence<T>> span(Predicate<? super T> predicate) {
+        $.requireNotNull(predicate);
+        ArrayBuffer<T> prefix = new ArrayBuffer<>();
+        Iterator<T> itr = iterator();
+        ArrayBuffer<T> rest = null;
+        while (itr.hasNext()) {
+            T t = itr.next();
+            if (predicate.test(t)) {
+                prefix.add(t);
+            } else {
+                rest = sized() ? new ArrayBuffer<>(size() - prefix.size()) : new ArrayBuffer<>();
+                rest.add(t);
+                break;
+            }
+        }
+        if (null == rest) {
+            rest = new ArrayBuffer<>(0);
+        }
+        while (itr.hasNext()) {
+            rest.add(itr.next());
+        }
+        return $.T2(prefix.toArray(), rest.toArray());
+    }
+
+    /**
+     * Returns a lazy `Sequence` that pairs each element with its index,
+     * starting from `0`.
+     *
+     * The index is kept as an `int` in an {@link ObjIntPair}, i.e. it is not
+     * boxed.
+     *
+     * @return
+     *      a `Sequence` of element and index pairs
+     */
+    default Sequence<ObjIntPair<T>> zipWithIndex() {
+        return new IndexZippedSequence<>(this);
+    }
+
     /**
      * Returns a `Sequence` of this `Sequence` appended with
      * an element specified.
@@ -422,6 +484,128 @@ public interface Sequence<T> extends Traversable<T> {
         return FilteredSequence.of(this, predicate);
     }
 
+    /**
+     * Returns a `Sequence` that reads ahead elements of this `Sequence` in a
+     * background task running on `executor`.
+     *
+     * Every iteration of the returned `Sequence` starts a producer task that
+     * iterates this `Sequence` and keeps up to `capacity` elements in a
+     * lock-free buffer, while the iterating thread consumes elements from
+     * the buffer. This overlaps the upstream work (e.g. I/O and decoding)
+     * with the downstream work.
+     *
+     * * The producer waits when the buffer is full, thus at most `capacity`
+     *   elements are read ahead.
+     * * An exception raised by this `Sequence` is re-thrown to the iterating
+     *   thread after the elements before it are consumed.
+     * * The iterator returned by the `Sequence` is also an {@link AutoCloseable},
+     *   closing it stops the producer. The producer also stops if the iterator
+     *   is garbage collected before reaching the end.
+     *
+     * Note elements are produced on another thread, thus this `Sequence` must
+     * not rely on thread confined state.
+     *
+     * @param capacity
+     *      the maximum number of elements to read ahead, will be rounded up
+     *      to the next power of 2
+     * @param executor
+     *      the executor to run the producer task
+     * @return
+     *      a `Sequence` as described above
+     */
+    default Sequence<T> prefetch(int capacity, Executor executor) {
+        return PrefetchSequence.of(this, capacity, executor);
+    }
+
+    /**
+     * Returns a lazy `Sequence` that keeps each element of this `Sequence` with
+     * probability `fraction`. The kept elements are in the same order as in
+     * this `Sequence`.
+     *
+     * @param fraction
+     *      the probability to keep an element, in the range `[0, 1]`
+     * @param random
+     *      the random number generator
+     * @return
+     *      a `Sequence` as described above
+     * @throws IllegalArgumentException
+     *      if `fraction` is not in the range `[0, 1]`
+     */
+    @Override
+    default Sequence<T> sampleFraction(double fraction, Random random) {
+        $.requireNotNull(random);
+        return SampledSequence.of(this, fraction, () -> random);
+    }
+
+    /**
+     * Returns a lazy `Sequence` that keeps each element of this `Sequence` with
+     * probability `fraction`, using the {@link ThreadLocalRandom} of the
+     * iterating thread.
+     *
+     * @param fraction
+     *      the probability to keep an element, in the range `[0, 1]`
+     * @return
+     *      a `Sequence` as described above
+     */
+    @Override
+    default Sequence<T> sampleFraction(double fraction) {
+        return SampledSequence.of(this, fraction, ThreadLocalRandom::current);
+    }
+
+    /**
+     * Split an iterable of {@link T2} tuples into two materialized `Sequence`s,
+     * the first one contains the first element of all tuples and the second
+     * one contains the second element of all tuples.
+     *
+     * The `pairs` is iterated only once. If the size of `pairs` is known,
+     * the two underlying arrays are allocated with the exact size.
+     *
+     * @param pairs
+     *      an iterable of tuples, e.g. a `Sequence<T2<A, B>>`
+     * @param <A>
+     *      the type of the first element of the tuples
+     * @param <B>
+     *      the type of the second element of the tuples
+     * @return
+     *      a {@link T2} of the first elements and the second elements
+     */
+    static <A, B> T2<Sequence<A>, Sequence<B>> unzip(Iterable<? extends T2<? extends A, ? extends B>> pairs) {
+        int capacity = ArrayBuffer.capacityOf(pairs);
+        ArrayBuffer<A> a = new ArrayBuffer<>(capacity);
+        ArrayBuffer<B> b = new ArrayBuffer<>(capacity);
+        for (T2<? extends A, ? extends B> pair : pairs) {
+            a.add(pair.a);
+            b.add(pair.b);
+        }
+        return $.T2(a.toArray(), b.toArray());
+    }
+
+    /**
+     * Returns a `Sequence` of the elements signalled by a {@link Flow.Publisher}.
+     *
+     * Every iteration of the returned `Sequence` subscribes to `publisher`
+     * and never requests more elements than `bufferSize`, i.e. it applies
+     * backpressure to the publisher when the iterating thread is slower. The
+     * iterating thread waits when no element is available.
+     *
+     * * An error signalled by the publisher is re-thrown to the iterating
+     *   thread after the elements before it are consumed.
+     * * The iterator returned by the `Sequence` is also an {@link AutoCloseable},
+     *   closing it cancels the subscription.
+     *
+     * @param publisher
+     *      the publisher
+     * @param bufferSize
+     *      the maximum number of elements requested but not yet consumed
+     * @param <T>
+     *      the type of the elements
+     * @return
+     *      a `Sequence` as described above
+     */
+    static <T> Sequence<T> fromPublisher(Flow.Publisher<? extends T> publisher, int bufferSize) {
+        return PublisherSequence.of(publisher, bufferSize);
+    }
+
     /**
      * Returns an immutable empty `Sequence`.
      *
@@ -0,0 +1,301 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * An immutable map kept in a key array sorted by a {@link Comparator} and
+ * a parallel value array.
+ *
+ * Compared to a `TreeMap` there is no entry object per mapping, and lookups
+ * are binary searches on a contiguous array rather than pointer chasing.
+ * Besides exact lookups it supports order based queries, e.g.
+ * {@link #floorValue(Object)}, and {@link #range(Object, Object) range} views.
+ *
+ * The map is built once with {@link #from(Iterable, Function, Function, Comparator)}
+ * and then read concurrently without synchronization. `null` keys are not
+ * permitted, `null` values are.
+ *
+ * For `int` and `long` keys use {@link IntSortedArrayMap} and
+ * {@link LongSortedArrayMap}, which also support interpolation search.
+ *
+ * @param <K>
+ *      the type of the keys
+ * @param <V>
+ *      the type of the values
+ */
+public final class SortedArrayMap<K, V> {
+
+    private final SortedArraySet<K> keys;
+    private final Object[] values;
+
+    private SortedArrayMap(SortedArraySet<K> keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Build a map from the elements of an `Iterable`, e.g. a {@link Traversable},
+     * with keys in their natural order.
+     *
+     * @param source
+     *      the source elements
+     * @param keyFn
+     *      the function to get the key from an element
+     * @param valueFn
+     *      the function to get the value from an element
+     * @param <T>
+     *      the type of the source elements
+     * @param <K>
+     *      the type of the keys
+     * @param <V>
+     *      the type of the values
+     * @return
+     *      the map
+     * @throws IllegalArgumentException
+     *      if two elements have the same key
+     */
+    public static <T, K extends Comparable<? super K>, V> SortedArrayMap<K, V> from(
+            Iterable<? extends T> source,
+            Function<? super T, ? extends K> keyFn,
+            Function<? super T, ? extends V> valueFn
+    ) {
+        return from(source, keyFn, valueFn, Comparator.naturalOrder());
+    }
+
+    /**
+     * Build a map from the elements of an `Iterable`, e.g. a {@link Traversable},
+     * with keys sorted by `comparator`.
+     *
+     * @param source
+     *      the source elements
+     * @param keyFn
+     *      the function to get the key from an element
+     * @param valueFn
+     *      the function to get the value from an element
+     * @param comparator
+     *      the comparator of the keys
+     * @param <T>
+     *      the type of the source elements
+     * @param <K>
+     *      the type of the keys
+     * @param <V>
+     *      the type of the values
+     * @return
+     *      the map
+     * @throws IllegalArgumentException
+     *      if two elements have keys that compare equal
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K, V> SortedArrayMap<K, V> from(
+            Iterable<? extends T> source,
+            Function<? super T, ? extends K> keyFn,
+            Function<? super T, ? extends V> valueFn,
+            Comparator<? super K> comparator
+    ) {
+        $.requireNotNull(keyFn);
+        $.requireNotNull(valueFn);
+        $.requireNotNull(comparator);
+        ArrayBuffer<Object[]> buffer = new ArrayBuffer<>(ArrayBuffer.capacityOf(source));
+        for (T t : source) {
+            buffer.add(new Object[]{$.requireNotNull(keyFn.apply(t)), valueFn.apply(t)});
+        }
+        Object[] pairs = buffer.toObjectArray();
+        Arrays.sort(pairs, (a, b) -> comparator.compare((K) ((Object[]) a)[0], (K) ((Object[]) b)[0]));
+        int n = pairs.length;
+        Object[] keys = new Object[n];
+        Object[] values = new Object[n];
+        for (int i = 0; i < n; ++i) {
+            Object[] pair = (Object[]) pairs[i];
+            keys[i] = pair[0];
+            values[i] = pair[1];
+            if (i > 0 && 0 == comparator.compare((K) keys[i - 1], (K) keys[i])) {
+                throw new IllegalArgumentException("duplicated key: " + keys[i]);
+            }
+        }
+        return new SortedArrayMap<>(SortedArraySet.wrap(keys, comparator), values);
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return
+     *      the size of this map
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Report whether this map has no mapping.
+     *
+     * @return
+     *      `true` if this map is empty
+     */
+    public boolean isEmpty() {
+        return 0 == values.length;
+    }
+
+    /**
+     * Report whether this map contains a mapping of `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      `true` if `key` is mapped
+     */
+    public boolean containsKey(K key) {
+        return keys.contains(key);
+    }
+
+    /**
+     * Returns the value mapped to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if `key` is not mapped
+     */
+    public V get(K key) {
+        return valueAt(keys.indexOf(key));
+    }
+
+    /**
+     * Returns the value mapped to the greatest key less than or equal to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if there is no such key
+     */
+    public V floorValue(K key) {
+        return valueAt(keys.floorIndex(key));
+    }
+
+    /**
+     * Returns the value mapped to the least key greater than or equal to `key`.
+     *
+     * @param key
+     *      the key
+     * @return
+     *      the value, or `null` if there is no such key
+     */
+    public V ceilingValue(K key) {
+        return valueAt(keys.ceilingIndex(key));
+    }
+
+    /**
+     * Returns the sorted keys of this map as a set. The set shares the key
+     * array with this map, and supports the index based queries, e.g.
+     * {@link SortedArraySet#floorIndex(Object)}, whose results can be passed
+     * to {@link #valueAt(int)}.
+     *
+     * @return
+     *      the key set
+     */
+    public SortedArraySet<K> keySet() {
+        return keys;
+    }
+
+    /**
+     * Returns the value at `index` in the order of keys.
+     *
+     * @param index
+     *      the index
+     * @return
+     *      the value, or `null` if `index` is negative
+     * @throws IndexOutOfBoundsException
+     *      if `index` is not less than the size
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Returns the mappings whose keys are in `[fromInclusive, toExclusive)` as a
+     * `Sequence` backed by this map.
+     *
+     * @param fromInclusive
+     *      the low end point (inclusive)
+     * @param toExclusive
+     *      the high end point (exclusive)
+     * @return
+     *      the mappings in range, in key order
+     */
+    public Sequence<T2<K, V>> range(K fromInclusive, K toExclusive) {
+        return entries(keys.rangeStart(fromInclusive), keys.rangeEnd(fromInclusive, toExclusive));
+    }
+
+    /**
+     * Returns the keys in order as a `Sequence`.
+     *
+     * @return
+     *      the keys
+     */
+    public Sequence<K> keys() {
+        return keys.elements();
+    }
+
+    /**
+     * Returns the values in key order as a `Sequence`.
+     *
+     * @return
+     *      the values
+     */
+    public Sequence<V> values() {
+        return new IndexedSequence<>(0, values.length, this::valueAt);
+    }
+
+    /**
+     * Returns the mappings in key order as a `Sequence`.
+     *
+     * @return
+     *      the mappings
+     */
+    public Sequence<T2<K, V>> entries() {
+        return entries(0, values.length);
+    }
+
+    /**
+     * Apply `action` to each mapping in key order.
+     *
+     * @param action
+     *      the function to apply to each key and value
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        $.requireNotNull(action);
+        for (int i = 0; i < values.length; ++i) {
+            action.accept(keys.get(i), valueAt(i));
+        }
+    }
+
+    private Sequence<T2<K, V>> entries(int from, int to) {
+        return new IndexedSequence<>(from, to, i -> $.T2(keys.get(i), valueAt(i)));
+    }
+
+}
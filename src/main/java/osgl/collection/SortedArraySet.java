@@ -0,0 +1,342 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * An immutable set kept in an array sorted by a {@link Comparator}.
+ *
+ * Lookups are binary searches on a contiguous array. Besides it supports
+ * order based queries: {@link #floorIndex(Object) floor},
+ * {@link #ceilingIndex(Object) ceiling}, {@link #lowerIndex(Object) lower}
+ * and {@link #higherIndex(Object) higher}, and {@link #range(Object, Object) range}
+ * views.
+ *
+ * The set is built once with {@link #from(Iterable, Comparator)} and then read
+ * concurrently without synchronization. `null` elements are not permitted.
+ *
+ * For `int` and `long` elements use {@link IntSortedArraySet} and
+ * {@link LongSortedArraySet}, which also support interpolation search.
+ *
+ * @param <T>
+ *      the type of the elements
+ * @see SortedArrayMap
+ */
+public final class SortedArraySet<T> {
+
+    private final Object[] elements;
+    private final Comparator<? super T> comparator;
+
+    private SortedArraySet(Object[] elements, Comparator<? super T> comparator) {
+        this.elements = elements;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns a set of the elements of an `Iterable`, e.g. a {@link Traversable},
+     * in their natural order. Duplicated elements are merged.
+     *
+     * @param elements
+     *      the elements
+     * @param <T>
+     *      the type of the elements
+     * @return
+     *      the set
+     */
+    public static <T extends Comparable<? super T>> SortedArraySet<T> from(Iterable<? extends T> elements) {
+        return from(elements, Comparator.naturalOrder());
+    }
+
+    /**
+     * Returns a set of the elements of an `Iterable`, e.g. a {@link Traversable},
+     * sorted by `comparator`. Elements that compare equal are merged.
+     *
+     * @param elements
+     *      the elements
+     * @param comparator
+     *      the comparator
+     * @param <T>
+     *      the type of the elements
+     * @return
+     *      the set
+     */
+    public static <T> SortedArraySet<T> from(Iterable<? extends T> elements, Comparator<? super T> comparator) {
+        $.requireNotNull(comparator);
+        ArrayBuffer<T> buffer = new ArrayBuffer<>(ArrayBuffer.capacityOf(elements));
+        for (T t : elements) {
+            buffer.add($.requireNotNull(t));
+        }
+        Object[] a = buffer.toObjectArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> cmp = (Comparator<Object>) comparator;
+        Arrays.sort(a, cmp);
+        int n = 0;
+        for (int i = 0; i < a.length; ++i) {
+            if (0 == n || 0 != cmp.compare(a[n - 1], a[i])) {
+                a[n++] = a[i];
+            }
+        }
+        return new SortedArraySet<>(n == a.length ? a : Arrays.copyOf(a, n), comparator);
+    }
+
+    /**
+     * Build the set from sorted distinct elements without copying.
+     */
+    static <T> SortedArraySet<T> wrap(Object[] sortedDistinct, Comparator<? super T> comparator) {
+        return new SortedArraySet<>(sortedDistinct, comparator);
+    }
+
+    /**
+     * Returns the comparator that sorts the elements.
+     *
+     * @return
+     *      the comparator
+     */
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return
+     *      the size of this set
+     */
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * Report whether this set has no element.
+     *
+     * @return
+     *      `true` if this set is empty
+     */
+    public boolean isEmpty() {
+        return 0 == elements.length;
+    }
+
+    /**
+     * Report whether this set contains `element`.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      `true` if this set contains an element that compares equal to `element`
+     */
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of `element` in the order of the elements.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      the index of `element` if found, or `-(insertionPoint + 1)` otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOf(T element) {
+        $.requireNotNull(element);
+        return Arrays.binarySearch(elements, 0, elements.length, element, (Comparator<Object>) comparator);
+    }
+
+    /**
+     * Returns the element at `index`.
+     *
+     * @param index
+     *      the index
+     * @return
+     *      the element
+     * @throws IndexOutOfBoundsException
+     *      if `index` is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) elements[index];
+    }
+
+    /**
+     * Returns the index of the greatest element less than or equal to `element`.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int floorIndex(T element) {
+        int i = indexOf(element);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Returns the index of the least element greater than or equal to `element`.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int ceilingIndex(T element) {
+        int i = indexOf(element);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return i < elements.length ? i : -1;
+    }
+
+    /**
+     * Returns the index of the greatest element strictly less than `element`.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int lowerIndex(T element) {
+        int i = indexOf(element);
+        return i >= 0 ? i - 1 : -i - 2;
+    }
+
+    /**
+     * Returns the index of the least element strictly greater than `element`.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      the index, or `-1` if there is no such element
+     */
+    public int higherIndex(T element) {
+        int i = indexOf(element);
+        i = i >= 0 ? i + 1 : -i - 1;
+        return i < elements.length ? i : -1;
+    }
+
+    /**
+     * Returns the greatest element less than or equal to `element`.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      the element found, or `null` if there is no such element
+     */
+    public T floor(T element) {
+        return elementAt(floorIndex(element));
+    }
+
+    /**
+     * Returns the least element greater than or equal to `element`.
+     *
+     * @param element
+     *      the element
+     * @return
+     *      the element found, or `null` if there is no such element
+     */
+    public T ceiling(T element) {
+        return elementAt(ceilingIndex(element));
+    }
+
+    /**
+     * Returns the elements in `[fromInclusive, toExclusive)` as a `Sequence`
+     * backed by this set.
+     *
+     * @param fromInclusive
+     *      the low end point (inclusive)
+     * @param toExclusive
+     *      the high end point (exclusive)
+     * @return
+     *      the elements in range, in order
+     */
+    public Sequence<T> range(T fromInclusive, T toExclusive) {
+        return new IndexedSequence<>(rangeStart(fromInclusive), rangeEnd(fromInclusive, toExclusive), this::get);
+    }
+
+    /**
+     * Returns the elements in order as a `Sequence` backed by this set.
+     *
+     * @return
+     *      the elements
+     */
+    public Sequence<T> elements() {
+        return new IndexedSequence<>(0, elements.length, this::get);
+    }
+
+    /**
+     * Apply `action` to each element in order.
+     *
+     * @param action
+     *      the function to apply to each element
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        $.requireNotNull(action);
+        for (Object o : elements) {
+            action.accept((T) o);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof SortedArraySet)) {
+            return false;
+        }
+        SortedArraySet<?> that = (SortedArraySet<?>) obj;
+        return $.eq(comparator, that.comparator) && Arrays.equals(elements, that.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(elements);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(elements);
+    }
+
+    int rangeStart(T fromInclusive) {
+        int i = indexOf(fromInclusive);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    int rangeEnd(T fromInclusive, T toExclusive) {
+        if (((Comparator<Object>) comparator).compare(toExclusive, fromInclusive) <= 0) {
+            return rangeStart(fromInclusive);
+        }
+        int i = indexOf(toExclusive);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private T elementAt(int index) {
+        return index < 0 ? null : get(index);
+    }
+
+}
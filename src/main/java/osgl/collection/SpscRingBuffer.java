@@ -0,0 +1,127 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * A bounded lock-free single-producer/single-consumer ring buffer.
+ *
+ * Exactly one thread may call {@link #offer(Object)} and exactly one
+ * (other) thread may call {@link #poll()}. The producer and consumer
+ * indexes are published with ordered (lazy) writes, so neither side
+ * ever takes a lock or issues a full fence on the fast path.
+ *
+ * `null` elements are not permitted.
+ *
+ * @param <T>
+ *      The type of the elements.
+ */
+final class SpscRingBuffer<T> {
+
+    private static final AtomicLongFieldUpdater<SpscRingBuffer> HEAD =
+            AtomicLongFieldUpdater.newUpdater(SpscRingBuffer.class, "head");
+    private static final AtomicLongFieldUpdater<SpscRingBuffer> TAIL =
+            AtomicLongFieldUpdater.newUpdater(SpscRingBuffer.class, "tail");
+
+    private final Object[] buffer;
+    private final int mask;
+
+    /**
+     * The index of the next element to poll. Written by consumer only.
+     */
+    private volatile long head;
+
+    /**
+     * The index of the next slot to offer into. Written by producer only.
+     */
+    private volatile long tail;
+
+    /**
+     * Producer local cache of {@link #head}, to avoid reading the
+     * volatile consumer index on every offer.
+     */
+    private long headCache;
+
+    /**
+     * Construct a ring buffer that can hold at least `capacity` elements.
+     *
+     * @param capacity
+     *      the minimum capacity, will be rounded up to the next power of 2.
+     */
+    SpscRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        buffer = new Object[size];
+        mask = size - 1;
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Offer an element. Must be called by the producer thread only.
+     *
+     * @param element
+     *      the non-null element
+     * @return
+     *      `true` if the element is added or `false` if the buffer is full
+     */
+    boolean offer(T element) {
+        long t = tail;
+        if (t - headCache >= buffer.length) {
+            headCache = head;
+            if (t - headCache >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = element;
+        TAIL.lazySet(this, t + 1);
+        return true;
+    }
+
+    /**
+     * Poll an element. Must be called by the consumer thread only.
+     *
+     * @return
+     *      the element polled or `null` if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        long h = head;
+        if (h >= tail) {
+            return null;
+        }
+        int i = (int) h & mask;
+        Object o = buffer[i];
+        buffer[i] = null;
+        HEAD.lazySet(this, h + 1);
+        return (T) o;
+    }
+
+    boolean isEmpty() {
+        return head >= tail;
+    }
+
+}
@@ -0,0 +1,507 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A table of {@link T2} rows stored column by column: each field is kept
+ * in its own {@link Column}, and primitive fields in primitive arrays, so a
+ * row takes no tuple object and no boxed fields.
+ *
+ * Rows are visited through a flyweight {@link Cursor}, which reads the
+ * fields of the current row directly from the columns, e.g.
+ *
+ * ```java
+ * IntColumn ids = new IntColumn();
+ * DoubleColumn scores = new DoubleColumn();
+ * T2Columns<Integer, Double> table = new T2Columns<>(ids, scores);
+ * ids.addInt(1); scores.addDouble(0.5);
+ * double total = table.sumDouble(T2Columns.Cursor::doubleB);
+ * ```
+ *
+ * {@link #filterRows(Predicate)}, {@link #mapRows(Function)} and friends work on the
+ * columns and never build tuples. The `Sequence` view, i.e. {@link #iterator()},
+ * creates a {@link Pair} per row and is meant for interoperability only.
+ *
+ * Values can be appended through {@link #add(Object, Object)} or directly to the
+ * columns, in which case all columns must be extended to the same size before
+ * the rows are read.
+ *
+ * @param <A>
+ *      the type of the first field
+ * @param <B>
+ *      the type of the second field
+ */
+public final class T2Columns<A, B> implements Sequence<T2<A, B>> {
+
+    private final Column<A> a;
+    private final Column<B> b;
+
+    /**
+     * Construct a `T2Columns` of the columns specified.
+     *
+     * @param a
+     *      the column of the first field
+     * @param b
+     *      the column of the second field
+     */
+    public T2Columns(Column<A> a, Column<B> b) {
+        this.a = $.requireNotNull(a);
+        this.b = $.requireNotNull(b);
+    }
+
+    /**
+     * Construct a `T2Columns` with an {@link ObjColumn} for each field.
+     */
+    public T2Columns() {
+        this(new ObjColumn<>(), new ObjColumn<>());
+    }
+
+    /**
+     * Returns the column of the first field.
+     *
+     * @return
+     *      the `a` column
+     */
+    public Column<A> a() {
+        return a;
+    }
+
+    /**
+     * Returns the column of the second field.
+     *
+     * @return
+     *      the `b` column
+     */
+    public Column<B> b() {
+        return b;
+    }
+
+    /**
+     * Append a row.
+     *
+     * @param a
+     *      the value of the first field
+     * @param b
+     *      the value of the second field
+     * @return
+     *      this table
+     */
+    public T2Columns<A, B> add(A a, B b) {
+        this.a.add(a);
+        this.b.add(b);
+        return this;
+    }
+
+    /**
+     * Append all rows of an `Iterable` of tuples.
+     *
+     * @param rows
+     *      the rows
+     * @return
+     *      this table
+     */
+    public T2Columns<A, B> addAll(Iterable<? extends T2<? extends A, ? extends B>> rows) {
+        for (T2<? extends A, ? extends B> row : rows) {
+            add(row.a, row.b);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return
+     *      the number of rows
+     * @throws IllegalStateException
+     *      if the columns have different sizes
+     */
+    @Override
+    public int size() {
+        int n = a.size();
+        if (b.size() != n) {
+            throw new IllegalStateException("columns have different sizes");
+        }
+        return n;
+    }
+
+    @Override
+    public boolean sized() {
+        return true;
+    }
+
+    /**
+     * Returns a new cursor positioned before the first row.
+     *
+     * @return
+     *      a cursor of the rows
+     */
+    public Cursor<A, B> cursor() {
+        return new Cursor<>(this);
+    }
+
+    /**
+     * Apply `action` to a cursor positioned at each row in turn.
+     *
+     * @param action
+     *      the action, which must not keep the cursor
+     */
+    public void forEachRow(Consumer<? super Cursor<A, B>> action) {
+        Cursor<A, B> cursor = cursor();
+        while (cursor.next()) {
+            action.accept(cursor);
+        }
+    }
+
+    /**
+     * Returns a new table of the rows matching `predicate`.
+     *
+     * @param predicate
+     *      the predicate on the cursor positioned at a row
+     * @return
+     *      the filtered table
+     */
+    public T2Columns<A, B> filterRows(Predicate<? super Cursor<A, B>> predicate) {
+        Cursor<A, B> cursor = cursor();
+        int[] rows = new int[cursor.size];
+        int n = 0;
+        while (cursor.next()) {
+            if (predicate.test(cursor)) {
+                rows[n++] = cursor.row;
+            }
+        }
+        return new T2Columns<>(a.copyRows(rows, n), b.copyRows(rows, n));
+    }
+
+    /**
+     * Returns a column of the results of applying `mapper` to each row.
+     *
+     * @param mapper
+     *      the function on the cursor positioned at a row
+     * @param <R>
+     *      the type of the results
+     * @return
+     *      the column of results
+     */
+    public <R> ObjColumn<R> mapRows(Function<? super Cursor<A, B>, ? extends R> mapper) {
+        Cursor<A, B> cursor = cursor();
+        ObjColumn<R> r = new ObjColumn<>(cursor.size);
+        while (cursor.next()) {
+            r.add(mapper.apply(cursor));
+        }
+        return r;
+    }
+
+    /**
+     * Returns an {@link IntColumn} of the results of applying `mapper` to each row.
+     *
+     * @param mapper
+     *      the function on the cursor positioned at a row
+     * @return
+     *      the column of results
+     */
+    public IntColumn mapRowsToInt(ToIntFunction<? super Cursor<A, B>> mapper) {
+        Cursor<A, B> cursor = cursor();
+        IntColumn r = new IntColumn(cursor.size);
+        while (cursor.next()) {
+            r.addInt(mapper.applyAsInt(cursor));
+        }
+        return r;
+    }
+
+    /**
+     * Returns a {@link LongColumn} of the results of applying `mapper` to each row.
+     *
+     * @param mapper
+     *      the function on the cursor positioned at a row
+     * @return
+     *      the column of results
+     */
+    public LongColumn mapRowsToLong(ToLongFunction<? super Cursor<A, B>> mapper) {
+        Cursor<A, B> cursor = cursor();
+        LongColumn r = new LongColumn(cursor.size);
+        while (cursor.next()) {
+            r.addLong(mapper.applyAsLong(cursor));
+        }
+        return r;
+    }
+
+    /**
+     * Returns a {@link DoubleColumn} of the results of applying `mapper` to each row.
+     *
+     * @param mapper
+     *      the function on the cursor positioned at a row
+     * @return
+     *      the column of results
+     */
+    public DoubleColumn mapRowsToDouble(ToDoubleFunction<? super Cursor<A, B>> mapper) {
+        Cursor<A, B> cursor = cursor();
+        DoubleColumn r = new DoubleColumn(cursor.size);
+        while (cursor.next()) {
+            r.addDouble(mapper.applyAsDouble(cursor));
+        }
+        return r;
+    }
+
+    /**
+     * Fold the rows with `accumulator` starting from `identity`.
+     *
+     * @param identity
+     *      the initial value
+     * @param accumulator
+     *      the function that combines the result so far with the cursor
+     *      positioned at the next row
+     * @param <R>
+     *      the type of the result
+     * @return
+     *      the result
+     */
+    public <R> R reduceRows(R identity, BiFunction<R, ? super Cursor<A, B>, R> accumulator) {
+        Cursor<A, B> cursor = cursor();
+        R r = identity;
+        while (cursor.next()) {
+            r = accumulator.apply(r, cursor);
+        }
+        return r;
+    }
+
+    /**
+     * Returns the sum of `mapper` over all rows.
+     *
+     * @param mapper
+     *      the function on the cursor positioned at a row
+     * @return
+     *      the sum
+     */
+    public long sumLong(ToLongFunction<? super Cursor<A, B>> mapper) {
+        Cursor<A, B> cursor = cursor();
+        long r = 0L;
+        while (cursor.next()) {
+            r += mapper.applyAsLong(cursor);
+        }
+        return r;
+    }
+
+    /**
+     * Returns the sum of `mapper` over all rows.
+     *
+     * @param mapper
+     *      the function on the cursor positioned at a row
+     * @return
+     *      the sum
+     */
+    public double sumDouble(ToDoubleFunction<? super Cursor<A, B>> mapper) {
+        Cursor<A, B> cursor = cursor();
+        double r = 0.0d;
+        while (cursor.next()) {
+            r += mapper.applyAsDouble(cursor);
+        }
+        return r;
+    }
+
+    /**
+     * Returns an iterator that creates a {@link Pair} for each row.
+     *
+     * @return
+     *      an iterator of the rows
+     */
+    @Override
+    public Iterator<T2<A, B>> iterator() {
+        final Cursor<A, B> cursor = cursor();
+        return new Iterator<T2<A, B>>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.row + 1 < cursor.size;
+            }
+
+            @Override
+            public T2<A, B> next() {
+                if (!cursor.next()) {
+                    throw new NoSuchElementException();
+                }
+                return cursor.toT2();
+            }
+        };
+    }
+
+    /**
+     * A flyweight view of the current row of a `T2Columns`.
+     *
+     * A cursor is positioned before the first row when created, and moved
+     * with {@link #next()}. The number of rows is taken when the cursor is
+     * created.
+     *
+     * @param <A>
+     *      the type of the first field
+     * @param <B>
+     *      the type of the second field
+     */
+    public static final class Cursor<A, B> {
+        private final Column<A> a;
+        private final Column<B> b;
+        private final int size;
+        private int row = -1;
+
+        private Cursor(T2Columns<A, B> columns) {
+            this.a = columns.a;
+            this.b = columns.b;
+            this.size = columns.size();
+        }
+
+        /**
+         * Move to the next row.
+         *
+         * @return
+         *      `true` if there is a next row
+         */
+        public boolean next() {
+            if (row + 1 < size) {
+                row++;
+                return true;
+            }
+            row = size;
+            return false;
+        }
+
+        /**
+         * Returns the index of the current row.
+         *
+         * @return
+         *      the row index
+         */
+        public int row() {
+            return row;
+        }
+
+        /**
+         * Returns the value of the first field in the current row.
+         *
+         * @return
+         *      the `a` value, boxed for a primitive column
+         */
+        public A a() {
+            return a.get(row);
+        }
+
+        /**
+         * Returns the `int` value of the first field in the current row.
+         *
+         * @return
+         *      the `a` value
+         * @throws UnsupportedOperationException
+         *      if the column does not hold `int` values, see {@link Column#getInt(int)}
+         */
+        public int intA() {
+            return a.getInt(row);
+        }
+
+        /**
+         * Returns the `long` value of the first field in the current row.
+         *
+         * @return
+         *      the `a` value
+         * @throws UnsupportedOperationException
+         *      if the column does not hold `long` values, see {@link Column#getLong(int)}
+         */
+        public long longA() {
+            return a.getLong(row);
+        }
+
+        /**
+         * Returns the `double` value of the first field in the current row.
+         *
+         * @return
+         *      the `a` value
+         * @throws UnsupportedOperationException
+         *      if the column does not hold `double` values, see {@link Column#getDouble(int)}
+         */
+        public double doubleA() {
+            return a.getDouble(row);
+        }
+
+        /**
+         * Returns the value of the second field in the current row.
+         *
+         * @return
+         *      the `b` value, boxed for a primitive column
+         */
+        public B b() {
+            return b.get(row);
+        }
+
+        /**
+         * Returns the `int` value of the second field in the current row.
+         *
+         * @return
+         *      the `b` value
+         * @throws UnsupportedOperationException
+         *      if the column does not hold `int` values, see {@link Column#getInt(int)}
+         */
+        public int intB() {
+            return b.getInt(row);
+        }
+
+        /**
+         * Returns the `long` value of the second field in the current row.
+         *
+         * @return
+         *      the `b` value
+         * @throws UnsupportedOperationException
+         *      if the column does not hold `long` values, see {@link Column#getLong(int)}
+         */
+        public long longB() {
+            return b.getLong(row);
+        }
+
+        /**
+         * Returns the `double` value of the second field in the current row.
+         *
+         * @return
+         *      the `b` value
+         * @throws UnsupportedOperationException
+         *      if the column does not hold `double` values, see {@link Column#getDouble(int)}
+         */
+        public double doubleB() {
+            return b.getDouble(row);
+        }
+
+        /**
+         * Returns a new {@link Pair} of the current row.
+         *
+         * @return
+         *      the current row as a tuple
+         */
+        public Pair<A, B> toT2() {
+            return new Pair<>(a.get(row), b.get(row));
+        }
+    }
+}
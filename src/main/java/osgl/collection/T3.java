@@ -50,6 +50,10 @@ public class T3<A, B, C> {
      */
     public final C c;
 
+    private int hash;
+
+    private long hash64;
+
     /**
      * Construct a `T3`
      *
@@ -94,11 +98,42 @@ public class T3<A, B, C> {
     /**
      * Returns {@link Object#hashCode()} of this `T3`.
      *
+     * The hash code is calculated on the first call and cached, thus the
+     * elements must not be changed once this `T3` is hashed, as for
+     * any key of a hash map.
+     *
      * @return hash code of this `T3`
      */
     @Override
     public int hashCode() {
-        return hc(a, b, c);
+        // racy single-check: `0` means not calculated yet
+        int h = hash;
+        if (0 == h) {
+            h = hc(a, b, c);
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Returns a 64-bit hash of this `T3`, for hash tables larger than
+     * the 32-bit {@link #hashCode()} can spread over, and for sketches.
+     *
+     * Unlike {@link #hashCode()} all bits of `long` and `double` elements
+     * and of the 64-bit hash of nested tuples contribute to the result, and
+     * the elements are mixed so that composite keys that differ in any
+     * element do not collide systematically. It is cached as
+     * {@link #hashCode()} is.
+     *
+     * @return a 64-bit hash of this `T3`
+     */
+    public long hash64() {
+        long h = hash64;
+        if (0L == h) {
+            h = TupleHashing.hash64(a, b, c);
+            hash64 = h;
+        }
+        return h;
     }
 
     /**
@@ -26,10 +26,15 @@ import osgl.exception.E;
 
 import java.io.Serializable;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
 /**
  * `Traversable` is a {@link Serializable} {@link Iterable} with functional programming extensions.
@@ -44,9 +49,27 @@ import java.util.function.Predicate;
  * * {@link #noneMatch(Predicate)}
  * * {@link #filter(Predicate)}
  * * {@link #findOne(Predicate)}
+ * * {@link #partition(Predicate)}
  * * {@link #accept(Consumer)}
  * * {@link #each(Consumer)}
  *
+ * Statistics methods:
+ *
+ * * {@link #summarize()}
+ * * {@link #summarize(ToDoubleFunction)}
+ * * {@link #summarizeWithQuantiles(ToDoubleFunction, double)}
+ *
+ * Sampling methods:
+ *
+ * * {@link #sample(int, Random)}
+ * * {@link #skipSample(int, Random)}
+ * * {@link #sampleFraction(double, Random)}
+ * * {@link #sampleBy(Function, int, Random)}
+ *
+ * Reactive streams methods:
+ *
+ * * {@link #toPublisher(Executor)}
+ *
  * Other methods:
  *
  * * {@link #sized()}
@@ -299,6 +322,42 @@ public interface Traversable<T> extends Iterable<T>, Serializable {
         return $.none();
     }
 
+    /**
+     * Split elements of this `Traversable` into two materialized `Sequence`s
+     * by the predicate specified: the first one contains all elements that
+     * pass the test and the second one contains all elements that fail the
+     * test.
+     *
+     * Unlike calling `filter(predicate)` and `filter(predicate.negate())`,
+     * this method iterates this `Traversable` only once and tests each element
+     * only once.
+     *
+     * ```java
+     *     T2<Sequence<Integer>, Sequence<Integer>> t2 = C.List(-1, 0, 1, -3, 7).partition(Predicates.gt(0));
+     *     // t2.a: [1, 7]
+     *     // t2.b: [-1, 0, -3]
+     * ```
+     *
+     * @param predicate
+     *      the function to test the element
+     * @return
+     *      a {@link T2} of the elements pass the test and the
+     *      elements fail the test
+     */
+    default T2<Sequence<T>, Sequence<T>> partition(Predicate<? super T> predicate) {
+        $.requireNotNull(predicate);
+        ArrayBuffer<T> pass = new ArrayBuffer<>();
+        ArrayBuffer<T> fail = new ArrayBuffer<>();
+        for (T t : this) {
+            if (predicate.test(t)) {
+                pass.add(t);
+            } else {
+                fail.add(t);
+            }
+        }
+        return $.T2(pass.toArray(), fail.toArray());
+    }
+
     /**
      * Iterate this `Traversable` with a visitor function. This method
      * does not specify the approach to iterate through this structure. The
@@ -328,6 +387,232 @@ public interface Traversable<T> extends Iterable<T>, Serializable {
         return accept(visitor);
     }
 
+    /**
+     * Returns a {@link DoubleSummary} of the values mapped from elements in
+     * this `Traversable` by `mapper`.
+     *
+     * The count, compensated sum, min, max, mean and variance are all
+     * calculated in one pass. Summaries of different `Traversable`s can
+     * be combined with {@link DoubleSummary#combine(DoubleSummary)}.
+     *
+     * @param mapper
+     *      the function that maps an element to a `double` value
+     * @return
+     *      the summary of the mapped values
+     */
+    default DoubleSummary summarize(ToDoubleFunction<? super T> mapper) {
+        return summarize(mapper, new DoubleSummary());
+    }
+
+    /**
+     * Returns a {@link DoubleSummary} of the values mapped from elements in
+     * this `Traversable` by `mapper`, which also tracks the quantiles of the
+     * values with a {@link QuantileSketch}.
+     *
+     * @param mapper
+     *      the function that maps an element to a `double` value
+     * @param relativeAccuracy
+     *      the relative accuracy of the quantile sketch, e.g. `0.01`
+     * @return
+     *      the summary of the mapped values
+     * @see DoubleSummary#quantile(double)
+     */
+    default DoubleSummary summarizeWithQuantiles(ToDoubleFunction<? super T> mapper, double relativeAccuracy) {
+        return summarize(mapper, DoubleSummary.withQuantiles(relativeAccuracy));
+    }
+
+    /**
+     * Returns a {@link DoubleSummary} of the elements in this `Traversable`.
+     *
+     * All elements in this `Traversable` must be {@link Number}s.
+     *
+     * @return
+     *      the summary of the elements
+     * @throws ClassCastException
+     *      if any element is not a `Number`
+     */
+    default DoubleSummary summarize() {
+        return summarize((t) -> ((Number) t).doubleValue());
+    }
+
+    /**
+     * Accumulate values mapped from elements in this `Traversable` into
+     * `summary`.
+     *
+     * @param mapper
+     *      the function that maps an element to a `double` value
+     * @param summary
+     *      the summary to accumulate values into
+     * @return
+     *      the `summary`
+     */
+    default DoubleSummary summarize(ToDoubleFunction<? super T> mapper, DoubleSummary summary) {
+        $.requireNotNull(mapper);
+        for (T t : this) {
+            summary.accept(mapper.applyAsDouble(t));
+        }
+        return summary;
+    }
+
+    /**
+     * Returns a uniform random sample of `k` elements from this `Traversable`.
+     *
+     * The sample is taken with reservoir sampling: this `Traversable` is
+     * iterated exactly once and at most `k` elements are held in memory,
+     * thus it can be used on huge lazy traversables that cannot be
+     * materialized. If there are less than `k` elements then all elements
+     * are returned.
+     *
+     * @param k
+     *      the number of elements to sample
+     * @param random
+     *      the random number generator
+     * @return
+     *      a `Sequence` of the sampled elements
+     * @throws IllegalArgumentException
+     *      if `k` is negative
+     * @see #skipSample(int, Random)
+     */
+    default Sequence<T> sample(int k, Random random) {
+        return Sampling.reservoir(iterator(), k, random);
+    }
+
+    /**
+     * Returns a uniform random sample of `k` elements from this `Traversable`
+     * using {@link ThreadLocalRandom}.
+     *
+     * @param k
+     *      the number of elements to sample
+     * @return
+     *      a `Sequence` of the sampled elements
+     * @see #sample(int, Random)
+     */
+    default Sequence<T> sample(int k) {
+        return sample(k, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns a uniform random sample of `k` elements from this `Traversable`
+     * using the skip based reservoir sampling (Algorithm L).
+     *
+     * Compare to {@link #sample(int, Random)} this method does not call the
+     * random number generator on every element. Instead it calculates how
+     * many elements shall be skipped before the next one is picked, which
+     * makes it much cheaper when the number of elements is far greater
+     * than `k`.
+     *
+     * @param k
+     *      the number of elements to sample
+     * @param random
+     *      the random number generator
+     * @return
+     *      a `Sequence` of the sampled elements
+     * @throws IllegalArgumentException
+     *      if `k` is negative
+     */
+    default Sequence<T> skipSample(int k, Random random) {
+        return Sampling.skipReservoir(iterator(), k, random);
+    }
+
+    /**
+     * Returns a lazy `Traversable` that keeps each element of this `Traversable`
+     * with probability `fraction`.
+     *
+     * The random number generator is called once per element kept instead of
+     * once per element visited.
+     *
+     * @param fraction
+     *      the probability to keep an element, in the range `[0, 1]`
+     * @param random
+     *      the random number generator
+     * @return
+     *      a `Traversable` as described above
+     * @throws IllegalArgumentException
+     *      if `fraction` is not in the range `[0, 1]`
+     */
+    default Traversable<T> sampleFraction(double fraction, Random random) {
+        $.requireNotNull(random);
+        return SampledTraversable.of(this, fraction, () -> random);
+    }
+
+    /**
+     * Returns a lazy `Traversable` that keeps each element of this `Traversable`
+     * with probability `fraction`, using the {@link ThreadLocalRandom} of the
+     * iterating thread.
+     *
+     * @param fraction
+     *      the probability to keep an element, in the range `[0, 1]`
+     * @return
+     *      a `Traversable` as described above
+     * @see #sampleFraction(double, Random)
+     */
+    default Traversable<T> sampleFraction(double fraction) {
+        return SampledTraversable.of(this, fraction, ThreadLocalRandom::current);
+    }
+
+    /**
+     * Returns a stratified sample of this `Traversable`: elements are grouped by
+     * `keyFn` and a uniform random sample of (at most) `k` elements is taken
+     * from each group.
+     *
+     * This `Traversable` is iterated once and at most `k` elements are held in
+     * memory for each group.
+     *
+     * @param keyFn
+     *      the function that maps an element to the key of its group
+     * @param k
+     *      the number of elements to sample from each group
+     * @param random
+     *      the random number generator
+     * @param <K>
+     *      the type of the group key
+     * @return
+     *      a map from group key to the sampled elements, iterated in the
+     *      order the keys are first encountered
+     */
+    default <K> Map<K, Sequence<T>> sampleBy(Function<? super T, ? extends K> keyFn, int k, Random random) {
+        return Sampling.stratified(iterator(), keyFn, k, random);
+    }
+
+    /**
+     * Returns a stratified sample of this `Traversable` using {@link ThreadLocalRandom}.
+     *
+     * @param keyFn
+     *      the function that maps an element to the key of its group
+     * @param k
+     *      the number of elements to sample from each group
+     * @param <K>
+     *      the type of the group key
+     * @return
+     *      a map from group key to the sampled elements
+     * @see #sampleBy(Function, int, Random)
+     */
+    default <K> Map<K, Sequence<T>> sampleBy(Function<? super T, ? extends K> keyFn, int k) {
+        return sampleBy(keyFn, k, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns a {@link Flow.Publisher} that emits the elements of this `Traversable`.
+     *
+     * Each subscriber gets a separate iteration of this `Traversable`, which
+     * runs on `executor` and emits elements only as long as the subscriber
+     * has outstanding demand requested via {@link Flow.Subscription#request(long)}.
+     * Thus a slow subscriber never causes elements to be buffered.
+     *
+     * * `onComplete` is signalled when the iteration reaches the end
+     * * an exception raised by the iteration is signalled via `onError`
+     * * a non-positive request is signalled via `onError` with an
+     *   {@link IllegalArgumentException}
+     *
+     * @param executor
+     *      the executor to run the iteration
+     * @return
+     *      a `Publisher` of the elements in this `Traversable`
+     */
+    default Flow.Publisher<T> toPublisher(Executor executor) {
+        return new IterablePublisher<>(this, executor);
+    }
+
     /**
      * Returns an immutable empty `Traversable`.
      *
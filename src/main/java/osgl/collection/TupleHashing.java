@@ -0,0 +1,63 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+/**
+ * Implements the 64-bit hash of {@link T2#hash64()} and {@link T3#hash64()}.
+ *
+ * Each element is reduced to 64 bits with {@link $#hc64(Object)}, which
+ * keeps all bits of `long` and `double` values and hashes strings,
+ * arrays, collections and nested tuples by their content instead of their
+ * 32-bit `hashCode()`. Then the elements are combined with the MurmurHash3
+ * finalizer, so every input bit affects every output bit.
+ */
+enum TupleHashing {
+    ;
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    static long hash64(Object a, Object b) {
+        return combine(combine(2, of(a)), of(b));
+    }
+
+    static long hash64(Object a, Object b, Object c) {
+        return combine(combine(combine(3, of(a)), of(b)), of(c));
+    }
+
+    private static long combine(long h, long v) {
+        return fmix(h * GOLDEN + v);
+    }
+
+    private static long of(Object o) {
+        return null == o ? 0L : $.hc64(o);
+    }
+
+    /**
+     * The MurmurHash3 64-bit finalizer.
+     */
+    static long fmix(long h) {
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,75 @@
+package osgl.func;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Represents an operation that accepts a `int`-valued and a object-valued
+ * argument, and returns no result. This is the `(int, V)`
+ * specialization of {@link BiConsumer}. Unlike most other functional
+ * interfaces, `IntObjConsumer` is expected to operate via side-effects.
+ *
+ * <p>This is a <a href="package-summary.html">functional interface</a>
+ * whose functional method is {@link #accept(int, Object)}.
+ *
+ * @param <V>
+ *         the type of the second argument to the operation
+ *
+ * @see BiConsumer
+ */
+@FunctionalInterface
+public interface IntObjConsumer<V> {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param key
+     *         the first input argument
+     * @param value
+     *         the second input argument
+     */
+    void accept(int key, V value);
+
+    /**
+     * Returns a composed `IntObjConsumer` that performs, in sequence, this
+     * operation followed by the `after` operation. If performing either
+     * operation throws an exception, it is relayed to the caller of the
+     * composed operation.  If performing this operation throws an exception,
+     * the `after` operation will not be performed.
+     *
+     * @param after
+     *         the operation to perform after this operation
+     * @return a composed `IntObjConsumer` that performs in sequence this
+     * operation followed by the `after` operation
+     * @throws NullPointerException
+     *         if `after` is null
+     */
+    default IntObjConsumer<V> andThen(IntObjConsumer<? super V> after) {
+        $.requireNotNull(after);
+        return (key, value) -> {
+            accept(key, value);
+            after.accept(key, value);
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package osgl.func;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import osgl.$;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Represents an operation that accepts a `long`-valued and a `long`-valued
+ * argument, and returns no result. This is the `(long, long)`
+ * specialization of {@link BiConsumer}. Unlike most other functional
+ * interfaces, `LongLongConsumer` is expected to operate via side-effects.
+ *
+ * <p>This is a <a href="package-summary.html">functional interface</a>
+ * whose functional method is {@link #accept(long, long)}.
+ *
+ * @see BiConsumer
+ */
+@FunctionalInterface
+public interface LongLongConsumer {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param key
+     *         the first input argument
+     * @param value
+     *         the second input argument
+     */
+    void accept(long key, long value);
+
+    /**
+     * Returns a composed `LongLongConsumer` that performs, in sequence, this
+     * operation followed by the `after` operation. If performing either
+     * operation throws an exception, it is relayed to the caller of the
+     * composed operation.  If performing this operation throws an exception,
+     * the `after` operation will not be performed.
+     *
+     * @param after
+     *         the operation to perform after this operation
+     * @return a composed `LongLongConsumer` that performs in sequence this
+     * operation followed by the `after` operation
+     * @throws NullPointerException
+     *         if `after` is null
+     */
+    default LongLongConsumer andThen(LongLongConsumer after) {
+        $.requireNotNull(after);
+        return (key, value) -> {
+            accept(key, value);
+            after.accept(key, value);
+        };
+    }
+}
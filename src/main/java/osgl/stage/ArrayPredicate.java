@@ -0,0 +1,61 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.function.Predicate;
+
+/**
+ * Tests an array and its elements, see {@link ObjectPredicate}.
+ *
+ * The element tests return `false` if the array is `null`.
+ * {@link #allNotNull()} and {@link #allMatch(Predicate)} test arrays
+ * with many elements in parallel on a multi-core machine.
+ *
+ * @param <E>
+ *      the element type
+ */
+public class ArrayPredicate<E> extends ObjectPredicate<E[]> {
+
+    public ArrayPredicate(E[] target) {
+        super(target);
+    }
+
+    public boolean allNotNull() {
+        return null != target && Bulk.firstNull(target) < 0;
+    }
+
+    /**
+     * Returns `true` if all elements of the array satisfy `predicate`,
+     * which must be thread safe.
+     *
+     * @param predicate
+     *      the predicate
+     * @return `true` if no element fails `predicate`
+     */
+    public boolean allMatch(Predicate<? super E> predicate) {
+        return null != target && Bulk.firstMismatch(target, predicate) < 0;
+    }
+
+    public boolean noDuplicates() {
+        return null != target && Bulk.firstDuplicate(target) < 0;
+    }
+
+}
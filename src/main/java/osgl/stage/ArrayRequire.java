@@ -0,0 +1,132 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.function.Predicate;
+
+/**
+ * Checks an array and its elements, see {@link ObjectRequire}.
+ *
+ * All checks except {@link #notNull()} throw a {@link NullPointerException}
+ * if the array is `null`. A failed element check reports the index of the
+ * first failing element.
+ *
+ * @param <E>
+ *      the element type
+ */
+public class ArrayRequire<E> extends ObjectRequire<E[]> {
+
+    public ArrayRequire(E[] target) {
+        super(target);
+    }
+
+    public ArrayRequire(E[] target, String name) {
+        super(target, name);
+    }
+
+    /**
+     * Checks that the array is not empty.
+     *
+     * @return the array
+     */
+    public E[] notEmpty() {
+        if (0 == notNull().length) {
+            throw Failures.illegal("%s must not be empty", Failures.nameOf(name));
+        }
+        return target;
+    }
+
+    /**
+     * Checks that the length of the array is between `min` and `max`, inclusive.
+     *
+     * @param min
+     *      the minimum length
+     * @param max
+     *      the maximum length
+     * @return the array
+     */
+    public E[] sizeBetween(int min, int max) {
+        int len = notNull().length;
+        if (len < min || len > max) {
+            throw Failures.illegal("size of %s must be between %s and %s: %s", Failures.nameOf(name), min, max, len);
+        }
+        return target;
+    }
+
+    /**
+     * Checks that no element of the array is `null`.
+     *
+     * Arrays with many elements are checked in parallel on a multi-core
+     * machine.
+     *
+     * @return the array
+     * @throws NullPointerException
+     *      if an element is `null`
+     */
+    public E[] allNotNull() {
+        E[] a = notNull();
+        int i = Bulk.firstNull(a);
+        if (i >= 0) {
+            throw Failures.nullElement(name, i);
+        }
+        return a;
+    }
+
+    /**
+     * Checks that all elements of the array satisfy `predicate`.
+     *
+     * Arrays with many elements are checked in parallel on a multi-core
+     * machine, thus `predicate` must be thread safe.
+     *
+     * @param predicate
+     *      the predicate
+     * @return the array
+     * @throws IllegalArgumentException
+     *      if an element does not satisfy the predicate
+     */
+    public E[] allMatch(Predicate<? super E> predicate) {
+        E[] a = notNull();
+        int i = Bulk.firstMismatch(a, predicate);
+        if (i >= 0) {
+            throw Failures.illegal("%s[%s] is invalid: %s", Failures.nameOf(name), i, a[i]);
+        }
+        return a;
+    }
+
+    /**
+     * Checks that no two elements of the array are equal. The reported
+     * index is the first element that equals an element before it.
+     *
+     * @return the array
+     * @throws IllegalArgumentException
+     *      if an element is a duplicate
+     */
+    public E[] noDuplicates() {
+        E[] a = notNull();
+        int i = Bulk.firstDuplicate(a);
+        if (i >= 0) {
+            throw Failures.illegal("%s[%s] is a duplicate: %s", Failures.nameOf(name), i, a[i]);
+        }
+        return a;
+    }
+
+}
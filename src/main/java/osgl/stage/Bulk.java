@@ -0,0 +1,237 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Implements the element checks of the array and collection stages.
+ *
+ * Each method returns the index of the first failing element, or `-1`
+ * if all elements pass. If the common `ForkJoinPool` has more than one
+ * worker, {@link #firstNull(Object[])} and
+ * {@link #firstMismatch(Object[], Predicate)} split inputs with at least
+ * {@link #PARALLEL_THRESHOLD} elements into chunks of
+ * {@link #PARALLEL_CHUNK} elements and check them in the pool. The
+ * chunks share the lowest failing index found so far: a chunk that
+ * starts at or after it is skipped and a running chunk stops when it
+ * reaches it, thus a failure cancels the remaining work after it while
+ * the reported index is still the first one, exactly as the sequential
+ * scan reports it.
+ *
+ * Duplicates are always found sequentially with a `HashSet`, which
+ * needs neither a concurrent map nor a boxed index per element.
+ */
+enum Bulk {
+    ;
+
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private static final int PARALLEL_CHUNK = 1 << 12;
+
+    static int firstNull(Object[] a) {
+        if (!inParallel(a.length)) {
+            for (int i = 0; i < a.length; ++i) {
+                if (null == a[i]) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        return parallel(a, Objects::isNull);
+    }
+
+    static int firstNull(Collection<?> c) {
+        if (!inParallel(c.size())) {
+            int i = 0;
+            for (Object e : c) {
+                if (null == e) {
+                    return i;
+                }
+                i++;
+            }
+            return -1;
+        }
+        return parallel(c.toArray(), Objects::isNull);
+    }
+
+    static <E> int firstMismatch(E[] a, Predicate<? super E> predicate) {
+        if (!inParallel(a.length)) {
+            for (int i = 0; i < a.length; ++i) {
+                if (!predicate.test(a[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        return parallel(a, mismatch(predicate));
+    }
+
+    static <E> int firstMismatch(Collection<E> c, Predicate<? super E> predicate) {
+        if (!inParallel(c.size())) {
+            int i = 0;
+            for (E e : c) {
+                if (!predicate.test(e)) {
+                    return i;
+                }
+                i++;
+            }
+            return -1;
+        }
+        return parallel(c.toArray(), mismatch(predicate));
+    }
+
+    /**
+     * Returns the index of the first element that equals an element
+     * before it.
+     */
+    static int firstDuplicate(Object[] a) {
+        Set<Object> seen = new HashSet<>(a.length * 4 / 3 + 1);
+        for (int i = 0; i < a.length; ++i) {
+            if (!seen.add(a[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int firstDuplicate(Collection<?> c) {
+        Set<Object> seen = new HashSet<>(c.size() * 4 / 3 + 1);
+        Iterator<?> itr = c.iterator();
+        for (int i = 0; itr.hasNext(); ++i) {
+            if (!seen.add(itr.next())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns `true` if `size` elements shall be checked in parallel.
+     * On a single worker the chunking would only add overhead.
+     */
+    private static boolean inParallel(int size) {
+        return size >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Predicate<Object> mismatch(Predicate<? super E> predicate) {
+        Predicate<E> p = (Predicate<E>) predicate;
+        return e -> !p.test((E) e);
+    }
+
+    static int parallel(Object[] a, Predicate<Object> failure) {
+        AtomicInteger first = new AtomicInteger(a.length);
+        ForkJoinPool.commonPool().invoke(new Scan(a, 0, a.length, first, failure));
+        return result(first, a.length);
+    }
+
+    private static int result(AtomicInteger first, int length) {
+        int i = first.get();
+        return i < length ? i : -1;
+    }
+
+    /**
+     * Lowers `first` to `index` unless it is already lower.
+     */
+    private static void fail(AtomicInteger first, int index) {
+        int cur;
+        while (index < (cur = first.get())) {
+            if (first.compareAndSet(cur, index)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A range of elements to be checked. Subclasses check a single
+     * chunk; the splitting forks the upper half so that the lower half,
+     * which may cancel it, runs first in the current thread.
+     */
+    private static abstract class Range extends RecursiveAction {
+        final Object[] a;
+        final int from;
+        final int to;
+        final AtomicInteger first;
+
+        Range(Object[] a, int from, int to, AtomicInteger first) {
+            this.a = a;
+            this.from = from;
+            this.to = to;
+            this.first = first;
+        }
+
+        @Override
+        protected final void compute() {
+            if (from >= first.get()) {
+                return;
+            }
+            if (to - from <= PARALLEL_CHUNK) {
+                check();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            Range upper = split(mid, to);
+            upper.fork();
+            split(from, mid).compute();
+            upper.join();
+        }
+
+        abstract Range split(int from, int to);
+
+        abstract void check();
+    }
+
+    private static final class Scan extends Range {
+        private final Predicate<Object> failure;
+
+        Scan(Object[] a, int from, int to, AtomicInteger first, Predicate<Object> failure) {
+            super(a, from, to, first);
+            this.failure = failure;
+        }
+
+        @Override
+        Range split(int from, int to) {
+            return new Scan(a, from, to, first, failure);
+        }
+
+        @Override
+        void check() {
+            for (int i = from; i < to; ++i) {
+                if (i >= first.get()) {
+                    return;
+                }
+                if (failure.test(a[i])) {
+                    fail(first, i);
+                    return;
+                }
+            }
+        }
+    }
+}
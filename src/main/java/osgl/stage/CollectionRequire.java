@@ -0,0 +1,147 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Checks a collection and its elements, see {@link ObjectRequire}.
+ *
+ * All checks except {@link #notNull()} throw a {@link NullPointerException}
+ * if the collection is `null`. A failed element check reports the index,
+ * in iteration order, of the first failing element.
+ *
+ * @param <E>
+ *      the element type
+ * @param <C>
+ *      the collection type
+ */
+public class CollectionRequire<E, C extends Collection<E>> extends ObjectRequire<C> {
+
+    public CollectionRequire(C target) {
+        super(target);
+    }
+
+    public CollectionRequire(C target, String name) {
+        super(target, name);
+    }
+
+    /**
+     * Checks that the collection is not empty.
+     *
+     * @return the collection
+     */
+    public C notEmpty() {
+        if (notNull().isEmpty()) {
+            throw Failures.illegal("%s must not be empty", Failures.nameOf(name));
+        }
+        return target;
+    }
+
+    /**
+     * Checks that the size of the collection is between `min` and `max`, inclusive.
+     *
+     * @param min
+     *      the minimum size
+     * @param max
+     *      the maximum size
+     * @return the collection
+     */
+    public C sizeBetween(int min, int max) {
+        int size = notNull().size();
+        if (size < min || size > max) {
+            throw Failures.illegal("size of %s must be between %s and %s: %s", Failures.nameOf(name), min, max, size);
+        }
+        return target;
+    }
+
+    /**
+     * Checks that no element of the collection is `null`.
+     *
+     * Collections with many elements are copied to an array and checked
+     * in parallel on a multi-core machine.
+     *
+     * @return the collection
+     * @throws NullPointerException
+     *      if an element is `null`
+     */
+    public C allNotNull() {
+        int i = Bulk.firstNull(notNull());
+        if (i >= 0) {
+            throw Failures.nullElement(name, i);
+        }
+        return target;
+    }
+
+    /**
+     * Checks that all elements of the collection satisfy `predicate`.
+     *
+     * Collections with many elements are copied to an array and checked
+     * in parallel on a multi-core machine, thus `predicate` must be
+     * thread safe.
+     *
+     * @param predicate
+     *      the predicate
+     * @return the collection
+     * @throws IllegalArgumentException
+     *      if an element does not satisfy the predicate
+     */
+    public C allMatch(Predicate<? super E> predicate) {
+        int i = Bulk.firstMismatch(notNull(), predicate);
+        if (i >= 0) {
+            throw Failures.illegal("%s[%s] is invalid: %s", Failures.nameOf(name), i, elementAt(i));
+        }
+        return target;
+    }
+
+    /**
+     * Checks that no two elements of the collection are equal. The
+     * reported index is the first element that equals an element before
+     * it in iteration order.
+     *
+     * @return the collection
+     * @throws IllegalArgumentException
+     *      if an element is a duplicate
+     */
+    public C noDuplicates() {
+        int i = Bulk.firstDuplicate(notNull());
+        if (i >= 0) {
+            throw Failures.illegal("%s[%s] is a duplicate: %s", Failures.nameOf(name), i, elementAt(i));
+        }
+        return target;
+    }
+
+    private E elementAt(int index) {
+        if (target instanceof List) {
+            return ((List<E>) target).get(index);
+        }
+        Iterator<E> itr = target.iterator();
+        for (int i = 0; i < index; ++i) {
+            itr.next();
+        }
+        return itr.next();
+    }
+
+}
@@ -0,0 +1,132 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+/**
+ * Checks a `double` value without boxing it, see {@link ObjectRequire}.
+ *
+ * A failed check throws an {@link IllegalArgumentException}.
+ */
+public final class DoubleRequire {
+
+    private final double value;
+    private final String name;
+
+    public DoubleRequire(double value) {
+        this(value, null);
+    }
+
+    public DoubleRequire(double value, String name) {
+        this.value = value;
+        this.name = name;
+    }
+
+    /**
+     * Checks that the value is greater than zero.
+     *
+     * @return the value
+     */
+    public double positive() {
+        if (!(value > 0)) {
+            throw Failures.illegal("%s must be positive: %s", Failures.nameOf(name), value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is not less than zero.
+     *
+     * @return the value
+     */
+    public double notNegative() {
+        if (!(value >= 0)) {
+            throw Failures.illegal("%s must not be negative: %s", Failures.nameOf(name), value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is not less than `min`.
+     *
+     * @param min
+     *      the minimum value
+     * @return the value
+     */
+    public double atLeast(double min) {
+        if (!(value >= min)) {
+            throw Failures.illegal("%s must be at least %s: %s", Failures.nameOf(name), min, value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is not greater than `max`.
+     *
+     * @param max
+     *      the maximum value
+     * @return the value
+     */
+    public double atMost(double max) {
+        if (!(value <= max)) {
+            throw Failures.illegal("%s must be at most %s: %s", Failures.nameOf(name), max, value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is between `min` and `max`, inclusive.
+     *
+     * @param min
+     *      the minimum value
+     * @param max
+     *      the maximum value
+     * @return the value
+     */
+    public double between(double min, double max) {
+        if (!(value >= min && value <= max)) {
+            throw Failures.illegal("%s must be between %s and %s: %s", Failures.nameOf(name), min, max, value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is neither infinite nor `NaN`.
+     *
+     * @return the value
+     */
+    public double finite() {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw Failures.illegal("%s must be finite: %s", Failures.nameOf(name), value);
+        }
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Double.hashCode(value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || (obj instanceof DoubleRequire && Double.compare(value, ((DoubleRequire) obj).value) == 0);
+    }
+}
@@ -0,0 +1,50 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+/**
+ * Builds the exceptions thrown by the `require` stages.
+ *
+ * The message templates are constants and formatted with
+ * `String.format` only when a check fails, thus a successful check does
+ * not allocate. The methods are kept out of the check methods so that
+ * the checks stay small enough to be inlined.
+ */
+enum Failures {
+    ;
+
+    static String nameOf(String name) {
+        return null == name ? "value" : name;
+    }
+
+    static NullPointerException nullValue(String name) {
+        return null == name ? new NullPointerException() : new NullPointerException(name + " must not be null");
+    }
+
+    static NullPointerException nullElement(String name, int index) {
+        return new NullPointerException(String.format("%s[%s] must not be null", nameOf(name), index));
+    }
+
+    static IllegalArgumentException illegal(String template, Object... args) {
+        return new IllegalArgumentException(String.format(template, args));
+    }
+}
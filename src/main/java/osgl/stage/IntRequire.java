@@ -0,0 +1,136 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+/**
+ * Checks a `int` value without boxing it, see {@link ObjectRequire}.
+ *
+ * A failed check throws an {@link IllegalArgumentException}.
+ */
+public final class IntRequire {
+
+    private final int value;
+    private final String name;
+
+    public IntRequire(int value) {
+        this(value, null);
+    }
+
+    public IntRequire(int value, String name) {
+        this.value = value;
+        this.name = name;
+    }
+
+    /**
+     * Checks that the value is greater than zero.
+     *
+     * @return the value
+     */
+    public int positive() {
+        if (!(value > 0)) {
+            throw Failures.illegal("%s must be positive: %s", Failures.nameOf(name), value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is not less than zero.
+     *
+     * @return the value
+     */
+    public int notNegative() {
+        if (!(value >= 0)) {
+            throw Failures.illegal("%s must not be negative: %s", Failures.nameOf(name), value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is not less than `min`.
+     *
+     * @param min
+     *      the minimum value
+     * @return the value
+     */
+    public int atLeast(int min) {
+        if (!(value >= min)) {
+            throw Failures.illegal("%s must be at least %s: %s", Failures.nameOf(name), min, value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is not greater than `max`.
+     *
+     * @param max
+     *      the maximum value
+     * @return the value
+     */
+    public int atMost(int max) {
+        if (!(value <= max)) {
+            throw Failures.illegal("%s must be at most %s: %s", Failures.nameOf(name), max, value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is between `min` and `max`, inclusive.
+     *
+     * @param min
+     *      the minimum value
+     * @param max
+     *      the maximum value
+     * @return the value
+     */
+    public int between(int min, int max) {
+        if (!(value >= min && value <= max)) {
+            throw Failures.illegal("%s must be between %s and %s: %s", Failures.nameOf(name), min, max, value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks that the value is a valid index of a sequence of `size` elements.
+     *
+     * @param size
+     *      the size of the sequence
+     * @return the value
+     * @throws IndexOutOfBoundsException
+     *      if the value is negative or not less than `size`
+     */
+    public int validIndex(int size) {
+        if (value < 0 || value >= size) {
+            throw new IndexOutOfBoundsException(String.format("%s out of bounds [0, %s): %s", Failures.nameOf(name), size, value));
+        }
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || (obj instanceof IntRequire && Integer.compare(value, ((IntRequire) obj).value) == 0);
+    }
+}
@@ -20,18 +20,121 @@ package osgl.stage;
  * #L%
  */
 
+
+import java.util.function.Predicate;
+
+/**
+ * Checks an object and returns it if the check passes.
+ *
+ * A failed check throws a {@link NullPointerException} if the object is
+ * `null`, or an {@link IllegalArgumentException}. The error message is
+ * formatted only when a check fails, and it includes the name of the
+ * object if it is specified with `$.require(target, name)`.
+ *
+ * ```java
+ * this.handler = $.require(handler, "handler").notNull();
+ * this.port = $.require(port, "port").between(1, 65535);
+ * this.name = $.require(name, "name").notBlank();
+ * ```
+ *
+ * @param <T>
+ *      the type of the object
+ */
 public class ObjectRequire<T> extends ObjectStage<T> {
 
     public ObjectRequire(T target) {
         super(target);
     }
 
+    public ObjectRequire(T target, String name) {
+        super(target, name);
+    }
+
     public T notNull() {
         if (null == target) {
-            throw new NullPointerException();
+            throw Failures.nullValue(name);
+        }
+        return target;
+    }
+
+    /**
+     * Checks that the object is an instance of `type`.
+     *
+     * @param type
+     *      the type
+     * @return the object
+     * @throws NullPointerException
+     *      if the object is `null`
+     * @throws IllegalArgumentException
+     *      if the object is not an instance of `type`
+     */
+    public T instanceOf(Class<?> type) {
+        if (!type.isInstance(notNull())) {
+            throw Failures.illegal("%s must be an instance of %s: %s", Failures.nameOf(name), type.getName(), target.getClass().getName());
+        }
+        return target;
+    }
+
+    /**
+     * Checks that the object satisfies `predicate`.
+     *
+     * @param predicate
+     *      the predicate, it is called with `null` if the object is `null`
+     * @param message
+     *      the message of the exception, used as is, thus it can contain `%`
+     * @return the object
+     * @throws IllegalArgumentException
+     *      if the object does not satisfy `predicate`
+     */
+    public T satisfies(Predicate<? super T> predicate, String message) {
+        if (!predicate.test(target)) {
+            throw new IllegalArgumentException(message);
+        }
+        return target;
+    }
+
+    /**
+     * Checks that the object satisfies `predicate`.
+     *
+     * @param predicate
+     *      the predicate, it is called with `null` if the object is `null`
+     * @param template
+     *      the message template in `String.format` syntax, formatted only
+     *      if the check fails, a literal `%` must be written as `%%`
+     * @param arg
+     *      the argument of the message template
+     * @return the object
+     * @throws IllegalArgumentException
+     *      if the object does not satisfy `predicate`
+     */
+    public T satisfies(Predicate<? super T> predicate, String template, Object arg) {
+        if (!predicate.test(target)) {
+            throw Failures.illegal(template, arg);
         }
         return target;
     }
 
+    /**
+     * Checks that the object satisfies `predicate`.
+     *
+     * @param predicate
+     *      the predicate, it is called with `null` if the object is `null`
+     * @param template
+     *      the message template in `String.format` syntax, formatted only
+     *      if the check fails, a literal `%` must be written as `%%`
+     * @param arg1
+     *      the first argument of the message template
+     * @param arg2
+     *      the second argument of the message template
+     * @return the object
+     * @throws IllegalArgumentException
+     *      if the object does not satisfy `predicate`
+     */
+    public T satisfies(Predicate<? super T> predicate, String template, Object arg1, Object arg2) {
+        if (!predicate.test(target)) {
+            throw Failures.illegal(template, arg1, arg2);
+        }
+        return target;
+    }
 
 }
@@ -20,14 +20,25 @@ package osgl.stage;
  * #L%
  */
 
+
 import osgl.$;
 
 class ObjectStage<T> {
 
-    T target;
+    final T target;
+
+    /**
+     * The name of the target used in error messages, can be `null`.
+     */
+    final String name;
 
     ObjectStage(T target) {
+        this(target, null);
+    }
+
+    ObjectStage(T target, String name) {
         this.target = target;
+        this.name = name;
     }
 
     @Override
@@ -0,0 +1,121 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import osgl.func.CharPredicate;
+
+import java.util.regex.Pattern;
+
+/**
+ * Checks a `String`, see {@link ObjectRequire}.
+ *
+ * All checks except {@link #notNull()} throw a {@link NullPointerException}
+ * if the string is `null`.
+ */
+public class StringRequire extends ObjectRequire<String> {
+
+    public StringRequire(String target) {
+        super(target);
+    }
+
+    public StringRequire(String target, String name) {
+        super(target, name);
+    }
+
+    /**
+     * Checks that the string is not empty.
+     *
+     * @return the string
+     */
+    public String notEmpty() {
+        if (notNull().isEmpty()) {
+            throw Failures.illegal("%s must not be empty", Failures.nameOf(name));
+        }
+        return target;
+    }
+
+    /**
+     * Checks that the string contains a character which is not whitespace.
+     *
+     * @return the string
+     */
+    public String notBlank() {
+        String s = notNull();
+        for (int i = 0, n = s.length(); i < n; ++i) {
+            if (!Character.isWhitespace(s.charAt(i))) {
+                return s;
+            }
+        }
+        throw Failures.illegal("%s must not be blank", Failures.nameOf(name));
+    }
+
+    /**
+     * Checks that the length of the string is between `min` and `max`, inclusive.
+     *
+     * @param min
+     *      the minimum length
+     * @param max
+     *      the maximum length
+     * @return the string
+     */
+    public String lengthBetween(int min, int max) {
+        int len = notNull().length();
+        if (len < min || len > max) {
+            throw Failures.illegal("length of %s must be between %s and %s: %s", Failures.nameOf(name), min, max, len);
+        }
+        return target;
+    }
+
+    /**
+     * Checks that all characters of the string match `predicate`.
+     *
+     * @param predicate
+     *      the character predicate
+     * @return the string
+     * @throws IllegalArgumentException
+     *      if a character does not match, the message reports its index
+     */
+    public String matches(CharPredicate predicate) {
+        String s = notNull();
+        for (int i = 0, n = s.length(); i < n; ++i) {
+            if (!predicate.test(s.charAt(i))) {
+                throw Failures.illegal("%s contains an invalid character '%s' at index %s", Failures.nameOf(name), s.charAt(i), i);
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Checks that the string matches `pattern` entirely.
+     *
+     * @param pattern
+     *      the pattern
+     * @return the string
+     */
+    public String matches(Pattern pattern) {
+        if (!pattern.matcher(notNull()).matches()) {
+            throw Failures.illegal("%s must match %s: %s", Failures.nameOf(name), pattern.pattern(), target);
+        }
+        return target;
+    }
+
+}
@@ -0,0 +1,179 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+public class ConvertTest extends TestBase {
+
+    private static final class Money {
+        final long cents;
+
+        Money(long cents) {
+            this.cents = cents;
+        }
+    }
+
+    @After
+    public void clearConverters() {
+        $.conf.clearConverters();
+    }
+
+    @Test
+    public void primitivesAndWrappers() {
+        eq(8080, $.convert("8080", int.class));
+        eq(8080L, $.convert(" 8080 ", Long.class));
+        eq(3, $.convert(3.0d, int.class));
+        eq(2.5d, $.convert("2.5", double.class));
+        eq((short) 7, $.convert(7L, short.class));
+        eq('x', $.convert("x", char.class));
+        eq(true, $.convert("TRUE", boolean.class));
+        eq(1, $.convert(true, int.class));
+        eq(97L, $.convert('a', long.class));
+    }
+
+    @Test
+    public void lossyNumberConversionsShallFail() {
+        int failures = 0;
+        Object[][] lossy = {
+                {3_000_000_000L, int.class}, {3.9d, int.class}, {3.9d, long.class},
+                {Double.NaN, long.class}, {1e19d, long.class}, {70000, short.class},
+                {200, byte.class}, {new BigDecimal("1.5"), Integer.class},
+                {new BigInteger("10000000000000000000"), long.class}
+        };
+        for (Object[] pair : lossy) {
+            try {
+                $.convert(pair[0], (Class<?>) pair[1]);
+            } catch (IllegalArgumentException e) {
+                failures++;
+            }
+        }
+        eq(lossy.length, failures);
+        eq(-128, (int) $.convert(-128L, byte.class));
+        eq(Long.MIN_VALUE, $.convert(-0x1p63, long.class));
+        eq(12, $.convert(new BigDecimal("12.00"), int.class));
+        try {
+            $.convertToInt(3_000_000_000L);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("Cannot convert 3000000000 to int without loss", e.getMessage());
+        }
+        try {
+            $.convertToLong(42.9d);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void nullValue() {
+        isNull($.convert(null, Integer.class));
+        isNull($.convert(null, String.class));
+        eq(0, $.convert(null, int.class));
+        eq(false, $.convert(null, boolean.class));
+        eq((char) 0, $.convert(null, char.class));
+        eq(0, $.convertToInt(null));
+    }
+
+    @Test
+    public void bigNumbers() {
+        eq(new BigDecimal("12.5"), $.convert(12.5d, BigDecimal.class));
+        eq(new BigDecimal("1.10"), $.convert("1.10", BigDecimal.class));
+        eq(BigInteger.valueOf(42), $.convert("42", BigInteger.class));
+        eq(BigInteger.valueOf(42), $.convert(new BigDecimal("42.7"), BigInteger.class));
+        eq(new BigDecimal(BigInteger.TEN), $.convert(BigInteger.TEN, BigDecimal.class));
+        eq(42, $.convert(new BigDecimal("42"), int.class));
+    }
+
+    @Test
+    public void enums() {
+        eq(TimeUnit.SECONDS, $.convert("SECONDS", TimeUnit.class));
+        eq("SECONDS", $.convert(TimeUnit.SECONDS, String.class));
+        same(TimeUnit.DAYS, $.convert(TimeUnit.DAYS, TimeUnit.class));
+    }
+
+    @Test
+    public void anyValueToString() {
+        eq("12", $.convert(12, String.class));
+        eq("[1]", $.convert(java.util.Collections.singletonList(1), String.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noConversionPath() {
+        $.convert(new Object(), Integer.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toStringIsOnlyTheLastStep() {
+        $.conf.registerConverter(String.class, Money.class, s -> new Money(Long.parseLong(s)));
+        $.convert(3, Money.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidValue() {
+        $.convert("abc", int.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBoolean() {
+        $.convertToBoolean("yes");
+    }
+
+    @Test
+    public void registeredConverterIsUsedInChains() {
+        $.conf.registerConverter(String.class, Money.class, s -> new Money(Math.round(Double.parseDouble(s) * 100)));
+        $.conf.registerConverter(Money.class, Long.class, m -> m.cents);
+        eq(1250L, $.convert("12.5", Money.class).cents);
+        // Character -> Integer -> Long
+        eq(97L, $.convert('a', Long.class));
+        // Money -> Long -> BigDecimal
+        eq(BigDecimal.valueOf(1250L), $.convert(new Money(1250L), BigDecimal.class));
+        eq(1250, $.convertToInt(new Money(1250L)));
+    }
+
+    @Test
+    public void registeredConverterTakesPrecedence() {
+        eq(1, $.convertToInt("1"));
+        $.conf.registerConverter(String.class, Integer.class, s -> s.length());
+        eq(3, $.convert("abc", int.class));
+        eq(1, $.convertToInt("1"));
+        eq(2, $.convertToInt("10"));
+        $.conf.clearConverters();
+        eq(10, $.convertToInt("10"));
+    }
+
+    @Test
+    public void primitiveShortcuts() {
+        eq(42, $.convertToInt("42"));
+        eq(42L, $.convertToLong(42.0d));
+        eq(0.5d, $.convertToDouble("0.5"));
+        yes($.convertToBoolean("true"));
+        no($.convertToBoolean(Boolean.FALSE));
+        eq(97, $.convertToInt('a'));
+    }
+}
@@ -0,0 +1,272 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.collection.Pair;
+import osgl.collection.T2;
+import osgl.collection.T3;
+import osgl.ut.TestBase;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+public class DeepCopyTest extends TestBase {
+
+    static class Node {
+        final String name;
+        Node next;
+        List<Node> children = new ArrayList<>();
+        int[] weights;
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+    static class MapNode {
+        Map<String, MapNode> next = new HashMap<>();
+    }
+
+    static class Key {
+        String id;
+
+        Key() {
+        }
+
+        Key(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).id.equals(id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+
+    @Test
+    public void immutableValuesShallBeShared() {
+        String s = new String("abc");
+        same(s, $.deepCopy(s));
+        Integer i = 1000;
+        same(i, $.deepCopy(i));
+        same(TimeUnit.SECONDS, $.deepCopy(TimeUnit.SECONDS));
+        BigDecimal d = new BigDecimal("1.5");
+        same(d, $.deepCopy(d));
+        Option<String> o = Option.some("x");
+        same(o, $.deepCopy(o));
+        isNull($.deepCopy(null));
+    }
+
+    @Test
+    public void arraysShallBeCopied() {
+        int[] ints = {1, 2, 3};
+        int[] intsCopy = $.deepCopy(ints);
+        notSame(ints, intsCopy);
+        yes(Arrays.equals(ints, intsCopy));
+        Object[][] nested = {{"a", new int[]{1}}, {new StringBuilder("b")}};
+        Object[][] nestedCopy = $.deepCopy(nested);
+        notSame(nested[0], nestedCopy[0]);
+        notSame(nested[0][1], nestedCopy[0][1]);
+        same(nested[0][0], nestedCopy[0][0]);
+        notSame(nested[1][0], nestedCopy[1][0]);
+        eq("b", nestedCopy[1][0].toString());
+        eq(Object[][].class, nestedCopy.getClass());
+    }
+
+    @Test
+    public void objectsShallBeCopiedWithCyclesPreserved() {
+        Node a = new Node("a");
+        Node b = new Node("b");
+        a.next = b;
+        b.next = a;
+        a.children.add(b);
+        a.children.add(a);
+        a.weights = new int[]{7};
+        Node copy = $.deepCopy(a);
+        notSame(a, copy);
+        eq("a", copy.name);
+        notSame(b, copy.next);
+        eq("b", copy.next.name);
+        same(copy, copy.next.next);
+        same(copy.next, copy.children.get(0));
+        same(copy, copy.children.get(1));
+        notSame(a.weights, copy.weights);
+        eq(7, copy.weights[0]);
+    }
+
+    @Test
+    public void longChainsShallNotOverflowTheStack() {
+        Node head = new Node("0");
+        Node node = head;
+        for (int i = 1; i < 100000; ++i) {
+            node.next = new Node(String.valueOf(i));
+            node = node.next;
+        }
+        Node copy = $.deepCopy(head);
+        int n = 0;
+        for (Node p = copy; null != p; p = p.next) {
+            n++;
+        }
+        eq(100000, n);
+    }
+
+    @Test
+    public void collectionsShallBeRebuilt() {
+        List<Key> list = new LinkedList<>();
+        list.add(new Key("a"));
+        List<Key> listCopy = $.deepCopy(list);
+        eq(LinkedList.class, listCopy.getClass());
+        eq(list, listCopy);
+        notSame(list.get(0), listCopy.get(0));
+
+        Set<Key> set = new HashSet<>();
+        set.add(new Key("x"));
+        Set<Key> setCopy = $.deepCopy(set);
+        yes(setCopy.contains(new Key("x")));
+        notSame(set.iterator().next(), setCopy.iterator().next());
+
+        TreeSet<String> sorted = new TreeSet<>(Collections.reverseOrder());
+        sorted.addAll(Arrays.asList("a", "b", "c"));
+        TreeSet<String> sortedCopy = $.deepCopy(sorted);
+        eq("c", sortedCopy.first());
+
+        Map<Key, List<Key>> map = new HashMap<>();
+        map.put(new Key("k"), new ArrayList<>(Collections.singletonList(new Key("v"))));
+        Map<Key, List<Key>> mapCopy = $.deepCopy(map);
+        eq(map, mapCopy);
+        notSame(map.get(new Key("k")), mapCopy.get(new Key("k")));
+
+        EnumMap<TimeUnit, Key> enumMap = new EnumMap<>(TimeUnit.class);
+        enumMap.put(TimeUnit.DAYS, new Key("d"));
+        EnumMap<TimeUnit, Key> enumMapCopy = $.deepCopy(enumMap);
+        eq(enumMap, enumMapCopy);
+        notSame(enumMap.get(TimeUnit.DAYS), enumMapCopy.get(TimeUnit.DAYS));
+
+        List<String> fixed = Arrays.asList("a", "b");
+        eq(fixed, $.deepCopy(fixed));
+    }
+
+    @Test
+    public void tuplesShallBeRebuilt() {
+        Pair<Key, String> pair = new Pair<>(new Key("a"), "b");
+        Pair<Key, String> pairCopy = $.deepCopy(pair);
+        eq(Pair.class, pairCopy.getClass());
+        eq(pair, pairCopy);
+        notSame(pair.a, pairCopy.a);
+        T3<Key, Key, Integer> t3 = T3.of(new Key("a"), new Key("b"), 1);
+        T3<Key, Key, Integer> t3Copy = $.deepCopy(t3);
+        eq(t3, t3Copy);
+        notSame(t3.b, t3Copy.b);
+        T2<Key, Key> shared = new T2<>(pair.a, pair.a);
+        T2<Key, Key> sharedCopy = $.deepCopy(shared);
+        same(sharedCopy.a, sharedCopy.b);
+    }
+
+    @Test
+    public void chainsThroughMapValuesAndTuplesShallNotOverflowTheStack() {
+        MapNode head = new MapNode();
+        MapNode node = head;
+        for (int i = 1; i < 100000; ++i) {
+            MapNode next = new MapNode();
+            node.next.put("next", next);
+            node = next;
+        }
+        MapNode copy = $.deepCopy(head);
+        int n = 0;
+        for (MapNode p = copy; null != p; p = p.next.get("next")) {
+            n++;
+        }
+        eq(100000, n);
+
+        T2<Object, Integer> t = T2.of(null, 0);
+        for (int i = 1; i < 200000; ++i) {
+            t = T2.of(t, i);
+        }
+        T2<Object, Integer> tCopy = $.deepCopy(t);
+        notSame(t, tCopy);
+        n = 0;
+        for (T2<?, ?> p = tCopy; null != p; p = (T2<?, ?>) p.a) {
+            n++;
+        }
+        eq(200000, n);
+    }
+
+    @Test
+    public void cyclesThroughTuplesShallBePreserved() {
+        List<Object> list = new ArrayList<>();
+        T2<List<Object>, Integer> t = T2.of(list, 1);
+        list.add(t);
+        T2<List<Object>, Integer> tCopy = $.deepCopy(t);
+        notSame(t, tCopy);
+        notSame(list, tCopy.a);
+        same(tCopy, tCopy.a.get(0));
+        eq(1, tCopy.b);
+        List<Object> listCopy = $.deepCopy(list);
+        same(listCopy, ((T2<?, ?>) listCopy.get(0)).a);
+
+        // the cached hash code is computed from the copied elements
+        T2<Key, String> keyed = T2.of(new Key("k"), "v");
+        keyed.hashCode();
+        keyed.a.id = "x";
+        T2<Key, String> keyedCopy = $.deepCopy(keyed);
+        eq(T2.of(new Key("x"), "v").hashCode(), keyedCopy.hashCode());
+    }
+
+    @Test
+    public void wrappingConstructorsShallNotBeUsedAsCopyConstructors() {
+        IllegalStateException e = new IllegalStateException("x");
+        try {
+            IllegalStateException copy = $.deepCopy(e);
+            // the fields of Throwable are accessible before Java 9
+            notSame(e, copy);
+            eq("x", copy.getMessage());
+            isNull(copy.getCause());
+        } catch (UnsupportedOperationException expected) {
+            // not a copy wrapping the original as its cause
+        }
+    }
+
+    @Test
+    public void jdkValuesShallBeCopied() {
+        Date date = new Date(12345L);
+        Date dateCopy = $.deepCopy(date);
+        notSame(date, dateCopy);
+        eq(date, dateCopy);
+    }
+}
@@ -0,0 +1,46 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+public class HashBuilderTest extends TestBase {
+
+    @Test
+    public void itShallMatchMultiValueHc() {
+        eq($.hc("a", 1), $.hasher().add("a").add(1).toHashCode());
+        eq($.hc(-5L, 2.5d, 'c'), $.hasher().add(-5L).add(2.5d).add('c').toHashCode());
+        eq($.hc(true, (byte) 3, (short) 4, 1.5f), $.hasher().add(true).add((byte) 3).add((short) 4).add(1.5f).toHashCode());
+        eq($.hc(null, new int[]{1, 2}, new long[]{3L}, "x", new String[]{"y", null}, 7),
+                $.hasher().add((Object) null).add(new int[]{1, 2}).add(new long[]{3L}).add("x")
+                        .add(new String[]{"y", null}).add(7).toHashCode());
+        eq($.hc(1, 2, 3, 4, 5, 6, 7), $.hasher().addAll(new Object[]{1, 2, 3, 4, 5, 6, 7}).hashCode());
+    }
+
+    @Test
+    public void objectArraysShallBeHashedByContent() {
+        Object[][] nested = {{"a", 1}, {new int[]{2}}};
+        Object[][] copy = {{"a", 1}, {new int[]{2}}};
+        eq($.hc(nested), $.hc(copy));
+        eq($.hc((Object) new Integer[]{1, 2}), $.hc((Object) new Object[]{1, 2}));
+    }
+}
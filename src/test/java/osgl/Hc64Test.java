@@ -0,0 +1,203 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.collection.T2;
+import osgl.collection.T3;
+import osgl.ut.TestBase;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class Hc64Test extends TestBase {
+
+    private static final String FOX = "The quick brown fox jumps over the lazy dog";
+
+    @Test
+    public void itShallMatchReferenceVectors() {
+        eq(0xEF46DB3751D8E999L, $.hc64(new byte[0]));
+        eq(0x44BC2CF5AD770999L, $.hc64(bytes("abc")));
+        eq(0xFBCEA83C8A378BF1L, $.hc64(bytes("Nobody inspects the spammish repetition")));
+        eq(0x6AC1E58032166597L, $.hc64(sequence(100)));
+        eq(0x819D2B726001D507L, $.hc64(sequence(100), 42L));
+    }
+
+    @Test
+    public void charsShallBeHashedAsUtf16LittleEndian() {
+        long expected = 0xB50690F4310E490EL;
+        eq(expected, $.hc64(FOX.getBytes(StandardCharsets.UTF_16LE)));
+        eq(expected, $.hc64(FOX));
+        eq(expected, $.hc64(new StringBuilder(FOX)));
+        eq(expected, $.hc64(FOX.toCharArray()));
+        eq(expected, $.hc64((Object) FOX));
+    }
+
+    @Test
+    public void typedArraysShallMatchTheirByteRepresentation() {
+        for (int n = 0; n < 40; ++n) {
+            int[] ints = new int[n];
+            long[] longs = new long[n];
+            double[] doubles = new double[n];
+            short[] shorts = new short[n];
+            boolean[] booleans = new boolean[n];
+            ByteBuffer intBytes = ByteBuffer.allocate(n * 4).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer longBytes = ByteBuffer.allocate(n * 8).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer doubleBytes = ByteBuffer.allocate(n * 8).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer shortBytes = ByteBuffer.allocate(n * 2).order(ByteOrder.LITTLE_ENDIAN);
+            byte[] booleanBytes = new byte[n];
+            for (int i = 0; i < n; ++i) {
+                ints[i] = i * 0x01020304 - 7;
+                longs[i] = i * 0x0102030405060708L - 7;
+                doubles[i] = i * 1.5d - 3;
+                shorts[i] = (short) (i * 4099 - 7);
+                booleans[i] = i % 3 == 0;
+                intBytes.putInt(ints[i]);
+                longBytes.putLong(longs[i]);
+                doubleBytes.putDouble(doubles[i]);
+                shortBytes.putShort(shorts[i]);
+                booleanBytes[i] = (byte) (booleans[i] ? 1 : 0);
+            }
+            eq($.hc64(intBytes.array()), $.hc64(ints));
+            eq($.hc64(longBytes.array()), $.hc64(longs));
+            eq($.hc64(doubleBytes.array()), $.hc64(doubles));
+            eq($.hc64(shortBytes.array()), $.hc64(shorts));
+            eq($.hc64(booleanBytes), $.hc64(booleans));
+        }
+    }
+
+    @Test
+    public void singleValuesShallMatchSingleElementArrays() {
+        eq($.hc64(new int[]{-3}), $.hc64(-3));
+        eq($.hc64(new long[]{-3L}), $.hc64(-3L));
+        eq($.hc64(new double[]{2.5d}), $.hc64(2.5d));
+        eq($.hc64(new float[]{2.5f}), $.hc64(2.5f));
+        eq($.hc64(new char[]{'x'}), $.hc64('x'));
+        eq($.hc64(new short[]{(short) -2}), $.hc64((short) -2));
+        eq($.hc64(new byte[]{(byte) -2}), $.hc64((byte) -2));
+        eq($.hc64(new boolean[]{true}), $.hc64(true));
+        eq($.hc64(-3L), $.hc64((Object) (-3L)));
+        eq($.hc64(2.5d), $.hc64((Object) 2.5d));
+        eq($.hc64(Double.NaN), $.hc64(Double.longBitsToDouble(0x7FF8000000000001L)));
+    }
+
+    @Test
+    public void byteRangeAndBufferShallHashTheSameBytes() {
+        byte[] data = sequence(100);
+        byte[] slice = new byte[60];
+        System.arraycopy(data, 17, slice, 0, 60);
+        long expected = $.hc64(slice);
+        eq(expected, $.hc64(data, 17, 77));
+
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.BIG_ENDIAN);
+        buffer.position(17);
+        buffer.limit(77);
+        eq(expected, $.hc64(buffer));
+        eq(17, buffer.position());
+        eq(77, buffer.limit());
+        same(ByteOrder.BIG_ENDIAN, buffer.order());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(60);
+        direct.put(slice).flip();
+        eq(expected, $.hc64(direct));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void invalidRangeShallBeRejected() {
+        $.hc64(new byte[10], 5, 11);
+    }
+
+    @Test
+    public void seedShallChangeTheHash() {
+        ne($.hc64(FOX), $.hc64(FOX, 1L));
+        ne($.hc64(7), $.hc64(7, 1L));
+        ne($.hc64(7L), $.hc64(7L, 1L));
+        eq($.hc64(FOX, 99L), $.hc64(FOX, 99L));
+    }
+
+    @Test
+    public void objectsShallBeHashedByContent() {
+        eq($.hc64(new byte[0]), $.hc64((Object) null));
+        eq($.hc64(new int[]{1, 2, 3}), $.hc64((Object) new int[]{1, 2, 3}));
+        eq($.hc64(new Object[]{"a", 1, null}), $.hc64(new Object[]{"a", 1, null}));
+        ne($.hc64(new Object[]{"a", "b"}), $.hc64(new Object[]{"b", "a"}));
+        ne($.hc64(new Object[]{"a"}), $.hc64(new Object[]{"a", null}));
+        eq($.hc64(T2.of("a", 1)), $.hc64(T2.of("a", 1)));
+        ne($.hc64(T2.of("a", 1)), $.hc64(T2.of("a", 2)));
+    }
+
+    @Test
+    public void collectionsShallBeHashedByTheirElements() {
+        // equal 32-bit hash codes
+        eq(Arrays.asList(0, 31).hashCode(), Arrays.asList(1, 0).hashCode());
+        ne($.hc64(Arrays.asList(0, 31)), $.hc64(Arrays.asList(1, 0)));
+        eq($.hc64(Arrays.asList("a", 1)), $.hc64(new ArrayList<>(Arrays.asList("a", 1))));
+        ne($.hc64(Arrays.asList("a", "b")), $.hc64(Arrays.asList("b", "a")));
+
+        eq(Collections.singleton("Aa").hashCode(), Collections.singleton("BB").hashCode());
+        ne($.hc64(Collections.singleton("Aa")), $.hc64(Collections.singleton("BB")));
+        Set<String> ab = new LinkedHashSet<>(Arrays.asList("a", "b"));
+        Set<String> ba = new LinkedHashSet<>(Arrays.asList("b", "a"));
+        eq($.hc64(ab), $.hc64(ba));
+        ne($.hc64(ab), $.hc64(new HashSet<>(Arrays.asList("a", "c"))));
+
+        Map<String, Integer> m1 = new LinkedHashMap<>();
+        m1.put("Aa", 1);
+        m1.put("x", 2);
+        Map<String, Integer> m2 = new HashMap<>();
+        m2.put("x", 2);
+        m2.put("Aa", 1);
+        eq($.hc64(m1), $.hc64(m2));
+        m2.remove("Aa");
+        m2.put("BB", 1);
+        eq(m1.hashCode(), m2.hashCode());
+        ne($.hc64(m1), $.hc64(m2));
+        ne($.hc64(Collections.singletonMap("a", 1)), $.hc64(Collections.singletonMap(1, "a")));
+
+        eq("Aa".hashCode(), "BB".hashCode());
+        ne($.hc64(T2.of("Aa", 1)), $.hc64(T2.of("BB", 1)));
+        ne($.hc64(T3.of(1, "Aa", 2)), $.hc64(T3.of(1, "BB", 2)));
+        ne($.hc64(T2.of(Arrays.asList(0, 31), 1)), $.hc64(T2.of(Arrays.asList(1, 0), 1)));
+        eq($.hc64(T2.of(ab, "x")), $.hc64(T2.of(ba, "x")));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] sequence(int n) {
+        byte[] a = new byte[n];
+        for (int i = 0; i < n; ++i) {
+            a[i] = (byte) i;
+        }
+        return a;
+    }
+}
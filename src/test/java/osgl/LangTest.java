@@ -25,6 +25,7 @@ import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
+import osgl.exception.UnexpectedClassNotFoundException;
 import osgl.stage.ObjectRequire;
 import osgl.ut.TestBase;
 import util.HashCodeCalculator;
@@ -35,8 +36,13 @@ import java.math.BigInteger;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.*;
 
 @RunWith(Enclosed.class)
@@ -66,10 +72,63 @@ public class LangTest extends TestBase {
             no($.bool(o));
             Predicate<Object> tester = $::notNull;
             $.conf.registerBoolTester(tester);
-            yes($.conf.boolTesters.contains(tester));
+            yes($.conf.boolTesters().contains(tester));
             yes($.bool(o));
         }
 
+        @Test
+        public void testRegisterTypedBoolTester() {
+            StringBuilder sb = new StringBuilder("x");
+            no($.bool(sb));
+            $.conf.registerBoolTester(CharSequence.class, (cs) -> cs.length() > 0);
+            yes($.bool(sb));
+            no($.bool(new StringBuilder()));
+            // built in testers take precedence
+            no($.bool(""));
+            $.conf.registerBoolTester(Object.class, (o) -> true);
+            no($.bool(new StringBuilder()));
+            yes($.bool(new Object()));
+        }
+
+        @Test
+        public void testRegisterBoolTesterProvider() {
+            Thread thread = new Thread();
+            no($.bool(thread));
+            $.conf.registerBoolTesterProvider((type) -> Thread.class.isAssignableFrom(type) ? $.some((t) -> true) : $.none());
+            yes($.bool(thread));
+            no($.bool(new Object()));
+            $.conf.clearBoolTesters();
+            no($.bool(thread));
+        }
+
+        @Test
+        public void registerBoolTesterWhileEvaluating() throws Exception {
+            final AtomicBoolean done = new AtomicBoolean();
+            final AtomicReference<Throwable> error = new AtomicReference<>();
+            Thread reader = new Thread(() -> {
+                Object[] values = {"x", new StringBuilder("y"), 1, new Object()};
+                try {
+                    while (!done.get()) {
+                        for (Object v : values) {
+                            $.bool(v);
+                        }
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            });
+            reader.start();
+            for (int i = 0; i < 200; ++i) {
+                $.conf.registerBoolTester(CharSequence.class, (cs) -> cs.length() > 0);
+                $.conf.overwriteStringBoolTester((s) -> !s.isEmpty());
+                Thread.yield();
+            }
+            done.set(true);
+            reader.join();
+            isNull(error.get());
+            yes($.bool(new StringBuilder("y")));
+        }
+
         @Test(expected = NullPointerException.class)
         public void registerNullTesterShallRaiseNPE() {
             Predicate<Object> tester = null;
@@ -341,6 +400,99 @@ public class LangTest extends TestBase {
             no($.deepEquals(iaa1, iaa3));
         }
 
+        @Test
+        public void deepEqualsShallWalkListsAndCycles() {
+            List<Object> l1 = new ArrayList<>();
+            l1.add(new int[]{1, 2});
+            l1.add(Arrays.asList("a", new String[]{"b"}));
+            List<Object> l2 = new LinkedList<>();
+            l2.add(new int[]{1, 2});
+            l2.add(Arrays.asList("a", new String[]{"b"}));
+            yes($.deq(l1, l2));
+            ((int[]) l2.get(0))[1] = 3;
+            no($.deq(l1, l2));
+
+            Object[] c1 = new Object[2];
+            c1[0] = "x";
+            c1[1] = c1;
+            Object[] c2 = new Object[2];
+            c2[0] = "x";
+            c2[1] = c2;
+            yes($.deq(c1, c2));
+            c2[0] = "y";
+            no($.deq(c1, c2));
+
+            // deep nesting does not overflow the call stack
+            Object[] d1 = {};
+            Object[] d2 = {};
+            for (int i = 0; i < 100000; ++i) {
+                d1 = new Object[]{d1};
+                d2 = new Object[]{d2};
+            }
+            yes($.deq(d1, d2));
+
+            no($.deq(new int[]{1}, new long[]{1}));
+            yes($.deq(new double[]{Double.NaN}, new double[]{Double.NaN}));
+            no($.deq(new double[]{0.0d}, new double[]{-0.0d}));
+        }
+
+        @Test
+        public void deqShallNotTrackAcyclicShallowStructures() {
+            Object[][] r1 = new Object[10000][];
+            Object[][] r2 = new Object[10000][];
+            for (int i = 0; i < r1.length; ++i) {
+                r1[i] = new Object[]{i, "row" + i, Arrays.asList(i, new int[]{i})};
+                r2[i] = new Object[]{i, "row" + i, Arrays.asList(i, new int[]{i})};
+            }
+            _DeepEquals deq = new _DeepEquals(false);
+            yes(deq.walk(r1, r2));
+            no(deq.pathIndexed());
+
+            // a container shared by many rows is compared each time
+            Object[] shared = {"s"};
+            Object[] s1 = {shared, shared, new Object[]{shared}};
+            Object[] s2 = {new Object[]{"s"}, shared, new Object[]{new Object[]{"s"}}};
+            deq = new _DeepEquals(false);
+            yes(deq.walk(s1, s2));
+            no(deq.pathIndexed());
+        }
+
+        @Test
+        public void deqShallDetectCyclesBeyondTheScanDepth() {
+            Object[] c1 = new Object[1];
+            Object[] c2 = new Object[1];
+            Object[] t1 = c1;
+            Object[] t2 = c2;
+            for (int i = 0; i < _DeepEquals.PATH_SCAN_DEPTH * 2; ++i) {
+                t1[0] = new Object[1];
+                t2[0] = new Object[1];
+                t1 = (Object[]) t1[0];
+                t2 = (Object[]) t2[0];
+            }
+            t1[0] = c1;
+            t2[0] = c2;
+            _DeepEquals deq = new _DeepEquals(false);
+            yes(deq.walk(c1, c2));
+            yes(deq.pathIndexed());
+            t2[0] = "x";
+            no($.deq(c1, c2));
+        }
+
+        @Test
+        public void deqParallelShallMatchDeq() {
+            long[] a = new long[1 << 18];
+            long[] b = new long[1 << 18];
+            for (int i = 0; i < a.length; ++i) {
+                a[i] = b[i] = i * 31L;
+            }
+            yes($.deqParallel(a, b));
+            b[b.length - 1] = -1;
+            no($.deqParallel(a, b));
+            no($.deqParallel(a, new long[a.length + 1]));
+            yes($.deqParallel(new Object[]{a.clone()}, new Object[]{a}));
+            yes($.deqParallel("x", "x"));
+        }
+
     }
 
     public static class HashCodeTest {
@@ -565,6 +717,38 @@ public class LangTest extends TestBase {
             return $.callerInfo();
         }
 
+        @Test
+        public void testCallerFrame() {
+            CallerFrame frame = $.callerFrame(0);
+            eq(ClassInstanceUtilTest.class.getName(), frame.className());
+            eq("testCallerFrame", frame.methodName());
+            same(ClassInstanceUtilTest.class, frame.declaringClass());
+            yes(frame.lineNumber() > 0);
+            eq("osgl.LangTest$ClassInstanceUtilTest.testCallerFrame(...)", frame.info());
+            eq("testCallerFrame", caller().methodName());
+            isNull($.callerFrame(100000));
+        }
+
+        private CallerFrame caller() {
+            return $.callerFrame(1);
+        }
+
+        @Test
+        public void testCachedCallerFrame() {
+            CallerFrame first = null;
+            for (int i = 0; i < 3; ++i) {
+                CallerFrame frame = $.cachedCallerFrame(0);
+                if (null == first) {
+                    first = frame;
+                }
+                same(first, frame);
+            }
+            CallerFrame other = $.cachedCallerFrame(0);
+            ne(first, other);
+            eq(first.methodName(), other.methodName());
+            same(callerInfo(), callerInfo());
+        }
+
         @Test
         public void testClassForName() {
             eq(int.class, $.classForName("int"));
@@ -572,6 +756,101 @@ public class LangTest extends TestBase {
             eq(Lang.class, $.classForName("osgl.Lang"));
         }
 
+        @Test
+        public void testClassForNameArrays() {
+            eq(int[][].class, $.classForName("int[][]"));
+            eq(String[].class, $.classForName("java.lang.String[]"));
+            eq(String[][].class, $.classForName("java.lang.String[][]"));
+            eq(String[].class, $.classForName("[Ljava.lang.String;"));
+            eq(long[].class, $.classForName("[J"));
+            eq(boolean[][].class, $.classForName("boolean[][]"));
+        }
+
+        @Test
+        public void testClassForNameCache() {
+            ClassLoader loader = getClass().getClassLoader();
+            same($.classForName("osgl.Lang", loader), $.classForName("osgl.Lang", loader));
+            same(String.class, $.classForName("java.lang.String", null));
+            for (int i = 0; i < 2; ++i) {
+                try {
+                    $.classForName("osgl.NoSuchClass", loader);
+                    fail("expected UnexpectedClassNotFoundException");
+                } catch (UnexpectedClassNotFoundException e) {
+                    eq("osgl.NoSuchClass", e.getMessage());
+                }
+            }
+            no($.findClass("osgl.NoSuchClass").isDefined());
+            eq(Long.class, $.findClass("java.lang.Long").get());
+        }
+
+        @Test
+        public void testClassForNameMissCacheIsBoundedAndCanBeCleared() {
+            final AtomicBoolean hidden = new AtomicBoolean(true);
+            ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {
+                @Override
+                protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                    if (hidden.get() && name.equals("osgl.Lang")) {
+                        throw new ClassNotFoundException(name);
+                    }
+                    return super.loadClass(name, resolve);
+                }
+            };
+            no($.findClass("osgl.Lang", false, loader).isDefined());
+            hidden.set(false);
+            no($.findClass("osgl.Lang", false, loader).isDefined());
+            $.clearClassCache(loader);
+            same(Lang.class, $.classForName("osgl.Lang", false, loader));
+
+            for (int i = 0; i < _ClassCache.MAX_MISSES * 2; ++i) {
+                no($.findClass("osgl.NoSuchClass" + i, false, loader).isDefined());
+            }
+            eq(_ClassCache.MAX_MISSES, _ClassCache.missCount(loader));
+            $.clearClassCache();
+            eq(0, _ClassCache.missCount(loader));
+        }
+
+        @Test
+        public void testClassForNameCachePerClassLoader() {
+            ClassLoader parent = getClass().getClassLoader();
+            ClassLoader hiding = new ClassLoader(parent) {
+                @Override
+                protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                    if (name.equals("osgl.Lang")) {
+                        throw new ClassNotFoundException(name);
+                    }
+                    return super.loadClass(name, resolve);
+                }
+            };
+            ClassLoader delegating = new ClassLoader(parent) {
+            };
+            for (int i = 0; i < 2; ++i) {
+                no($.findClass("osgl.Lang", false, hiding).isDefined());
+                same(Lang.class, $.classForName("osgl.Lang", false, delegating));
+            }
+            eq(1, _ClassCache.missCount(hiding));
+            eq(0, _ClassCache.missCount(delegating));
+            $.clearClassCache(hiding);
+            eq(0, _ClassCache.missCount(hiding));
+            same(Lang.class, $.classForName("osgl.Lang", false, delegating));
+        }
+
+        @Test
+        public void testClassForNameWithoutInitialization() {
+            Class<?> c = $.classForName(LazyInit.class.getName(), false, getClass().getClassLoader());
+            eq(LazyInit.class.getName(), c.getName());
+            no(LAZY_INIT.get());
+            $.classForName(LazyInit.class.getName(), true, getClass().getClassLoader());
+            yes(LAZY_INIT.get());
+        }
+
+        private static final AtomicBoolean LAZY_INIT = new AtomicBoolean();
+
+        private static class LazyInit {
+            static {
+                LAZY_INIT.set(true);
+            }
+        }
+
     }
 
 }
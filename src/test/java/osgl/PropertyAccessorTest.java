@@ -0,0 +1,206 @@
+package osgl;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PropertyAccessorTest extends TestBase {
+
+    public static class Address {
+        private String city;
+        public int zip;
+        private final Map<String, Object> tags = new HashMap<>();
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public Map<String, Object> getTags() {
+            return tags;
+        }
+    }
+
+    public static class Person {
+        private String name;
+        private int age;
+        private boolean active;
+        private Address address;
+        private final long id;
+
+        public Person() {
+            this(0L);
+        }
+
+        public Person(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+
+    private static class Hidden {
+        private String secret = "s";
+
+        private String getSecret() {
+            return secret;
+        }
+    }
+
+    @Test
+    public void itShallResolveProperties() {
+        Map<String, PropertyAccessor> properties = PropertyAccessor.forType(Person.class);
+        yes(properties.containsKey("name"));
+        yes(properties.containsKey("age"));
+        yes(properties.containsKey("active"));
+        no(properties.containsKey("class"));
+        same(properties, PropertyAccessor.forType(Person.class));
+        PropertyAccessor age = PropertyAccessor.of(Person.class, "age").get();
+        eq(int.class, age.type());
+        eq("age", age.name());
+        yes(age.isReadable());
+        yes(age.isWritable());
+        no(PropertyAccessor.of(Person.class, "nothing").isDefined());
+    }
+
+    @Test
+    public void itShallReadAndWriteThroughAccessors() {
+        Person person = new Person();
+        PropertyAccessor name = PropertyAccessor.of(Person.class, "name").get();
+        PropertyAccessor age = PropertyAccessor.of(Person.class, "age").get();
+        PropertyAccessor active = PropertyAccessor.of(Person.class, "active").get();
+        name.set(person, "Tom");
+        age.set(person, 30);
+        active.set(person, true);
+        eq("Tom", person.getName());
+        eq(30, person.getAge());
+        yes(person.isActive());
+        eq("Tom", name.get(person));
+        eq(30, age.get(person));
+        eq(true, active.get(person));
+    }
+
+    @Test
+    public void nonPublicMembersShallNotBeAccessible() {
+        Hidden hidden = new Hidden();
+        no(PropertyAccessor.of(Hidden.class, "secret").isDefined());
+        try {
+            $.setProperty(hidden, "secret", "t");
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("s", hidden.secret);
+        }
+        eq(String.class, PropertyAccessor.of(Address.class, "city").get().type());
+        Address address = new Address();
+        $.setProperty(address, "zip", "12345");
+        eq(12345, address.zip);
+    }
+
+    @Test
+    public void propertyWithoutSetterShallBeReadOnly() {
+        Person person = new Person(5L);
+        PropertyAccessor id = PropertyAccessor.of(Person.class, "id").get();
+        eq(5L, id.get(person));
+        no(id.isWritable());
+        try {
+            $.setProperty(person, "id", 6L);
+            fail("expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            eq(5L, person.getId());
+        }
+        no(PropertyAccessor.of(Address.class, "tags").get().isWritable());
+    }
+
+    @Test
+    public void itShallFollowPaths() {
+        Person person = new Person();
+        isNull($.getProperty(person, "address.city"));
+        person.setAddress(new Address());
+        $.setProperty(person, "address.city", "Sydney");
+        eq("Sydney", person.getAddress().getCity());
+        eq("Sydney", $.getProperty(person, "address.city"));
+        $.setProperty(person, "address.tags.color", "red");
+        eq("red", $.getProperty(person, "address.tags.color"));
+        isNull($.getProperty(null, "address"));
+    }
+
+    @Test
+    public void setPropertyShallConvertValues() {
+        Person person = new Person();
+        $.setProperty(person, "age", "42");
+        eq(42, person.getAge());
+        $.setProperty(person, "active", "true");
+        yes(person.isActive());
+        $.setProperty(person, "age", null);
+        eq(0, person.getAge());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownPropertyShallBeRejected() {
+        $.getProperty(new Person(), "nothing");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void nullOnPathShallBeRejected() {
+        $.setProperty(new Person(), "address.city", "Sydney");
+    }
+}
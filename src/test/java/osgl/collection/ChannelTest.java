@@ -0,0 +1,179 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ChannelTest extends TestBase {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void offerShallFailWhenFull() {
+        Channel<Integer> channel = new Channel<>(3);
+        eq(4, channel.capacity());
+        for (int i = 0; i < 4; ++i) {
+            yes(channel.offer(i));
+        }
+        no(channel.offer(4));
+        eq(0, channel.poll());
+        yes(channel.offer(4));
+        for (int i = 1; i < 5; ++i) {
+            eq(i, channel.poll());
+        }
+        isNull(channel.poll());
+    }
+
+    @Test
+    public void closedChannelShallRejectElements() {
+        Channel<String> channel = new Channel<>(4);
+        yes(channel.offer("a"));
+        channel.close();
+        yes(channel.isClosed());
+        no(channel.isDrained());
+        no(channel.offer("b"));
+        try {
+            channel.put("b");
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        List<String> received = new ArrayList<>();
+        for (String s : channel) {
+            received.add(s);
+        }
+        eq(1, received.size());
+        eq("a", received.get(0));
+        yes(channel.isDrained());
+    }
+
+    @Test
+    public void timedSequenceShallEndOnTimeout() {
+        Channel<Integer> channel = new Channel<>(4);
+        channel.offer(1);
+        Iterator<Integer> itr = channel.timed(20, TimeUnit.MILLISECONDS).iterator();
+        eq(1, itr.next());
+        no(itr.hasNext());
+        no(channel.isClosed());
+    }
+
+    @Test
+    public void offerShallTimeoutWhenFull() {
+        Channel<Integer> channel = new Channel<>(1);
+        eq(2, channel.capacity());
+        yes(channel.offer(0, 10, TimeUnit.MILLISECONDS));
+        yes(channel.offer(1, 10, TimeUnit.MILLISECONDS));
+        no(channel.offer(2, 10, TimeUnit.MILLISECONDS));
+        isNull(new Channel<Integer>(1).poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void spin() throws Exception {
+        // keep it short: spinning threads starve each other on machines with few cores
+        verifyMpmc(Channel.WaitStrategy.SPIN, 1000);
+    }
+
+    @Test
+    public void yield() throws Exception {
+        verifyMpmc(Channel.WaitStrategy.YIELD, 20000);
+    }
+
+    @Test
+    public void park() throws Exception {
+        verifyMpmc(Channel.WaitStrategy.PARK, 20000);
+    }
+
+    /**
+     * Every element sent by multiple producers shall be received by exactly
+     * one of multiple consumers.
+     */
+    private void verifyMpmc(Channel.WaitStrategy waitStrategy, int perProducer) throws Exception {
+        final int producers = 3;
+        final int consumers = 3;
+        Channel<Integer> channel = new Channel<>(16, waitStrategy);
+        List<Future<?>> sent = new ArrayList<>();
+        for (int p = 0; p < producers; ++p) {
+            final int base = p * perProducer;
+            sent.add(executor.submit(() -> {
+                for (int i = 0; i < perProducer; ++i) {
+                    channel.put(base + i);
+                }
+            }));
+        }
+        List<Future<boolean[]>> received = new ArrayList<>();
+        for (int c = 0; c < consumers; ++c) {
+            received.add(executor.submit(() -> {
+                boolean[] seen = new boolean[producers * perProducer];
+                int[] last = new int[producers];
+                Arrays.fill(last, -1);
+                for (int n : channel) {
+                    seen[n] = true;
+                    // elements of the same producer arrive in order
+                    int p = n / perProducer;
+                    yes(n > last[p]);
+                    last[p] = n;
+                }
+                return seen;
+            }));
+        }
+        for (Future<?> f : sent) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        channel.close();
+        int total = 0;
+        boolean[] all = new boolean[producers * perProducer];
+        for (Future<boolean[]> f : received) {
+            boolean[] seen = f.get(30, TimeUnit.SECONDS);
+            for (int i = 0; i < seen.length; ++i) {
+                if (seen[i]) {
+                    no(all[i]);
+                    all[i] = true;
+                    total++;
+                }
+            }
+        }
+        eq(producers * perProducer, total);
+        yes(channel.isDrained());
+    }
+
+}
@@ -0,0 +1,143 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ColumnsTest extends TestBase {
+
+    private static T2Columns<Integer, Double> scores() {
+        IntColumn ids = new IntColumn(2);
+        DoubleColumn scores = new DoubleColumn(2);
+        for (int i = 0; i < 100; ++i) {
+            ids.addInt(i);
+            scores.addDouble(i * 0.5);
+        }
+        return new T2Columns<>(ids, scores);
+    }
+
+    @Test
+    public void primitiveColumnsShallMapFilterAndReduce() {
+        IntColumn ints = IntColumn.of(1, 2, 3, 4);
+        eq(10, ints.reduce(0, Integer::sum));
+        eq("[2, 4]", ints.filter(i -> 0 == i % 2).toString());
+        eq(new int[]{2, 3, 4, 5}, ints.map(i -> i + 1).toArray());
+        eq(3L, ints.getLong(2));
+        eq(3.0d, ints.getDouble(2));
+        same(ints, ints.add(5));
+        eq(5, ints.size());
+        LongColumn longs = LongColumn.of(1L, 2L);
+        eq(3L, longs.reduce(0L, Long::sum));
+        try {
+            longs.getInt(0);
+            fail("expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            ints.getInt(5);
+            fail("expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        ObjColumn<String> strings = ObjColumn.of("a", "bb", null);
+        eq(3, strings.reduce(0, (n, s) -> null == s ? n : n + s.length()));
+        eq("[a, bb]", strings.filter(s -> null != s).toString());
+    }
+
+    @Test
+    public void cursorShallReadRowsWithoutTuples() {
+        T2Columns<Integer, Double> table = scores();
+        eq(100, table.size());
+        eq(99 * 100 / 2 * 0.5, table.sumDouble(T2Columns.Cursor::doubleB));
+        eq(99L * 100 / 2, table.sumLong(T2Columns.Cursor::longA));
+        T2Columns.Cursor<Integer, Double> cursor = table.cursor();
+        int n = 0;
+        while (cursor.next()) {
+            eq(n, cursor.row());
+            eq(n, cursor.intA());
+            eq(Integer.valueOf(n), cursor.a());
+            n++;
+        }
+        eq(100, n);
+        no(cursor.next());
+    }
+
+    @Test
+    public void columnWiseOperationsShallMatchRows() {
+        T2Columns<Integer, Double> table = scores();
+        T2Columns<Integer, Double> even = table.filterRows(c -> 0 == c.intA() % 2);
+        eq(50, even.size());
+        yes(even.a() instanceof IntColumn);
+        yes(even.b() instanceof DoubleColumn);
+        eq(98, even.a().getInt(49));
+        eq(49.0d, even.b().getDouble(49));
+        DoubleColumn weighted = table.mapRowsToDouble(c -> c.intA() * c.doubleB());
+        eq(2.0d, weighted.getDouble(2));
+        eq("[0:0.0, 1:0.5]", table.filterRows(c -> c.row() < 2).mapRows(c -> c.a() + ":" + c.b()).toString());
+        eq(4950L, table.mapRowsToLong(T2Columns.Cursor::longA).reduce(0L, Long::sum));
+        eq(100, table.reduceRows(0, (k, c) -> k + 1).intValue());
+        eq(new int[]{0, 1}, table.filterRows(c -> c.doubleB() < 1.0d).mapRowsToInt(T2Columns.Cursor::intA).toArray());
+    }
+
+    @Test
+    public void sequenceViewShallCreateTuples() {
+        T2Columns<String, Integer> table = new T2Columns<String, Integer>(new ObjColumn<>(), new IntColumn())
+                .add("a", 1);
+        List<T2<String, Integer>> rows = new ArrayList<>();
+        rows.add(new T2<>("b", 2));
+        table.addAll(rows);
+        List<T2<String, Integer>> out = new ArrayList<>();
+        for (T2<String, Integer> t : table) {
+            out.add(t);
+        }
+        eq(2, out.size());
+        eq(new T2<>("a", 1), out.get(0));
+        eq(new T2<>("b", 2), out.get(1));
+        table.a().add("c");
+        try {
+            table.size();
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void t3ColumnsShallFilterAcrossThreeColumns() {
+        T3Columns<Integer, Long, String> table = new T3Columns<>(new IntColumn(), new LongColumn(), new ObjColumn<>());
+        for (int i = 0; i < 10; ++i) {
+            table.add(i, i * 1000L, "r" + i);
+        }
+        T3Columns<Integer, Long, String> r = table.filterRows(c -> c.longB() >= 8000L);
+        eq(2, r.size());
+        eq("[r8, r9]", r.c().toString());
+        eq(17L, r.sumLong(T3Columns.Cursor::longA));
+        T3Columns.Cursor<Integer, Long, String> cursor = r.cursor();
+        yes(cursor.next());
+        yes(cursor.next());
+        eq(new T3<>(9, 9000L, "r9"), cursor.toT3());
+    }
+}
@@ -0,0 +1,240 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class CompressedIntSetTest extends TestBase {
+
+    /**
+     * Sparse, dense and clustered values in the same and in adjacent
+     * containers, including negative values.
+     */
+    private static TreeSet<Integer> sample(Random random) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < 500; ++i) {
+            set.add(random.nextInt());
+        }
+        for (int i = 0; i < 6000; ++i) {
+            set.add(random.nextInt(10000));
+        }
+        int from = random.nextInt(1 << 20) - (1 << 19);
+        for (int i = 0; i < 3000; ++i) {
+            set.add(from + i);
+        }
+        set.add(Integer.MIN_VALUE);
+        set.add(Integer.MAX_VALUE);
+        return set;
+    }
+
+    private static CompressedIntSet compressed(TreeSet<Integer> set) {
+        return CompressedIntSet.from(set);
+    }
+
+    private static void verify(TreeSet<Integer> expected, CompressedIntSet set) {
+        eq((long) expected.size(), set.cardinality());
+        eq(expected.size(), set.ints().size());
+        int i = 0;
+        int[] values = set.ints().toIntArray();
+        for (Integer v : expected) {
+            eq(v.intValue(), values[i++]);
+        }
+    }
+
+    @Test
+    public void itShallBehaveLikeASortedSet() {
+        Random random = new Random(1);
+        TreeSet<Integer> expected = sample(random);
+        CompressedIntSet set = compressed(expected);
+        verify(expected, set);
+        eq(Integer.MIN_VALUE, set.first());
+        eq(Integer.MAX_VALUE, set.last());
+        for (int i = 0; i < 10000; ++i) {
+            int v = 0 == i % 2 ? random.nextInt(12000) : random.nextInt();
+            eq(expected.contains(v), set.contains(v));
+        }
+        for (int i = 0; i < 5000; ++i) {
+            int v = random.nextInt(12000);
+            eq(expected.remove(v), set.remove(v));
+        }
+        verify(expected, set);
+        eq(expected.size(), set.ints().size());
+    }
+
+    @Test
+    public void rankAndSelectShallBeInverse() {
+        Random random = new Random(2);
+        TreeSet<Integer> expected = sample(random);
+        CompressedIntSet set = compressed(expected).runOptimize();
+        long j = 0;
+        for (Integer v : expected) {
+            eq(j + 1, set.rank(v));
+            eq(v.intValue(), set.select(j));
+            j++;
+        }
+        eq(0L, set.rank(Integer.MIN_VALUE) - 1);
+        eq(expected.headSet(42, true).size(), (int) set.rank(42));
+        try {
+            set.select(j);
+            fail("expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void setAlgebraShallMatchTreeSet() {
+        Random random = new Random(3);
+        TreeSet<Integer> a = sample(random);
+        TreeSet<Integer> b = sample(random);
+        CompressedIntSet x = compressed(a);
+        CompressedIntSet y = compressed(b).runOptimize();
+
+        TreeSet<Integer> and = new TreeSet<>(a);
+        and.retainAll(b);
+        TreeSet<Integer> or = new TreeSet<>(a);
+        or.addAll(b);
+        TreeSet<Integer> andNot = new TreeSet<>(a);
+        andNot.removeAll(b);
+        TreeSet<Integer> xor = new TreeSet<>(or);
+        xor.removeAll(and);
+
+        verify(and, x.and(y));
+        verify(or, x.or(y));
+        verify(andNot, x.andNot(y));
+        verify(xor, x.xor(y));
+        verify(new TreeSet<>(), x.xor(x));
+        yes(x.andNot(x).isEmpty());
+
+        // results do not share state with the operands
+        CompressedIntSet union = x.or(y);
+        union.add(-7);
+        union.remove(a.first());
+        verify(a, x);
+    }
+
+    @Test
+    public void runOptimizeShallPreserveContent() {
+        CompressedIntSet set = new CompressedIntSet();
+        TreeSet<Integer> expected = new TreeSet<>();
+        // runs of 100 values every 1000 values: dense enough for bitmap containers
+        for (int i = 0; i < 200000; i += 1000) {
+            for (int k = 0; k < 100; ++k) {
+                set.add(i + k);
+                expected.add(i + k);
+            }
+        }
+        int before = set.serializedSizeInBytes();
+        CompressedIntSet copy = set.or(new CompressedIntSet());
+        set.runOptimize();
+        yes(set.serializedSizeInBytes() < before / 4);
+        verify(expected, set);
+        eq(copy, set);
+        eq(copy.hashCode(), set.hashCode());
+        // updating a run container
+        set.add(101);
+        expected.add(101);
+        set.remove(5);
+        expected.remove(5);
+        verify(expected, set);
+    }
+
+    @Test
+    public void equalsShallCompareContainersOfAnyKind() {
+        CompressedIntSet array = new CompressedIntSet();
+        CompressedIntSet bitmap = new CompressedIntSet();
+        for (int i = 0; i < 100; ++i) {
+            array.add(i);
+            array.add(200 + i);
+        }
+        for (int i = 0; i < 5000; ++i) {
+            bitmap.add(i);
+            bitmap.add(6000 + i);
+        }
+        for (CompressedIntSet set : new CompressedIntSet[]{array, bitmap}) {
+            CompressedIntSet runs = set.or(new CompressedIntSet()).runOptimize();
+            eq(set, runs);
+            eq(runs, set);
+            CompressedIntSet other = set.or(new CompressedIntSet());
+            other.remove(99);
+            other.add(150);
+            ne(set, other);
+            ne(other, set);
+            ne(runs, other.or(new CompressedIntSet()).runOptimize());
+            ne(runs, other);
+        }
+
+        // a run container read with adjacent runs, i.e. [0, 49] and [50, 99]
+        ByteBuffer header = ByteBuffer.wrap(array.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer buffer = ByteBuffer.allocate(25).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(header.getInt()).putInt(header.getInt()).putChar(header.getChar());
+        buffer.put((byte) 3).putChar((char) 3);
+        buffer.putChar((char) 0).putChar((char) 49).putChar((char) 50).putChar((char) 49);
+        buffer.putChar((char) 200).putChar((char) 99);
+        buffer.flip();
+        CompressedIntSet adjacent = CompressedIntSet.deserialize(buffer);
+        eq(array.or(new CompressedIntSet()).runOptimize(), adjacent);
+        eq(adjacent, array.or(new CompressedIntSet()).runOptimize());
+        eq(array, adjacent);
+    }
+
+    @Test
+    public void serializedFormShallRoundTrip() {
+        Random random = new Random(4);
+        TreeSet<Integer> expected = sample(random);
+        CompressedIntSet set = compressed(expected).runOptimize();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(set.serializedSizeInBytes() + 3).order(ByteOrder.BIG_ENDIAN);
+        buffer.put((byte) 1).put((byte) 2).put((byte) 3);
+        set.serialize(buffer);
+        eq(0, buffer.remaining());
+        eq(ByteOrder.BIG_ENDIAN, buffer.order());
+        buffer.position(3);
+        CompressedIntSet read = CompressedIntSet.deserialize(buffer);
+        eq(0, buffer.remaining());
+        eq(set, read);
+        verify(expected, read);
+        eq(set, CompressedIntSet.deserialize(ByteBuffer.wrap(set.toByteArray())));
+        try {
+            CompressedIntSet.deserialize(ByteBuffer.wrap(new byte[8]));
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void intSequenceShallIterateWithoutBoxing() {
+        CompressedIntSet set = CompressedIntSet.of(5, -3, 70000, 5);
+        eq("{-3, 5, 70000}", set.toString());
+        int[] sum = {0};
+        set.ints().forEachInt(v -> sum[0] += v);
+        eq(70002, sum[0]);
+        eq(3, set.ints().size());
+        eq(-3, set.ints().head().intValue());
+        eq(set, CompressedIntSet.from(IntSequence.of(70000, -3, 5)));
+    }
+}
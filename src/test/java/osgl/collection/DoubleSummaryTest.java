@@ -0,0 +1,146 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class DoubleSummaryTest extends TestBase {
+
+    private static Traversable<Double> values(double... values) {
+        List<Double> list = new ArrayList<>();
+        for (double d : values) {
+            list.add(d);
+        }
+        return Traversable.of(list);
+    }
+
+    @Test
+    public void testSummarize() {
+        DoubleSummary summary = values(2, 4, 4, 4, 5, 5, 7, 9).summarize();
+        eq(8L, summary.count());
+        eq(40.0d, summary.sum(), 0.0d);
+        eq(2.0d, summary.min(), 0.0d);
+        eq(9.0d, summary.max(), 0.0d);
+        eq(5.0d, summary.mean(), 1e-12);
+        eq(4.0d, summary.variance(), 1e-12);
+        eq(2.0d, summary.stddev(), 1e-12);
+    }
+
+    @Test
+    public void testSummarizeWithMapper() {
+        Traversable<String> target = Traversable.of(Arrays.asList("a", "bb", "ccc"));
+        DoubleSummary summary = target.summarize(String::length);
+        eq(3L, summary.count());
+        eq(2.0d, summary.mean(), 1e-12);
+    }
+
+    @Test
+    public void emptySummary() {
+        DoubleSummary summary = values().summarize();
+        eq(0L, summary.count());
+        eq(0.0d, summary.sum(), 0.0d);
+        eq(0.0d, summary.variance(), 0.0d);
+        eq(Double.POSITIVE_INFINITY, summary.min(), 0.0d);
+    }
+
+    @Test
+    public void compensatedSumShallNotLoseSmallValues() {
+        DoubleSummary summary = new DoubleSummary();
+        summary.accept(1e16);
+        for (int i = 0; i < 1000; ++i) {
+            summary.accept(1.0d);
+        }
+        summary.accept(-1e16);
+        eq(1000.0d, summary.sum(), 0.0d);
+    }
+
+    @Test
+    public void combinedSummaryShallEqualSinglePassSummary() {
+        Random random = new Random(1);
+        DoubleSummary all = new DoubleSummary();
+        DoubleSummary a = new DoubleSummary();
+        DoubleSummary b = new DoubleSummary();
+        for (int i = 0; i < 10000; ++i) {
+            double d = random.nextGaussian() * 100 + 50;
+            all.accept(d);
+            (i % 3 == 0 ? a : b).accept(d);
+        }
+        a.combine(b);
+        eq(all.count(), a.count());
+        eq(all.sum(), a.sum(), 1e-9);
+        eq(all.min(), a.min(), 0.0d);
+        eq(all.max(), a.max(), 0.0d);
+        eq(all.mean(), a.mean(), 1e-9);
+        eq(all.variance(), a.variance(), 1e-6);
+        eq(all.sampleVariance(), a.sampleVariance(), 1e-6);
+    }
+
+    @Test
+    public void combineWithEmptySummary() {
+        DoubleSummary a = new DoubleSummary();
+        DoubleSummary b = new DoubleSummary();
+        b.accept(3);
+        b.accept(5);
+        a.combine(b).combine(new DoubleSummary());
+        eq(2L, a.count());
+        eq(4.0d, a.mean(), 0.0d);
+        eq(1.0d, a.variance(), 0.0d);
+    }
+
+    @Test
+    public void testQuantiles() {
+        List<Double> list = new ArrayList<>();
+        for (int i = 1; i <= 10000; ++i) {
+            list.add((double) i);
+        }
+        DoubleSummary summary = Traversable.of(list).summarizeWithQuantiles((d) -> d, 0.01);
+        double p50 = summary.quantile(0.5);
+        double p99 = summary.quantile(0.99);
+        yes(Math.abs(p50 - 5000) <= 5000 * 0.011, "p50: %s", p50);
+        yes(Math.abs(p99 - 9900) <= 9900 * 0.011, "p99: %s", p99);
+    }
+
+    @Test
+    public void quantileSketchesShallMerge() {
+        QuantileSketch a = new QuantileSketch(0.02);
+        QuantileSketch b = new QuantileSketch(0.02);
+        for (int i = -500; i < 500; ++i) {
+            (i % 2 == 0 ? a : b).accept(i);
+        }
+        a.merge(b);
+        eq(1000L, a.count());
+        yes(Math.abs(a.quantile(0.0d) + 500) <= 500 * 0.021);
+        yes(Math.abs(a.quantile(0.5d)) <= 1);
+        yes(Math.abs(a.quantile(1.0d) - 499) <= 499 * 0.021);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void quantileWithoutSketchShallRaiseISE() {
+        values(1, 2).summarize().quantile(0.5);
+    }
+
+}
@@ -0,0 +1,259 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+public class FlowTest extends TestBase {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A sequence of `0 .. n-1`, counting elements pulled from it.
+     */
+    private static Sequence<Integer> counting(int n, AtomicInteger pulled) {
+        return () -> new Iterator<Integer>() {
+            int cur;
+
+            @Override
+            public boolean hasNext() {
+                return cur < n;
+            }
+
+            @Override
+            public Integer next() {
+                pulled.incrementAndGet();
+                return cur++;
+            }
+        };
+    }
+
+    /**
+     * A subscriber that records signals and requests nothing by itself.
+     */
+    private static class Recorder<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+
+        synchronized int received() {
+            return items.size();
+        }
+    }
+
+    @Test
+    public void publisherShallHonorDemand() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        Recorder<Integer> recorder = new Recorder<>();
+        counting(100, pulled).toPublisher(executor).subscribe(recorder);
+        recorder.subscription.request(10);
+        waitFor(() -> recorder.received() == 10);
+        Thread.sleep(50);
+        eq(10, recorder.received());
+        eq(10, pulled.get());
+        recorder.subscription.request(Long.MAX_VALUE);
+        yes(recorder.terminated.await(5, TimeUnit.SECONDS));
+        yes(recorder.completed);
+        eq(100, recorder.received());
+        for (int i = 0; i < 100; ++i) {
+            eq(i, recorder.items.get(i));
+        }
+    }
+
+    @Test
+    public void publisherShallSignalErrorOnBadRequest() throws Exception {
+        Recorder<Integer> recorder = new Recorder<>();
+        counting(100, new AtomicInteger()).toPublisher(executor).subscribe(recorder);
+        recorder.subscription.request(0);
+        yes(recorder.terminated.await(5, TimeUnit.SECONDS));
+        yes(recorder.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void publisherShallStopOnCancel() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        Recorder<Integer> recorder = new Recorder<>();
+        counting(100, pulled).toPublisher(executor).subscribe(recorder);
+        recorder.subscription.request(5);
+        waitFor(() -> recorder.received() == 5);
+        recorder.subscription.cancel();
+        recorder.subscription.request(5);
+        Thread.sleep(50);
+        eq(5, recorder.received());
+        no(recorder.completed);
+    }
+
+    @Test
+    public void roundTripShallKeepOrder() {
+        Sequence<Integer> seq = Sequence.fromPublisher(counting(100000, new AtomicInteger()).toPublisher(executor), 16);
+        int expected = 0;
+        for (int n : seq) {
+            eq(expected++, n);
+        }
+        eq(100000, expected);
+    }
+
+    @Test
+    public void subscriberShallBoundDemand() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        Sequence<Integer> seq = Sequence.fromPublisher(counting(1000, pulled).toPublisher(executor), 8);
+        Iterator<Integer> itr = seq.iterator();
+        eq(0, itr.next());
+        Thread.sleep(50);
+        yes(pulled.get() <= 8);
+        ((AutoCloseable) itr).close();
+    }
+
+    @Test
+    public void subscriberShallRethrowError() {
+        Flow.Publisher<Integer> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            int emitted;
+
+            @Override
+            public void request(long n) {
+                if (emitted == 0) {
+                    emitted = 2;
+                    subscriber.onNext(1);
+                    subscriber.onNext(2);
+                    subscriber.onError(new IllegalStateException("boom"));
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        Iterator<Integer> itr = Sequence.fromPublisher(publisher, 4).iterator();
+        eq(1, itr.next());
+        eq(2, itr.next());
+        try {
+            itr.hasNext();
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            eq("boom", e.getMessage());
+        }
+    }
+
+    @Test
+    public void closeShallCancelSubscription() throws Exception {
+        AtomicReference<Boolean> cancelled = new AtomicReference<>(false);
+        Flow.Publisher<Integer> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                subscriber.onNext(1);
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        });
+        Iterator<Integer> itr = Sequence.fromPublisher(publisher, 4).iterator();
+        eq(1, itr.next());
+        ((AutoCloseable) itr).close();
+        yes(cancelled.get());
+    }
+
+    @Test
+    public void closeShallDropBufferedElements() throws Exception {
+        Flow.Publisher<Integer> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            boolean emitted;
+
+            @Override
+            public void request(long n) {
+                if (!emitted) {
+                    emitted = true;
+                    subscriber.onNext(1);
+                    subscriber.onNext(2);
+                    subscriber.onNext(3);
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        Iterator<Integer> itr = Sequence.fromPublisher(publisher, 4).iterator();
+        eq(1, itr.next());
+        yes(itr.hasNext());
+        ((AutoCloseable) itr).close();
+        no(itr.hasNext());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("timeout");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.$;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+public class PartitionTest extends TestBase {
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        List<T> list = new ArrayList<>();
+        for (T t : iterable) {
+            list.add(t);
+        }
+        return list;
+    }
+
+    private static Sequence<Integer> seq(Integer... elements) {
+        return new Array<>(elements);
+    }
+
+    @Test
+    public void testPartition() {
+        AtomicInteger calls = new AtomicInteger();
+        Predicate<Integer> positive = (n) -> {
+            calls.incrementAndGet();
+            return n > 0;
+        };
+        T2<Sequence<Integer>, Sequence<Integer>> t2 = seq(-1, 0, 1, -3, 7).partition(positive);
+        eq(Arrays.asList(1, 7), toList(t2.a));
+        eq(Arrays.asList(-1, 0, -3), toList(t2.b));
+        eq(5, calls.get());
+    }
+
+    @Test
+    public void testPartitionEmpty() {
+        T2<Sequence<Integer>, Sequence<Integer>> t2 = seq().partition((n) -> n > 0);
+        eq(0, t2.a.size());
+        eq(0, t2.b.size());
+    }
+
+    @Test
+    public void testSpan() {
+        AtomicInteger calls = new AtomicInteger();
+        Predicate<Integer> negative = (n) -> {
+            calls.incrementAndGet();
+            return n < 0;
+        };
+        T2<Sequence<Integer>, Sequence<Integer>> t2 = seq(-1, -2, 3, -4, 5).span(negative);
+        eq(Arrays.asList(-1, -2), toList(t2.a));
+        eq(Arrays.asList(3, -4, 5), toList(t2.b));
+        eq(3, calls.get());
+    }
+
+    @Test
+    public void testSpanAllMatch() {
+        T2<Sequence<Integer>, Sequence<Integer>> t2 = seq(1, 2).span((n) -> n > 0);
+        eq(Arrays.asList(1, 2), toList(t2.a));
+        eq(0, t2.b.size());
+    }
+
+    @Test
+    public void testUnzip() {
+        List<T2<String, Integer>> pairs = new ArrayList<>();
+        pairs.add($.T2("a", 1));
+        pairs.add($.T2("b", 2));
+        pairs.add($.T2("c", 3));
+        T2<Sequence<String>, Sequence<Integer>> t2 = Sequence.unzip(pairs);
+        eq(Arrays.asList("a", "b", "c"), toList(t2.a));
+        eq(Arrays.asList(1, 2, 3), toList(t2.b));
+    }
+
+}
@@ -0,0 +1,192 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class PersistentHashMapTest extends TestBase {
+
+    /**
+     * A key whose hash code can be chosen, to exercise hash collisions.
+     */
+    private static final class Key {
+        final int id;
+        final int hash;
+
+        Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "K" + id;
+        }
+    }
+
+    @Test
+    public void itShallBehaveLikeHashMap() {
+        Random random = new Random(1);
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        Map<Key, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20000; ++i) {
+            int id = random.nextInt(2000);
+            // few distinct hash codes: lots of full collisions and deep tries
+            Key key = new Key(id, id % 3 == 0 ? id % 7 : id * 31);
+            if (random.nextInt(3) > 0) {
+                map = map.put(key, i);
+                expected.put(key, i);
+            } else {
+                map = map.remove(key);
+                expected.remove(key);
+            }
+            eq(expected.size(), map.size());
+        }
+        for (int id = 0; id < 2000; ++id) {
+            Key key = new Key(id, id % 3 == 0 ? id % 7 : id * 31);
+            eq(expected.get(key), map.get(key));
+            eq(expected.containsKey(key), map.containsKey(key));
+        }
+        Map<Key, Integer> visited = new HashMap<>();
+        for (T2<Key, Integer> entry : map.entries()) {
+            isNull(visited.put(entry.a, entry.b));
+        }
+        eq(expected, visited);
+        visited.clear();
+        map.forEach(visited::put);
+        eq(expected, visited);
+        eq(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void updatesShallNotAffectOriginal() {
+        PersistentHashMap<String, Integer> a = PersistentHashMap.<String, Integer>empty().put("x", 1).put("y", 2);
+        PersistentHashMap<String, Integer> b = a.put("x", 3).remove("y");
+        eq(2, a.size());
+        eq(1, a.get("x"));
+        eq(2, a.get("y"));
+        eq(1, b.size());
+        eq(3, b.get("x"));
+        no(b.containsKey("y"));
+        same(a, a.put("x", 1));
+        same(a, a.remove("z"));
+    }
+
+    @Test
+    public void equalMapsShallBeCanonical() {
+        PersistentHashMap<Integer, String> a = PersistentHashMap.empty();
+        PersistentHashMap<Integer, String> b = PersistentHashMap.empty();
+        for (int i = 0; i < 1000; ++i) {
+            a = a.put(i, "v" + i);
+        }
+        for (int i = 1999; i >= 0; --i) {
+            b = b.put(i, "v" + i);
+        }
+        for (int i = 1000; i < 2000; ++i) {
+            b = b.remove(i);
+        }
+        eq(a, b);
+        eq(a.hashCode(), b.hashCode());
+        eq(a.toString(), b.toString());
+        ne(a, b.put(1, null));
+    }
+
+    @Test
+    public void builderShallNotAffectPublishedMaps() {
+        PersistentHashMap<Integer, Integer> base = PersistentHashMap.empty();
+        for (int i = 0; i < 100; ++i) {
+            base = base.put(i, i);
+        }
+        PersistentHashMap.Builder<Integer, Integer> builder = base.toBuilder();
+        for (int i = 0; i < 200; ++i) {
+            builder.put(i, -i);
+        }
+        PersistentHashMap<Integer, Integer> first = builder.build();
+        for (int i = 0; i < 150; ++i) {
+            builder.remove(i);
+        }
+        PersistentHashMap<Integer, Integer> second = builder.build();
+        eq(100, base.size());
+        eq(200, first.size());
+        eq(50, second.size());
+        for (int i = 0; i < 200; ++i) {
+            eq(i < 100 ? i : null, base.get(i));
+            eq(-i, first.get(i));
+            eq(i < 150 ? null : -i, second.get(i));
+        }
+        eq(PersistentHashMap.of(toMap(first)), first);
+    }
+
+    @Test
+    public void setShallBehaveLikeHashSet() {
+        Random random = new Random(2);
+        PersistentHashSet<Integer> set = PersistentHashSet.empty();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 10000; ++i) {
+            int n = random.nextInt(1000);
+            if (random.nextBoolean()) {
+                set = set.add(n);
+                expected.add(n);
+            } else {
+                set = set.remove(n);
+                expected.remove(n);
+            }
+            eq(expected.size(), set.size());
+        }
+        Set<Integer> visited = new HashSet<>();
+        for (int n : set.elements()) {
+            visited.add(n);
+        }
+        eq(expected, visited);
+        eq(expected.hashCode(), set.hashCode());
+        eq(set, PersistentHashSet.of(expected));
+        PersistentHashSet.Builder<Integer> builder = set.toBuilder();
+        for (int n : expected) {
+            builder.remove(n);
+        }
+        same(PersistentHashSet.empty(), builder.build());
+        eq(expected.size(), set.size());
+    }
+
+    private static <K, V> Map<K, V> toMap(PersistentHashMap<K, V> map) {
+        Map<K, V> result = new HashMap<>();
+        map.forEach(result::put);
+        return result;
+    }
+
+}
@@ -0,0 +1,176 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PrefetchSequenceTest extends TestBase {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A sequence of `0 .. n-1`, counting elements pulled from it.
+     */
+    private static Sequence<Integer> counting(int n, AtomicInteger pulled) {
+        return () -> new Iterator<Integer>() {
+            int cur;
+
+            @Override
+            public boolean hasNext() {
+                return cur < n;
+            }
+
+            @Override
+            public Integer next() {
+                pulled.incrementAndGet();
+                return cur++;
+            }
+        };
+    }
+
+    @Test
+    public void itShallKeepOrder() {
+        Sequence<Integer> seq = counting(100000, new AtomicInteger()).prefetch(64, executor);
+        int expected = 0;
+        for (int n : seq) {
+            eq(expected++, n);
+        }
+        eq(100000, expected);
+    }
+
+    @Test
+    public void itShallKeepNullElements() {
+        Integer[] a = {1, null, 3};
+        List<Integer> list = new ArrayList<>();
+        for (Integer n : new Array<>(a).prefetch(2, executor)) {
+            list.add(n);
+        }
+        eq(3, list.size());
+        isNull(list.get(1));
+    }
+
+    @Test
+    public void itShallApplyBackpressure() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<Integer> itr = counting(1000, pulled).prefetch(8, executor).iterator();
+        eq(0, (int) itr.next());
+        Thread.sleep(100);
+        // 8 buffered, 1 consumed and 1 held by producer waiting for room
+        yes(pulled.get() <= 10, "pulled: %s", pulled.get());
+        ((AutoCloseable) itr).close();
+    }
+
+    @Test
+    public void itShallPropagateError() {
+        Sequence<Integer> failing = () -> new Iterator<Integer>() {
+            int cur;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (cur == 3) {
+                    throw new IllegalStateException("boom");
+                }
+                return cur++;
+            }
+        };
+        Iterator<Integer> itr = failing.prefetch(16, executor).iterator();
+        eq(0, (int) itr.next());
+        eq(1, (int) itr.next());
+        eq(2, (int) itr.next());
+        try {
+            itr.hasNext();
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            eq("boom", e.getMessage());
+        }
+    }
+
+    @Test
+    public void closeShallDropBufferedElements() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<Integer> itr = counting(1000, pulled).prefetch(8, executor).iterator();
+        yes(itr.hasNext());
+        Thread.sleep(50);
+        ((AutoCloseable) itr).close();
+        no(itr.hasNext());
+        try {
+            itr.next();
+            fail("expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void closeShallStopProducer() throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1);
+        Sequence<Integer> infinite = () -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return 1;
+            }
+        };
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            Iterator<Integer> itr = infinite.prefetch(4, single).iterator();
+            itr.next();
+            ((AutoCloseable) itr).close();
+            single.execute(stopped::countDown);
+            yes(stopped.await(5, TimeUnit.SECONDS));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,226 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class PrimitiveHashCollectionsTest extends TestBase {
+
+    private static final int OPS = 20000;
+
+    /**
+     * Keys are drawn from a small range (so that removes hit existing
+     * keys and probe chains wrap around) and include `0`.
+     */
+    private static int nextKey(Random random) {
+        return random.nextInt(512) - 64;
+    }
+
+    @Test
+    public void intObjMapShallBehaveLikeHashMap() {
+        Random random = new Random(1);
+        IntObjMap<String> map = new IntObjMap<>(4, 0.9f);
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < OPS; ++i) {
+            int key = nextKey(random);
+            switch (random.nextInt(3)) {
+                case 0:
+                    eq(expected.put(key, "v" + i), map.put(key, "v" + i));
+                    break;
+                case 1:
+                    eq(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    eq(expected.get(key), map.get(key));
+                    eq(expected.containsKey(key), map.containsKey(key));
+            }
+            eq(expected.size(), map.size());
+        }
+        Map<Integer, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        eq(expected, visited);
+        visited.clear();
+        for (IntObjPair<String> entry : map.entries()) {
+            visited.put(entry.a, entry.b);
+        }
+        eq(expected, visited);
+        eq(expected.size(), map.keys().size());
+        eq(expected.keySet(), toSet(map.keys()));
+        map.clear();
+        yes(map.isEmpty());
+        no(map.keys().iterator().hasNext());
+    }
+
+    @Test
+    public void longObjMapShallSupportNullValue() {
+        LongObjMap<String> map = new LongObjMap<>();
+        isNull(map.put(0L, null));
+        yes(map.containsKey(0L));
+        isNull(map.get(0L));
+        eq("x", map.getOrDefault(1L, "x"));
+        eq("a", map.computeIfAbsent(Long.MAX_VALUE, k -> "a"));
+        eq("a", map.computeIfAbsent(Long.MAX_VALUE, k -> "b"));
+        eq(2, map.size());
+        eq(2, toSet(map.values()).size());
+    }
+
+    @Test
+    public void objIntMapShallBehaveLikeHashMap() {
+        Random random = new Random(2);
+        ObjIntMap<String> map = new ObjIntMap<>(0);
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < OPS; ++i) {
+            String key = "k" + nextKey(random);
+            switch (random.nextInt(3)) {
+                case 0:
+                    Integer prev = expected.put(key, i);
+                    eq(null == prev ? 0 : prev, map.put(key, i));
+                    break;
+                case 1:
+                    Integer removed = expected.remove(key);
+                    eq(null == removed ? 0 : removed, map.remove(key));
+                    break;
+                default:
+                    eq(expected.containsKey(key), map.containsKey(key));
+                    eq(expected.getOrDefault(key, -1), map.getOrDefault(key, -1));
+            }
+            eq(expected.size(), map.size());
+        }
+        Map<String, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        eq(expected, visited);
+    }
+
+    @Test
+    public void addToShallCount() {
+        ObjIntMap<String> counts = new ObjIntMap<>();
+        for (String s : "a b a c a b".split(" ")) {
+            counts.addTo(s, 1);
+        }
+        eq(3, counts.get("a"));
+        eq(2, counts.get("b"));
+        eq(1, counts.get("c"));
+        eq(0, counts.get("d"));
+        no(counts.containsKey("d"));
+
+        LongLongMap sums = new LongLongMap();
+        eq(5L, sums.addTo(0L, 5L));
+        eq(7L, sums.addTo(0L, 2L));
+        eq(7L, sums.addTo(-1L, 7L));
+        eq(2, sums.size());
+    }
+
+    @Test
+    public void longLongMapShallBehaveLikeHashMap() {
+        Random random = new Random(3);
+        LongLongMap map = new LongLongMap(4, 0.5f);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < OPS; ++i) {
+            long key = ((long) nextKey(random)) << 32;
+            switch (random.nextInt(3)) {
+                case 0:
+                    Long prev = expected.put(key, (long) i);
+                    eq(null == prev ? 0L : prev, map.put(key, i));
+                    break;
+                case 1:
+                    Long removed = expected.remove(key);
+                    eq(null == removed ? 0L : removed, map.remove(key));
+                    break;
+                default:
+                    eq(expected.containsKey(key), map.containsKey(key));
+                    eq(expected.getOrDefault(key, -1L), map.getOrDefault(key, -1L));
+            }
+            eq(expected.size(), map.size());
+        }
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        eq(expected, visited);
+        visited.clear();
+        for (LongLongPair entry : map.entries()) {
+            visited.put(entry.a, entry.b);
+        }
+        eq(expected, visited);
+    }
+
+    @Test
+    public void intSetShallBehaveLikeHashSet() {
+        Random random = new Random(4);
+        IntSet set = new IntSet();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < OPS; ++i) {
+            int value = nextKey(random);
+            switch (random.nextInt(3)) {
+                case 0:
+                    eq(expected.add(value), set.add(value));
+                    break;
+                case 1:
+                    eq(expected.remove(value), set.remove(value));
+                    break;
+                default:
+                    eq(expected.contains(value), set.contains(value));
+            }
+            eq(expected.size(), set.size());
+        }
+        eq(expected, toSet(set.elements()));
+        eq(expected.size(), set.toArray().length);
+        Set<Integer> visited = new HashSet<>();
+        set.forEach(visited::add);
+        eq(expected, visited);
+    }
+
+    @Test
+    public void longSetShallBehaveLikeHashSet() {
+        Random random = new Random(5);
+        LongSet set = new LongSet(1000);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < OPS; ++i) {
+            long value = nextKey(random) * 1000003L;
+            if (random.nextBoolean()) {
+                eq(expected.add(value), set.add(value));
+            } else {
+                eq(expected.remove(value), set.remove(value));
+            }
+            eq(expected.size(), set.size());
+        }
+        eq(expected, toSet(set.elements()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loadFactorShallBeLessThanOne() {
+        new IntSet(16, 1.0f);
+    }
+
+    private static <T> Set<T> toSet(Iterable<T> iterable) {
+        Set<T> set = new HashSet<>();
+        for (T t : iterable) {
+            set.add(t);
+        }
+        return set;
+    }
+
+}
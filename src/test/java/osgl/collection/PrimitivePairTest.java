@@ -0,0 +1,79 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PrimitivePairTest extends TestBase {
+
+    @Test
+    public void pairsShallMatchBoxedT2() {
+        Object[][] samples = {
+                {IntIntPair.of(-3, 7), new T2<>(-3, 7)},
+                {IntLongPair.of(1, -1L << 40), new T2<>(1, -1L << 40)},
+                {IntDoublePair.of(0, -0.5d), new T2<>(0, -0.5d)},
+                {IntObjPair.of(5, "x"), new T2<>(5, "x")},
+                {LongIntPair.of(Long.MIN_VALUE, 2), new T2<>(Long.MIN_VALUE, 2)},
+                {LongLongPair.of(-2L, Long.MAX_VALUE), new T2<>(-2L, Long.MAX_VALUE)},
+                {LongDoublePair.of(9L, Double.NaN), new T2<>(9L, Double.NaN)},
+                {LongObjPair.of(9L, null), new T2<>(9L, null)},
+                {ObjIntPair.of("y", -1), new T2<>("y", -1)},
+                {ObjLongPair.of(null, 3L), new T2<>(null, 3L)},
+                {ObjDoublePair.of("z", 1e300), new T2<>("z", 1e300)},
+        };
+        for (Object[] sample : samples) {
+            Object pair = sample[0];
+            T2<?, ?> t2 = (T2<?, ?>) sample[1];
+            eq(t2.hashCode(), pair.hashCode());
+            eq(t2.toString(), pair.toString());
+        }
+        eq(new T2<>(-3, 7), IntIntPair.of(-3, 7).toT2());
+        eq(IntIntPair.of(-3, 7), IntIntPair.from(new T2<>(-3, 7)));
+        eq(LongDoublePair.of(9L, Double.NaN), LongDoublePair.from(new T2<>(9L, Double.NaN)));
+        ne(IntDoublePair.of(0, 0.0d), IntDoublePair.of(0, -0.0d));
+        ne(IntIntPair.of(1, 2), IntIntPair.of(2, 1));
+        ne(IntIntPair.of(1, 2), new T2<>(1, 2));
+        eq(ObjIntPair.of("a", 1), ObjIntPair.from(new Pair<>("a", 1)));
+        try {
+            LongLongPair.from(new T2<Long, Long>(1L, null));
+            fail("expected NullPointerException");
+        } catch (NullPointerException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void zipWithIndexShallPairElementsWithUnboxedIndex() {
+        Sequence<String> seq = new Array<>(new String[]{"a", "b", "c"});
+        List<ObjIntPair<String>> list = new ArrayList<>();
+        for (ObjIntPair<String> pair : seq.zipWithIndex()) {
+            list.add(pair);
+        }
+        eq(Arrays.asList(ObjIntPair.of("a", 0), ObjIntPair.of("b", 1), ObjIntPair.of("c", 2)), list);
+        eq(3, seq.zipWithIndex().size());
+        eq(2, seq.zipWithIndex().filter(p -> "c".equals(p.a)).head().b);
+    }
+}
@@ -0,0 +1,126 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class SamplingTest extends TestBase {
+
+    private static Traversable<Integer> range(int n) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            list.add(i);
+        }
+        return Traversable.of(list);
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        List<T> list = new ArrayList<>();
+        for (T t : iterable) {
+            list.add(t);
+        }
+        return list;
+    }
+
+    @Test
+    public void sampleShallReturnKDistinctElements() {
+        Sequence<Integer> sample = range(1000).sample(10, new Random(1));
+        eq(10, sample.size());
+        Set<Integer> set = new HashSet<>(toList(sample));
+        eq(10, set.size());
+    }
+
+    @Test
+    public void sampleShallReturnAllElementsIfLessThanK() {
+        eq(3, range(3).sample(10, new Random(1)).size());
+        eq(3, range(3).skipSample(10, new Random(1)).size());
+        eq(0, range(3).sample(0).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSampleSizeShallRaiseIAE() {
+        range(3).sample(-1);
+    }
+
+    @Test
+    public void skipSampleShallReturnKDistinctElements() {
+        Sequence<Integer> sample = range(100000).skipSample(16, new Random(7));
+        eq(16, sample.size());
+        Set<Integer> set = new HashSet<>(toList(sample));
+        eq(16, set.size());
+    }
+
+    @Test
+    public void reservoirSamplingShallBeUniform() {
+        int[] hits = new int[10];
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; ++i) {
+            for (int n : range(10).sample(2, random)) {
+                hits[n]++;
+            }
+            for (int n : range(10).skipSample(2, random)) {
+                hits[n]++;
+            }
+        }
+        for (int h : hits) {
+            // expected 4000 each
+            yes(h > 3600 && h < 4400, "unexpected hits: %s", h);
+        }
+    }
+
+    @Test
+    public void sampleFractionShallKeepOrderAndApproximateFraction() {
+        Sequence<Integer> seq = new Array<>(toList(range(100000)).toArray(new Integer[0]));
+        List<Integer> sample = toList(seq.sampleFraction(0.1, new Random(3)));
+        yes(sample.size() > 9000 && sample.size() < 11000);
+        for (int i = 1; i < sample.size(); ++i) {
+            yes(sample.get(i - 1) < sample.get(i));
+        }
+        eq(0, toList(seq.sampleFraction(0)).size());
+        eq(100000, toList(seq.sampleFraction(1)).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidFractionShallRaiseIAE() {
+        range(3).sampleFraction(1.5);
+    }
+
+    @Test
+    public void sampleByShallSampleEachStratum() {
+        Map<Integer, Sequence<Integer>> strata = range(1000).sampleBy((n) -> n % 3, 5, new Random(5));
+        eq(3, strata.size());
+        for (Map.Entry<Integer, Sequence<Integer>> entry : strata.entrySet()) {
+            eq(5, entry.getValue().size());
+            for (int n : entry.getValue()) {
+                eq(entry.getKey(), n % 3);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class SortedArrayMapTest extends TestBase {
+
+    @Test
+    public void searchStrategiesShallAgree() {
+        Random random = new Random(1);
+        // uniform, clustered and extreme keys
+        int[][] inputs = {
+                random.ints(1000, 0, 1000000).toArray(),
+                random.ints(1000, 0, 100).map(i -> i * i * i).toArray(),
+                {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE},
+                {}
+        };
+        for (int[] input : inputs) {
+            int[] sorted = IntSortedArraySet.of(input).toArray();
+            long[] sortedLongs = Arrays.stream(sorted).asLongStream().map(l -> l * 1000003L).toArray();
+            for (int i = 0; i < 2000; ++i) {
+                int key = 0 == i % 2 && sorted.length > 0 ? sorted[random.nextInt(sorted.length)] + random.nextInt(3) - 1 : random.nextInt();
+                eq(SearchStrategy.BINARY.search(sorted, 0, sorted.length, key),
+                        SearchStrategy.INTERPOLATION.search(sorted, 0, sorted.length, key));
+                long longKey = key * 1000003L;
+                eq(SearchStrategy.BINARY.search(sortedLongs, 0, sortedLongs.length, longKey),
+                        SearchStrategy.INTERPOLATION.search(sortedLongs, 0, sortedLongs.length, longKey));
+            }
+        }
+    }
+
+    @Test
+    public void intSetShallBehaveLikeTreeSet() {
+        Random random = new Random(2);
+        NavigableSet<Integer> expected = new TreeSet<>();
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 500; ++i) {
+            int n = random.nextInt(2000) - 1000;
+            expected.add(n);
+            source.add(n);
+        }
+        IntSortedArraySet binary = IntSortedArraySet.from(source);
+        IntSortedArraySet interpolation = binary.withSearchStrategy(SearchStrategy.INTERPOLATION);
+        eq(binary, interpolation);
+        eq(expected.size(), binary.size());
+        for (IntSortedArraySet set : Arrays.asList(binary, interpolation)) {
+            for (int n = -1100; n < 1100; ++n) {
+                eq(expected.contains(n), set.contains(n));
+                eq(expected.floor(n), at(set, set.floorIndex(n)));
+                eq(expected.ceiling(n), at(set, set.ceilingIndex(n)));
+                eq(expected.lower(n), at(set, set.lowerIndex(n)));
+                eq(expected.higher(n), at(set, set.higherIndex(n)));
+            }
+            eq(new ArrayList<>(expected.subSet(-100, 100)), toList(set.range(-100, 100)));
+            eq(0, set.range(100, -100).size());
+            eq(new ArrayList<>(expected), toList(set.elements()));
+        }
+    }
+
+    @Test
+    public void longMapShallBehaveLikeTreeMap() {
+        Random random = new Random(3);
+        TreeMap<Long, String> expected = new TreeMap<>();
+        while (expected.size() < 300) {
+            long k = random.nextLong() >> 40;
+            expected.put(k, "v" + k);
+        }
+        LongSortedArrayMap<String> map = LongSortedArrayMap
+                .from(expected.entrySet(), Map.Entry::getKey, Map.Entry::getValue)
+                .withSearchStrategy(SearchStrategy.INTERPOLATION);
+        eq(expected.size(), map.size());
+        for (Long k : expected.keySet()) {
+            eq(expected.get(k), map.get(k));
+            eq(expected.floorEntry(k + 1).getValue(), map.floorValue(k + 1));
+        }
+        eq(new ArrayList<>(expected.values()), toList(map.values()));
+        List<LongObjPair<String>> range = toList(map.range(-1000L, 1000L));
+        eq(expected.subMap(-1000L, 1000L).size(), range.size());
+        for (LongObjPair<String> entry : range) {
+            eq(expected.get(entry.a), entry.b);
+        }
+        isNull(map.floorValue(Long.MIN_VALUE));
+        isNull(map.ceilingValue(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void intMapShallBeBuiltFromArrays() {
+        IntSortedArrayMap<String> map = IntSortedArrayMap.of(new int[]{30, 10, 20}, new String[]{"c", "a", "b"});
+        eq("a", map.get(10));
+        isNull(map.get(15));
+        eq("a", map.floorValue(15));
+        eq("b", map.ceilingValue(15));
+        eq(Arrays.asList(10, 20, 30), toList(map.keys()));
+        eq(1, map.keySet().floorIndex(25));
+        eq("b", map.valueAt(map.keySet().floorIndex(25)));
+    }
+
+    @Test
+    public void longMapShallBeBuiltFromUnsortedArrays() {
+        Random random = new Random(5);
+        long[] keys = new long[1000];
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = i < 2 ? (i == 0 ? Long.MAX_VALUE : Long.MIN_VALUE) : random.nextLong();
+            values[i] = "v" + keys[i];
+        }
+        LongSortedArrayMap<String> map = LongSortedArrayMap.of(keys, values);
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        List<Long> sortedKeys = new ArrayList<>();
+        for (long k : sorted) {
+            sortedKeys.add(k);
+        }
+        eq(sortedKeys, toList(map.keys()));
+        for (long k : keys) {
+            eq("v" + k, map.get(k));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatedLongKeyShallBeRejected() {
+        LongSortedArrayMap.of(new long[]{5L, -1L, 7L, 5L}, new String[]{"a", "b", "c", "d"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatedKeyShallBeRejected() {
+        IntSortedArrayMap.of(new int[]{1, 2, 1}, new String[]{"a", "b", "c"});
+    }
+
+    @Test
+    public void genericMapShallBehaveLikeTreeMap() {
+        TreeMap<String, Integer> expected = new TreeMap<>();
+        for (String s : "the quick brown fox jumps over lazy dog".split(" ")) {
+            expected.put(s, s.length());
+        }
+        SortedArrayMap<String, Integer> map = SortedArrayMap.from(expected.entrySet(), Map.Entry::getKey, Map.Entry::getValue);
+        for (String s : Arrays.asList("a", "dog", "e", "quick", "z")) {
+            eq(expected.get(s), map.get(s));
+            Map.Entry<String, Integer> floor = expected.floorEntry(s);
+            eq(null == floor ? null : floor.getValue(), map.floorValue(s));
+            eq(expected.ceilingKey(s), map.keySet().ceiling(s));
+        }
+        eq(new ArrayList<>(expected.subMap("d", "p").keySet()), toList(map.keySet().range("d", "p")));
+        SortedArraySet<String> reversed = SortedArraySet.from(expected.keySet(), (a, b) -> b.compareTo(a));
+        eq(new ArrayList<>(expected.descendingKeySet()), toList(reversed.elements()));
+    }
+
+    private static Integer at(IntSortedArraySet set, int index) {
+        return index < 0 ? null : set.get(index);
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        List<T> list = new ArrayList<>();
+        for (T t : iterable) {
+            list.add(t);
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,73 @@
+package osgl.collection;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.Test;
+import osgl.$;
+import osgl.ut.TestBase;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class TupleHashTest extends TestBase {
+
+    @Test
+    public void hashCodeShallBeCachedAndUnchanged() {
+        int[] array = {1, 2, 3};
+        T2<String, int[]> t2 = new T2<>("k", array);
+        int h = t2.hashCode();
+        eq($.hc("k", array), h);
+        array[0] = 100;
+        eq(h, t2.hashCode());
+        T3<Integer, Long, String> t3 = new T3<>(1, 2L, "3");
+        eq($.hc(1, 2L, "3"), t3.hashCode());
+        eq(t3.hashCode(), t3.hashCode());
+    }
+
+    @Test
+    public void hash64ShallBeConsistentWithEquals() {
+        eq(new T2<>(1, "a").hash64(), new Pair<>(1, "a").hash64());
+        eq(new T3<>(1, null, 2.0d).hash64(), new Triple<>(1, null, 2.0d).hash64());
+        eq(new T2<>(new T2<>(1, 2), 3L).hash64(), new T2<>(new T2<>(1, 2), 3L).hash64());
+        ne(new T2<>(1, 2).hash64(), new T2<>(2, 1).hash64());
+        ne(new T2<>(1, 2).hash64(), new T3<>(1, 2, null).hash64());
+    }
+
+    @Test
+    public void hash64ShallNotCollideOnCompositeKeys() {
+        Set<Integer> hashCodes = new HashSet<>();
+        Set<Long> hashes = new HashSet<>();
+        int n = 0;
+        for (int i = 0; i < 300; ++i) {
+            for (int j = 0; j < 300; ++j) {
+                T2<Integer, Integer> key = new T2<>(i, j);
+                hashCodes.add(key.hashCode());
+                hashes.add(key.hash64());
+                n++;
+            }
+        }
+        yes(hashCodes.size() < n / 5);
+        eq(n, hashes.size());
+        // long elements differing only in the high bits
+        ne(new T2<>(1L << 32 | 1L, 0).hash64(), new T2<>(0L, 0).hash64());
+        eq(new T2<>(1L << 32 | 1L, 0).hashCode(), new T2<>(0L, 0).hashCode());
+    }
+}
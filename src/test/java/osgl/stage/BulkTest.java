@@ -0,0 +1,152 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.Test;
+import osgl.$;
+import osgl.ut.TestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+public class BulkTest extends TestBase {
+
+    private static final int LARGE = Bulk.PARALLEL_THRESHOLD * 3 + 17;
+
+    private static Integer[] range(int n) {
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; ++i) {
+            a[i] = i;
+        }
+        return a;
+    }
+
+    @Test
+    public void smallInputs() {
+        eq(-1, Bulk.firstNull(new Object[0]));
+        eq(1, Bulk.firstNull(new Object[]{"a", null, null}));
+        eq(2, Bulk.firstMismatch(new Integer[]{1, 2, 3, 4}, i -> i < 3));
+        eq(3, Bulk.firstDuplicate(new Object[]{"a", "b", null, "b", null}));
+        eq(3, Bulk.firstDuplicate(Arrays.asList(null, "a", "b", null)));
+        eq(-1, Bulk.firstDuplicate(Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void largeArrayShallReportTheFirstFailingIndex() {
+        Integer[] a = range(LARGE);
+        eq(-1, Bulk.firstNull(a));
+        eq(-1, Bulk.firstMismatch(a, i -> i >= 0));
+        eq(-1, Bulk.firstDuplicate(a));
+        a[LARGE - 5] = null;
+        a[40000] = null;
+        a[70000] = null;
+        eq(40000, Bulk.firstNull(a));
+        eq(12346, Bulk.firstMismatch(range(LARGE), i -> i < 12345 || i % 2 == 1));
+    }
+
+    @Test
+    public void chunkedScanShallReportTheFirstFailingIndex() {
+        // called directly, as the chunks are only used on a multi-core machine
+        Object[] a = range(LARGE);
+        eq(-1, Bulk.parallel(a, e -> null == e));
+        a[LARGE - 5] = null;
+        eq(LARGE - 5, Bulk.parallel(a, e -> null == e));
+        a[70000] = null;
+        a[40000] = null;
+        a[4097] = null;
+        eq(4097, Bulk.parallel(a, e -> null == e));
+        eq(12346, Bulk.parallel(range(LARGE), e -> (Integer) e >= 12345 && (Integer) e % 2 == 0));
+    }
+
+    @Test
+    public void largeArrayShallReportTheFirstDuplicate() {
+        Integer[] a = range(LARGE);
+        a[LARGE - 1] = 3;
+        a[90000] = 80000;
+        a[50000] = 85000;
+        eq(85000, Bulk.firstDuplicate(a));
+        a[60000] = 10;
+        eq(60000, Bulk.firstDuplicate(a));
+        a[2] = null;
+        a[65000] = null;
+        eq(60000, Bulk.firstDuplicate(a));
+    }
+
+    @Test
+    public void largeCollection() {
+        List<Integer> list = new ArrayList<>(Arrays.asList(range(LARGE)));
+        eq(-1, Bulk.firstNull(list));
+        list.set(33333, null);
+        eq(33333, Bulk.firstNull(list));
+        LinkedHashSet<Integer> set = new LinkedHashSet<>(Arrays.asList(range(LARGE)));
+        eq(77777, Bulk.firstMismatch(set, i -> i != 77777));
+    }
+
+    @Test
+    public void requireShallReportTheDuplicate() {
+        String[] a = {"a", "b", "c"};
+        same(a, $.require(a).noDuplicates());
+        try {
+            $.require(new String[]{"a", "b", "a"}, "keys").noDuplicates();
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("keys[2] is a duplicate: a", e.getMessage());
+        }
+        List<Integer> list = new ArrayList<>(Arrays.asList(range(LARGE)));
+        list.set(LARGE / 2, 7);
+        try {
+            $.require(list, "ids").noDuplicates();
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("ids[" + LARGE / 2 + "] is a duplicate: 7", e.getMessage());
+        }
+    }
+
+    @Test
+    public void requireShallReportTheFirstNullOfALargeArray() {
+        Integer[] a = range(LARGE);
+        a[LARGE - 1] = null;
+        a[90000] = null;
+        try {
+            $.require(a, "a").allNotNull();
+            fail("expected NullPointerException");
+        } catch (NullPointerException e) {
+            eq("a[90000] must not be null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void predicates() {
+        yes($.is(new String[]{"a", "b"}).allNotNull());
+        no($.is(new String[]{"a", null}).allNotNull());
+        no($.is((String[]) null).allNotNull());
+        yes($.is(new String[]{"a", "b"}).allMatch(s -> s.length() == 1));
+        yes($.is(new String[]{"a", "b"}).noDuplicates());
+        no($.is(Arrays.asList("a", "a")).noDuplicates());
+        yes($.is(Arrays.asList(range(LARGE))).noDuplicates());
+        no($.is(Arrays.asList(1, 2)).allMatch(i -> i > 1));
+        yes($.is("x").notNull());
+    }
+
+}
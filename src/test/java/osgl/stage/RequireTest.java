@@ -0,0 +1,170 @@
+package osgl.stage;
+
+/*-
+ * #%L
+ * OSGL Core
+ * %%
+ * Copyright (C) 2017 OSGL (Open Source General Library)
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.Test;
+import osgl.$;
+import osgl.func.CharPredicate;
+import osgl.ut.TestBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class RequireTest extends TestBase {
+
+    @Test
+    public void notNullShallReportTheName() {
+        Object o = new Object();
+        same(o, $.require(o, "o").notNull());
+        try {
+            $.require((Object) null, "handler").notNull();
+            fail("expected NullPointerException");
+        } catch (NullPointerException e) {
+            eq("handler must not be null", e.getMessage());
+        }
+        try {
+            $.require((Object) null).notNull();
+            fail("expected NullPointerException");
+        } catch (NullPointerException e) {
+            isNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void satisfiesShallUseAPlainMessageAsIs() {
+        try {
+            $.require((Integer) 60).satisfies(i -> i < 50, "discount must be below 50%");
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("discount must be below 50%", e.getMessage());
+        }
+    }
+
+    @Test
+    public void satisfiesShallFormatTheMessageOnFailure() {
+        eq("abc", $.require((Object) "abc").instanceOf(CharSequence.class));
+        eq(3, (int) $.require((Integer) 3).satisfies(i -> i > 2, "too small: %s", 3));
+        try {
+            $.require((Integer) 1).satisfies(i -> i > 2, "%s too small: %s", "i", 1);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("i too small: 1", e.getMessage());
+        }
+    }
+
+    @Test
+    public void stringChecks() {
+        eq("abc", $.require("abc").notEmpty());
+        eq(" a ", $.require(" a ").notBlank());
+        eq("abc", $.require("abc", "s").lengthBetween(1, 3));
+        eq("abc", $.require("abc").matches(Character::isLetter));
+        eq("a1", $.require("a1").matches(Pattern.compile("[a-z][0-9]")));
+        CharPredicate digit = Character::isDigit;
+        try {
+            $.require("12x4", "code").matches(digit);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("code contains an invalid character 'x' at index 2", e.getMessage());
+        }
+        try {
+            $.require("  ", "name").notBlank();
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("name must not be blank", e.getMessage());
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void stringChecksShallRejectNull() {
+        $.require((String) null).notEmpty();
+    }
+
+    @Test
+    public void numericChecks() {
+        eq(80, $.require(80, "port").between(1, 65535));
+        eq(0, $.require(0).notNegative());
+        eq(5L, $.require(5L).positive());
+        eq(2.5d, $.require(2.5d).atMost(3d));
+        eq(1.0d, $.require(1.0d).finite());
+        eq(2, $.require(2).validIndex(3));
+        try {
+            $.require(0, "port").between(1, 65535);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("port must be between 1 and 65535: 0", e.getMessage());
+        }
+        try {
+            $.require(Double.NaN, "ratio").positive();
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("ratio must be positive: NaN", e.getMessage());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void invalidIndex() {
+        $.require(3).validIndex(3);
+    }
+
+    @Test
+    public void arrayChecks() {
+        String[] a = {"a", "b"};
+        same(a, $.require(a).notEmpty());
+        same(a, $.require(a).allNotNull());
+        same(a, $.require(a).allMatch(s -> s.length() == 1));
+        same(a, $.require(a).sizeBetween(2, 2));
+        try {
+            $.require(new String[]{"a", null, null}, "rows").allNotNull();
+            fail("expected NullPointerException");
+        } catch (NullPointerException e) {
+            eq("rows[1] must not be null", e.getMessage());
+        }
+        try {
+            $.require(new String[]{"a", "bb"}, "rows").allMatch(s -> s.length() == 1);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("rows[1] is invalid: bb", e.getMessage());
+        }
+    }
+
+    @Test
+    public void collectionChecks() {
+        List<String> list = Arrays.asList("a", "b");
+        same(list, $.require(list).notEmpty());
+        same(list, $.require(list).allNotNull());
+        same(list, $.require(list, "list").allMatch(s -> !s.isEmpty()));
+        try {
+            $.require(Arrays.asList("a", null), "list").allNotNull();
+            fail("expected NullPointerException");
+        } catch (NullPointerException e) {
+            eq("list[1] must not be null", e.getMessage());
+        }
+        try {
+            $.require(Collections.emptyList(), "list").notEmpty();
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            eq("list must not be empty", e.getMessage());
+        }
+    }
+}